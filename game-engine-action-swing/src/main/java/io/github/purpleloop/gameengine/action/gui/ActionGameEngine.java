@@ -1,5 +1,6 @@
 package io.github.purpleloop.gameengine.action.gui;
 
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Timer;
 
@@ -10,6 +11,7 @@ import io.github.purpleloop.commons.exception.PurpleException;
 import io.github.purpleloop.commons.lang.ReflexivityTools;
 import io.github.purpleloop.commons.lang.ThreadObserver;
 import io.github.purpleloop.gameengine.action.gui.keyboard.KeyboardController;
+import io.github.purpleloop.gameengine.action.model.GameLoopMode;
 import io.github.purpleloop.gameengine.action.model.GameThread;
 import io.github.purpleloop.gameengine.action.model.interfaces.IController;
 import io.github.purpleloop.gameengine.action.model.interfaces.IDialogEngine;
@@ -37,6 +39,12 @@ public class ActionGameEngine implements IGameEngine, ThreadObserver {
     /** Parameter for the game update delay (in milliseconds). */
     private static final String GAME_SESSION_UPDATE_DELAY = "gameSessionUpdateDelay";
 
+    /** Parameter for the game loop mode (fixed_delay or fixed_rate). */
+    private static final String GAME_SESSION_LOOP_MODE = "gameSessionLoopMode";
+
+    /** Parameter for the maximal number of updates to catch up (fixed rate mode). */
+    private static final String GAME_SESSION_MAX_CATCH_UP_STEPS = "gameSessionMaxCatchUpSteps";
+
     /** Timer for displaying the welcome screen in case of inactivity. */
     protected Timer idleTimer;
 
@@ -245,7 +253,9 @@ public class ActionGameEngine implements IGameEngine, ThreadObserver {
             LOG.debug("Starting game ...");
             gameSession = SessionFactory.createSession(this);
             gameView.setSession(gameSession);
-            gameThd = new GameThread(gameSession, config.getIntProperty(GAME_SESSION_UPDATE_DELAY));
+            gameThd = new GameThread(gameSession, config.getIntProperty(GAME_SESSION_UPDATE_DELAY),
+                    getGameLoopMode(), config.getIntProperty(GAME_SESSION_MAX_CATCH_UP_STEPS,
+                            GameThread.DEFAULT_MAX_CATCH_UP_STEPS));
             gameThd.setThreadObserver(this);
             gameThd.start();
         } else {
@@ -256,6 +266,27 @@ public class ActionGameEngine implements IGameEngine, ThreadObserver {
         }
     }
 
+    /**
+     * Get the game loop mode from the configuration.
+     * 
+     * @return the configured game loop mode, defaults to fixed delay
+     * @throws EngineException in case of invalid mode
+     */
+    private GameLoopMode getGameLoopMode() throws EngineException {
+
+        String loopModeName = config.getProperty(GAME_SESSION_LOOP_MODE);
+
+        if (loopModeName == null || loopModeName.isEmpty()) {
+            return GameLoopMode.FIXED_DELAY;
+        }
+
+        try {
+            return GameLoopMode.valueOf(loopModeName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new EngineException("Unknown game loop mode " + loopModeName + ".", e);
+        }
+    }
+
     @Override
     public void stopGame() throws EngineException {
 
@@ -0,0 +1,18 @@
+package io.github.purpleloop.gameengine.action.model;
+
+/** The scheduling policies available for the game thread. */
+public enum GameLoopMode {
+
+	/**
+	 * The session is updated, then the game thread sleeps for the activation
+	 * delay. The update time adds to the period.
+	 */
+	FIXED_DELAY,
+
+	/**
+	 * The session is updated at a fixed rate, the activation delay being the
+	 * tick period. Late ticks are caught up, within a bounded number of updates.
+	 */
+	FIXED_RATE;
+
+}
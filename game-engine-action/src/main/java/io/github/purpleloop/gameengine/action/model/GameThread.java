@@ -1,5 +1,7 @@
 package io.github.purpleloop.gameengine.action.model;
 
+import java.util.concurrent.locks.LockSupport;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -10,38 +12,88 @@ import io.github.purpleloop.gameengine.core.util.EngineException;
 /**
  * This class manage the execution of a game on a thread. The game session is
  * regularly updated.
+ *
+ * The way updates are scheduled depends on the {@link GameLoopMode}. In
+ * {@link GameLoopMode#FIXED_RATE} mode, the activation delay is a real tick
+ * period : deadlines are computed from {@link System#nanoTime()}, the elapsed
+ * time is accumulated and late ticks are caught up, up to a maximal number of
+ * updates per loop iteration.
  */
 public class GameThread extends Thread {
 
 	/** Class logger. */
 	private static Log log = LogFactory.getLog(GameThread.class);
 
+	/** Default maximal number of updates to catch up in a loop iteration. */
+	public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+
+	/** 1.000.000 nanoseconds per milliseconds. */
+	private static final long NANO_PER_MILLIS = 1000000L;
+
+	/**
+	 * Remaining time under which the thread spins instead of parking, in
+	 * nanoseconds. Parking is not precise enough for the last part of the wait.
+	 */
+	private static final long SPIN_THRESHOLD_NANOS = NANO_PER_MILLIS;
+
 	/** Delay between two activations of the session, in ms. */
 	private int activationDelay;
 
+	/** The scheduling policy of the session updates. */
+	private GameLoopMode loopMode;
+
+	/** Maximal number of updates to catch up in a loop iteration. */
+	private int maxCatchUpSteps;
+
 	/** Observer of the game thread. */
 	private ThreadObserver threadObserver;
 
 	/** Is the game thread terminated ? */
-	private boolean terminated;
+	private volatile boolean terminated;
 
 	/** The game session. */
 	private ISession session;
 
 	/** Is the game paused ? */
-	private boolean paused;
+	private volatile boolean paused;
 
 	/**
-	 * Creates a game thread.
-	 * 
+	 * Creates a game thread, updating the session with a fixed delay.
+	 *
 	 * @param gameSession     The game session
 	 * @param activationDelay delay between two session activations
 	 */
 	public GameThread(ISession gameSession, int activationDelay) {
+		this(gameSession, activationDelay, GameLoopMode.FIXED_DELAY, DEFAULT_MAX_CATCH_UP_STEPS);
+	}
+
+	/**
+	 * Creates a game thread.
+	 *
+	 * @param gameSession     The game session
+	 * @param activationDelay delay between two session activations, this is the
+	 *                        tick period in {@link GameLoopMode#FIXED_RATE} mode
+	 * @param loopMode        the scheduling policy of the session updates
+	 * @param maxCatchUpSteps maximal number of updates to catch up in a loop
+	 *                        iteration (fixed rate mode only)
+	 */
+	public GameThread(ISession gameSession, int activationDelay, GameLoopMode loopMode,
+			int maxCatchUpSteps) {
 		super("GameEngine-GameThread");
+
+		if (activationDelay <= 0 && loopMode == GameLoopMode.FIXED_RATE) {
+			throw new IllegalArgumentException("The tick period must be positive in fixed rate mode.");
+		}
+
+		if (maxCatchUpSteps < 1) {
+			throw new IllegalArgumentException("At least one update must be done per loop iteration.");
+		}
+
 		this.terminated = false;
 		this.paused = false;
 		this.activationDelay = activationDelay;
+		this.loopMode = loopMode;
+		this.maxCatchUpSteps = maxCatchUpSteps;
 		this.session = gameSession;
 	}
 
@@ -59,7 +111,7 @@ public class GameThread extends Thread {
 
 	/**
 	 * Switch the pause mode.
-	 * 
+	 *
 	 * @return true if the game is paused, false otherwise
 	 */
 	public synchronized boolean pause() {
@@ -67,21 +119,22 @@ public class GameThread extends Thread {
 		return paused;
 	}
 
+	/** @return true while the game loop has to go on */
+	private boolean isRunning() {
+		return (!terminated) && (!session.isEnded());
+	}
+
 	@Override
 	public void run() {
 
 		try {
-			while ((!terminated) && (!session.isEnded())) {
-
-				if (!paused) {
-					session.update();
-				}
+			log.debug("Game loop starts in " + loopMode + " mode with an activation delay of "
+					+ activationDelay + " ms");
 
-				try {
-					sleep(activationDelay);
-				} catch (InterruptedException e) {
-					throw new EngineException("Thread game has been interrupted " + e);
-				}
+			if (loopMode == GameLoopMode.FIXED_RATE) {
+				runAtFixedRate();
+			} else {
+				runWithFixedDelay();
 			}
 
 		} catch (EngineException e) {
@@ -95,4 +148,93 @@ public class GameThread extends Thread {
 		}
 	}
 
+	/**
+	 * Updates the session, then sleeps for the activation delay.
+	 *
+	 * @throws EngineException in case of problem
+	 */
+	private void runWithFixedDelay() throws EngineException {
+
+		while (isRunning()) {
+
+			if (!paused) {
+				session.update();
+			}
+
+			try {
+				sleep(activationDelay);
+			} catch (InterruptedException e) {
+				throw new EngineException("Thread game has been interrupted " + e);
+			}
+		}
+	}
+
+	/**
+	 * Updates the session at a fixed rate. The elapsed time is accumulated and
+	 * consumed by steps of one period, each step being a session update.
+	 *
+	 * @throws EngineException in case of problem
+	 */
+	private void runAtFixedRate() throws EngineException {
+
+		long period = activationDelay * NANO_PER_MILLIS;
+		long accumulator = period;
+		long previousTime = System.nanoTime();
+
+		while (isRunning()) {
+
+			long now = System.nanoTime();
+			accumulator += now - previousTime;
+			previousTime = now;
+
+			if (paused) {
+				// Do not accumulate time while paused, to avoid a burst on resume
+				accumulator = 0;
+
+			} else {
+
+				int steps = 0;
+				while (accumulator >= period && steps < maxCatchUpSteps && isRunning()) {
+					session.update();
+					accumulator -= period;
+					steps++;
+				}
+
+				if (accumulator >= period) {
+					// Too late to catch up, the remaining ticks are dropped
+					log.debug("Game loop is late, dropping " + (accumulator / period) + " tick(s)");
+					accumulator %= period;
+				}
+			}
+
+			waitUntil(previousTime + period - accumulator);
+		}
+	}
+
+	/**
+	 * Waits until the given deadline. The thread is parked for most of the wait
+	 * and spins for the last part, for precision.
+	 *
+	 * @param deadline the deadline, as given by {@link System#nanoTime()}
+	 * @throws EngineException if the thread is interrupted
+	 */
+	private void waitUntil(long deadline) throws EngineException {
+
+		long remaining = deadline - System.nanoTime();
+		while (remaining > 0) {
+
+			if (remaining > SPIN_THRESHOLD_NANOS) {
+				LockSupport.parkNanos(this, remaining - SPIN_THRESHOLD_NANOS);
+			} else {
+				Thread.onSpinWait();
+			}
+
+			if (isInterrupted()) {
+				throw new EngineException("Thread game has been interrupted");
+			}
+
+			remaining = deadline - System.nanoTime();
+		}
+	}
+
 }
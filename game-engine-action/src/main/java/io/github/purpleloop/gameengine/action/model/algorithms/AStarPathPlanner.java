@@ -0,0 +1,37 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+/** A* path planner, expanding the 4 neighbors of each cell. */
+public class AStarPathPlanner extends AbstractGridPathPlanner {
+
+    /**
+     * Creates an A* path planner for a grid.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     */
+    public AStarPathPlanner(int width, int height) {
+        super(width, height);
+    }
+
+    @Override
+    protected void expand(int node, CellPassability passability) {
+
+        int cx = node % width;
+        int cy = node / width;
+        int neighborCost = getCost(node) + 1;
+
+        if (isFree(cx + 1, cy, passability)) {
+            open(node + 1, neighborCost, node);
+        }
+        if (isFree(cx - 1, cy, passability)) {
+            open(node - 1, neighborCost, node);
+        }
+        if (isFree(cx, cy + 1, passability)) {
+            open(node + width, neighborCost, node);
+        }
+        if (isFree(cx, cy - 1, passability)) {
+            open(node - width, neighborCost, node);
+        }
+    }
+
+}
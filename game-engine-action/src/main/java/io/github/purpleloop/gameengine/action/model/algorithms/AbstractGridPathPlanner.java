@@ -0,0 +1,368 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Base of the best first path planners over a grid of cells.
+ * 
+ * <p>
+ * Nodes are cell indexes (cy * width + cx). The open set is a binary heap of
+ * primitive keys packing the estimated cost of a node, its estimated cost to
+ * the goal (to prefer the nodes closest to the goal among equal estimates) and
+ * its index. The costs
+ * and parents of the nodes are stored in arrays allocated once, and stamped
+ * with a search generation, so that nothing is cleared nor allocated between
+ * searches.
+ * </p>
+ * 
+ * <p>
+ * Subclasses define the successors of the nodes. Successors are not
+ * necessarily adjacent : consecutive nodes of a path must be on the same row
+ * or column, the cells between them being added to the path.
+ * </p>
+ */
+public abstract class AbstractGridPathPlanner implements PathPlanner {
+
+    /** Parent of the start node. */
+    protected static final int NO_PARENT = -1;
+
+    /** Initial capacity of the open set. */
+    private static final int INITIAL_HEAP_CAPACITY = 256;
+
+    /** Number of usable bits in a heap key. */
+    private static final int KEY_BITS = Long.SIZE - 1;
+
+    /** Width of the grid in cells. */
+    protected final int width;
+
+    /** Height of the grid in cells. */
+    protected final int height;
+
+    /** Cost from the start, for each node. */
+    private final int[] costs;
+
+    /** Parent node on the best known path, for each node. */
+    private final int[] parents;
+
+    /** Generation where the node has been reached, for each node. */
+    private final int[] reachedGenerations;
+
+    /** Generation where the node has been expanded, for each node. */
+    private final int[] closedGenerations;
+
+    /** Number of bits of the node index in a heap key. */
+    private final int nodeBits;
+
+    /** Shift of the estimated cost in a heap key. */
+    private final int estimateShift;
+
+    /** Mask of the node index in a heap key. */
+    private final long nodeMask;
+
+    /** The current search generation. */
+    private int generation;
+
+    /** The open set, as a binary heap of keys. */
+    private long[] heap;
+
+    /** Number of keys in the open set. */
+    private int heapSize;
+
+    /** Maximal number of expanded nodes per search, 0 for no limit. */
+    private int maxExpandedNodes;
+
+    /** Number of nodes expanded by the last search. */
+    private int expandedNodes;
+
+    /** Abscissa of the goal of the current search. */
+    protected int goalX;
+
+    /** Ordinate of the goal of the current search. */
+    protected int goalY;
+
+    /**
+     * Creates a path planner for a grid.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     */
+    protected AbstractGridPathPlanner(int width, int height) {
+
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid grid size for a path planner " + width + " x " + height + ".");
+        }
+
+        this.width = width;
+        this.height = height;
+
+        int cellCount = width * height;
+        this.costs = new int[cellCount];
+        this.parents = new int[cellCount];
+        this.reachedGenerations = new int[cellCount];
+        this.closedGenerations = new int[cellCount];
+        this.heap = new long[INITIAL_HEAP_CAPACITY];
+
+        // Estimates are below twice the cell count, the tie break on the
+        // distance to the goal is dropped for grids too large to pack it
+        this.nodeBits = bitsFor(cellCount);
+        int heuristicBits = bitsFor(width + height);
+        int estimateBits = nodeBits + 1;
+        if (nodeBits + heuristicBits + estimateBits > KEY_BITS) {
+            heuristicBits = 0;
+        }
+        this.estimateShift = nodeBits + heuristicBits;
+        this.nodeMask = (1L << nodeBits) - 1;
+    }
+
+    /**
+     * @param count a number of values
+     * @return the number of bits needed to represent values from 0 to count
+     */
+    private static int bitsFor(int count) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(count);
+    }
+
+    /**
+     * Bounds the searches, so that a search on a large grid cannot take too
+     * long. A search reaching the limit fails.
+     * 
+     * @param maxExpandedNodes maximal number of expanded nodes per search, 0
+     *            for no limit
+     */
+    public void setMaxExpandedNodes(int maxExpandedNodes) {
+        this.maxExpandedNodes = Math.max(0, maxExpandedNodes);
+    }
+
+    /** @return the number of nodes expanded by the last search */
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    @Override
+    public final boolean findPath(int startX, int startY, int goalX, int goalY,
+            CellPassability passability, PathBuffer path) {
+
+        if (!isInBounds(startX, startY) || !isInBounds(goalX, goalY)) {
+            throw new IllegalArgumentException("The path (" + startX + ", " + startY + ") -> ("
+                    + goalX + ", " + goalY + ") is out of the grid " + width + " x " + height
+                    + ".");
+        }
+
+        path.clear();
+        expandedNodes = 0;
+
+        if (!passability.isPassable(goalX, goalY)) {
+            return false;
+        }
+
+        this.goalX = goalX;
+        this.goalY = goalY;
+        nextGeneration();
+
+        int goal = goalY * width + goalX;
+        open(startY * width + startX, 0, NO_PARENT);
+
+        while (heapSize > 0) {
+
+            int node = (int) (pop() & nodeMask);
+
+            // Nodes may be queued several times, the first one is the best
+            if (closedGenerations[node] == generation) {
+                continue;
+            }
+
+            if (node == goal) {
+                buildPath(goal, path);
+                return true;
+            }
+
+            closedGenerations[node] = generation;
+            expandedNodes++;
+            if (maxExpandedNodes > 0 && expandedNodes >= maxExpandedNodes) {
+                return false;
+            }
+
+            expand(node, passability);
+        }
+
+        return false;
+    }
+
+    /**
+     * Expands a node, by opening its successors.
+     * 
+     * @param node the expanded node
+     * @param passability the passability of the cells
+     */
+    protected abstract void expand(int node, CellPassability passability);
+
+    /**
+     * Opens a node, if the given path to it is better than the known one.
+     * 
+     * @param node the node
+     * @param cost the cost from the start to the node
+     * @param parent the parent node on the path
+     */
+    protected final void open(int node, int cost, int parent) {
+
+        if (closedGenerations[node] == generation) {
+            return;
+        }
+
+        if (reachedGenerations[node] != generation || cost < costs[node]) {
+            reachedGenerations[node] = generation;
+            costs[node] = cost;
+            parents[node] = parent;
+
+            int heuristic = heuristic(node % width, node / width);
+            long estimate = (long) cost + heuristic;
+            long tieBreak = estimateShift > nodeBits ? (long) heuristic << nodeBits : 0L;
+            push((estimate << estimateShift) | tieBreak | node);
+        }
+    }
+
+    /**
+     * @param node a node reached in the current search
+     * @return the cost from the start to the node
+     */
+    protected final int getCost(int node) {
+        return costs[node];
+    }
+
+    /**
+     * @param node a node reached in the current search
+     * @return the parent of the node, {@link #NO_PARENT} for the start node
+     */
+    protected final int getParent(int node) {
+        return parents[node];
+    }
+
+    /**
+     * The estimated cost from a cell to the goal : the manhattan distance,
+     * which is never above the real cost.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return the estimated cost to the goal
+     */
+    protected final int heuristic(int cx, int cy) {
+        return Math.abs(cx - goalX) + Math.abs(cy - goalY);
+    }
+
+    /**
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return true if the cell is in the grid, false otherwise
+     */
+    protected final boolean isInBounds(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < width && cy < height;
+    }
+
+    /**
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @param passability the passability of the cells
+     * @return true if the cell is in the grid and passable, false otherwise
+     */
+    protected final boolean isFree(int cx, int cy, CellPassability passability) {
+        return isInBounds(cx, cy) && passability.isPassable(cx, cy);
+    }
+
+    /**
+     * Builds the path to the goal, by following the parents and filling the
+     * cells between consecutive nodes.
+     * 
+     * @param goal the goal node
+     * @param path the buffer receiving the path
+     */
+    private void buildPath(int goal, PathBuffer path) {
+
+        int node = goal;
+        int x = goal % width;
+        int y = goal / width;
+        path.add(x, y);
+
+        while (parents[node] != NO_PARENT) {
+
+            int parent = parents[node];
+            int px = parent % width;
+            int py = parent / width;
+            int dx = Integer.signum(px - x);
+            int dy = Integer.signum(py - y);
+
+            while (x != px || y != py) {
+                x += dx;
+                y += dy;
+                path.add(x, y);
+            }
+            node = parent;
+        }
+
+        path.reverse();
+    }
+
+    /** Starts a new search generation. */
+    private void nextGeneration() {
+
+        heapSize = 0;
+        generation++;
+
+        // After a wrap around, older stamps could be mistaken for current ones
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(reachedGenerations, 0);
+            Arrays.fill(closedGenerations, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Adds a key to the open set.
+     * 
+     * @param key the key
+     */
+    private void push(long key) {
+
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+
+        int index = heapSize++;
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            long parentKey = heap[parentIndex];
+            if (parentKey <= key) {
+                break;
+            }
+            heap[index] = parentKey;
+            index = parentIndex;
+        }
+        heap[index] = key;
+    }
+
+    /** @return the smallest key of the open set, removed from it */
+    private long pop() {
+
+        long top = heap[0];
+        long key = heap[--heapSize];
+
+        int index = 0;
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < heapSize && heap[right] < heap[child]) {
+                child = right;
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+
+        return top;
+    }
+
+}
@@ -0,0 +1,17 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+/**
+ * Tells if cells can be crossed, typically by a given object of a cell
+ * environment. Algorithms only ask for cells within the environment bounds.
+ */
+@FunctionalInterface
+public interface CellPassability {
+
+    /**
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return true if the cell can be crossed, false otherwise
+     */
+    boolean isPassable(int cx, int cy);
+
+}
@@ -0,0 +1,158 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+/**
+ * A clearance map, giving for each cell the size of the largest square of
+ * passable cells having the cell as top left corner.
+ * 
+ * <p>
+ * An object occupying a square of cells (its footprint), anchored on its top
+ * left cell, can stand on a cell if the clearance of the cell is at least its
+ * footprint. The passabilities of {@link #getPassability(int)} let the path
+ * planners and distance fields route large objects with a single check per
+ * cell, never through gaps they cannot fit in.
+ * </p>
+ * 
+ * <p>
+ * Clearances are bounded by a maximal footprint, so that the change of a cell
+ * only affects the clearances of a small square above and on the left of it.
+ * </p>
+ */
+public class ClearanceMap {
+
+    /** Default maximal footprint. */
+    public static final int DEFAULT_MAX_FOOTPRINT = 4;
+
+    /** Width of the grid in cells. */
+    private final int width;
+
+    /** Height of the grid in cells. */
+    private final int height;
+
+    /** Maximal footprint, bounding the clearances. */
+    private final int maxFootprint;
+
+    /** The passability of the single cells. */
+    private final CellPassability passability;
+
+    /** Clearance of each cell, indexed by cy * width + cx. */
+    private final byte[] clearances;
+
+    /** Passabilities for each footprint. */
+    private final CellPassability[] footprintPassabilities;
+
+    /**
+     * Creates the clearance map of a grid.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     * @param maxFootprint maximal footprint, at most {@link Byte#MAX_VALUE}
+     * @param passability the passability of the single cells
+     */
+    public ClearanceMap(int width, int height, int maxFootprint, CellPassability passability) {
+
+        if (width <= 0 || height <= 0 || maxFootprint <= 0 || maxFootprint > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid clearance map for a grid " + width
+                    + " x " + height + " with a maximal footprint of " + maxFootprint + ".");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.maxFootprint = maxFootprint;
+        this.passability = passability;
+        this.clearances = new byte[width * height];
+
+        this.footprintPassabilities = new CellPassability[maxFootprint + 1];
+        for (int footprint = 1; footprint <= maxFootprint; footprint++) {
+            int size = footprint;
+            footprintPassabilities[footprint] = (cx, cy) -> clearances[cy * width + cx] >= size;
+        }
+
+        computeRegion(0, 0, width - 1, height - 1);
+    }
+
+    /** @return the width of the grid in cells */
+    public int getWidth() {
+        return width;
+    }
+
+    /** @return the height of the grid in cells */
+    public int getHeight() {
+        return height;
+    }
+
+    /** @return the maximal footprint */
+    public int getMaxFootprint() {
+        return maxFootprint;
+    }
+
+    /**
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return the size of the largest square of passable cells having the cell
+     *         as top left corner, bounded by the maximal footprint
+     */
+    public int getClearance(int cx, int cy) {
+        return clearances[cy * width + cx];
+    }
+
+    /**
+     * Gets the passability of the cells for objects of a footprint.
+     * 
+     * @param footprint size of the square occupied by the objects, in cells
+     * @return the passability of the cells, true where the objects fit
+     */
+    public CellPassability getPassability(int footprint) {
+
+        if (footprint <= 0 || footprint > maxFootprint) {
+            throw new IllegalArgumentException("Invalid footprint " + footprint
+                    + ", the maximal footprint is " + maxFootprint + ".");
+        }
+        return footprintPassabilities[footprint];
+    }
+
+    /**
+     * Updates the clearances after a change of passability of a cell. Only the
+     * cells whose squares may contain the changed cell are computed again.
+     * 
+     * @param cx abscissa of the changed cell
+     * @param cy ordinate of the changed cell
+     */
+    public void updateCell(int cx, int cy) {
+        computeRegion(Math.max(0, cx - maxFootprint + 1), Math.max(0, cy - maxFootprint + 1),
+                cx, cy);
+    }
+
+    /**
+     * Computes the clearances of a region, from its bottom right corner. The
+     * clearances below and on the right of the region must be up to date.
+     * 
+     * @param minX abscissa of the top left cell of the region
+     * @param minY ordinate of the top left cell of the region
+     * @param maxX abscissa of the bottom right cell of the region
+     * @param maxY ordinate of the bottom right cell of the region
+     */
+    private void computeRegion(int minX, int minY, int maxX, int maxY) {
+
+        for (int cy = maxY; cy >= minY; cy--) {
+            for (int cx = maxX; cx >= minX; cx--) {
+
+                int clearance = 0;
+                if (passability.isPassable(cx, cy)) {
+
+                    // The square is bounded by the squares of the right, bottom
+                    // and bottom right neighbors
+                    int right = cx + 1 < width ? clearances[cy * width + cx + 1] : 0;
+                    int bottom = cy + 1 < height ? clearances[(cy + 1) * width + cx] : 0;
+                    int diagonal = cx + 1 < width && cy + 1 < height
+                            ? clearances[(cy + 1) * width + cx + 1]
+                            : 0;
+                    clearance = Math.min(maxFootprint,
+                            1 + Math.min(right, Math.min(bottom, diagonal)));
+                }
+
+                clearances[cy * width + cx] = (byte) clearance;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,782 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * An abstraction of a grid of cells for hierarchical path finding (HPA*).
+ * 
+ * <p>
+ * The grid is divided in square clusters. Wherever two adjacent clusters are
+ * connected by a run of passable cells on both sides of their border, an
+ * entrance is placed in the middle of the run : a pair of nodes, one on each
+ * side, linked at cost 1. Inside each cluster, the distances between its nodes
+ * are precomputed.
+ * </p>
+ * 
+ * <p>
+ * The identifier of a node is given by the position of its cell on the
+ * perimeter of its cluster, so that the nodes of a cluster do not depend on
+ * the other clusters. Identifiers are therefore sparse, see
+ * {@link #getNodeCapacity()}.
+ * </p>
+ * 
+ * <p>
+ * Graphs are immutable, so that a graph can be cached with its level and
+ * shared by several environments. When a cell changes, a new graph is derived
+ * with {@link #withCellChanged(int, int, CellPassability)}, collecting again
+ * only the entrances of the borders of the changed cell, and computing again
+ * only the clusters whose nodes changed. The data of the other clusters is
+ * shared with the previous graph.
+ * </p>
+ */
+public final class ClusterGraph {
+
+    /** Default size of the clusters, in cells. */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    /** Distance between nodes that are not connected. */
+    public static final int UNREACHED = Integer.MAX_VALUE;
+
+    /** Maximal number of entrances of a node, one per border of its cell. */
+    static final int MAX_LINKS = 2;
+
+    /** Marks a missing link of a node. */
+    static final int NO_LINK = -1;
+
+    /** Entrances of a border without any. */
+    private static final int[] NO_ENTRANCES = new int[0];
+
+    /** Width of the grid in cells. */
+    private final int width;
+
+    /** Height of the grid in cells. */
+    private final int height;
+
+    /** Size of the clusters in cells. */
+    private final int clusterSize;
+
+    /** Number of clusters on a row. */
+    private final int clustersX;
+
+    /** Number of clusters on a column. */
+    private final int clustersY;
+
+    /** Number of node identifiers of each cluster. */
+    private final int nodeStride;
+
+    /** Passable cells of each cluster, as bits in local row order. */
+    private final long[][] clusterPassability;
+
+    /**
+     * Cells on each side of the entrances, by pairs, for the east border then
+     * the south border of each cluster. The first cell of a pair is the one of
+     * the cluster.
+     */
+    private final int[][] borderEntrances;
+
+    /** Nodes of each cluster, in increasing order. */
+    private final int[][] clusterNodes;
+
+    /**
+     * Nodes on the other side of the entrances of the nodes of each cluster,
+     * {@link #MAX_LINKS} per node, padded with {@link #NO_LINK}.
+     */
+    private final int[][] clusterLinks;
+
+    /**
+     * Distances between the nodes of each cluster, as a matrix indexed by the
+     * node ranks.
+     */
+    private final int[][] clusterDistances;
+
+    /** Number of nodes. */
+    private int nodeCount;
+
+    /**
+     * Creates an empty cluster graph.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     * @param clusterSize size of the clusters in cells
+     */
+    private ClusterGraph(int width, int height, int clusterSize) {
+
+        this.width = width;
+        this.height = height;
+        this.clusterSize = clusterSize;
+        this.clustersX = (width + clusterSize - 1) / clusterSize;
+        this.clustersY = (height + clusterSize - 1) / clusterSize;
+        this.nodeStride = 4 * clusterSize;
+
+        int clusterCount = clustersX * clustersY;
+        this.clusterPassability = new long[clusterCount][];
+        this.borderEntrances = new int[2 * clusterCount][];
+        this.clusterNodes = new int[clusterCount][];
+        this.clusterLinks = new int[clusterCount][];
+        this.clusterDistances = new int[clusterCount][];
+    }
+
+    /**
+     * Creates a copy of a cluster graph, sharing the data of its clusters.
+     * 
+     * @param previous the copied graph
+     */
+    private ClusterGraph(ClusterGraph previous) {
+
+        this.width = previous.width;
+        this.height = previous.height;
+        this.clusterSize = previous.clusterSize;
+        this.clustersX = previous.clustersX;
+        this.clustersY = previous.clustersY;
+        this.nodeStride = previous.nodeStride;
+        this.clusterPassability = previous.clusterPassability.clone();
+        this.borderEntrances = previous.borderEntrances.clone();
+        this.clusterNodes = previous.clusterNodes.clone();
+        this.clusterLinks = previous.clusterLinks.clone();
+        this.clusterDistances = previous.clusterDistances.clone();
+        this.nodeCount = previous.nodeCount;
+    }
+
+    /**
+     * Builds the cluster graph of a grid.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     * @param clusterSize size of the clusters in cells
+     * @param passability the passability of the cells
+     * @return the cluster graph
+     */
+    public static ClusterGraph build(int width, int height, int clusterSize,
+            CellPassability passability) {
+
+        if (width <= 0 || height <= 0 || clusterSize <= 1) {
+            throw new IllegalArgumentException("Invalid cluster graph for a grid " + width + " x "
+                    + height + " with clusters of " + clusterSize + " cells.");
+        }
+
+        ClusterGraph graph = new ClusterGraph(width, height, clusterSize);
+        int clusterCount = graph.getClusterCount();
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            graph.clusterPassability[cluster] = graph.readPassability(cluster, passability);
+            graph.collectEastEntrances(cluster, passability);
+            graph.collectSouthEntrances(cluster, passability);
+        }
+
+        ClusterDistanceComputer computer = new ClusterDistanceComputer(graph, passability);
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            graph.updateCluster(cluster, computer, true);
+        }
+        return graph;
+    }
+
+    /**
+     * Derives the graph after a change of passability of a cell. This graph is
+     * not modified, and is returned as is if the passability of the cell did
+     * not change.
+     * 
+     * @param cx abscissa of the changed cell
+     * @param cy ordinate of the changed cell
+     * @param passability the passability of the cells, after the change
+     * @return the new graph
+     */
+    public ClusterGraph withCellChanged(int cx, int cy, CellPassability passability) {
+
+        boolean passable = passability.isPassable(cx, cy);
+        if (isPassable(cx, cy) == passable) {
+            return this;
+        }
+
+        int cluster = getCluster(cx, cy);
+        int local = (cy - getClusterMinY(cluster)) * getClusterWidth(cluster)
+                + cx - getClusterMinX(cluster);
+        ClusterGraph graph = new ClusterGraph(this);
+        long[] bits = clusterPassability[cluster].clone();
+        bits[local >>> 6] ^= 1L << local;
+        graph.clusterPassability[cluster] = bits;
+
+        // Only the borders along the cell have other entrances
+        int clusterX = cluster % clustersX;
+        int clusterY = cluster / clustersX;
+        boolean east = cx == getClusterMinX(cluster) + getClusterWidth(cluster) - 1
+                && clusterX + 1 < clustersX;
+        boolean west = cx == getClusterMinX(cluster) && clusterX > 0;
+        boolean south = cy == getClusterMinY(cluster) + getClusterHeight(cluster) - 1
+                && clusterY + 1 < clustersY;
+        boolean north = cy == getClusterMinY(cluster) && clusterY > 0;
+
+        if (east) {
+            graph.collectEastEntrances(cluster, passability);
+        }
+        if (west) {
+            graph.collectEastEntrances(cluster - 1, passability);
+        }
+        if (south) {
+            graph.collectSouthEntrances(cluster, passability);
+        }
+        if (north) {
+            graph.collectSouthEntrances(cluster - clustersX, passability);
+        }
+
+        ClusterDistanceComputer computer = new ClusterDistanceComputer(graph, passability);
+        graph.updateCluster(cluster, computer, true);
+        if (east) {
+            graph.updateCluster(cluster + 1, computer, false);
+        }
+        if (west) {
+            graph.updateCluster(cluster - 1, computer, false);
+        }
+        if (south) {
+            graph.updateCluster(cluster + clustersX, computer, false);
+        }
+        if (north) {
+            graph.updateCluster(cluster - clustersX, computer, false);
+        }
+
+        return graph;
+    }
+
+    /**
+     * @param cluster a cluster
+     * @param passability the passability of the cells
+     * @return the passable cells of the cluster, as bits in local row order
+     */
+    private long[] readPassability(int cluster, CellPassability passability) {
+
+        int minX = getClusterMinX(cluster);
+        int minY = getClusterMinY(cluster);
+        int clusterWidth = getClusterWidth(cluster);
+        int clusterHeight = getClusterHeight(cluster);
+
+        long[] bits = new long[(clusterWidth * clusterHeight + Long.SIZE - 1) / Long.SIZE];
+        for (int ly = 0; ly < clusterHeight; ly++) {
+            for (int lx = 0; lx < clusterWidth; lx++) {
+                if (passability.isPassable(minX + lx, minY + ly)) {
+                    int local = ly * clusterWidth + lx;
+                    bits[local >>> 6] |= 1L << local;
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * @param cx abscissa of a cell
+     * @param cy ordinate of a cell
+     * @return true if the cell was passable when the graph was built
+     */
+    private boolean isPassable(int cx, int cy) {
+        int cluster = getCluster(cx, cy);
+        int local = (cy - getClusterMinY(cluster)) * getClusterWidth(cluster)
+                + cx - getClusterMinX(cluster);
+        return (clusterPassability[cluster][local >>> 6] & (1L << local)) != 0;
+    }
+
+    /**
+     * Collects the entrances of the border between a cluster and the cluster
+     * on its right.
+     * 
+     * @param cluster the cluster
+     * @param passability the passability of the cells
+     */
+    private void collectEastEntrances(int cluster, CellPassability passability) {
+
+        borderEntrances[2 * cluster] = cluster % clustersX + 1 < clustersX
+                ? collectRuns(getClusterMinX(cluster) + getClusterWidth(cluster) - 1,
+                        getClusterMinY(cluster), 0, 1, 1, 0, getClusterHeight(cluster),
+                        passability)
+                : NO_ENTRANCES;
+    }
+
+    /**
+     * Collects the entrances of the border between a cluster and the cluster
+     * below it.
+     * 
+     * @param cluster the cluster
+     * @param passability the passability of the cells
+     */
+    private void collectSouthEntrances(int cluster, CellPassability passability) {
+
+        borderEntrances[2 * cluster + 1] = cluster / clustersX + 1 < clustersY
+                ? collectRuns(getClusterMinX(cluster),
+                        getClusterMinY(cluster) + getClusterHeight(cluster) - 1, 1, 0, 0, 1,
+                        getClusterWidth(cluster), passability)
+                : NO_ENTRANCES;
+    }
+
+    /**
+     * Collects the entrances along a border segment : runs of cells that are
+     * passable on both sides.
+     * 
+     * @param x abscissa of the first cell of the segment
+     * @param y ordinate of the first cell of the segment
+     * @param stepX abscissa step along the segment
+     * @param stepY ordinate step along the segment
+     * @param crossX abscissa step across the border
+     * @param crossY ordinate step across the border
+     * @param length length of the segment
+     * @param passability the passability of the cells
+     * @return cells on each side of the entrances, by pairs
+     */
+    private int[] collectRuns(int x, int y, int stepX, int stepY, int crossX, int crossY,
+            int length, CellPassability passability) {
+
+        // Runs are separated by at least one cell
+        int[] pairs = new int[length + 1];
+        int pairCount = 0;
+
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+
+            boolean open = i < length
+                    && passability.isPassable(x + i * stepX, y + i * stepY)
+                    && passability.isPassable(x + i * stepX + crossX, y + i * stepY + crossY);
+
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int middle = (runStart + i - 1) / 2;
+                int cx = x + middle * stepX;
+                int cy = y + middle * stepY;
+                pairs[pairCount++] = cy * width + cx;
+                pairs[pairCount++] = (cy + crossY) * width + cx + crossX;
+                runStart = -1;
+            }
+        }
+        return pairCount == 0 ? NO_ENTRANCES : Arrays.copyOf(pairs, pairCount);
+    }
+
+    /**
+     * Updates the nodes and links of a cluster from the entrances of its
+     * borders, and computes again its distances if needed.
+     * 
+     * @param cluster the cluster
+     * @param computer the distance computer
+     * @param changed true if the cells of the cluster changed, false if only
+     *            its entrances may have changed
+     */
+    private void updateCluster(int cluster, ClusterDistanceComputer computer, boolean changed) {
+
+        int[] east = borderEntrances[2 * cluster];
+        int[] south = borderEntrances[2 * cluster + 1];
+        int[] west = cluster % clustersX > 0 ? borderEntrances[2 * (cluster - 1)] : NO_ENTRANCES;
+        int[] north = cluster / clustersX > 0 ? borderEntrances[2 * (cluster - clustersX) + 1]
+                : NO_ENTRANCES;
+
+        // Links of the nodes, as (node, linked node) keys in increasing order
+        long[] keys = new long[(east.length + south.length + west.length + north.length) / 2];
+        int keyCount = addLinks(keys, 0, east, 0);
+        keyCount = addLinks(keys, keyCount, south, 0);
+        keyCount = addLinks(keys, keyCount, west, 1);
+        keyCount = addLinks(keys, keyCount, north, 1);
+        Arrays.sort(keys);
+
+        int[] nodes = new int[keyCount];
+        int[] links = new int[MAX_LINKS * keyCount];
+        Arrays.fill(links, NO_LINK);
+        int count = 0;
+        for (int i = 0; i < keyCount; i++) {
+            int node = (int) (keys[i] >>> Integer.SIZE);
+            if (count == 0 || nodes[count - 1] != node) {
+                nodes[count++] = node;
+            }
+            int slot = MAX_LINKS * (count - 1);
+            links[links[slot] == NO_LINK ? slot : slot + 1] = (int) keys[i];
+        }
+        nodes = Arrays.copyOf(nodes, count);
+        links = Arrays.copyOf(links, MAX_LINKS * count);
+
+        int[] previousNodes = clusterNodes[cluster];
+        boolean sameNodes = Arrays.equals(nodes, previousNodes);
+        if (!sameNodes || !Arrays.equals(links, clusterLinks[cluster])) {
+            nodeCount += count - (previousNodes == null ? 0 : previousNodes.length);
+            clusterNodes[cluster] = nodes;
+            clusterLinks[cluster] = links;
+        }
+
+        if (changed || !sameNodes) {
+            clusterDistances[cluster] = computer.computeDistances(cluster);
+        }
+    }
+
+    /**
+     * Adds the links of the entrances of a border, seen from one side.
+     * 
+     * @param keys the (node, linked node) keys
+     * @param keyCount number of keys
+     * @param entrances cells on each side of the entrances, by pairs
+     * @param side 0 for the nodes of the first cells, 1 for the other ones
+     * @return the new number of keys
+     */
+    private int addLinks(long[] keys, int keyCount, int[] entrances, int side) {
+
+        int count = keyCount;
+        for (int i = 0; i < entrances.length; i += 2) {
+            long node = getNodeOfCell(entrances[i + side]);
+            int linked = getNodeOfCell(entrances[i + 1 - side]);
+            keys[count++] = (node << Integer.SIZE) | linked;
+        }
+        return count;
+    }
+
+    /**
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     * @param clusterSize size of the clusters in cells
+     * @return true if this graph abstracts a grid of the given dimensions
+     */
+    public boolean isCompatible(int width, int height, int clusterSize) {
+        return this.width == width && this.height == height && this.clusterSize == clusterSize;
+    }
+
+    /** @return the width of the grid in cells */
+    public int getWidth() {
+        return width;
+    }
+
+    /** @return the height of the grid in cells */
+    public int getHeight() {
+        return height;
+    }
+
+    /** @return the size of the clusters in cells */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /** @return the number of clusters */
+    public int getClusterCount() {
+        return clusterDistances.length;
+    }
+
+    /** @return the number of nodes */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /** @return the number of node identifiers, from 0 */
+    int getNodeCapacity() {
+        return getClusterCount() * nodeStride;
+    }
+
+    /**
+     * @param cx abscissa of a cell
+     * @param cy ordinate of a cell
+     * @return the cluster of the cell
+     */
+    public int getCluster(int cx, int cy) {
+        return (cy / clusterSize) * clustersX + cx / clusterSize;
+    }
+
+    /**
+     * @param cell index of a cell
+     * @return the cluster of the cell
+     */
+    int getClusterOfCell(int cell) {
+        return getCluster(cell % width, cell / width);
+    }
+
+    /**
+     * @param cluster a cluster
+     * @return abscissa of the first cell of the cluster
+     */
+    int getClusterMinX(int cluster) {
+        return (cluster % clustersX) * clusterSize;
+    }
+
+    /**
+     * @param cluster a cluster
+     * @return ordinate of the first cell of the cluster
+     */
+    int getClusterMinY(int cluster) {
+        return (cluster / clustersX) * clusterSize;
+    }
+
+    /**
+     * @param cluster a cluster
+     * @return width of the cluster, smaller on the right of the grid
+     */
+    int getClusterWidth(int cluster) {
+        return Math.min(clusterSize, width - getClusterMinX(cluster));
+    }
+
+    /**
+     * @param cluster a cluster
+     * @return height of the cluster, smaller on the bottom of the grid
+     */
+    int getClusterHeight(int cluster) {
+        return Math.min(clusterSize, height - getClusterMinY(cluster));
+    }
+
+    /**
+     * @param cell index of a cell on the perimeter of its cluster
+     * @return the node identifier of the cell
+     */
+    private int getNodeOfCell(int cell) {
+
+        int cluster = getClusterOfCell(cell);
+        int clusterWidth = getClusterWidth(cluster);
+        int clusterHeight = getClusterHeight(cluster);
+        int lx = cell % width - getClusterMinX(cluster);
+        int ly = cell / width - getClusterMinY(cluster);
+
+        int position;
+        if (ly == 0) {
+            position = lx;
+        } else if (ly == clusterHeight - 1) {
+            position = clusterWidth + lx;
+        } else if (lx == 0) {
+            position = 2 * clusterWidth + ly;
+        } else {
+            position = 2 * clusterWidth + clusterHeight + ly;
+        }
+        return cluster * nodeStride + position;
+    }
+
+    /**
+     * @param node a node
+     * @return index of the cell of the node
+     */
+    int getNodeCell(int node) {
+
+        int cluster = getClusterOfNode(node);
+        int clusterWidth = getClusterWidth(cluster);
+        int clusterHeight = getClusterHeight(cluster);
+        int position = node - cluster * nodeStride;
+
+        int lx;
+        int ly;
+        if (position < clusterWidth) {
+            lx = position;
+            ly = 0;
+        } else if (position < 2 * clusterWidth) {
+            lx = position - clusterWidth;
+            ly = clusterHeight - 1;
+        } else if (position < 2 * clusterWidth + clusterHeight) {
+            lx = 0;
+            ly = position - 2 * clusterWidth;
+        } else {
+            lx = clusterWidth - 1;
+            ly = position - 2 * clusterWidth - clusterHeight;
+        }
+        return (getClusterMinY(cluster) + ly) * width + getClusterMinX(cluster) + lx;
+    }
+
+    /**
+     * @param node a node
+     * @return the cluster of the node
+     */
+    int getClusterOfNode(int node) {
+        return node / nodeStride;
+    }
+
+    /**
+     * @param cluster a cluster
+     * @return the number of nodes of the cluster
+     */
+    int getClusterNodeCount(int cluster) {
+        return clusterNodes[cluster].length;
+    }
+
+    /**
+     * @param cluster a cluster
+     * @param rank position of a node among the nodes of the cluster
+     * @return the node
+     */
+    int getClusterNode(int cluster, int rank) {
+        return clusterNodes[cluster][rank];
+    }
+
+    /**
+     * @param node a node
+     * @return position of the node among the nodes of its cluster
+     */
+    int getNodeRank(int node) {
+        return Arrays.binarySearch(clusterNodes[getClusterOfNode(node)], node);
+    }
+
+    /**
+     * @param cluster a cluster
+     * @param fromRank rank of a node of the cluster
+     * @param toRank rank of another node of the cluster
+     * @return the distance between the nodes inside their cluster, or
+     *         {@link #UNREACHED}
+     */
+    int getIntraDistance(int cluster, int fromRank, int toRank) {
+        return clusterDistances[cluster][fromRank * clusterNodes[cluster].length + toRank];
+    }
+
+    /**
+     * @param cluster a cluster
+     * @param rank rank of a node of the cluster
+     * @param index index of the link, lower than {@link #MAX_LINKS}
+     * @return the node on the other side of an entrance of the node, or
+     *         {@link #NO_LINK}
+     */
+    int getLink(int cluster, int rank, int index) {
+        return clusterLinks[cluster][MAX_LINKS * rank + index];
+    }
+
+    /**
+     * Local breadth first searches restricted to a cluster, with scratch arrays
+     * reused between searches.
+     */
+    static final class ClusterSearch {
+
+        /** The graph. */
+        private final ClusterGraph graph;
+
+        /** Distances to the origin, indexed by local cell index. */
+        private final int[] distances;
+
+        /** Queue of local cell indexes. */
+        private final int[] queue;
+
+        /** Abscissa of the first cell of the searched cluster. */
+        private int minX;
+
+        /** Ordinate of the first cell of the searched cluster. */
+        private int minY;
+
+        /** Width of the searched cluster. */
+        private int clusterWidth;
+
+        /** Height of the searched cluster. */
+        private int clusterHeight;
+
+        /**
+         * Creates a cluster search.
+         * 
+         * @param graph the graph
+         */
+        ClusterSearch(ClusterGraph graph) {
+            this.graph = graph;
+            int area = graph.clusterSize * graph.clusterSize;
+            this.distances = new int[area];
+            this.queue = new int[area];
+        }
+
+        /**
+         * Searches the distances from a cell to all cells of its cluster. The
+         * origin cell does not need to be passable.
+         * 
+         * @param cluster the cluster
+         * @param originCell index of the origin cell, in the cluster
+         * @param passability the passability of the cells
+         */
+        void search(int cluster, int originCell, CellPassability passability) {
+
+            minX = graph.getClusterMinX(cluster);
+            minY = graph.getClusterMinY(cluster);
+            clusterWidth = graph.getClusterWidth(cluster);
+            clusterHeight = graph.getClusterHeight(cluster);
+
+            Arrays.fill(distances, 0, clusterWidth * clusterHeight, UNREACHED);
+
+            int origin = toLocal(originCell);
+            distances[origin] = 0;
+            queue[0] = origin;
+            int tail = 1;
+
+            for (int head = 0; head < tail; head++) {
+
+                int local = queue[head];
+                int lx = local % clusterWidth;
+                int ly = local / clusterWidth;
+                int neighborDistance = distances[local] + 1;
+
+                tail = visit(lx + 1, ly, neighborDistance, passability, tail);
+                tail = visit(lx - 1, ly, neighborDistance, passability, tail);
+                tail = visit(lx, ly + 1, neighborDistance, passability, tail);
+                tail = visit(lx, ly - 1, neighborDistance, passability, tail);
+            }
+        }
+
+        /**
+         * Visits a neighbor during a search.
+         * 
+         * @param lx local abscissa of the neighbor
+         * @param ly local ordinate of the neighbor
+         * @param distance distance of the neighbor
+         * @param passability the passability of the cells
+         * @param tail the tail of the queue
+         * @return the new tail of the queue
+         */
+        private int visit(int lx, int ly, int distance, CellPassability passability, int tail) {
+
+            if (lx < 0 || ly < 0 || lx >= clusterWidth || ly >= clusterHeight) {
+                return tail;
+            }
+
+            int local = ly * clusterWidth + lx;
+            if (distances[local] != UNREACHED || !passability.isPassable(minX + lx, minY + ly)) {
+                return tail;
+            }
+
+            distances[local] = distance;
+            queue[tail] = local;
+            return tail + 1;
+        }
+
+        /**
+         * @param cell index of a cell of the searched cluster
+         * @return the distance from the origin to the cell, or
+         *         {@link #UNREACHED}
+         */
+        int getDistance(int cell) {
+            return distances[toLocal(cell)];
+        }
+
+        /**
+         * @param cell index of a cell of the searched cluster
+         * @return the local index of the cell
+         */
+        private int toLocal(int cell) {
+            return (cell / graph.width - minY) * clusterWidth + (cell % graph.width - minX);
+        }
+    }
+
+    /** Computes the distances between the nodes of clusters. */
+    private static final class ClusterDistanceComputer {
+
+        /** The graph. */
+        private final ClusterGraph graph;
+
+        /** The passability of the cells. */
+        private final CellPassability passability;
+
+        /** The local search. */
+        private final ClusterSearch search;
+
+        /**
+         * Creates a distance computer.
+         * 
+         * @param graph the graph
+         * @param passability the passability of the cells
+         */
+        private ClusterDistanceComputer(ClusterGraph graph, CellPassability passability) {
+            this.graph = graph;
+            this.passability = passability;
+            this.search = new ClusterSearch(graph);
+        }
+
+        /**
+         * @param cluster the cluster
+         * @return the distance matrix between the nodes of the cluster
+         */
+        private int[] computeDistances(int cluster) {
+
+            int[] nodes = graph.clusterNodes[cluster];
+            int count = nodes.length;
+            int[] matrix = new int[count * count];
+
+            for (int i = 0; i < count; i++) {
+                search.search(cluster, graph.getNodeCell(nodes[i]), passability);
+                for (int j = 0; j < count; j++) {
+                    matrix[i * count + j] = search.getDistance(graph.getNodeCell(nodes[j]));
+                }
+            }
+            return matrix;
+        }
+    }
+
+}
@@ -0,0 +1,515 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import java.util.Arrays;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.commons.direction.Direction4;
+
+/**
+ * A field of the distances (in cells) to one or several target cells, in a
+ * grid of cells.
+ * 
+ * <p>
+ * The distances are computed by a breadth first propagation from the targets,
+ * through the passable cells. Cells are addressed by a single index (cy *
+ * width + cx) and all the data is stored in primitive arrays allocated once, so
+ * the propagation runs in O(cells) without any allocation.
+ * </p>
+ * 
+ * <p>
+ * When the passability of a cell changes, the field can be repaired locally
+ * with {@link #updateCell(int, int, CellPassability)} instead of being
+ * propagated again from the targets.
+ * </p>
+ */
+public class DistanceField {
+
+    /** Distance of the cells not reached by the propagation. */
+    public static final int UNREACHED = Integer.MAX_VALUE;
+
+    /** Value of the targets, for the value representation of the field. */
+    public static final int TARGET_VALUE = 9999;
+
+    /** Number of bits in a word of the visited set. */
+    private static final int WORD_BITS = 6;
+
+    /** Neighbor directions, in the order used to break ties. */
+    private static final Direction[] DIRECTIONS = Direction4.values();
+
+    /** Abscissa steps of the neighbor directions. */
+    private static final int[] X_STEPS = new int[DIRECTIONS.length];
+
+    /** Ordinate steps of the neighbor directions. */
+    private static final int[] Y_STEPS = new int[DIRECTIONS.length];
+
+    static {
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            X_STEPS[i] = (int) DIRECTIONS[i].getXStep();
+            Y_STEPS[i] = (int) DIRECTIONS[i].getYStep();
+        }
+    }
+
+    /** Width of the grid in cells. */
+    private final int width;
+
+    /** Height of the grid in cells. */
+    private final int height;
+
+    /** Distance to the nearest target, for each cell index. */
+    private final int[] distances;
+
+    /** Cells already queued, one bit per cell index. */
+    private final long[] visited;
+
+    /** Queue of the cell indexes to explore. */
+    private final int[] queue;
+
+    /** Index of the next cell to explore in the queue. */
+    private int queueHead;
+
+    /** Index where the next cell is queued. */
+    private int queueTail;
+
+    /** Cells whose distance is invalidated by a repair, one bit per cell index. */
+    private long[] affected;
+
+    /** Cells in the repair queue, one bit per cell index. */
+    private long[] repairQueued;
+
+    /** Circular queue of the cell indexes to relax during a repair. */
+    private int[] repairQueue;
+
+    /** Index of the next cell to relax in the repair queue. */
+    private int repairQueueHead;
+
+    /** Number of cells in the repair queue. */
+    private int repairQueueSize;
+
+    /**
+     * Creates a distance field, without target.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     */
+    public DistanceField(int width, int height) {
+
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid grid size for a distance field " + width + " x " + height + ".");
+        }
+
+        this.width = width;
+        this.height = height;
+
+        int cellCount = width * height;
+        this.distances = new int[cellCount];
+        this.visited = new long[(cellCount >> WORD_BITS) + 1];
+        this.queue = new int[cellCount];
+
+        reset();
+    }
+
+    /** @return the width of the grid in cells */
+    public int getWidth() {
+        return width;
+    }
+
+    /** @return the height of the grid in cells */
+    public int getHeight() {
+        return height;
+    }
+
+    /** Removes all targets and distances, for a new propagation. */
+    public void reset() {
+        Arrays.fill(distances, UNREACHED);
+        Arrays.fill(visited, 0L);
+        queueHead = 0;
+        queueTail = 0;
+    }
+
+    /**
+     * Adds a target cell. The target does not need to be passable.
+     * 
+     * @param cx abscissa of the target cell
+     * @param cy ordinate of the target cell
+     */
+    public void addTarget(int cx, int cy) {
+
+        if (!isInBounds(cx, cy)) {
+            throw new IllegalArgumentException("The target (" + cx + ", " + cy
+                    + ") is out of the grid " + width + " x " + height + ".");
+        }
+
+        int index = cy * width + cx;
+        if (markVisited(index)) {
+            distances[index] = 0;
+            queue[queueTail++] = index;
+        }
+    }
+
+    /**
+     * Propagates the distances from the targets through the passable cells.
+     * 
+     * @param passability the passability of the cells
+     */
+    public void propagate(CellPassability passability) {
+
+        while (queueHead < queueTail) {
+
+            int index = queue[queueHead++];
+            int cx = index % width;
+            int cy = index / width;
+            int neighborDistance = distances[index] + 1;
+
+            for (int i = 0; i < X_STEPS.length; i++) {
+
+                int nx = cx + X_STEPS[i];
+                int ny = cy + Y_STEPS[i];
+
+                if (isInBounds(nx, ny)) {
+                    int neighborIndex = ny * width + nx;
+                    if (!isVisited(neighborIndex) && passability.isPassable(nx, ny)) {
+                        markVisited(neighborIndex);
+                        distances[neighborIndex] = neighborDistance;
+                        queue[queueTail++] = neighborIndex;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return true if the cell is in the grid, false otherwise
+     */
+    public boolean isInBounds(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < width && cy < height;
+    }
+
+    /**
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return the distance from the cell to the nearest target, or
+     *         {@link #UNREACHED}
+     */
+    public int getDistance(int cx, int cy) {
+        return distances[cy * width + cx];
+    }
+
+    /**
+     * Gets the value of a cell : the target value decreasing by one per cell
+     * from the targets, 0 if the cell is not reached or too far.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return the value of the cell
+     */
+    public int getValue(int cx, int cy) {
+        int distance = getDistance(cx, cy);
+        return distance < TARGET_VALUE ? TARGET_VALUE - distance : 0;
+    }
+
+    /**
+     * Searches for the direction to take from a cell to get closer to the
+     * targets. The first direction of {@link Direction4} wins between equally
+     * good neighbors.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @param passability the passability of the cells
+     * @return the direction to take, {@link Direction#NONE} if no neighbor is
+     *         closer to the targets than the cell
+     */
+    public Direction findBetterDirection(int cx, int cy, CellPassability passability) {
+
+        int bestDistance = getDistance(cx, cy);
+        Direction bestDirection = Direction.NONE;
+
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+
+            int nx = cx + X_STEPS[i];
+            int ny = cy + Y_STEPS[i];
+
+            if (isInBounds(nx, ny) && passability.isPassable(nx, ny)) {
+
+                int distance = getDistance(nx, ny);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    bestDirection = DIRECTIONS[i];
+                }
+            }
+        }
+
+        return bestDirection;
+    }
+
+    /**
+     * Repairs the field after a change of passability of a cell. Only the
+     * distances depending on the cell are computed again.
+     * 
+     * @param cx abscissa of the changed cell
+     * @param cy ordinate of the changed cell
+     * @param passability the passability of the cells, after the change
+     */
+    public void updateCell(int cx, int cy, CellPassability passability) {
+
+        int index = cy * width + cx;
+        int distance = distances[index];
+
+        // Targets are not affected by their passability
+        if (distance == 0) {
+            return;
+        }
+
+        if (repairQueue == null) {
+            affected = new long[visited.length];
+            repairQueued = new long[visited.length];
+            repairQueue = new int[distances.length];
+        }
+
+        if (passability.isPassable(cx, cy)) {
+
+            // An opened cell can only shorten distances
+            int bestNeighborDistance = getBestNeighborDistance(index);
+            if (bestNeighborDistance != UNREACHED && bestNeighborDistance + 1 < distance) {
+                distances[index] = bestNeighborDistance + 1;
+                markVisited(index);
+                relax(index, passability);
+            }
+
+        } else if (distance != UNREACHED) {
+            close(index, passability);
+        }
+    }
+
+    /**
+     * Repairs the field when a reached cell is closed.
+     * 
+     * The cells whose shortest paths all go through the closed cell are
+     * collected in increasing distance order, then their distances are
+     * computed again from the unaffected cells around them.
+     * 
+     * @param closedIndex index of the closed cell
+     * @param passability the passability of the cells
+     */
+    private void close(int closedIndex, CellPassability passability) {
+
+        // Collects the dependent cells, level by level, in the exploration queue
+        int affectedCount = 0;
+        queue[affectedCount++] = closedIndex;
+        setBit(affected, closedIndex);
+
+        for (int head = 0; head < affectedCount; head++) {
+
+            int index = queue[head];
+            int childDistance = distances[index] + 1;
+            int cx = index % width;
+            int cy = index / width;
+
+            for (int i = 0; i < X_STEPS.length; i++) {
+
+                int nx = cx + X_STEPS[i];
+                int ny = cy + Y_STEPS[i];
+
+                if (isInBounds(nx, ny)) {
+                    int neighborIndex = ny * width + nx;
+                    if (distances[neighborIndex] == childDistance
+                            && !isBitSet(affected, neighborIndex)
+                            && !hasUnaffectedParent(neighborIndex)) {
+                        setBit(affected, neighborIndex);
+                        queue[affectedCount++] = neighborIndex;
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < affectedCount; i++) {
+            int index = queue[i];
+            distances[index] = UNREACHED;
+            clearBit(visited, index);
+        }
+
+        // Seeds the affected cells from their unaffected neighbors
+        for (int i = 0; i < affectedCount; i++) {
+
+            int index = queue[i];
+            clearBit(affected, index);
+
+            if (passability.isPassable(index % width, index / width)) {
+                int bestNeighborDistance = getBestNeighborDistance(index);
+                if (bestNeighborDistance != UNREACHED) {
+                    distances[index] = bestNeighborDistance + 1;
+                    markVisited(index);
+                    queueForRepair(index);
+                }
+            }
+        }
+
+        relaxQueued(passability);
+
+        // The exploration queue has been used, it is no more valid
+        queueHead = 0;
+        queueTail = 0;
+    }
+
+    /**
+     * Propagates a shortened distance from a cell.
+     * 
+     * @param index index of the cell
+     * @param passability the passability of the cells
+     */
+    private void relax(int index, CellPassability passability) {
+        queueForRepair(index);
+        relaxQueued(passability);
+    }
+
+    /**
+     * Relaxes the cells of the repair queue until no distance can be shortened.
+     * 
+     * @param passability the passability of the cells
+     */
+    private void relaxQueued(CellPassability passability) {
+
+        while (repairQueueSize > 0) {
+
+            int index = repairQueue[repairQueueHead];
+            repairQueueHead = (repairQueueHead + 1) % repairQueue.length;
+            repairQueueSize--;
+            clearBit(repairQueued, index);
+
+            int cx = index % width;
+            int cy = index / width;
+            int neighborDistance = distances[index] + 1;
+
+            for (int i = 0; i < X_STEPS.length; i++) {
+
+                int nx = cx + X_STEPS[i];
+                int ny = cy + Y_STEPS[i];
+
+                if (isInBounds(nx, ny)) {
+                    int neighborIndex = ny * width + nx;
+                    if (neighborDistance < distances[neighborIndex]
+                            && passability.isPassable(nx, ny)) {
+                        distances[neighborIndex] = neighborDistance;
+                        markVisited(neighborIndex);
+                        queueForRepair(neighborIndex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a cell to the repair queue, if not already queued.
+     * 
+     * @param index index of the cell
+     */
+    private void queueForRepair(int index) {
+        if (!isBitSet(repairQueued, index)) {
+            setBit(repairQueued, index);
+            repairQueue[(repairQueueHead + repairQueueSize) % repairQueue.length] = index;
+            repairQueueSize++;
+        }
+    }
+
+    /**
+     * @param index index of the cell
+     * @return true if a neighbor out of the affected cells is one step closer
+     *         to the targets than the cell
+     */
+    private boolean hasUnaffectedParent(int index) {
+
+        int parentDistance = distances[index] - 1;
+        int cx = index % width;
+        int cy = index / width;
+
+        for (int i = 0; i < X_STEPS.length; i++) {
+
+            int nx = cx + X_STEPS[i];
+            int ny = cy + Y_STEPS[i];
+
+            if (isInBounds(nx, ny)) {
+                int neighborIndex = ny * width + nx;
+                if (distances[neighborIndex] == parentDistance
+                        && !isBitSet(affected, neighborIndex)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param index index of the cell
+     * @return the smallest distance among the neighbors of the cell, or
+     *         {@link #UNREACHED}
+     */
+    private int getBestNeighborDistance(int index) {
+
+        int bestDistance = UNREACHED;
+        int cx = index % width;
+        int cy = index / width;
+
+        for (int i = 0; i < X_STEPS.length; i++) {
+
+            int nx = cx + X_STEPS[i];
+            int ny = cy + Y_STEPS[i];
+
+            if (isInBounds(nx, ny)) {
+                bestDistance = Math.min(bestDistance, distances[ny * width + nx]);
+            }
+        }
+        return bestDistance;
+    }
+
+    /**
+     * @param bits a bitset
+     * @param index index of the cell
+     * @return true if the bit of the cell is set
+     */
+    private static boolean isBitSet(long[] bits, int index) {
+        return (bits[index >> WORD_BITS] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit of a cell.
+     * 
+     * @param bits a bitset
+     * @param index index of the cell
+     */
+    private static void setBit(long[] bits, int index) {
+        bits[index >> WORD_BITS] |= 1L << index;
+    }
+
+    /**
+     * Clears the bit of a cell.
+     * 
+     * @param bits a bitset
+     * @param index index of the cell
+     */
+    private static void clearBit(long[] bits, int index) {
+        bits[index >> WORD_BITS] &= ~(1L << index);
+    }
+
+    /**
+     * @param index index of the cell
+     * @return true if the cell has already been queued
+     */
+    private boolean isVisited(int index) {
+        return isBitSet(visited, index);
+    }
+
+    /**
+     * Marks a cell as queued.
+     * 
+     * @param index index of the cell
+     * @return true if the cell was not already queued, false otherwise
+     */
+    private boolean markVisited(int index) {
+        boolean wasVisited = isBitSet(visited, index);
+        setBit(visited, index);
+        return !wasVisited;
+    }
+
+}
@@ -0,0 +1,182 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of distance fields shared by the objects of a cell environment.
+ * 
+ * <p>
+ * Fields are identified by a passability class and a target cell. Objects of
+ * the same passability class must see the same passable cells, so that all
+ * the objects heading to the same target share a single field. The least
+ * recently used fields are evicted when the cache is full.
+ * </p>
+ * 
+ * <p>
+ * When the passability of a cell changes, the cached fields are repaired
+ * incrementally. An evicted field is not reused by the cache, so that the
+ * fields obtained before remain valid for their target, but they are no
+ * longer repaired. This class is not thread safe, it is expected to be used
+ * from the game thread.
+ * </p>
+ */
+public class DistanceFieldCache {
+
+    /** Default maximal number of cached fields. */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    /** Load factor of the fields map. */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /** A passability class, with the passability used for its fields. */
+    private static final class PassabilityClass {
+
+        /** Identifier of the class in this cache. */
+        private final int id;
+
+        /** The passability of the cells for the class. */
+        private final CellPassability passability;
+
+        /**
+         * Creates a passability class.
+         * 
+         * @param id identifier of the class in this cache
+         * @param passability the passability of the cells for the class
+         */
+        private PassabilityClass(int id, CellPassability passability) {
+            this.id = id;
+            this.passability = passability;
+        }
+    }
+
+    /** A cached field. */
+    private static final class CachedField {
+
+        /** The passability class of the field. */
+        private final PassabilityClass passabilityClass;
+
+        /** The distance field. */
+        private final DistanceField field;
+
+        /**
+         * Creates a cached field.
+         * 
+         * @param passabilityClass the passability class of the field
+         * @param field the distance field
+         */
+        private CachedField(PassabilityClass passabilityClass, DistanceField field) {
+            this.passabilityClass = passabilityClass;
+            this.field = field;
+        }
+    }
+
+    /** Width of the grid in cells. */
+    private final int width;
+
+    /** Height of the grid in cells. */
+    private final int height;
+
+    /** Known passability classes. */
+    private final Map<Object, PassabilityClass> passabilityClasses;
+
+    /** Cached fields by key, in access order. */
+    private final LinkedHashMap<Long, CachedField> fields;
+
+    /**
+     * Creates a distance field cache.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     * @param capacity maximal number of cached fields
+     */
+    public DistanceFieldCache(int width, int height, int capacity) {
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "The capacity of a distance field cache must be positive.");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.passabilityClasses = new HashMap<>();
+        this.fields = new LinkedHashMap<>((int) (capacity / LOAD_FACTOR) + 1, LOAD_FACTOR, true) {
+
+            /** Serial tag. */
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedField> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the distance field to a target cell for a passability class,
+     * propagating it if it is not cached.
+     * 
+     * @param passabilityClass the passability class
+     * @param passability the passability of the cells for the class, only used
+     *            the first time the class is seen
+     * @param targetX abscissa of the target cell
+     * @param targetY ordinate of the target cell
+     * @return the distance field
+     */
+    public DistanceField getDistanceField(Object passabilityClass, CellPassability passability,
+            int targetX, int targetY) {
+
+        PassabilityClass knownClass = passabilityClasses.computeIfAbsent(passabilityClass,
+                key -> new PassabilityClass(passabilityClasses.size(), passability));
+
+        long key = ((long) knownClass.id << Integer.SIZE) | (targetY * width + targetX);
+
+        CachedField cachedField = fields.get(key);
+        if (cachedField == null) {
+
+            DistanceField field = new DistanceField(width, height);
+            field.addTarget(targetX, targetY);
+            field.propagate(knownClass.passability);
+
+            cachedField = new CachedField(knownClass, field);
+            fields.put(key, cachedField);
+        }
+
+        return cachedField.field;
+    }
+
+    /**
+     * Repairs the cached fields after a change of passability of a cell.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     */
+    public void cellChanged(int cx, int cy) {
+        for (CachedField cachedField : fields.values()) {
+            cachedField.field.updateCell(cx, cy, cachedField.passabilityClass.passability);
+        }
+    }
+
+    /** @return the number of cached fields */
+    public int size() {
+        return fields.size();
+    }
+
+    /** Removes all cached fields and passability classes. */
+    public void clear() {
+        fields.clear();
+        passabilityClasses.clear();
+    }
+
+    /** @return the height of the grid in cells */
+    public int getHeight() {
+        return height;
+    }
+
+    /** @return the width of the grid in cells */
+    public int getWidth() {
+        return width;
+    }
+
+}
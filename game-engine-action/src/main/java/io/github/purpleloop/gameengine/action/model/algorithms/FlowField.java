@@ -0,0 +1,294 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.commons.direction.Direction4;
+import io.github.purpleloop.gameengine.core.util.Location;
+import io.github.purpleloop.gameengine.core.util.LocationList;
+
+/**
+ * A flow field, steering any number of objects towards the nearest of a set of
+ * goal cells.
+ * 
+ * <p>
+ * The field is made of an integration field, the distance of each cell to the
+ * nearest goal, and of a direction field giving for each cell the direction to
+ * its closest neighbor. Once computed, the next direction of an object is read
+ * in constant time, whatever the number of objects following the field.
+ * </p>
+ * 
+ * <p>
+ * The field is computed again only when the set of goal cells changes, goals
+ * moving inside their cells have no cost. When the passability of a cell
+ * changes, the integration field is repaired and the direction field is
+ * computed again on the next read.
+ * </p>
+ */
+public class FlowField {
+
+    /** Directions of the field, in the order of {@link Direction4}. */
+    private static final Direction[] DIRECTIONS = Direction4.values();
+
+    /** Code of the cells without direction. */
+    private static final byte NO_DIRECTION = -1;
+
+    /** Width of the grid in cells. */
+    private final int width;
+
+    /** Height of the grid in cells. */
+    private final int height;
+
+    /** The passability of the cells. */
+    private final CellPassability passability;
+
+    /** The integration field. */
+    private final DistanceField integrationField;
+
+    /** Direction of each cell, as an index in {@link #DIRECTIONS}. */
+    private final byte[] directions;
+
+    /** Indexes of the goal cells, sorted. */
+    private int[] goalCells;
+
+    /** Number of goal cells. */
+    private int goalCount;
+
+    /** Scratch for the candidate goal cells. */
+    private int[] candidateCells;
+
+    /** Is the direction field to be computed again ? */
+    private boolean directionsStale;
+
+    /**
+     * Creates a flow field without goals.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     * @param passability the passability of the cells
+     */
+    public FlowField(int width, int height, CellPassability passability) {
+        this.width = width;
+        this.height = height;
+        this.passability = passability;
+        this.integrationField = new DistanceField(width, height);
+        this.directions = new byte[width * height];
+        this.goalCells = new int[1];
+        this.candidateCells = new int[1];
+        Arrays.fill(directions, NO_DIRECTION);
+    }
+
+    /** @return the width of the grid in cells */
+    public int getWidth() {
+        return width;
+    }
+
+    /** @return the height of the grid in cells */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Sets a single goal cell.
+     * 
+     * @param cx abscissa of the goal cell
+     * @param cy ordinate of the goal cell
+     * @return true if the field has been computed again, false if the goal
+     *         has not changed
+     */
+    public boolean setGoal(int cx, int cy) {
+        checkCell(cx, cy);
+        ensureCandidateCapacity(1);
+        candidateCells[0] = cy * width + cx;
+        return setCandidateGoals(1);
+    }
+
+    /**
+     * Sets the goal cells. Objects head to the nearest one.
+     * 
+     * @param goals the locations of the goal cells
+     * @return true if the field has been computed again, false if the goals
+     *         have not changed
+     */
+    public boolean setGoals(Collection<Location> goals) {
+
+        ensureCandidateCapacity(goals.size());
+        int count = 0;
+        for (Location goal : goals) {
+            checkCell(goal.getX(), goal.getY());
+            candidateCells[count++] = goal.getY() * width + goal.getX();
+        }
+        return setCandidateGoals(count);
+    }
+
+    /**
+     * Sets the goal cells. Objects head to the nearest one.
+     * 
+     * @param goals the locations of the goal cells
+     * @return true if the field has been computed again, false if the goals
+     *         have not changed
+     */
+    public boolean setGoals(LocationList goals) {
+
+        ensureCandidateCapacity(goals.size());
+        for (int index = 0; index < goals.size(); index++) {
+            int goalX = goals.getX(index);
+            int goalY = goals.getY(index);
+            checkCell(goalX, goalY);
+            candidateCells[index] = goalY * width + goalX;
+        }
+        return setCandidateGoals(goals.size());
+    }
+
+    /**
+     * Replaces the goals by the candidate goals, if they differ.
+     * 
+     * @param count number of candidate goal cells
+     * @return true if the field has been computed again, false otherwise
+     */
+    private boolean setCandidateGoals(int count) {
+
+        // Removes duplicates, so that the sets can be compared
+        Arrays.sort(candidateCells, 0, count);
+        int distinctCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || candidateCells[i] != candidateCells[i - 1]) {
+                candidateCells[distinctCount++] = candidateCells[i];
+            }
+        }
+
+        if (distinctCount == goalCount
+                && Arrays.equals(candidateCells, 0, distinctCount, goalCells, 0, goalCount)) {
+            return false;
+        }
+
+        int[] previousGoals = goalCells;
+        goalCells = candidateCells;
+        goalCount = distinctCount;
+        candidateCells = previousGoals;
+
+        compute();
+        return true;
+    }
+
+    /**
+     * Ensures the capacity of the candidate goal cells.
+     * 
+     * @param count number of candidate goal cells
+     */
+    private void ensureCandidateCapacity(int count) {
+        if (candidateCells.length < count) {
+            candidateCells = new int[count];
+        }
+    }
+
+    /** @return the number of goal cells */
+    public int getGoalCount() {
+        return goalCount;
+    }
+
+    /** Computes the integration field from the goals. */
+    private void compute() {
+
+        integrationField.reset();
+        for (int i = 0; i < goalCount; i++) {
+            integrationField.addTarget(goalCells[i] % width, goalCells[i] / width);
+        }
+        integrationField.propagate(passability);
+        directionsStale = true;
+    }
+
+    /**
+     * Notifies that the passability of a cell has changed. The integration
+     * field is repaired.
+     * 
+     * @param cx abscissa of the changed cell
+     * @param cy ordinate of the changed cell
+     */
+    public void cellChanged(int cx, int cy) {
+        if (goalCount > 0) {
+            integrationField.updateCell(cx, cy, passability);
+            directionsStale = true;
+        }
+    }
+
+    /** Computes the direction of each cell from the integration field. */
+    private void computeDirections() {
+
+        int index = 0;
+        for (int cy = 0; cy < height; cy++) {
+            for (int cx = 0; cx < width; cx++) {
+
+                int bestDistance = integrationField.getDistance(cx, cy);
+                byte bestDirection = NO_DIRECTION;
+
+                // The first direction wins between equally good neighbors
+                for (int i = 0; i < DIRECTIONS.length; i++) {
+
+                    int nx = cx + (int) DIRECTIONS[i].getXStep();
+                    int ny = cy + (int) DIRECTIONS[i].getYStep();
+
+                    if (nx >= 0 && ny >= 0 && nx < width && ny < height) {
+                        int distance = integrationField.getDistance(nx, ny);
+                        if (distance < bestDistance && passability.isPassable(nx, ny)) {
+                            bestDistance = distance;
+                            bestDirection = (byte) i;
+                        }
+                    }
+                }
+
+                directions[index++] = bestDirection;
+            }
+        }
+
+        directionsStale = false;
+    }
+
+    /**
+     * Gets the direction to follow from a cell. As for the start of a path,
+     * the cell does not need to be passable : a blocked cell leads to its
+     * closest passable neighbor.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return the direction to the closest neighbor, {@link Direction#NONE} on
+     *         the goals, on the cells that cannot reach them, or if there are
+     *         no goals
+     */
+    public Direction getDirection(int cx, int cy) {
+
+        checkCell(cx, cy);
+        if (directionsStale) {
+            computeDirections();
+        }
+
+        byte direction = directions[cy * width + cx];
+        return direction == NO_DIRECTION ? Direction.NONE : DIRECTIONS[direction];
+    }
+
+    /**
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return the distance from the cell to the nearest goal, or
+     *         {@link DistanceField#UNREACHED}
+     */
+    public int getDistance(int cx, int cy) {
+        checkCell(cx, cy);
+        return integrationField.getDistance(cx, cy);
+    }
+
+    /**
+     * Checks that a cell is in the grid.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     */
+    private void checkCell(int cx, int cy) {
+        if (cx < 0 || cy < 0 || cx >= width || cy >= height) {
+            throw new IllegalArgumentException("The cell (" + cx + ", " + cy
+                    + ") is out of the grid " + width + " x " + height + ".");
+        }
+    }
+
+}
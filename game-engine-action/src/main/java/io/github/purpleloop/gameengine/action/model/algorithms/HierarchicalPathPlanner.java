@@ -0,0 +1,529 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical path planner (HPA*), answering queries with a
+ * {@link ClusterGraph}.
+ * 
+ * <p>
+ * The start and goal cells are connected to the nodes of their clusters by
+ * local searches, a path is searched in the abstract graph of the entrances,
+ * then each abstract edge is refined into cells by an A* search restricted to
+ * its cluster. Queries on large grids only explore a few clusters, at the cost
+ * of paths that can be slightly longer than the shortest ones.
+ * </p>
+ * 
+ * <p>
+ * The passability given to the queries must be the one the graph has been
+ * built with.
+ * </p>
+ */
+public class HierarchicalPathPlanner implements PathPlanner {
+
+    /** Parent of the nodes reached from the start cell. */
+    private static final int FROM_START = -1;
+
+    /** Abscissa steps to the neighbors of a cell. */
+    private static final int[] NEIGHBOR_X_STEPS = { 1, -1, 0, 0 };
+
+    /** Ordinate steps to the neighbors of a cell. */
+    private static final int[] NEIGHBOR_Y_STEPS = { 0, 0, 1, -1 };
+
+    /** Initial capacity of the open set. */
+    private static final int INITIAL_HEAP_CAPACITY = 64;
+
+    /** Number of usable bits in a heap key. */
+    private static final int KEY_BITS = Long.SIZE - 1;
+
+    /** The abstract graph. */
+    private ClusterGraph graph;
+
+    /** Planner refining the abstract edges. */
+    private final AStarPathPlanner localPlanner;
+
+    /** Passability restricting the refinements to a cluster. */
+    private final ClusterPassability clusterPassability;
+
+    /** Refined path of an abstract edge. */
+    private final PathBuffer segment;
+
+    /** Path from a neighbor of a blocked start cell. */
+    private final PathBuffer candidate;
+
+    /** Local search from the start cell. */
+    private ClusterGraph.ClusterSearch startSearch;
+
+    /** Local search from the goal cell. */
+    private ClusterGraph.ClusterSearch goalSearch;
+
+    /** Costs of the abstract nodes, the last one being the goal. */
+    private int[] costs;
+
+    /** Parents of the abstract nodes. */
+    private int[] parents;
+
+    /** Generation in which each abstract node has been reached. */
+    private int[] reachedGenerations;
+
+    /** Generation in which each abstract node has been closed. */
+    private int[] closedGenerations;
+
+    /** Current search generation. */
+    private int generation;
+
+    /** Number of bits of the node in a heap key. */
+    private int nodeBits;
+
+    /** Shift of the estimate in a heap key. */
+    private int estimateShift;
+
+    /** Mask of the node in a heap key. */
+    private long nodeMask;
+
+    /**
+     * Open set, as a binary heap of keys packing the estimate, the estimate to
+     * the goal and the node, as in {@link AbstractGridPathPlanner}.
+     */
+    private long[] heap;
+
+    /** Number of keys in the heap. */
+    private int heapSize;
+
+    /** Abstract nodes of the last path, from the goal to the start. */
+    private int[] abstractPath;
+
+    /**
+     * Creates a hierarchical path planner.
+     * 
+     * @param graph the abstract graph of the grid
+     */
+    public HierarchicalPathPlanner(ClusterGraph graph) {
+        this.localPlanner = new AStarPathPlanner(graph.getWidth(), graph.getHeight());
+        this.clusterPassability = new ClusterPassability();
+        this.segment = new PathBuffer();
+        this.candidate = new PathBuffer();
+        this.heap = new long[INITIAL_HEAP_CAPACITY];
+        setClusterGraph(graph);
+    }
+
+    /** @return the abstract graph */
+    public ClusterGraph getClusterGraph() {
+        return graph;
+    }
+
+    /**
+     * Changes the abstract graph, after a change of the grid.
+     * 
+     * @param graph the new abstract graph, of the same dimensions
+     */
+    public void setClusterGraph(ClusterGraph graph) {
+
+        if (this.graph != null && !graph.isCompatible(this.graph.getWidth(),
+                this.graph.getHeight(), graph.getClusterSize())) {
+            throw new IllegalArgumentException("The cluster graph " + graph.getWidth() + " x "
+                    + graph.getHeight() + " does not match the grid " + this.graph.getWidth()
+                    + " x " + this.graph.getHeight() + ".");
+        }
+
+        this.graph = graph;
+        this.startSearch = new ClusterGraph.ClusterSearch(graph);
+        this.goalSearch = new ClusterGraph.ClusterSearch(graph);
+
+        int nodeCount = graph.getNodeCapacity() + 1;
+        if (costs == null || costs.length < nodeCount) {
+            costs = new int[nodeCount];
+            parents = new int[nodeCount];
+            reachedGenerations = new int[nodeCount];
+            closedGenerations = new int[nodeCount];
+            abstractPath = new int[nodeCount];
+            generation = 0;
+        }
+
+        // The tie break on the distance to the goal is dropped for grids too
+        // large to pack it
+        this.nodeBits = bitsFor(nodeCount);
+        int heuristicBits = bitsFor(graph.getWidth() + graph.getHeight());
+        int estimateBits = bitsFor(graph.getWidth() * graph.getHeight()) + 1;
+        if (nodeBits + heuristicBits + estimateBits > KEY_BITS) {
+            heuristicBits = 0;
+        }
+        this.estimateShift = nodeBits + heuristicBits;
+        this.nodeMask = (1L << nodeBits) - 1;
+    }
+
+    /**
+     * @param count a number of values
+     * @return the number of bits needed to represent values from 0 to count
+     */
+    private static int bitsFor(int count) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(count);
+    }
+
+    @Override
+    public boolean findPath(int startX, int startY, int goalX, int goalY,
+            CellPassability passability, PathBuffer path) {
+
+        int width = graph.getWidth();
+        int height = graph.getHeight();
+        if (startX < 0 || startY < 0 || startX >= width || startY >= height || goalX < 0
+                || goalY < 0 || goalX >= width || goalY >= height) {
+            throw new IllegalArgumentException("The path (" + startX + ", " + startY + ") -> ("
+                    + goalX + ", " + goalY + ") is out of the grid " + width + " x " + height
+                    + ".");
+        }
+
+        path.clear();
+
+        if (!passability.isPassable(goalX, goalY)) {
+            return false;
+        }
+
+        boolean found = findPathFrom(startX, startY, goalX, goalY, passability, path);
+        if (passability.isPassable(startX, startY)) {
+            return found;
+        }
+
+        // A blocked start cell is not an entrance : leaving its cluster
+        // through its neighbors of other clusters is searched separately
+        int startCluster = graph.getCluster(startX, startY);
+        for (int i = 0; i < NEIGHBOR_X_STEPS.length; i++) {
+
+            int nx = startX + NEIGHBOR_X_STEPS[i];
+            int ny = startY + NEIGHBOR_Y_STEPS[i];
+            if (nx < 0 || ny < 0 || nx >= width || ny >= height
+                    || graph.getCluster(nx, ny) == startCluster
+                    || !passability.isPassable(nx, ny)
+                    || !findPathFrom(nx, ny, goalX, goalY, passability, candidate)) {
+                continue;
+            }
+
+            if (path.isEmpty() || candidate.getLength() + 1 < path.getLength()) {
+                path.clear();
+                path.add(startX, startY);
+                for (int j = 0; j < candidate.size(); j++) {
+                    path.add(candidate.getX(j), candidate.getY(j));
+                }
+            }
+        }
+
+        return !path.isEmpty();
+    }
+
+    /**
+     * Searches for a path from a start cell, leaving its cluster through the
+     * entrances.
+     * 
+     * @param startX abscissa of the start cell
+     * @param startY ordinate of the start cell
+     * @param goalX abscissa of the goal cell
+     * @param goalY ordinate of the goal cell
+     * @param passability the passability of the cells
+     * @param path the buffer receiving the path, emptied if no path is found
+     * @return true if a path has been found, false otherwise
+     */
+    private boolean findPathFrom(int startX, int startY, int goalX, int goalY,
+            CellPassability passability, PathBuffer path) {
+
+        path.clear();
+
+        int width = graph.getWidth();
+        int startCell = startY * width + startX;
+        int goalCell = goalY * width + goalX;
+        int startCluster = graph.getCluster(startX, startY);
+        int goalCluster = graph.getCluster(goalX, goalY);
+
+        startSearch.search(startCluster, startCell, passability);
+        goalSearch.search(goalCluster, goalCell, passability);
+
+        int directCost = startCluster == goalCluster ? startSearch.getDistance(goalCell)
+                : ClusterGraph.UNREACHED;
+
+        int goalNode = searchAbstractPath(startCluster, goalCluster, goalX, goalY, directCost);
+
+        if (goalNode < 0) {
+            if (directCost == ClusterGraph.UNREACHED) {
+                return false;
+            }
+            return appendSegment(startCell, goalCell, startCluster, passability, path);
+        }
+
+        return refine(startCell, goalCell, goalNode, passability, path);
+    }
+
+    /**
+     * Searches the abstract graph, from the nodes of the start cluster to the
+     * goal.
+     * 
+     * @param startCluster cluster of the start cell
+     * @param goalCluster cluster of the goal cell
+     * @param goalX abscissa of the goal cell
+     * @param goalY ordinate of the goal cell
+     * @param bound cost of a known path, only shorter paths are searched
+     * @return the virtual goal node if a shorter path is found, -1 otherwise
+     */
+    private int searchAbstractPath(int startCluster, int goalCluster, int goalX, int goalY,
+            int bound) {
+
+        nextGeneration();
+        int goalNode = graph.getNodeCapacity();
+
+        for (int i = 0; i < graph.getClusterNodeCount(startCluster); i++) {
+            int node = graph.getClusterNode(startCluster, i);
+            int distance = startSearch.getDistance(graph.getNodeCell(node));
+            if (distance != ClusterGraph.UNREACHED) {
+                open(node, distance, FROM_START, goalX, goalY);
+            }
+        }
+
+        while (heapSize > 0) {
+
+            long key = pop();
+            int node = (int) (key & nodeMask);
+
+            if (closedGenerations[node] == generation) {
+                continue;
+            }
+            if (key >>> estimateShift >= bound) {
+                return -1;
+            }
+            if (node == goalNode) {
+                return goalNode;
+            }
+
+            closedGenerations[node] = generation;
+            int cost = costs[node];
+            int cluster = graph.getClusterOfNode(node);
+            int rank = graph.getNodeRank(node);
+
+            // The goal, from the nodes of its cluster
+            if (cluster == goalCluster) {
+                int distance = goalSearch.getDistance(graph.getNodeCell(node));
+                if (distance != ClusterGraph.UNREACHED) {
+                    open(goalNode, cost + distance, node, goalX, goalY);
+                }
+            }
+
+            // Other nodes of the cluster
+            for (int i = 0; i < graph.getClusterNodeCount(cluster); i++) {
+                int distance = graph.getIntraDistance(cluster, rank, i);
+                if (i != rank && distance != ClusterGraph.UNREACHED) {
+                    open(graph.getClusterNode(cluster, i), cost + distance, node, goalX, goalY);
+                }
+            }
+
+            // Nodes on the other side of the entrances
+            for (int i = 0; i < ClusterGraph.MAX_LINKS; i++) {
+                int linked = graph.getLink(cluster, rank, i);
+                if (linked != ClusterGraph.NO_LINK) {
+                    open(linked, cost + 1, node, goalX, goalY);
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Refines an abstract path into cells.
+     * 
+     * @param startCell index of the start cell
+     * @param goalCell index of the goal cell
+     * @param goalNode the virtual goal node
+     * @param passability the passability of the cells
+     * @param path the buffer receiving the path
+     * @return true if the path has been refined, false otherwise
+     */
+    private boolean refine(int startCell, int goalCell, int goalNode,
+            CellPassability passability, PathBuffer path) {
+
+        int length = 0;
+        for (int node = parents[goalNode]; node != FROM_START; node = parents[node]) {
+            abstractPath[length++] = node;
+        }
+
+        int width = graph.getWidth();
+        int previousCell = startCell;
+        for (int i = length - 1; i >= 0; i--) {
+
+            int cell = graph.getNodeCell(abstractPath[i]);
+            int previousCluster = graph.getClusterOfCell(previousCell);
+
+            if (previousCluster == graph.getClusterOfCell(cell)) {
+                if (!appendSegment(previousCell, cell, previousCluster, passability, path)) {
+                    path.clear();
+                    return false;
+                }
+            } else {
+                // Crossing an entrance
+                path.add(cell % width, cell / width);
+            }
+            previousCell = cell;
+        }
+
+        if (!appendSegment(previousCell, goalCell, graph.getClusterOfCell(goalCell), passability,
+                path)) {
+            path.clear();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Appends the path between two cells of a cluster.
+     * 
+     * @param fromCell index of the first cell
+     * @param toCell index of the last cell
+     * @param cluster the cluster of the cells
+     * @param passability the passability of the cells
+     * @param path the buffer receiving the path
+     * @return true if the cells are connected in the cluster, false otherwise
+     */
+    private boolean appendSegment(int fromCell, int toCell, int cluster,
+            CellPassability passability, PathBuffer path) {
+
+        int width = graph.getWidth();
+        clusterPassability.restrict(graph, cluster, passability);
+
+        if (!localPlanner.findPath(fromCell % width, fromCell / width, toCell % width,
+                toCell / width, clusterPassability, segment)) {
+            return false;
+        }
+
+        // The first cell of the segment ends the path
+        for (int i = path.isEmpty() ? 0 : 1; i < segment.size(); i++) {
+            path.add(segment.getX(i), segment.getY(i));
+        }
+        return true;
+    }
+
+    /** Starts a new search generation. */
+    private void nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(reachedGenerations, 0);
+            Arrays.fill(closedGenerations, 0);
+            generation = 1;
+        }
+        heapSize = 0;
+    }
+
+    /**
+     * Opens an abstract node, if it is reached with a lower cost.
+     * 
+     * @param node the node
+     * @param cost the cost from the start
+     * @param parent the parent node
+     * @param goalX abscissa of the goal cell
+     * @param goalY ordinate of the goal cell
+     */
+    private void open(int node, int cost, int parent, int goalX, int goalY) {
+
+        if (reachedGenerations[node] == generation && costs[node] <= cost) {
+            return;
+        }
+
+        reachedGenerations[node] = generation;
+        costs[node] = cost;
+        parents[node] = parent;
+
+        int heuristic = 0;
+        if (node < graph.getNodeCapacity()) {
+            int cell = graph.getNodeCell(node);
+            int width = graph.getWidth();
+            heuristic = Math.abs(cell % width - goalX) + Math.abs(cell / width - goalY);
+        }
+
+        long tieBreak = estimateShift > nodeBits ? (long) heuristic << nodeBits : 0L;
+        push(((long) (cost + heuristic) << estimateShift) | tieBreak | node);
+    }
+
+    /**
+     * Pushes a key in the heap.
+     * 
+     * @param key the key
+     */
+    private void push(long key) {
+
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+
+        int index = heapSize++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    /** @return the smallest key, removed from the heap */
+    private long pop() {
+
+        long top = heap[0];
+        long last = heap[--heapSize];
+
+        int index = 0;
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        if (heapSize > 0) {
+            heap[index] = last;
+        }
+        return top;
+    }
+
+    /** A passability restricted to the cells of a cluster. */
+    private static final class ClusterPassability implements CellPassability {
+
+        /** The passability of the cells. */
+        private CellPassability passability;
+
+        /** Abscissa of the first cell of the cluster. */
+        private int minX;
+
+        /** Ordinate of the first cell of the cluster. */
+        private int minY;
+
+        /** Abscissa after the last cell of the cluster. */
+        private int maxX;
+
+        /** Ordinate after the last cell of the cluster. */
+        private int maxY;
+
+        /**
+         * Restricts a passability to a cluster.
+         * 
+         * @param graph the graph
+         * @param cluster the cluster
+         * @param passability the passability of the cells
+         */
+        private void restrict(ClusterGraph graph, int cluster, CellPassability passability) {
+            this.passability = passability;
+            this.minX = graph.getClusterMinX(cluster);
+            this.minY = graph.getClusterMinY(cluster);
+            this.maxX = minX + graph.getClusterWidth(cluster);
+            this.maxY = minY + graph.getClusterHeight(cluster);
+        }
+
+        @Override
+        public boolean isPassable(int cx, int cy) {
+            return cx >= minX && cy >= minY && cx < maxX && cy < maxY
+                    && passability.isPassable(cx, cy);
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+/**
+ * Jump point search path planner, for 4-connected grids of uniform cost.
+ * 
+ * <p>
+ * Instead of opening every neighbor, the search jumps in straight lines and
+ * only opens the cells where an optimal path may turn :
+ * </p>
+ * <ul>
+ * <li>a horizontal jump stops at the goal or at a cell having a forced
+ * neighbor, that is a free cell above or below that was blocked for the
+ * previous cell,</li>
+ * <li>a vertical jump stops at the goal or at a cell from which a horizontal
+ * jump finds a jump point.</li>
+ * </ul>
+ * <p>
+ * This finds the same path lengths as A* while opening far fewer nodes on
+ * open maps.
+ * </p>
+ */
+public class JumpPointPathPlanner extends AbstractGridPathPlanner {
+
+    /** Returned by the jumps that found no jump point. */
+    private static final int NO_JUMP_POINT = -1;
+
+    /**
+     * Creates a jump point search path planner for a grid.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     */
+    public JumpPointPathPlanner(int width, int height) {
+        super(width, height);
+    }
+
+    @Override
+    protected void expand(int node, CellPassability passability) {
+
+        int cx = node % width;
+        int cy = node / width;
+        int parent = getParent(node);
+
+        if (parent == NO_PARENT) {
+            openHorizontal(node, cx, cy, 1, passability);
+            openHorizontal(node, cx, cy, -1, passability);
+            openVertical(node, cx, cy, 1, passability);
+            openVertical(node, cx, cy, -1, passability);
+            return;
+        }
+
+        int dx = Integer.signum(cx - parent % width);
+        int dy = Integer.signum(cy - parent / width);
+
+        if (dx != 0) {
+            // After a horizontal jump, go on or turn towards the forced neighbors
+            openHorizontal(node, cx, cy, dx, passability);
+            openVertical(node, cx, cy, 1, passability);
+            openVertical(node, cx, cy, -1, passability);
+        } else {
+            // After a vertical jump, go on or follow the horizontal jumps
+            openVertical(node, cx, cy, dy, passability);
+            openHorizontal(node, cx, cy, 1, passability);
+            openHorizontal(node, cx, cy, -1, passability);
+        }
+    }
+
+    /**
+     * Opens the jump point found horizontally from a node, if any.
+     * 
+     * @param node the expanded node
+     * @param cx abscissa of the node
+     * @param cy ordinate of the node
+     * @param dx the direction of the jump
+     * @param passability the passability of the cells
+     */
+    private void openHorizontal(int node, int cx, int cy, int dx, CellPassability passability) {
+        int jumpPoint = jumpHorizontal(cx, cy, dx, passability);
+        if (jumpPoint != NO_JUMP_POINT) {
+            open(jumpPoint, getCost(node) + Math.abs(jumpPoint % width - cx), node);
+        }
+    }
+
+    /**
+     * Opens the jump point found vertically from a node, if any.
+     * 
+     * @param node the expanded node
+     * @param cx abscissa of the node
+     * @param cy ordinate of the node
+     * @param dy the direction of the jump
+     * @param passability the passability of the cells
+     */
+    private void openVertical(int node, int cx, int cy, int dy, CellPassability passability) {
+        int jumpPoint = jumpVertical(cx, cy, dy, passability);
+        if (jumpPoint != NO_JUMP_POINT) {
+            open(jumpPoint, getCost(node) + Math.abs(jumpPoint / width - cy), node);
+        }
+    }
+
+    /**
+     * Jumps horizontally from a cell.
+     * 
+     * @param cx abscissa of the start cell
+     * @param cy ordinate of the start cell
+     * @param dx the direction of the jump
+     * @param passability the passability of the cells
+     * @return the jump point, or {@link #NO_JUMP_POINT}
+     */
+    private int jumpHorizontal(int cx, int cy, int dx, CellPassability passability) {
+
+        int x = cx;
+        while (true) {
+
+            x += dx;
+            if (!isFree(x, cy, passability)) {
+                return NO_JUMP_POINT;
+            }
+
+            if (x == goalX && cy == goalY) {
+                return cy * width + x;
+            }
+
+            if (isFree(x, cy - 1, passability) && !isFree(x - dx, cy - 1, passability)
+                    || isFree(x, cy + 1, passability) && !isFree(x - dx, cy + 1, passability)) {
+                return cy * width + x;
+            }
+        }
+    }
+
+    /**
+     * Jumps vertically from a cell.
+     * 
+     * @param cx abscissa of the start cell
+     * @param cy ordinate of the start cell
+     * @param dy the direction of the jump
+     * @param passability the passability of the cells
+     * @return the jump point, or {@link #NO_JUMP_POINT}
+     */
+    private int jumpVertical(int cx, int cy, int dy, CellPassability passability) {
+
+        int y = cy;
+        while (true) {
+
+            y += dy;
+            if (!isFree(cx, y, passability)) {
+                return NO_JUMP_POINT;
+            }
+
+            if (cx == goalX && y == goalY) {
+                return y * width + cx;
+            }
+
+            if (jumpHorizontal(cx, y, 1, passability) != NO_JUMP_POINT
+                    || jumpHorizontal(cx, y, -1, passability) != NO_JUMP_POINT) {
+                return y * width + cx;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import java.util.Arrays;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.commons.direction.Direction4;
+
+/**
+ * A reusable path, as a sequence of adjacent cells from a start cell to a goal
+ * cell. The storage grows when needed and is kept between searches, so that
+ * searches do not allocate once the buffer is large enough.
+ */
+public class PathBuffer {
+
+    /** Default capacity, in cells. */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /** Directions of the steps. */
+    private static final Direction[] DIRECTIONS = Direction4.values();
+
+    /** Abscissas of the cells. */
+    private int[] xs;
+
+    /** Ordinates of the cells. */
+    private int[] ys;
+
+    /** Number of cells in the path. */
+    private int size;
+
+    /** Creates an empty path buffer. */
+    public PathBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty path buffer.
+     * 
+     * @param capacity initial capacity, in cells
+     */
+    public PathBuffer(int capacity) {
+        this.xs = new int[Math.max(1, capacity)];
+        this.ys = new int[xs.length];
+    }
+
+    /** Empties the path. */
+    public void clear() {
+        size = 0;
+    }
+
+    /** @return the number of cells of the path, including start and goal */
+    public int size() {
+        return size;
+    }
+
+    /** @return true if the path is empty, false otherwise */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** @return the number of steps of the path */
+    public int getLength() {
+        return Math.max(0, size - 1);
+    }
+
+    /**
+     * @param index index of the cell in the path
+     * @return abscissa of the cell
+     */
+    public int getX(int index) {
+        checkIndex(index);
+        return xs[index];
+    }
+
+    /**
+     * @param index index of the cell in the path
+     * @return ordinate of the cell
+     */
+    public int getY(int index) {
+        checkIndex(index);
+        return ys[index];
+    }
+
+    /**
+     * Gets the direction of a step of the path.
+     * 
+     * @param index index of the step, from the cell of the same index to the
+     *            next one
+     * @return the direction of the step, a value of {@link Direction4}
+     */
+    public Direction getStepDirection(int index) {
+
+        checkIndex(index + 1);
+        int dx = xs[index + 1] - xs[index];
+        int dy = ys[index + 1] - ys[index];
+
+        for (Direction direction : DIRECTIONS) {
+            if ((int) direction.getXStep() == dx && (int) direction.getYStep() == dy) {
+                return direction;
+            }
+        }
+        return Direction.NONE;
+    }
+
+    /**
+     * Adds a cell at the end of the path.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     */
+    public void add(int cx, int cy) {
+
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, size * 2);
+            ys = Arrays.copyOf(ys, size * 2);
+        }
+
+        xs[size] = cx;
+        ys[size] = cy;
+        size++;
+    }
+
+    /** Reverses the order of the cells. */
+    void reverse() {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int x = xs[i];
+            xs[i] = xs[j];
+            xs[j] = x;
+            int y = ys[i];
+            ys[i] = ys[j];
+            ys[j] = y;
+        }
+    }
+
+    /**
+     * Checks that an index is within the path.
+     * 
+     * @param index the index to check
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of a path of " + size + " cells.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "" : " ").append('(').append(xs[i]).append(", ").append(ys[i])
+                    .append(')');
+        }
+        return sb.toString();
+    }
+
+}
@@ -1,8 +1,5 @@
 package io.github.purpleloop.gameengine.action.model.algorithms;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -12,23 +9,18 @@ import io.github.purpleloop.gameengine.action.model.environment.AbstractCellObje
 import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
 import io.github.purpleloop.gameengine.core.util.Location;
 
-/** A path finder, usable to move objects along paths in cell environments. */
+/**
+ * A path finder, usable to move objects along paths in cell environments.
+ * 
+ * The distances to the target are computed by a {@link DistanceField}.
+ */
 public class PathFinder {
 
     /** Logger of the class. */
     private static final Log LOG = LogFactory.getLog(PathFinder.class);
 
-    /** The target value (maximal). */
-    private static final int TARGET_VALUE = 9999;
-
-    /** A value array, used to store the value of a given cell. */
-    protected int[][] value;
-
-    /** Open locations (to explore). */
-    protected List<Location> openLocations;
-
-    /** Closed locations (already explored). */
-    protected List<Location> closedLocations;
+    /** The distances to the target. */
+    protected DistanceField distanceField;
 
     /** The environment, on which the path finding occurs. */
     protected AbstractCellObjectEnvironment environment;
@@ -42,6 +34,9 @@ public class PathFinder {
     /** The object to move along the path. */
     protected IEnvironmentObjet object;
 
+    /** The passability of the cells for the object. */
+    private CellPassability passability;
+
     /**
      * Creates a new path finder for the given environment.
      * 
@@ -55,24 +50,13 @@ public class PathFinder {
         this.cellWidth = environment.getCellWidth();
         this.cellHeight = environment.getCellHeight();
 
-        this.value = new int[cellWidth][cellHeight];
-        this.openLocations = new ArrayList<>();
-        this.closedLocations = new ArrayList<>();
+        this.distanceField = new DistanceField(cellWidth, cellHeight);
+        this.passability = environment.getCellPassability(object);
     }
 
     /** Resets the path finder for a new search session. */
     public void reset() {
-
-        // Clears the value array
-        for (int x = 0; x < cellWidth; x++) {
-            for (int y = 0; y < cellHeight; y++) {
-                value[x][y] = 0;
-            }
-        }
-
-        // Clears the lists
-        openLocations.clear();
-        closedLocations.clear();
+        distanceField.reset();
     }
 
     /**
@@ -81,8 +65,7 @@ public class PathFinder {
      * @param location the target location
      */
     public void setTarget(Location location) {
-        openLocations.add(location);
-        value[location.getX()][location.getY()] = TARGET_VALUE;
+        distanceField.addTarget(location.getX(), location.getY());
     }
 
     /**
@@ -90,51 +73,26 @@ public class PathFinder {
      * obstacles into account.
      */
     public void propagate() {
+        distanceField.propagate(passability);
+    }
 
-        Location locationToExplore;
-
-        int currentLocX;
-        int currentLocY;
-        int currentValue;
-
-        int neighborLocX;
-        int neighborLocY;
-        Location neighborLocation;
-
-        // While there are locations to explore
-        while (!openLocations.isEmpty()) {
-
-            // Pick the next one, mark it as seen and explore from it
-            locationToExplore = openLocations.remove(0);
-            closedLocations.add(locationToExplore);
-
-            currentLocX = locationToExplore.getX();
-            currentLocY = locationToExplore.getY();
-            currentValue = value[currentLocX][currentLocY];
-
-            // For each neighbor
-            for (Direction dir : Direction4.values()) {
-
-                neighborLocX = (int) (currentLocX + dir.getXStep());
-                neighborLocY = (int) (currentLocY + dir.getYStep());
-                neighborLocation = Location.getLocation(neighborLocX, neighborLocY);
-
-                // If neighbor is reachable, propagates the value with a decay
-                if (environment.isObjectAllowedAtCell(object, neighborLocX, neighborLocY)
-                        && (value[neighborLocX][neighborLocY] < currentValue - 1)
-                        && !closedLocations.contains(neighborLocation)) {
-                    openLocations.add(neighborLocation);
-                    value[neighborLocX][neighborLocY] = currentValue - 1;
-                }
-            }
-        }
+    /**
+     * Gets the value of a cell, decreasing from {@link DistanceField#TARGET_VALUE}
+     * at the target, 0 for unreachable cells.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return the value of the cell
+     */
+    public int getValue(int cx, int cy) {
+        return distanceField.getValue(cx, cy);
     }
 
     /**
      * Searches for the better direction to move the object
      * 
-     * Warning, the object must be at exact cell location and be no larger than
-     * a cell.
+     * Warning, the object must be at exact cell location. Objects larger than
+     * a cell are anchored on their top left cell.
      * 
      * @return the direction to take, a value in {@link Direction4}
      */
@@ -146,32 +104,7 @@ public class PathFinder {
         int cellX = object.getXLoc() / cellSize;
         int cellY = object.getYLoc() / cellSize;
 
-        int bestValue = value[cellX][cellY];
-        Direction bestDirection = Direction.NONE;
-
-        int testedX;
-        int testedY;
-        int testedValue;
-
-        // Try each direction get
-        for (Direction testedDirection : Direction4.values()) {
-
-            testedX = (int) (cellX + testedDirection.getXStep());
-            testedY = (int) (cellY + testedDirection.getYStep());
-
-            if (environment.isObjectAllowedAtCell(object, testedX, testedY)) {
-
-                // Get the direction that minimizes the distance to the target
-                testedValue = value[testedX][testedY];
-
-                if (testedValue > bestValue) {
-                    bestValue = testedValue;
-                    bestDirection = testedDirection;
-                }
-            }
-        }
-
-        return bestDirection;
+        return distanceField.findBetterDirection(cellX, cellY, passability);
     }
 
     /** Logs the state of the path finding. */
@@ -190,7 +123,7 @@ public class PathFinder {
             dumpString.append(String.format(" % 5d | ", y));
 
             for (int x = 0; x < cellWidth; x++) {
-                dumpString.append(String.format(" % 5d", value[x][y]));
+                dumpString.append(String.format(" % 5d", distanceField.getValue(x, y)));
             }
 
             dumpString.append("\n");
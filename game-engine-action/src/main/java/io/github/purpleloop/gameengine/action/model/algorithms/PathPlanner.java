@@ -0,0 +1,25 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+/**
+ * Plans point to point paths in a grid of cells, with 4-connected moves of
+ * uniform cost.
+ */
+public interface PathPlanner {
+
+    /**
+     * Searches for a shortest path between two cells. The start cell does not
+     * need to be passable, the goal cell does.
+     * 
+     * @param startX abscissa of the start cell
+     * @param startY ordinate of the start cell
+     * @param goalX abscissa of the goal cell
+     * @param goalY ordinate of the goal cell
+     * @param passability the passability of the cells
+     * @param path the buffer receiving the path, from the start cell to the
+     *            goal cell, emptied if no path is found
+     * @return true if a path has been found, false otherwise
+     */
+    boolean findPath(int startX, int startY, int goalX, int goalY, CellPassability passability,
+            PathBuffer path);
+
+}
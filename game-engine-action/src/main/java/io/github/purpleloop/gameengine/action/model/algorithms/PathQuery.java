@@ -0,0 +1,104 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+/**
+ * A path or distance field request, submitted to a {@link PathQueryScheduler}
+ * and resolved with the other requests of the tick.
+ * 
+ * <p>
+ * The results are written in the buffers given at submission, and must not be
+ * read before the query is resolved.
+ * </p>
+ */
+public final class PathQuery {
+
+    /** Abscissa of the start cell, unused for distance fields. */
+    private final int startX;
+
+    /** Ordinate of the start cell, unused for distance fields. */
+    private final int startY;
+
+    /** Abscissa of the goal cell. */
+    private final int goalX;
+
+    /** Ordinate of the goal cell. */
+    private final int goalY;
+
+    /** The passability of the cells. */
+    private final CellPassability passability;
+
+    /** The buffer receiving the path, null for a distance field. */
+    private final PathBuffer path;
+
+    /** The distance field to compute, null for a path. */
+    private final DistanceField distanceField;
+
+    /** Is the goal reachable ? */
+    private boolean found;
+
+    /** Has the query been resolved ? */
+    private volatile boolean resolved;
+
+    /**
+     * Creates a query.
+     * 
+     * @param startX abscissa of the start cell
+     * @param startY ordinate of the start cell
+     * @param goalX abscissa of the goal cell
+     * @param goalY ordinate of the goal cell
+     * @param passability the passability of the cells
+     * @param path the buffer receiving the path, null for a distance field
+     * @param distanceField the distance field to compute, null for a path
+     */
+    PathQuery(int startX, int startY, int goalX, int goalY, CellPassability passability,
+            PathBuffer path, DistanceField distanceField) {
+        this.startX = startX;
+        this.startY = startY;
+        this.goalX = goalX;
+        this.goalY = goalY;
+        this.passability = passability;
+        this.path = path;
+        this.distanceField = distanceField;
+    }
+
+    /**
+     * Resolves the query.
+     * 
+     * @param planner the path planner of the resolving thread
+     */
+    void resolve(PathPlanner planner) {
+
+        if (path != null) {
+            found = planner.findPath(startX, startY, goalX, goalY, passability, path);
+        } else {
+            distanceField.reset();
+            distanceField.addTarget(goalX, goalY);
+            distanceField.propagate(passability);
+            found = true;
+        }
+        resolved = true;
+    }
+
+    /** @return true if the query has been resolved, false if still pending */
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    /**
+     * @return true if a path has been found, or if the distance field has been
+     *         computed, false otherwise
+     */
+    public boolean isFound() {
+        return resolved && found;
+    }
+
+    /** @return the buffer receiving the path, null for a distance field query */
+    public PathBuffer getPath() {
+        return path;
+    }
+
+    /** @return the computed distance field, null for a path query */
+    public DistanceField getDistanceField() {
+        return distanceField;
+    }
+
+}
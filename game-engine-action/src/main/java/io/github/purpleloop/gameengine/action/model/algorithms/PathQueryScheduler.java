@@ -0,0 +1,225 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Resolves batches of path and distance field queries in parallel.
+ * 
+ * <p>
+ * Queries are submitted during the tick, typically by agents in their
+ * behavior, then resolved all at once by {@link #resolve()} on a dedicated
+ * fork/join pool. Each query is resolved by a single thread, with its own
+ * planner, and its results only depend on the query : they are the same
+ * whatever the number of threads and the order of execution, so that replays
+ * do not diverge.
+ * </p>
+ * 
+ * <p>
+ * The passabilities of the queries are read concurrently during the
+ * resolution, they must not modify any state.
+ * </p>
+ */
+public class PathQueryScheduler {
+
+    /** Number of queries below which a batch is not split. */
+    private static final int SPLIT_THRESHOLD = 4;
+
+    /** Width of the grid in cells. */
+    private final int width;
+
+    /** Height of the grid in cells. */
+    private final int height;
+
+    /** The pool resolving the queries. */
+    private final ForkJoinPool pool;
+
+    /** The planners of the pool threads. */
+    private final ThreadLocal<PathPlanner> planners;
+
+    /** Queries submitted since the last resolution, in submission order. */
+    private final List<PathQuery> pendingQueries;
+
+    /** Queries of the resolution in progress. */
+    private PathQuery[] batch;
+
+    /**
+     * Creates a query scheduler for a grid.
+     * 
+     * @param width width of the grid in cells
+     * @param height height of the grid in cells
+     * @param parallelism number of threads resolving the queries
+     */
+    public PathQueryScheduler(int width, int height, int parallelism) {
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid parallelism for path queries : " + parallelism);
+        }
+
+        this.width = width;
+        this.height = height;
+        this.pool = new ForkJoinPool(parallelism);
+        this.planners = ThreadLocal.withInitial(() -> new AStarPathPlanner(width, height));
+        this.pendingQueries = new ArrayList<>();
+        this.batch = new PathQuery[0];
+    }
+
+    /**
+     * Submits a path query. The start cell does not need to be passable, the
+     * goal cell does.
+     * 
+     * @param startX abscissa of the start cell
+     * @param startY ordinate of the start cell
+     * @param goalX abscissa of the goal cell
+     * @param goalY ordinate of the goal cell
+     * @param passability the passability of the cells
+     * @param path the buffer receiving the path, not to be used until the query
+     *            is resolved
+     * @return the query
+     */
+    public PathQuery submitPath(int startX, int startY, int goalX, int goalY,
+            CellPassability passability, PathBuffer path) {
+
+        checkCell(startX, startY);
+        checkCell(goalX, goalY);
+        return submit(new PathQuery(startX, startY, goalX, goalY, passability, path, null));
+    }
+
+    /**
+     * Submits a distance field query.
+     * 
+     * @param targetX abscissa of the target cell
+     * @param targetY ordinate of the target cell
+     * @param passability the passability of the cells
+     * @param distanceField the distance field to compute, not to be used until
+     *            the query is resolved
+     * @return the query
+     */
+    public PathQuery submitDistanceField(int targetX, int targetY, CellPassability passability,
+            DistanceField distanceField) {
+
+        checkCell(targetX, targetY);
+        if (distanceField.getWidth() != width || distanceField.getHeight() != height) {
+            throw new IllegalArgumentException("The distance field " + distanceField.getWidth()
+                    + " x " + distanceField.getHeight() + " does not match the grid " + width
+                    + " x " + height + ".");
+        }
+        return submit(new PathQuery(targetX, targetY, targetX, targetY, passability, null,
+                distanceField));
+    }
+
+    /**
+     * Adds a query to the pending queries.
+     * 
+     * @param query the query
+     * @return the query
+     */
+    private synchronized PathQuery submit(PathQuery query) {
+        pendingQueries.add(query);
+        return query;
+    }
+
+    /**
+     * Checks that a cell is in the grid.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     */
+    private void checkCell(int cx, int cy) {
+        if (cx < 0 || cy < 0 || cx >= width || cy >= height) {
+            throw new IllegalArgumentException("The cell (" + cx + ", " + cy
+                    + ") is out of the grid " + width + " x " + height + ".");
+        }
+    }
+
+    /** @return the number of queries waiting for the next resolution */
+    public synchronized int getPendingCount() {
+        return pendingQueries.size();
+    }
+
+    /**
+     * Resolves all pending queries, in parallel. Returns when all of them are
+     * resolved.
+     */
+    public void resolve() {
+
+        int count;
+        synchronized (this) {
+            count = pendingQueries.size();
+            if (count == 0) {
+                return;
+            }
+            batch = pendingQueries.toArray(batch);
+            pendingQueries.clear();
+        }
+
+        if (count < SPLIT_THRESHOLD) {
+            // Not worth waking the pool
+            resolveRange(0, count);
+        } else {
+            pool.invoke(new ResolveAction(0, count));
+        }
+
+        // Releases the queries of the batch
+        Arrays.fill(batch, 0, count, null);
+    }
+
+    /**
+     * Resolves a range of the current batch.
+     * 
+     * @param from index of the first query
+     * @param to index after the last query
+     */
+    private void resolveRange(int from, int to) {
+        PathPlanner planner = planners.get();
+        for (int i = from; i < to; i++) {
+            batch[i].resolve(planner);
+        }
+    }
+
+    /** Stops the threads of the pool. Queries can no longer be resolved. */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /** Resolution of a range of the current batch, split between threads. */
+    private final class ResolveAction extends RecursiveAction {
+
+        /** Serial version. */
+        private static final long serialVersionUID = 1L;
+
+        /** Index of the first query. */
+        private final int from;
+
+        /** Index after the last query. */
+        private final int to;
+
+        /**
+         * Creates a resolution of a range of queries.
+         * 
+         * @param from index of the first query
+         * @param to index after the last query
+         */
+        private ResolveAction(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from <= SPLIT_THRESHOLD) {
+                resolveRange(from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ResolveAction(from, middle), new ResolveAction(middle, to));
+        }
+    }
+
+}
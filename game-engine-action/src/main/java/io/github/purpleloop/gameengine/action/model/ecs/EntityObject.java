@@ -0,0 +1,178 @@
+package io.github.purpleloop.gameengine.action.model.ecs;
+
+import java.awt.Rectangle;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+import io.github.purpleloop.gameengine.action.model.objects.IAppearance;
+
+/**
+ * An environment object view of an entity, so that entities can be used where
+ * objects are expected : rendering, collisions or environment objects.
+ *
+ * <p>
+ * The location, orientation and animation sequence are read from the entity
+ * store. Entities evolve through the systems, so the adapter does not evolve by
+ * itself. The name, appearance and properties, which are not components, are
+ * kept by the adapter. Once its entity is destroyed, the adapter is detached and
+ * can't be used anymore.
+ * </p>
+ */
+public class EntityObject implements IEnvironmentObjet {
+
+    /** A default appearance for entities. */
+    private static final IAppearance DEFAULT_APPEARANCE = () -> "entity";
+
+    /** The store of the entity. */
+    private final EntityStore store;
+
+    /** Handle of the entity. */
+    private final int handle;
+
+    /** Unique identifier of the object. */
+    private final int id;
+
+    /** Object name. */
+    private String name;
+
+    /** Appearance of the entity. */
+    private IAppearance appearance;
+
+    /** Extra properties, created on first use. */
+    private Map<String, Object> properties;
+
+    /**
+     * Creates an adapter.
+     *
+     * @param store the store of the entity
+     * @param handle handle of the entity
+     * @param id unique identifier of the object
+     */
+    EntityObject(EntityStore store, int handle, int id) {
+        this.store = store;
+        this.handle = handle;
+        this.id = id;
+        this.name = "entity";
+        this.appearance = DEFAULT_APPEARANCE;
+    }
+
+    /** @return handle of the entity */
+    public int getHandle() {
+        return handle;
+    }
+
+    /** @return true if the entity still exists */
+    public boolean isAttached() {
+        return store.isAttached(this);
+    }
+
+    /**
+     * @return row of the entity in the store
+     * @throws IllegalStateException if the entity was destroyed
+     */
+    private int row() {
+        if (!store.isAttached(this)) {
+            throw new IllegalStateException("The entity of the object " + id + " was destroyed");
+        }
+        return store.rowOf(handle);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean hasName(String name) {
+        return this.name.equals(name);
+    }
+
+    @Override
+    public Direction getOrientation() {
+        return EntityStore.getDirection(store.getOrientations()[row()]);
+    }
+
+    @Override
+    public int getXLoc() {
+        return store.getXs()[row()];
+    }
+
+    @Override
+    public int getYLoc() {
+        return store.getYs()[row()];
+    }
+
+    @Override
+    public void evolve() {
+        // Entities evolve through the systems
+    }
+
+    @Override
+    public int getAnimationSequence() {
+        return store.getAnimationSequences()[row()];
+    }
+
+    @Override
+    public Rectangle getCollisionRectangle() {
+        return null;
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public boolean collides(IEnvironmentObjet other) {
+        return false;
+    }
+
+    @Override
+    public void setProperty(String key, Object value) {
+        if (properties == null) {
+            properties = new HashMap<>();
+        }
+        properties.put(key, value);
+    }
+
+    @Override
+    public Object getProperty(String key) {
+        return properties == null ? null : properties.get(key);
+    }
+
+    @Override
+    public boolean getBooleanProperty(String key) {
+        Object property = getProperty(key);
+        return property != null && ((Boolean) property).booleanValue();
+    }
+
+    /** @param appearance appearance of the entity */
+    public void setAppearance(IAppearance appearance) {
+        this.appearance = appearance;
+    }
+
+    @Override
+    public IAppearance getAppearance() {
+        return appearance;
+    }
+
+    @Override
+    public String getExtraDebugInfo() {
+        return StringUtils.EMPTY;
+    }
+
+    @Override
+    public String toString() {
+        return "entity name=" + name + " handle=" + handle;
+    }
+
+}
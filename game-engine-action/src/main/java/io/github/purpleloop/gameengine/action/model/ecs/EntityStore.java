@@ -0,0 +1,374 @@
+package io.github.purpleloop.gameengine.action.model.ecs;
+
+import java.util.Arrays;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.gameengine.action.model.objects.GameObject;
+
+/**
+ * A store of entities whose components are held in parallel arrays of
+ * primitives, one row per entity.
+ *
+ * <p>
+ * The components are the location, the velocity, the orientation, the
+ * animation sequence and a set of flags. Rows are kept dense : destroying an
+ * entity moves the last row in its place. Systems read and write the component
+ * arrays directly, for rows from 0 to {@link #size()} excluded. The arrays are
+ * replaced when the store grows, so they must be fetched again at each update
+ * instead of being kept by the systems.
+ * </p>
+ *
+ * <p>
+ * Entities are designated by handles, which do not change when rows move.
+ * Handles of destroyed entities are reused.
+ * </p>
+ */
+public class EntityStore {
+
+    /** Default initial capacity of the store. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** Marks a handle without entity. */
+    private static final int NO_ROW = -1;
+
+    /** Orientations, indexed by their ordinal. */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Number of entities. */
+    private int size;
+
+    /** Abscissas of the entities. */
+    private int[] xs;
+
+    /** Ordinates of the entities. */
+    private int[] ys;
+
+    /** Horizontal velocities of the entities, in base units per update. */
+    private int[] xVelocities;
+
+    /** Vertical velocities of the entities, in base units per update. */
+    private int[] yVelocities;
+
+    /** Orientations ordinals of the entities. */
+    private byte[] orientations;
+
+    /** Animation sequences of the entities. */
+    private int[] animationSequences;
+
+    /** Flags of the entities, free for the games. */
+    private int[] flags;
+
+    /** Handles of the entities, by row. */
+    private int[] handles;
+
+    /** Rows of the entities, by handle, {@link #NO_ROW} for free handles. */
+    private int[] rows;
+
+    /** Number of handles ever used. */
+    private int handleCount;
+
+    /** Released handles, ready for reuse. */
+    private int[] freeHandles;
+
+    /** Number of released handles. */
+    private int freeHandleCount;
+
+    /** Object adapters of the entities, by handle, created on first request. */
+    private EntityObject[] adapters;
+
+    /** Creates a store with the default capacity. */
+    public EntityStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a store.
+     *
+     * @param initialCapacity initial number of entities the store can hold
+     *            without growing
+     */
+    public EntityStore(int initialCapacity) {
+
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "The capacity must be positive, got " + initialCapacity);
+        }
+
+        xs = new int[initialCapacity];
+        ys = new int[initialCapacity];
+        xVelocities = new int[initialCapacity];
+        yVelocities = new int[initialCapacity];
+        orientations = new byte[initialCapacity];
+        animationSequences = new int[initialCapacity];
+        flags = new int[initialCapacity];
+        handles = new int[initialCapacity];
+        rows = new int[initialCapacity];
+        freeHandles = new int[initialCapacity];
+        adapters = new EntityObject[initialCapacity];
+    }
+
+    /** @return number of entities */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates an entity, without velocity nor orientation.
+     *
+     * @param x abscissa of the entity
+     * @param y ordinate of the entity
+     * @return handle of the entity
+     */
+    public int create(int x, int y) {
+
+        if (size == xs.length) {
+            grow(size * 2);
+        }
+
+        int handle;
+        if (freeHandleCount > 0) {
+            handle = freeHandles[--freeHandleCount];
+        } else {
+            handle = handleCount++;
+            if (handle == rows.length) {
+                rows = Arrays.copyOf(rows, handle * 2);
+                adapters = Arrays.copyOf(adapters, handle * 2);
+                freeHandles = Arrays.copyOf(freeHandles, handle * 2);
+            }
+        }
+
+        int row = size++;
+        xs[row] = x;
+        ys[row] = y;
+        xVelocities[row] = 0;
+        yVelocities[row] = 0;
+        orientations[row] = (byte) Direction.NONE.ordinal();
+        animationSequences[row] = 0;
+        flags[row] = 0;
+        handles[row] = handle;
+        rows[handle] = row;
+
+        return handle;
+    }
+
+    /**
+     * Destroys an entity. The last row is moved in the row of the entity, and
+     * its object adapter, if any, is detached.
+     *
+     * @param handle handle of the entity
+     * @throws IllegalArgumentException if there is no such entity
+     */
+    public void destroy(int handle) {
+
+        int row = rowOf(handle);
+        int last = --size;
+        if (row != last) {
+            xs[row] = xs[last];
+            ys[row] = ys[last];
+            xVelocities[row] = xVelocities[last];
+            yVelocities[row] = yVelocities[last];
+            orientations[row] = orientations[last];
+            animationSequences[row] = animationSequences[last];
+            flags[row] = flags[last];
+            handles[row] = handles[last];
+            rows[handles[row]] = row;
+        }
+
+        rows[handle] = NO_ROW;
+        adapters[handle] = null;
+        freeHandles[freeHandleCount++] = handle;
+    }
+
+    /** Destroys all entities. */
+    public void clear() {
+        while (size > 0) {
+            destroy(handles[size - 1]);
+        }
+    }
+
+    /**
+     * @param handle an entity handle
+     * @return true if the handle designates an existing entity
+     */
+    public boolean isAlive(int handle) {
+        return handle >= 0 && handle < handleCount && rows[handle] != NO_ROW;
+    }
+
+    /**
+     * @param handle handle of an entity
+     * @return the current row of the entity in the component arrays
+     * @throws IllegalArgumentException if there is no such entity
+     */
+    public int rowOf(int handle) {
+        if (!isAlive(handle)) {
+            throw new IllegalArgumentException("No entity for the handle " + handle);
+        }
+        return rows[handle];
+    }
+
+    /**
+     * @param row a row, between 0 and {@link #size()} excluded
+     * @return the handle of the entity in this row
+     */
+    public int handleAt(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of " + size + " entities");
+        }
+        return handles[row];
+    }
+
+    /**
+     * Gets the environment object view of an entity. The adapter is created on
+     * first request, then kept until the entity is destroyed.
+     *
+     * @param handle handle of the entity
+     * @return the object adapter of the entity
+     */
+    public EntityObject getObject(int handle) {
+
+        rowOf(handle);
+        EntityObject adapter = adapters[handle];
+        if (adapter == null) {
+            adapter = new EntityObject(this, handle, GameObject.allocateId());
+            adapters[handle] = adapter;
+        }
+        return adapter;
+    }
+
+    /**
+     * @param adapter an object adapter
+     * @return true if the adapter is still the view of its entity
+     */
+    boolean isAttached(EntityObject adapter) {
+        int handle = adapter.getHandle();
+        return isAlive(handle) && adapters[handle] == adapter;
+    }
+
+    /**
+     * Sets the location of an entity.
+     *
+     * @param handle handle of the entity
+     * @param x abscissa of the entity
+     * @param y ordinate of the entity
+     */
+    public void setLocation(int handle, int x, int y) {
+        int row = rowOf(handle);
+        xs[row] = x;
+        ys[row] = y;
+    }
+
+    /**
+     * Sets the velocity of an entity.
+     *
+     * @param handle handle of the entity
+     * @param xVelocity horizontal velocity, in base units per update
+     * @param yVelocity vertical velocity, in base units per update
+     */
+    public void setVelocity(int handle, int xVelocity, int yVelocity) {
+        int row = rowOf(handle);
+        xVelocities[row] = xVelocity;
+        yVelocities[row] = yVelocity;
+    }
+
+    /**
+     * @param handle handle of the entity
+     * @return the orientation of the entity
+     */
+    public Direction getOrientation(int handle) {
+        return DIRECTIONS[orientations[rowOf(handle)]];
+    }
+
+    /**
+     * @param handle handle of the entity
+     * @param orientation the orientation of the entity
+     */
+    public void setOrientation(int handle, Direction orientation) {
+        orientations[rowOf(handle)] = (byte) orientation.ordinal();
+    }
+
+    /**
+     * @param ordinal ordinal of an orientation, as stored in the orientations
+     *            array
+     * @return the orientation
+     */
+    public static Direction getDirection(int ordinal) {
+        return DIRECTIONS[ordinal];
+    }
+
+    /**
+     * @param handle handle of the entity
+     * @param flag flag bits to set
+     */
+    public void setFlags(int handle, int flag) {
+        flags[rowOf(handle)] |= flag;
+    }
+
+    /**
+     * @param handle handle of the entity
+     * @param flag flag bits to clear
+     */
+    public void clearFlags(int handle, int flag) {
+        flags[rowOf(handle)] &= ~flag;
+    }
+
+    /**
+     * @param handle handle of the entity
+     * @param flag flag bits to test
+     * @return true if all the flag bits are set
+     */
+    public boolean hasFlags(int handle, int flag) {
+        return (flags[rowOf(handle)] & flag) == flag;
+    }
+
+    /** @return abscissas of the entities, by row */
+    public int[] getXs() {
+        return xs;
+    }
+
+    /** @return ordinates of the entities, by row */
+    public int[] getYs() {
+        return ys;
+    }
+
+    /** @return horizontal velocities of the entities, by row */
+    public int[] getXVelocities() {
+        return xVelocities;
+    }
+
+    /** @return vertical velocities of the entities, by row */
+    public int[] getYVelocities() {
+        return yVelocities;
+    }
+
+    /** @return orientation ordinals of the entities, by row */
+    public byte[] getOrientations() {
+        return orientations;
+    }
+
+    /** @return animation sequences of the entities, by row */
+    public int[] getAnimationSequences() {
+        return animationSequences;
+    }
+
+    /** @return flags of the entities, by row */
+    public int[] getFlags() {
+        return flags;
+    }
+
+    /**
+     * Grows the component arrays.
+     *
+     * @param capacity new number of rows
+     */
+    private void grow(int capacity) {
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        xVelocities = Arrays.copyOf(xVelocities, capacity);
+        yVelocities = Arrays.copyOf(yVelocities, capacity);
+        orientations = Arrays.copyOf(orientations, capacity);
+        animationSequences = Arrays.copyOf(animationSequences, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+    }
+
+}
@@ -0,0 +1,20 @@
+package io.github.purpleloop.gameengine.action.model.ecs;
+
+import io.github.purpleloop.gameengine.core.util.EngineException;
+
+/**
+ * A system updates the components of all entities of a store, usually in a
+ * tight loop over the component arrays.
+ */
+@FunctionalInterface
+public interface EntitySystem {
+
+    /**
+     * Updates the entities.
+     *
+     * @param store the entity store
+     * @throws EngineException in case of errors
+     */
+    void update(EntityStore store) throws EngineException;
+
+}
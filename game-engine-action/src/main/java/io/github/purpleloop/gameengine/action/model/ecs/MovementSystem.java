@@ -0,0 +1,21 @@
+package io.github.purpleloop.gameengine.action.model.ecs;
+
+/** A system moving each entity by its velocity. */
+public class MovementSystem implements EntitySystem {
+
+    @Override
+    public void update(EntityStore store) {
+
+        int size = store.size();
+        int[] xs = store.getXs();
+        int[] ys = store.getYs();
+        int[] xVelocities = store.getXVelocities();
+        int[] yVelocities = store.getYVelocities();
+
+        for (int row = 0; row < size; row++) {
+            xs[row] += xVelocities[row];
+            ys[row] += yVelocities[row];
+        }
+    }
+
+}
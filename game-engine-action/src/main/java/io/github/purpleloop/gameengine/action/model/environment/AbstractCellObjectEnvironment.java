@@ -1,18 +1,36 @@
 package io.github.purpleloop.gameengine.action.model.environment;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.gameengine.action.model.algorithms.CellPassability;
+import io.github.purpleloop.gameengine.action.model.algorithms.ClearanceMap;
+import io.github.purpleloop.gameengine.action.model.algorithms.ClusterGraph;
+import io.github.purpleloop.gameengine.action.model.algorithms.DistanceField;
+import io.github.purpleloop.gameengine.action.model.algorithms.DistanceFieldCache;
+import io.github.purpleloop.gameengine.action.model.algorithms.FlowField;
+import io.github.purpleloop.gameengine.action.model.algorithms.HierarchicalPathPlanner;
+import io.github.purpleloop.gameengine.action.model.algorithms.PathBuffer;
+import io.github.purpleloop.gameengine.action.model.algorithms.PathPlanner;
+import io.github.purpleloop.gameengine.action.model.algorithms.PathQuery;
+import io.github.purpleloop.gameengine.action.model.algorithms.PathQueryScheduler;
 import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
 import io.github.purpleloop.gameengine.action.model.interfaces.ISession;
 import io.github.purpleloop.gameengine.action.model.level.IGameLevel;
 import io.github.purpleloop.gameengine.core.config.GameConfig;
 import io.github.purpleloop.gameengine.core.util.EngineException;
 import io.github.purpleloop.gameengine.core.util.Location;
+import io.github.purpleloop.gameengine.core.util.LocationConsumer;
+import io.github.purpleloop.gameengine.core.util.LocationList;
+import io.github.purpleloop.gameengine.core.util.PackedLocation;
 
 /**
  * This class serves as basis for games where environment is a 2D rectangular
@@ -31,6 +49,22 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
     /** Cell size property. */
     private static final String ENVIRONMENT_CELL_SIZE = "environment.cellSize";
 
+    /** Maximal number of shared distance fields property. */
+    private static final String ENVIRONMENT_DISTANCE_FIELD_CACHE_SIZE =
+            "environment.distanceFieldCacheSize";
+
+    /** Cluster size property, for the hierarchical path finding. */
+    private static final String ENVIRONMENT_CLUSTER_SIZE = "environment.clusterSize";
+
+    /** Maximal footprint of the objects property. */
+    private static final String ENVIRONMENT_MAX_FOOTPRINT = "environment.maxFootprint";
+
+    /** Number of threads resolving the path queries property. */
+    private static final String ENVIRONMENT_PATH_QUERY_THREADS = "environment.pathQueryThreads";
+
+    /** Property enabling the index of the cells by contents. */
+    private static final String ENVIRONMENT_INDEX_CELL_CONTENTS = "environment.indexCellContents";
+
     /**
      * Maximum number of tries before giving up in searches. Should be
      * sufficiently large to allow dispersion and sufficiently small to prevent
@@ -38,6 +72,18 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
      */
     private static final int MAX_TRIES_FOR_SEARCHES = 10000;
 
+    /** Maximum number of tries of the searches using the index of the cells. */
+    private static final int MAX_TRIES_FOR_INDEXED_SEARCHES = 64;
+
+    /**
+     * Number of cells of a contents not allowing an object after which the
+     * contents is no longer searched, during a search using the index.
+     */
+    private static final int MAX_FAILURES_FOR_INDEXED_CONTENTS = 4;
+
+    /** Marks a contents no longer searched. */
+    private static final int EXCLUDED_CONTENTS = -1;
+
     /** Width of the environment, expressed in base units. */
     protected int width;
 
@@ -54,7 +100,49 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
     protected int cellHeight;
 
     /** The static content stored in each cell of the environment. */
-    private ICellContents[][] storage;
+    private CellStorage storage;
+
+    /** Is the index of the cells by contents enabled ? */
+    private boolean indexCellContents;
+
+    /** The index of the cells by contents, null if the cells are not indexed. */
+    private CellContentsIndex cellContentsIndex;
+
+    /** The indexed contents, for the random searches. */
+    private List<ICellContents> searchedContents;
+
+    /** Failures of the searched contents, or {@link #EXCLUDED_CONTENTS}. */
+    private int[] searchFailures;
+
+    /** Maximal number of shared distance fields. */
+    private int distanceFieldCacheSize;
+
+    /** The shared distance fields, created on first use. */
+    private DistanceFieldCache distanceFieldCache;
+
+    /** Size of the clusters of the hierarchical path finding, in cells. */
+    private int clusterSize;
+
+    /** The cluster graph of the cells, null if hierarchical path finding is not used. */
+    private ClusterGraph clusterGraph;
+
+    /** The hierarchical path planner, created on first use. */
+    private HierarchicalPathPlanner hierarchicalPathPlanner;
+
+    /** Maximal footprint of the objects, in cells. */
+    private int maxFootprint;
+
+    /** The clearance maps of the passability classes of large objects. */
+    private Map<Object, ClearanceMap> clearanceMaps;
+
+    /** The flow fields of the environment. */
+    private List<FlowField> flowFields;
+
+    /** Number of threads resolving the path queries. */
+    private int pathQueryThreads;
+
+    /** The scheduler of the path queries, created on first use. */
+    private PathQueryScheduler pathQueryScheduler;
 
     /**
      * Creates an abstract cell object environment.
@@ -70,17 +158,47 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
 
         GameConfig config = session.getGameEngine().getConfig();
         cellSize = config.getIntProperty(ENVIRONMENT_CELL_SIZE);
+        distanceFieldCacheSize = config.getIntProperty(ENVIRONMENT_DISTANCE_FIELD_CACHE_SIZE,
+                DistanceFieldCache.DEFAULT_CAPACITY);
+        clusterSize = config.getIntProperty(ENVIRONMENT_CLUSTER_SIZE,
+                ClusterGraph.DEFAULT_CLUSTER_SIZE);
+        pathQueryThreads = config.getIntProperty(ENVIRONMENT_PATH_QUERY_THREADS,
+                Runtime.getRuntime().availableProcessors());
+        flowFields = new ArrayList<>();
+        indexCellContents = config.getBooleanProperty(ENVIRONMENT_INDEX_CELL_CONTENTS, true);
+        searchedContents = new ArrayList<>();
+        searchFailures = new int[0];
+        maxFootprint = config.getIntProperty(ENVIRONMENT_MAX_FOOTPRINT,
+                ClearanceMap.DEFAULT_MAX_FOOTPRINT);
+        clearanceMaps = new HashMap<>();
 
         initFromGameLevel();
     }
 
     /**
-     * Initializes the storage for each cell.
+     * Initializes the storage for each cell. Unless disabled, the cells are
+     * also indexed by contents, for the searches of cells.
      * 
      * @param cellWidth width in cell units
      * @param cellHeight height in cell units
      */
     protected void initStorage(int cellWidth, int cellHeight) {
+        initStorage(cellWidth, cellHeight, new DenseCellStorage(cellWidth, cellHeight));
+        if (indexCellContents) {
+            this.cellContentsIndex = new CellContentsIndex(cellWidth, cellHeight);
+        }
+    }
+
+    /**
+     * Initializes the storage with a given storage of the cells, for instance a
+     * {@link ChunkedCellStorage} for very large maps. Such cells are not
+     * indexed by contents, the searches of cells scan them.
+     * 
+     * @param cellWidth width in cell units
+     * @param cellHeight height in cell units
+     * @param storage the storage of the cells
+     */
+    protected void initStorage(int cellWidth, int cellHeight, CellStorage storage) {
 
         this.cellWidth = cellWidth;
         this.cellHeight = cellHeight;
@@ -90,7 +208,18 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
         LOG.debug("Creating the environment storage of " + cellWidth + " x " + cellHeight
                 + " cells => " + width + " x " + height + " base units");
 
-        this.storage = new ICellContents[cellWidth][cellHeight];
+        this.storage = storage;
+        this.cellContentsIndex = null;
+        this.distanceFieldCache = null;
+        this.clusterGraph = null;
+        this.hierarchicalPathPlanner = null;
+        this.flowFields.clear();
+        this.clearanceMaps.clear();
+
+        if (pathQueryScheduler != null) {
+            pathQueryScheduler.shutdown();
+            pathQueryScheduler = null;
+        }
     }
 
     /**
@@ -111,14 +240,21 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
     }
 
     /**
-     * Sets the content of a cell.
+     * Sets the content of a cell. The shared distance fields are repaired
+     * according to the new contents, the index of the cells by contents is
+     * updated, and the cell is reported as changed.
      * 
      * @param cx abscissa of the cell
      * @param cy ordinate of the cell
      * @param newContents the new content to set in this cell
      */
     protected final void setCellContents(int cx, int cy, ICellContents newContents) {
-        storage[cx][cy] = newContents;
+        if (cellContentsIndex != null) {
+            cellContentsIndex.update(cx, cy, storage.get(cx, cy), newContents);
+        }
+        storage.set(cx, cy, newContents);
+        cellChanged(cx, cy);
+        cellPassabilityChanged(cx, cy);
     }
 
     /**
@@ -129,7 +265,7 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
      * @return the content of this cell
      */
     public final ICellContents getCellContents(int cx, int cy) {
-        return storage[cx][cy];
+        return storage.get(cx, cy);
     }
 
     /**
@@ -190,6 +326,338 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
      */
     public abstract boolean isObjectAllowedAtCell(IEnvironmentObjet object, int cx, int cy);
 
+    /**
+     * Gets the passability of the cells for an environment object, as used by
+     * the path finding algorithms. For objects larger than a cell, a cell is
+     * passable if the whole footprint of the object anchored on it is allowed,
+     * as given by the clearance map of the object.
+     * 
+     * @param object the environment object
+     * @return the passability of the cells, for the given object
+     */
+    public CellPassability getCellPassability(IEnvironmentObjet object) {
+
+        int footprint = getFootprint(object);
+        if (footprint <= 1) {
+            return (cx, cy) -> isObjectAllowedAtCell(object, cx, cy);
+        }
+
+        return getClearanceMap(object).getPassability(footprint);
+    }
+
+    /**
+     * Gets the footprint of an object : the size of the square of cells it
+     * occupies, anchored on its top left cell. By default, objects occupy a
+     * single cell.
+     * 
+     * @param object the environment object
+     * @return the footprint of the object, in cells
+     */
+    public int getFootprint(IEnvironmentObjet object) {
+        return 1;
+    }
+
+    /**
+     * Gets the clearance map for an object, shared by the objects of the same
+     * passability class. The map is created on first use, and updated when
+     * the cells change.
+     * 
+     * @param object the environment object
+     * @return the clearance map of the passability class of the object
+     */
+    public ClearanceMap getClearanceMap(IEnvironmentObjet object) {
+        return clearanceMaps.computeIfAbsent(getPassabilityClass(object),
+                passabilityClass -> new ClearanceMap(cellWidth, cellHeight, maxFootprint,
+                        (cx, cy) -> isObjectAllowedAtCell(object, cx, cy)));
+    }
+
+    /**
+     * Gets the passability class of an object. Objects of the same passability
+     * class must be allowed in the same cells and have the same footprint, they
+     * share their distance fields. By default, the class of the object is
+     * used.
+     * 
+     * @param object the environment object
+     * @return the passability class of the object
+     */
+    public Object getPassabilityClass(IEnvironmentObjet object) {
+        return object.getClass();
+    }
+
+    /**
+     * Gets the shared distance field to a target cell for an object. The
+     * field is computed with the passability of the first object of the same
+     * passability class that requested a field. The field is repaired when
+     * cells change while it is cached : it should be requested again at each
+     * use rather than kept by the object.
+     * 
+     * @param object the environment object
+     * @param targetX abscissa of the target cell
+     * @param targetY ordinate of the target cell
+     * @return the distance field to the target, for the object
+     */
+    public DistanceField getDistanceField(IEnvironmentObjet object, int targetX, int targetY) {
+
+        if (distanceFieldCache == null) {
+            distanceFieldCache = new DistanceFieldCache(cellWidth, cellHeight,
+                    distanceFieldCacheSize);
+        }
+
+        return distanceFieldCache.getDistanceField(getPassabilityClass(object),
+                getCellPassability(object), targetX, targetY);
+    }
+
+    /**
+     * Searches for the direction to move an object towards a target cell,
+     * using the shared distance fields.
+     * 
+     * Warning, the object must be at exact cell location. Objects larger than
+     * a cell are anchored on their top left cell, see
+     * {@link #getFootprint(IEnvironmentObjet)}.
+     * 
+     * @param object the environment object
+     * @param target the target cell location
+     * @return the direction to take, {@link Direction#NONE} if the object cannot
+     *         get closer to the target
+     */
+    public Direction findDirectionTowards(IEnvironmentObjet object, Location target) {
+
+        DistanceField distanceField = getDistanceField(object, target.getX(), target.getY());
+
+        return distanceField.findBetterDirection(object.getXLoc() / cellSize,
+                object.getYLoc() / cellSize, getCellPassability(object));
+    }
+
+    /**
+     * Creates a flow field for the objects of the same passability as an
+     * object. The field follows the changes of the cells until it is released.
+     * 
+     * @param object the environment object
+     * @return the flow field, without goals
+     */
+    public FlowField createFlowField(IEnvironmentObjet object) {
+        FlowField flowField = new FlowField(cellWidth, cellHeight, getCellPassability(object));
+        flowFields.add(flowField);
+        return flowField;
+    }
+
+    /**
+     * Releases a flow field, that no longer follows the changes of the cells.
+     * 
+     * @param flowField the flow field
+     */
+    public void releaseFlowField(FlowField flowField) {
+        flowFields.remove(flowField);
+    }
+
+    /**
+     * Gets the direction of a flow field at the cell of an object.
+     * 
+     * Warning, the object must be at exact cell location. Objects larger than
+     * a cell are anchored on their top left cell, see
+     * {@link #getFootprint(IEnvironmentObjet)}.
+     * 
+     * @param object the environment object
+     * @param flowField the flow field
+     * @return the direction to take, {@link Direction#NONE} if the object
+     *         cannot get closer to the goals
+     */
+    public Direction getFlowDirection(IEnvironmentObjet object, FlowField flowField) {
+        return flowField.getDirection(object.getXLoc() / cellSize, object.getYLoc() / cellSize);
+    }
+
+    /**
+     * Plans a path for an object from its cell to a target cell.
+     * 
+     * Warning, the object must be at exact cell location. Objects larger than
+     * a cell are anchored on their top left cell, see
+     * {@link #getFootprint(IEnvironmentObjet)}.
+     * 
+     * @param object the environment object
+     * @param target the target cell location
+     * @param planner the path planner, sized for this environment
+     * @param path the buffer receiving the path
+     * @return true if a path has been found, false otherwise
+     */
+    public boolean findPath(IEnvironmentObjet object, Location target, PathPlanner planner,
+            PathBuffer path) {
+        return planner.findPath(object.getXLoc() / cellSize, object.getYLoc() / cellSize,
+                target.getX(), target.getY(), getCellPassability(object), path);
+    }
+
+    /**
+     * Gets the passability of the cells used for hierarchical path finding. The
+     * {@link EnvironmentProvider} builds the cluster graph of the level with
+     * it, when creating the environment. By default, hierarchical path finding
+     * is not used.
+     * 
+     * @return the passability of the cells for the hierarchical path finding,
+     *         null if it is not used
+     */
+    public CellPassability getNavigationPassability() {
+        return null;
+    }
+
+    /** @return the size of the clusters of the hierarchical path finding, in cells */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /** @return the cluster graph of the cells, null if not used */
+    public ClusterGraph getClusterGraph() {
+        return clusterGraph;
+    }
+
+    /**
+     * Sets the cluster graph of the cells.
+     * 
+     * @param clusterGraph the cluster graph, built with the navigation
+     *            passability
+     */
+    public void setClusterGraph(ClusterGraph clusterGraph) {
+
+        if (!clusterGraph.isCompatible(cellWidth, cellHeight, clusterSize)) {
+            throw new IllegalArgumentException("The cluster graph " + clusterGraph.getWidth()
+                    + " x " + clusterGraph.getHeight() + " does not match the environment "
+                    + cellWidth + " x " + cellHeight + ".");
+        }
+
+        this.clusterGraph = clusterGraph;
+        if (hierarchicalPathPlanner != null) {
+            hierarchicalPathPlanner.setClusterGraph(clusterGraph);
+        }
+    }
+
+    /**
+     * Gets the hierarchical path planner of the environment. Paths must be
+     * planned with the navigation passability, for instance with
+     * {@link #findPath(IEnvironmentObjet, Location, PathPlanner, PathBuffer)}
+     * for objects of the navigation passability.
+     * 
+     * @return the hierarchical path planner, empty if there is no cluster
+     *         graph
+     */
+    public Optional<PathPlanner> getHierarchicalPathPlanner() {
+
+        if (clusterGraph == null) {
+            return Optional.empty();
+        }
+
+        if (hierarchicalPathPlanner == null) {
+            hierarchicalPathPlanner = new HierarchicalPathPlanner(clusterGraph);
+        }
+        return Optional.of(hierarchicalPathPlanner);
+    }
+
+    /**
+     * Submits a path query for an object, from its cell to a target cell. The
+     * query is resolved with the other queries of the tick, after the evolution
+     * of all objects : the path can be used from the next tick.
+     * 
+     * Warning, the object must be at exact cell location. Objects larger than
+     * a cell are anchored on their top left cell, see
+     * {@link #getFootprint(IEnvironmentObjet)}. Its passability is checked
+     * from other threads during the resolution.
+     * 
+     * @param object the environment object
+     * @param target the target cell location
+     * @param path the buffer receiving the path, not to be used until the
+     *            query is resolved
+     * @return the path query
+     */
+    public PathQuery submitPathQuery(IEnvironmentObjet object, Location target,
+            PathBuffer path) {
+        return getPathQueryScheduler().submitPath(object.getXLoc() / cellSize,
+                object.getYLoc() / cellSize, target.getX(), target.getY(),
+                getCellPassability(object), path);
+    }
+
+    /**
+     * Submits a distance field query for an object, to a target cell. The
+     * query is resolved with the other queries of the tick, after the evolution
+     * of all objects : the field can be used from the next tick.
+     * 
+     * @param object the environment object
+     * @param target the target cell location
+     * @param distanceField the field to compute, sized for this environment,
+     *            not to be used until the query is resolved
+     * @return the distance field query
+     */
+    public PathQuery submitDistanceFieldQuery(IEnvironmentObjet object, Location target,
+            DistanceField distanceField) {
+        return getPathQueryScheduler().submitDistanceField(target.getX(), target.getY(),
+                getCellPassability(object), distanceField);
+    }
+
+    /** @return the scheduler of the path queries */
+    private PathQueryScheduler getPathQueryScheduler() {
+        if (pathQueryScheduler == null) {
+            pathQueryScheduler = new PathQueryScheduler(cellWidth, cellHeight,
+                    pathQueryThreads);
+        }
+        return pathQueryScheduler;
+    }
+
+    @Override
+    protected void resolvePathQueries() throws EngineException {
+        if (pathQueryScheduler != null) {
+            pathQueryScheduler.resolve();
+        }
+    }
+
+    /** Stops the threads of the environment, including the path queries. */
+    @Override
+    void shutdownThreads() {
+        super.shutdownThreads();
+        if (pathQueryScheduler != null) {
+            pathQueryScheduler.shutdown();
+            pathQueryScheduler = null;
+        }
+    }
+
+    /**
+     * Notifies that the passability of a cell has changed, so that the shared
+     * distance fields, the flow fields and the cluster graph are updated. This
+     * is done by {@link #setCellContents(int, int, ICellContents)}, and should
+     * be called when the passability depends on other states of the
+     * environment.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     */
+    public void cellPassabilityChanged(int cx, int cy) {
+
+        // For large objects, the cells whose footprint covers the changed cell
+        // may change too
+        int region = clearanceMaps.isEmpty() ? 1 : maxFootprint;
+        for (ClearanceMap clearanceMap : clearanceMaps.values()) {
+            clearanceMap.updateCell(cx, cy);
+        }
+
+        for (int y = Math.max(0, cy - region + 1); y <= cy; y++) {
+            for (int x = Math.max(0, cx - region + 1); x <= cx; x++) {
+
+                if (distanceFieldCache != null) {
+                    distanceFieldCache.cellChanged(x, y);
+                }
+
+                for (FlowField flowField : flowFields) {
+                    flowField.cellChanged(x, y);
+                }
+            }
+        }
+
+        // The graph may be shared with the level cache, it is not modified
+        CellPassability navigationPassability = getNavigationPassability();
+        if (clusterGraph != null && navigationPassability != null) {
+            ClusterGraph changedGraph = clusterGraph.withCellChanged(cx, cy,
+                    navigationPassability);
+            if (changedGraph != clusterGraph) {
+                setClusterGraph(changedGraph);
+            }
+        }
+    }
+
     /**
      * Handles when an environment object reaches a given cell.
      * 
@@ -237,7 +705,7 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
             stringBuilder.delete(0, stringBuilder.length());
 
             for (int cx = 0; cx < cellWidth; cx++) {
-                stringBuilder.append(storage[cx][cy].getLevelChar() + " ");
+                stringBuilder.append(storage.get(cx, cy).getLevelChar() + " ");
             }
 
             LOG.debug(stringBuilder.toString());
@@ -252,6 +720,12 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
      */
     public Optional<Location> findFirstCellLocationMatchingContents(ICellContents contents) {
 
+        if (cellContentsIndex != null) {
+            long cell = cellContentsIndex.first(contents);
+            return cell == PackedLocation.NONE ? Optional.empty()
+                    : Optional.of(PackedLocation.toLocation(cell));
+        }
+
         for (int y = 0; y < cellHeight; y++) {
             for (int x = 0; x < cellWidth; x++) {
                 if (getCellContents(x, y).equals(contents)) {
@@ -271,15 +745,110 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
     public List<Location> findAllCellsLocationsMatchingContents(ICellContents contents) {
 
         List<Location> locations = new ArrayList<>();
+        forEachCellMatchingContents(contents, (x, y) -> locations.add(Location.getLocation(x, y)));
+        return locations;
+    }
+
+    /**
+     * Search for the all cells location having the given contents, without
+     * creating objects per location.
+     * 
+     * @param contents cell content to match
+     * @param locations list to which the matching locations are added
+     * @return number of added locations
+     */
+    public int findAllCellsLocationsMatchingContents(ICellContents contents,
+            LocationList locations) {
+
+        int size = locations.size();
+        forEachCellMatchingContents(contents, locations::add);
+        return locations.size() - size;
+    }
+
+    /**
+     * Gives the cells having the given contents to a consumer, row by row.
+     * 
+     * @param contents cell content to match
+     * @param consumer consumer of the matching cells
+     */
+    private void forEachCellMatchingContents(ICellContents contents, LocationConsumer consumer) {
+
+        if (cellContentsIndex != null) {
+            cellContentsIndex.all(contents, consumer);
+            return;
+        }
 
         for (int y = 0; y < cellHeight; y++) {
             for (int x = 0; x < cellWidth; x++) {
                 if (getCellContents(x, y).equals(contents)) {
-                    locations.add(Location.getLocation(x, y));
+                    consumer.accept(x, y);
                 }
             }
         }
-        return locations;
+    }
+
+    /**
+     * Counts the cells having the given contents.
+     * 
+     * @param contents cell content to match
+     * @return number of cells having the contents
+     */
+    public int countCellsMatchingContents(ICellContents contents) {
+
+        if (cellContentsIndex != null) {
+            return cellContentsIndex.count(contents);
+        }
+
+        int count = 0;
+        for (int y = 0; y < cellHeight; y++) {
+            for (int x = 0; x < cellWidth; x++) {
+                if (getCellContents(x, y).equals(contents)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Search for a random cell location having the given contents.
+     * 
+     * @param contents cell content to match
+     * @return optional location of a random matching cell
+     */
+    public Optional<Location> findRandomCellLocationMatchingContents(ICellContents contents) {
+
+        long cell;
+        if (cellContentsIndex != null) {
+            cell = cellContentsIndex.random(contents, random);
+        } else {
+            LocationList locations = new LocationList();
+            findAllCellsLocationsMatchingContents(contents, locations);
+            cell = locations.isEmpty() ? PackedLocation.NONE
+                    : locations.getPacked(random.nextInt(locations.size()));
+        }
+
+        return cell == PackedLocation.NONE ? Optional.empty()
+                : Optional.of(PackedLocation.toLocation(cell));
+    }
+
+    /**
+     * Get an allowed random location for the given object, without creating
+     * a location object.
+     * 
+     * @param object the tested object
+     * @param locations list to which the found location is added
+     * @return true if an allowed location has been found, false otherwise
+     */
+    public boolean findRandomAllowedLocationForObject(IEnvironmentObjet object,
+            LocationList locations) {
+
+        long cell = findRandomAllowedCellForObject(object);
+        if (cell == PackedLocation.NONE) {
+            return false;
+        }
+        locations.addPacked(cell);
+        return true;
     }
 
     /**
@@ -290,25 +859,90 @@ public abstract class AbstractCellObjectEnvironment extends AbstractObjectEnviro
      */
     public Optional<Location> findRandomAllowedLocationForObject(IEnvironmentObjet object) {
 
-        int cellX;
-        int cellY;
-        int tries = 0;
+        long cell = findRandomAllowedCellForObject(object);
+        return cell == PackedLocation.NONE ? Optional.empty()
+                : Optional.of(PackedLocation.toLocation(cell));
+    }
 
-        boolean locationFound = false;
+    /**
+     * Get an allowed random cell for the given object. When the cells are
+     * indexed, the cells are drawn with the index first, then among all cells.
+     * 
+     * @param object the tested object
+     * @return the packed location of the cell, {@link PackedLocation#NONE} if
+     *         none has been found
+     */
+    private long findRandomAllowedCellForObject(IEnvironmentObjet object) {
 
-        do {
-            cellX = random.nextInt(cellWidth);
-            cellY = random.nextInt(cellHeight);
-            locationFound = isObjectAllowedAtCell(object, cellX, cellY);
-            tries++;
+        if (cellContentsIndex != null) {
+            long cell = findRandomAllowedIndexedCellForObject(object);
+            if (cell != PackedLocation.NONE) {
+                return cell;
+            }
+        }
 
-        } while ((tries < MAX_TRIES_FOR_SEARCHES) && !locationFound);
+        for (int tries = 0; tries < MAX_TRIES_FOR_SEARCHES; tries++) {
+            int cellX = random.nextInt(cellWidth);
+            int cellY = random.nextInt(cellHeight);
+            if (isObjectAllowedAtCell(object, cellX, cellY)) {
+                return PackedLocation.pack(cellX, cellY);
+            }
+        }
+        return PackedLocation.NONE;
+    }
 
-        if (locationFound) {
-            return Optional.of(Location.getLocation(cellX, cellY));
+    /**
+     * Get an allowed random cell for the given object, using the index of the
+     * cells. Cells are drawn among all the indexed cells, each of them with the
+     * same probability, until one allows the object. A contents is no longer
+     * searched after several of its cells did not allow the object, so that
+     * the contents not allowing the object do not exhaust the tries.
+     * 
+     * @param object the tested object
+     * @return the packed location of the cell, {@link PackedLocation#NONE} if
+     *         none has been found
+     */
+    private long findRandomAllowedIndexedCellForObject(IEnvironmentObjet object) {
+
+        searchedContents.clear();
+        cellContentsIndex.collectContents(searchedContents);
+
+        int contentsCount = searchedContents.size();
+        if (searchFailures.length < contentsCount) {
+            searchFailures = new int[contentsCount];
         } else {
-            return Optional.empty();
+            Arrays.fill(searchFailures, 0, contentsCount, 0);
+        }
+
+        int searchedCells = 0;
+        for (ICellContents contents : searchedContents) {
+            searchedCells += cellContentsIndex.count(contents);
+        }
+
+        for (int tries = 0; searchedCells > 0 && tries < MAX_TRIES_FOR_INDEXED_SEARCHES; tries++) {
+
+            int drawn = random.nextInt(searchedCells);
+            int index = 0;
+            while (searchFailures[index] == EXCLUDED_CONTENTS
+                    || drawn >= cellContentsIndex.count(searchedContents.get(index))) {
+                if (searchFailures[index] != EXCLUDED_CONTENTS) {
+                    drawn -= cellContentsIndex.count(searchedContents.get(index));
+                }
+                index++;
+            }
+
+            ICellContents contents = searchedContents.get(index);
+            long cell = cellContentsIndex.random(contents, random);
+            if (isObjectAllowedAtCell(object, PackedLocation.x(cell), PackedLocation.y(cell))) {
+                return cell;
+            }
+
+            if (++searchFailures[index] == MAX_FAILURES_FOR_INDEXED_CONTENTS) {
+                searchFailures[index] = EXCLUDED_CONTENTS;
+                searchedCells -= cellContentsIndex.count(contents);
+            }
         }
+        return PackedLocation.NONE;
     }
 
 }
@@ -1,21 +1,38 @@
 package io.github.purpleloop.gameengine.action.model.environment;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import io.github.purpleloop.gameengine.action.model.ecs.EntityStore;
+import io.github.purpleloop.gameengine.action.model.ecs.EntitySystem;
 import io.github.purpleloop.gameengine.action.model.events.BasicEvent;
+import io.github.purpleloop.gameengine.action.model.events.EnvironmentChangeEvent;
 import io.github.purpleloop.gameengine.action.model.interfaces.IAgent;
+import io.github.purpleloop.gameengine.action.model.interfaces.ICatchUpObject;
 import io.github.purpleloop.gameengine.action.model.interfaces.IControllableAgent;
 import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironment;
 import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
 import io.github.purpleloop.gameengine.action.model.interfaces.IGameEngine;
+import io.github.purpleloop.gameengine.action.model.interfaces.IPoolable;
 import io.github.purpleloop.gameengine.action.model.interfaces.ISession;
 import io.github.purpleloop.gameengine.action.model.level.IGameLevel;
+import io.github.purpleloop.gameengine.action.model.metrics.IMetricsRegistry;
+import io.github.purpleloop.gameengine.action.model.metrics.TickPhase;
 import io.github.purpleloop.gameengine.core.config.GameConfig;
 import io.github.purpleloop.gameengine.core.util.EngineException;
+import io.github.purpleloop.gameengine.core.util.MpscQueue;
 
 /**
  * This class describes an abstract game environment containing objects,
@@ -35,17 +52,69 @@ public abstract class AbstractObjectEnvironment extends CommonAbstractEnvironmen
     /** Max agents for environment property. */
     private static final String ENVIRONMENT_MAX_AGENTS = "environment.maxAgents";
 
+    /** Cell size property, also sizing the cells of the spatial index. */
+    private static final String ENVIRONMENT_CELL_SIZE = "environment.cellSize";
+
+    /** Number of threads of the parallel evolution, 0 for a sequential one. */
+    private static final String ENVIRONMENT_EVOLUTION_THREADS = "environment.evolutionThreads";
+
+    /** Property enabling the verification of the released pooled objects. */
+    private static final String ENVIRONMENT_VERIFY_POOLS = "environment.verifyPools";
+
+    /** Capacity of the queues of the object additions and removals. */
+    private static final String ENVIRONMENT_COMMAND_QUEUE_CAPACITY =
+            "environment.commandQueueCapacity";
+
+    /** Property enabling the tracking of the changes at each update. */
+    private static final String ENVIRONMENT_TRACK_CHANGES = "environment.trackChanges";
+
+    /** Width of the level of detail rings, 0 to update all objects at each tick. */
+    private static final String ENVIRONMENT_LOD_DISTANCE = "environment.lodDistance";
+
+    /** Number of level of detail rings beyond the first one. */
+    private static final String ENVIRONMENT_LOD_LEVELS = "environment.lodLevels";
+
+    /** Default number of level of detail rings beyond the first one. */
+    private static final int DEFAULT_LOD_LEVELS = 3;
+
+    /** Default capacity of the queues of the object additions and removals. */
+    private static final int DEFAULT_COMMAND_QUEUE_CAPACITY = 8192;
+
     /** Maximal number of agents living in this environment. */
     protected int maxAgents;
 
-    /** Environment objects. */
-    private List<IEnvironmentObjet> envObjects;
+    /** Environment objects, kept dense for their traversal at each update. */
+    private DenseObjectStore envObjects;
+
+    /** Objects marked for removal, by any thread. */
+    private MpscQueue<IEnvironmentObjet> removeQueue;
+
+    /** Objects marked for removal while their queue was full, by any thread. */
+    private Queue<IEnvironmentObjet> removeOverflow;
+
+    /** Objects pre-added, by any thread. */
+    private MpscQueue<IEnvironmentObjet> addQueue;
 
-    /** Objects removed. */
+    /** Pooled objects to release once removed, by any thread. */
+    private MpscQueue<IPoolable> releaseQueue;
+
+    /** Objects removed by the current update. */
     private List<IEnvironmentObjet> removeList;
 
-    /** Objects added. */
-    private List<IEnvironmentObjet> addedList;
+    /** Pooled objects marked for a release by the current update. */
+    private Set<IPoolable> releaseMarks;
+
+    /** Pooled objects released by the current update. */
+    private List<IPoolable> releaseList;
+
+    /** Pools of the recyclable objects, by type. */
+    private Map<Class<?>, ObjectPool<?>> pools;
+
+    /** Are the released pooled objects verified ? */
+    private boolean verifyPools;
+
+    /** The tracker of the changes, null if they are not tracked. */
+    private ChangeTracker changeTracker;
 
     /**
      * The game level that serves as reference for the static structure of the
@@ -53,6 +122,30 @@ public abstract class AbstractObjectEnvironment extends CommonAbstractEnvironmen
      */
     private IGameLevel level;
 
+    /** Size of the cells of the spatial index, in base units. */
+    private int spatialIndexCellSize;
+
+    /** The spatial index of the objects, created on first use. */
+    private SpatialIndex spatialIndex;
+
+    /** Number of threads of the parallel evolution, 0 for a sequential one. */
+    private int evolutionThreads;
+
+    /** The evolver of the objects in parallel, created on first use. */
+    private ParallelEvolver parallelEvolver;
+
+    /** The entity store, created on first use. */
+    private EntityStore entityStore;
+
+    /** The entity systems, run in order at each update. */
+    private List<EntitySystem> entitySystems;
+
+    /** The scheduler of the updates by level of detail, null if disabled. */
+    private LodScheduler lodScheduler;
+
+    /** The objects scheduled for a parallel evolution. */
+    private List<IEnvironmentObjet> scheduledObjects;
+
     /**
      * Creates an abstract object environment.
      * 
@@ -62,13 +155,37 @@ public abstract class AbstractObjectEnvironment extends CommonAbstractEnvironmen
      */
     protected AbstractObjectEnvironment(ISession session, IGameLevel level) throws EngineException {
         super(session);
-        this.envObjects = new LinkedList<>();
-        this.removeList = new LinkedList<>();
-        this.addedList = new LinkedList<>();
+        this.envObjects = new DenseObjectStore();
+        this.removeList = new ArrayList<>();
+        this.entitySystems = new ArrayList<>();
+        this.scheduledObjects = new ArrayList<>();
+        this.releaseMarks = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.releaseList = new ArrayList<>();
+        this.removeOverflow = new ConcurrentLinkedQueue<>();
+        this.pools = new HashMap<>();
         this.level = level;
 
         GameConfig config = session.getGameEngine().getConfig();
         maxAgents = config.getIntProperty(ENVIRONMENT_MAX_AGENTS);
+        spatialIndexCellSize = config.getIntProperty(ENVIRONMENT_CELL_SIZE,
+                SpatialIndex.DEFAULT_CELL_SIZE);
+        evolutionThreads = config.getIntProperty(ENVIRONMENT_EVOLUTION_THREADS, 0);
+        verifyPools = config.getBooleanProperty(ENVIRONMENT_VERIFY_POOLS, false);
+        if (config.getBooleanProperty(ENVIRONMENT_TRACK_CHANGES, false)) {
+            changeTracker = new ChangeTracker();
+        }
+
+        int lodDistance = config.getIntProperty(ENVIRONMENT_LOD_DISTANCE, 0);
+        if (lodDistance > 0) {
+            lodScheduler = LodScheduler.rings(lodDistance,
+                    config.getIntProperty(ENVIRONMENT_LOD_LEVELS, DEFAULT_LOD_LEVELS));
+        }
+
+        int queueCapacity = config.getIntProperty(ENVIRONMENT_COMMAND_QUEUE_CAPACITY,
+                DEFAULT_COMMAND_QUEUE_CAPACITY);
+        this.removeQueue = new MpscQueue<>(queueCapacity);
+        this.addQueue = new MpscQueue<>(queueCapacity);
+        this.releaseQueue = new MpscQueue<>(queueCapacity);
     }
 
     /**
@@ -80,15 +197,52 @@ public abstract class AbstractObjectEnvironment extends CommonAbstractEnvironmen
     /**
      * Updates the environment.
      * 
+     * Each phase of the update is timed in the metrics registry of the session.
+     * 
+     * When the changes are tracked, the observers are notified with an
+     * {@link EnvironmentChangeEvent}, giving the objects moved, added and
+     * removed, and the cells changed since the previous update.
+     * 
      * @throws EngineException in case of error
      */
     public final synchronized void update() throws EngineException {
 
+        IMetricsRegistry metrics = session.getMetricsRegistry();
+        long time = metrics.startTiming();
+
         doEvolveObjects();
+        time = metrics.recordPhase(TickPhase.EVOLVE_OBJECTS, time);
+
+        if (!entitySystems.isEmpty()) {
+            doRunEntitySystems();
+            time = metrics.recordPhase(TickPhase.ENTITY_SYSTEMS, time);
+        }
+
+        resolvePathQueries();
+        time = metrics.recordPhase(TickPhase.PATH_QUERIES, time);
+
         doRemoveObjects();
+        time = metrics.recordPhase(TickPhase.REMOVE_OBJECTS, time);
+
         doAddObjects();
+        time = metrics.recordPhase(TickPhase.ADD_OBJECTS, time);
+
+        if (spatialIndex != null) {
+            spatialIndex.updateAll();
+            time = metrics.recordPhase(TickPhase.SPATIAL_INDEX, time);
+        }
+
         specificEvolve();
-        fireEnvironmentChanged(new BasicEvent(BasicEvent.ENVIRONNEMENT_UPDATED));
+        time = metrics.recordPhase(TickPhase.SPECIFIC_EVOLVE, time);
+
+        if (changeTracker != null) {
+            fireEnvironmentChanged(new EnvironmentChangeEvent(changeTracker.collect(envObjects)));
+        } else {
+            fireEnvironmentChanged(new BasicEvent(BasicEvent.ENVIRONNEMENT_UPDATED));
+        }
+        metrics.recordPhase(TickPhase.OBSERVERS, time);
+
+        metrics.recordObjectCount(envObjects.size());
     }
 
     /**
@@ -97,11 +251,49 @@ public abstract class AbstractObjectEnvironment extends CommonAbstractEnvironmen
      * agents are allowed to act according to the external controls or their
      * internal behavior.
      * 
+     * When the evolution is parallel, the behaviors of the concurrent agents
+     * are decided first, in parallel, then the objects evolve in order. See
+     * {@link ParallelEvolver}.
+     * 
+     * When a level of detail scheduler is set, only the objects it schedules
+     * behave and evolve. See {@link LodScheduler}.
+     * 
      * @throws EngineException in case of errors
      */
     protected void doEvolveObjects() throws EngineException {
 
-        for (IEnvironmentObjet envObject : getObjects()) {
+        if (lodScheduler != null) {
+            beginLevelOfDetailTick(lodScheduler);
+        }
+
+        int slot = 0;
+        if (evolutionThreads > 0) {
+
+            if (lodScheduler == null) {
+                getParallelEvolver().evolve(getObjects());
+                return;
+            }
+
+            for (; slot < envObjects.size(); slot++) {
+                if (schedule(slot)) {
+                    scheduledObjects.add(envObjects.get(slot));
+                }
+            }
+            try {
+                getParallelEvolver().evolve(scheduledObjects);
+            } finally {
+                scheduledObjects.clear();
+            }
+        }
+
+        // Objects added directly during the evolution evolve in the same update
+        for (; slot < envObjects.size(); slot++) {
+
+            if (lodScheduler != null && !schedule(slot)) {
+                continue;
+            }
+
+            IEnvironmentObjet envObject = envObjects.get(slot);
 
             if (envObject instanceof IAgent) {
                 ((IAgent) envObject).behave();
@@ -111,6 +303,109 @@ public abstract class AbstractObjectEnvironment extends CommonAbstractEnvironmen
         }
     }
 
+    /**
+     * Starts a tick of the level of detail scheduling. By default, the focus
+     * is the controllable object if any. Subclasses can override this method
+     * to focus on the camera instead.
+     * 
+     * @param scheduler the level of detail scheduler
+     */
+    protected void beginLevelOfDetailTick(LodScheduler scheduler) {
+
+        if (getControllable() instanceof IEnvironmentObjet) {
+            IEnvironmentObjet focus = (IEnvironmentObjet) getControllable();
+            scheduler.beginTick(focus.getXLoc(), focus.getYLoc());
+        } else {
+            scheduler.beginTick();
+        }
+    }
+
+    /**
+     * Decides if an object is updated at this tick, according to its level of
+     * detail. Updated objects are told the elapsed ticks if they can catch up.
+     * 
+     * @param slot slot of the object
+     * @return true if the object is updated, false if it is skipped
+     */
+    private boolean schedule(int slot) {
+
+        IEnvironmentObjet envObject = envObjects.get(slot);
+        int elapsedTicks = lodScheduler.schedule(envObject, envObjects.getUpdateTick(slot));
+        if (elapsedTicks == 0) {
+            return false;
+        }
+
+        envObjects.setUpdateTick(slot, lodScheduler.getTick());
+        if (elapsedTicks > 1 && envObject instanceof ICatchUpObject) {
+            ((ICatchUpObject) envObject).catchUp(elapsedTicks);
+        }
+        return true;
+    }
+
+    /**
+     * Sets the scheduler of the updates by level of detail.
+     * 
+     * @param lodScheduler the scheduler, null to update all objects at each
+     *            tick
+     */
+    protected void setLodScheduler(LodScheduler lodScheduler) {
+        this.lodScheduler = lodScheduler;
+    }
+
+    /** @return the scheduler of the updates by level of detail, null if disabled */
+    public LodScheduler getLodScheduler() {
+        return lodScheduler;
+    }
+
+    /** @return the evolver of the objects in parallel */
+    private ParallelEvolver getParallelEvolver() {
+        if (parallelEvolver == null) {
+            parallelEvolver = new ParallelEvolver(evolutionThreads);
+        }
+        return parallelEvolver;
+    }
+
+    /**
+     * Cleans up the environment : does the specific cleanup, then stops the
+     * threads of the environment.
+     */
+    @Override
+    public final void cleanUp() {
+        specificCleanUp();
+        shutdownThreads();
+    }
+
+    /** Stops the threads of the environment, such as the parallel evolution. */
+    void shutdownThreads() {
+        if (parallelEvolver != null) {
+            parallelEvolver.shutdown();
+            parallelEvolver = null;
+        }
+    }
+
+    /**
+     * Runs the entity systems, in their order of addition.
+     * 
+     * @throws EngineException in case of errors
+     */
+    protected void doRunEntitySystems() throws EngineException {
+
+        EntityStore store = getEntityStore();
+        for (EntitySystem system : entitySystems) {
+            system.update(store);
+        }
+    }
+
+    /**
+     * Resolves the path queries submitted by the objects during their
+     * evolution, before the specific evolutions of the environment. By
+     * default, there are no path queries.
+     * 
+     * @throws EngineException in case of errors
+     */
+    protected void resolvePathQueries() throws EngineException {
+    }
+
     /** Do the specific evolutions of the environment. */
     protected void specificEvolve() throws EngineException {
     }
@@ -125,7 +420,9 @@ public abstract class AbstractObjectEnvironment extends CommonAbstractEnvironmen
 
         LOG.debug("Add object " + obj);
 
-        envObjects.add(obj);
+        if (envObjects.add(obj) && spatialIndex != null) {
+            spatialIndex.add(obj);
+        }
 
         if (obj instanceof IControllableAgent) {
             setControlledElement((IControllableAgent) obj);
@@ -133,32 +430,253 @@ public abstract class AbstractObjectEnvironment extends CommonAbstractEnvironmen
     }
 
     /**
-     * Prepare the addition of an object to the environment.
+     * Prepare the addition of an object to the environment. This can be called
+     * by any thread, without locking.
      * 
      * @param obj the pre-added object
      * 
      *            The object will be added later by
      *            {@link AbstractObjectEnvironment#doAddObjects()}.
-     * 
+     * @return true if the addition is queued, false if the queue of the
+     *         additions is full
      */
-    public final void preAddObject(IEnvironmentObjet obj) {
-        addedList.add(obj);
+    public final boolean preAddObject(IEnvironmentObjet obj) {
+
+        if (!addQueue.offer(obj)) {
+            LOG.warn("Addition queue full, object not added " + obj);
+            return false;
+        }
+        return true;
     }
 
-    /** @return all objects of the environment */
+    /**
+     * @return a read only view of all objects of the environment, in the order
+     *         of their additions
+     */
     public final List<IEnvironmentObjet> getObjects() {
-        return envObjects;
+        return envObjects.asList();
     }
 
-    /** Removes from the environment all objects 'marked' for removal. */
+    /**
+     * @param id an object identifier
+     * @return the object of the environment having this identifier, null if
+     *         none
+     */
+    public final IEnvironmentObjet findObjectById(int id) {
+        return envObjects.findById(id);
+    }
+
+    /**
+     * Registers a pool for a type of recyclable objects, such as projectiles or
+     * particles.
+     * 
+     * @param <T> type of the pooled objects
+     * @param type class of the pooled objects
+     * @param factory the factory of the objects, when none is available
+     * @param maxAvailable maximal number of released objects kept for reuse
+     * @return the pool
+     */
+    public final <T extends IPoolable> ObjectPool<T> registerPool(Class<T> type,
+            Supplier<T> factory, int maxAvailable) {
+
+        ObjectPool<T> pool = new ObjectPool<>(factory, maxAvailable, verifyPools);
+        pools.put(type, pool);
+        return pool;
+    }
+
+    /**
+     * @param <T> type of the pooled objects
+     * @param type class of the pooled objects
+     * @return the pool of the type
+     * @throws IllegalArgumentException if no pool is registered for the type
+     */
+    @SuppressWarnings("unchecked")
+    public final <T extends IPoolable> ObjectPool<T> getPool(Class<T> type) {
+
+        ObjectPool<T> pool = (ObjectPool<T>) pools.get(type);
+        if (pool == null) {
+            throw new IllegalArgumentException("No pool is registered for " + type.getName());
+        }
+        return pool;
+    }
+
+    /**
+     * Acquires an object from its pool, and prepares its addition to the
+     * environment. The object can be initialized before its addition by
+     * {@link #doAddObjects()}.
+     * 
+     * @param <T> type of the pooled objects
+     * @param type class of the pooled objects
+     * @return the acquired object, null if the queue of the additions is full
+     */
+    public final <T extends IPoolable> T acquireObject(Class<T> type) {
+        ObjectPool<T> pool = getPool(type);
+        T obj = pool.acquire();
+        if (!preAddObject(obj)) {
+            pool.release(obj);
+            return null;
+        }
+        return obj;
+    }
+
+    /**
+     * Marks a pooled object for removal. Once removed by
+     * {@link #doRemoveObjects()}, the object is reset and released to its pool.
+     * It must not be used anymore by the game. This can be called by any
+     * thread, without locking. An object released several times is pooled
+     * once, and an object that is not in the environment when the removals
+     * are done is not pooled.
+     * 
+     * @param obj the released object
+     */
+    public final void releaseObject(IPoolable obj) {
+
+        getPool(obj.getClass());
+
+        // If the release can't be queued, the object is only removed
+        queueRemoval(obj);
+        if (!releaseQueue.offer(obj)) {
+            LOG.warn("Release queue full, object not pooled " + obj);
+        }
+    }
+
+    /**
+     * Gets the spatial index of the objects. The index is created on first use,
+     * then maintained by the environment : objects are indexed when added or
+     * removed, and their moves are taken into account at each update, after
+     * the addition of the new objects.
+     * 
+     * @return the spatial index of the objects
+     */
+    public final SpatialIndex getSpatialIndex() {
+
+        if (spatialIndex == null) {
+            spatialIndex = new SpatialIndex(spatialIndexCellSize);
+            for (IEnvironmentObjet obj : envObjects.asList()) {
+                spatialIndex.add(obj);
+            }
+        }
+        return spatialIndex;
+    }
+
+    /**
+     * Gets the entity store, for the entity-component-system mode. In this
+     * mode, the simulated entities are rows of component arrays updated by
+     * systems, instead of objects evolving one by one. The store is created on
+     * first use. Entities can be given to the environment as objects through
+     * {@link EntityStore#getObject(int)}, for instance to be rendered.
+     * 
+     * @return the entity store
+     */
+    public final EntityStore getEntityStore() {
+
+        if (entityStore == null) {
+            entityStore = new EntityStore();
+        }
+        return entityStore;
+    }
+
+    /**
+     * Adds a system, run at each update after the evolution of the objects.
+     * 
+     * @param system the entity system
+     */
+    public final void addEntitySystem(EntitySystem system) {
+        entitySystems.add(system);
+    }
+
+    /**
+     * Visits the pairs of colliding objects. Candidate pairs are the objects
+     * whose bounds overlap in the spatial index, they collide if one of them
+     * collides with the other.
+     * 
+     * @param consumer the consumer of the colliding pairs
+     */
+    public void forEachCollision(BiConsumer<IEnvironmentObjet, IEnvironmentObjet> consumer) {
+        getSpatialIndex().forEachOverlappingPair((first, second) -> {
+            if (first.collides(second) || second.collides(first)) {
+                consumer.accept(first, second);
+            }
+        });
+    }
+
+    /**
+     * Removes from the environment all objects 'marked' for removal. The
+     * objects are removed in a single pass, keeping the order of the remaining
+     * objects.
+     */
     protected final synchronized void doRemoveObjects() {
+
+        removeQueue.drain(removeList::add);
+        IEnvironmentObjet overflowed;
+        while ((overflowed = removeOverflow.poll()) != null) {
+            removeList.add(overflowed);
+        }
+        releaseQueue.drain(releaseMarks::add);
+
         for (IEnvironmentObjet obj : removeList) {
 
             LOG.debug("Remove object " + obj);
 
-            envObjects.remove(obj);
+            if (spatialIndex != null) {
+                spatialIndex.remove(obj);
+            }
         }
+        envObjects.removeAll(removeList, this::objectRemoved);
         removeList.clear();
+        releaseMarks.clear();
+
+        for (IPoolable obj : releaseList) {
+            if (verifyPools) {
+                verifyReleased(obj);
+            }
+            releaseToPool(obj);
+        }
+        releaseList.clear();
+    }
+
+    /**
+     * Handles an object removed from the store. Objects marked for a release
+     * are only released once actually removed, which also ignores the
+     * repeated releases of an object.
+     * 
+     * @param obj the removed object
+     */
+    private void objectRemoved(IEnvironmentObjet obj) {
+
+        if (changeTracker != null) {
+            changeTracker.objectRemoved(obj);
+        }
+        if (releaseMarks.remove(obj)) {
+            releaseList.add((IPoolable) obj);
+        }
+    }
+
+    /**
+     * Releases an object to its pool.
+     * 
+     * @param <T> type of the pooled object
+     * @param obj the released object
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends IPoolable> void releaseToPool(T obj) {
+        getPool((Class<T>) obj.getClass()).release(obj);
+    }
+
+    /**
+     * Verifies that a released object is no longer referenced by the
+     * environment.
+     * 
+     * @param obj the released object
+     * @throws IllegalStateException if the object is still referenced
+     */
+    private void verifyReleased(IPoolable obj) {
+
+        if (envObjects.contains(obj) || (spatialIndex != null && spatialIndex.contains(obj))
+                || getControllable() == obj) {
+            throw new IllegalStateException(
+                    "The released object " + obj + " is still referenced by the environment.");
+        }
     }
 
     /**
@@ -166,21 +684,98 @@ public abstract class AbstractObjectEnvironment extends CommonAbstractEnvironmen
      * pre-addition.
      */
     protected final synchronized void doAddObjects() {
-        for (IEnvironmentObjet obj : addedList) {
-            envObjects.add(obj);
+        addQueue.drain(this::addPending);
+    }
+
+    /**
+     * Adds a pre-added object.
+     * 
+     * @param obj the object
+     */
+    private void addPending(IEnvironmentObjet obj) {
+
+        if (verifyPools && obj instanceof IPoolable) {
+            ObjectPool<?> pool = pools.get(obj.getClass());
+            if (pool != null && pool.isAvailable((IPoolable) obj)) {
+                throw new IllegalStateException(
+                        "The released object " + obj + " is added to the environment.");
+            }
+        }
+
+        if (envObjects.add(obj) && spatialIndex != null) {
+            spatialIndex.add(obj);
         }
-        addedList.clear();
     }
 
     /**
-     * Marks an object of the environment for a removal.
+     * Marks an object of the environment for a removal. This can be called by
+     * any thread, without locking. Removals are never rejected : when their
+     * queue is full, they are kept in an unbounded overflow queue.
      * 
      * @param obj the object to remove The object will be removed later by
      *            {@link AbstractObjectEnvironment#doRemoveObjects()}.
      */
     public void markObjectForRemoval(IEnvironmentObjet obj) {
+        queueRemoval(obj);
+    }
+
+    /**
+     * Queues the removal of an object, in the overflow queue if the queue of
+     * the removals is full.
+     * 
+     * @param obj the object to remove
+     */
+    private void queueRemoval(IEnvironmentObjet obj) {
+
         LOG.debug("Object will be removed " + obj);
-        removeList.add(obj);
+        if (!removeQueue.offer(obj)) {
+            removeOverflow.add(obj);
+        }
+    }
+
+    /**
+     * Records the change of a cell, reported to the observers when the changes
+     * are tracked.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     */
+    protected final void cellChanged(int cx, int cy) {
+        if (changeTracker != null) {
+            changeTracker.cellChanged(cx, cy);
+        }
+    }
+
+    /**
+     * @return the number of object additions rejected since the creation of
+     *         the environment, because their queue was full
+     */
+    public final long getRejectedAdditionCount() {
+        return addQueue.getRejectedCount();
+    }
+
+    /**
+     * @return the number of object removals kept in the overflow queue since
+     *         the creation of the environment, because their queue was full
+     */
+    public final long getOverflowedRemovalCount() {
+        return removeQueue.getRejectedCount();
+    }
+
+    /**
+     * @return the maximal number of object additions handled by an update,
+     *         to compare with the capacity of their queue
+     */
+    public final int getPeakAdditionCount() {
+        return addQueue.getPeakSize();
+    }
+
+    /**
+     * @return the maximal number of object removals handled by an update, to
+     *         compare with the capacity of their queue
+     */
+    public final int getPeakRemovalCount() {
+        return removeQueue.getPeakSize();
     }
 
     /** {@inheritDoc} */
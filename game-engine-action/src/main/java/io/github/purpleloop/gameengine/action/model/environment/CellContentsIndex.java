@@ -0,0 +1,216 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import io.github.purpleloop.gameengine.core.util.LocationConsumer;
+import io.github.purpleloop.gameengine.core.util.PackedLocation;
+
+/**
+ * An inverted index of the cells of an environment by their contents, updated
+ * when cells are changed.
+ *
+ * <p>
+ * The cells of each contents are kept in a list, and each cell knows its
+ * position in the list of its contents, so that updates, counts and random
+ * picks are done in constant time. The first cell of a contents, in row order,
+ * is cached and only searched again in the list of the contents when it
+ * changes.
+ * </p>
+ */
+final class CellContentsIndex {
+
+    /** Marks a cell that is not indexed. */
+    private static final int NOT_INDEXED = -1;
+
+    /** The cells having a given contents. */
+    private static final class CellList {
+
+        /** The cells, as row major indexes, in no particular order. */
+        private int[] cells = new int[16];
+
+        /** Number of cells. */
+        private int size;
+
+        /** The first cell in row order, {@link #NOT_INDEXED} if unknown. */
+        private int firstCell = NOT_INDEXED;
+    }
+
+    /** Width of the grid, in cells. */
+    private final int width;
+
+    /** Positions of the cells in the lists of their contents. */
+    private final int[] positions;
+
+    /** Cell lists, by contents. */
+    private final Map<ICellContents, CellList> cellsByContents;
+
+    /** Buffer of the sorted cells of a contents. */
+    private int[] sortedCells;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param width width of the grid, in cells
+     * @param height height of the grid, in cells
+     */
+    CellContentsIndex(int width, int height) {
+        this.width = width;
+        this.positions = new int[width * height];
+        Arrays.fill(positions, NOT_INDEXED);
+        this.cellsByContents = new LinkedHashMap<>();
+        this.sortedCells = new int[0];
+    }
+
+    /**
+     * Updates the index for a changed cell.
+     *
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @param oldContents the previous contents of the cell, null if none
+     * @param newContents the new contents of the cell, null if none
+     */
+    void update(int cx, int cy, ICellContents oldContents, ICellContents newContents) {
+
+        int cell = cy * width + cx;
+        if (positions[cell] != NOT_INDEXED) {
+            remove(cell, cellsByContents.get(oldContents));
+        }
+        if (newContents != null) {
+            add(cell, cellsByContents.computeIfAbsent(newContents, contents -> new CellList()));
+        }
+    }
+
+    /**
+     * Adds a cell to a list.
+     *
+     * @param cell the cell
+     * @param list the list of its contents
+     */
+    private void add(int cell, CellList list) {
+
+        if (list.size == list.cells.length) {
+            list.cells = Arrays.copyOf(list.cells, list.size * 2);
+        }
+        positions[cell] = list.size;
+        list.cells[list.size++] = cell;
+
+        if (list.size == 1 || (list.firstCell != NOT_INDEXED && cell < list.firstCell)) {
+            list.firstCell = cell;
+        }
+    }
+
+    /**
+     * Removes a cell from a list, by moving the last cell of the list in its
+     * position.
+     *
+     * @param cell the cell
+     * @param list the list of its contents
+     */
+    private void remove(int cell, CellList list) {
+
+        int position = positions[cell];
+        int last = list.cells[--list.size];
+        list.cells[position] = last;
+        positions[last] = position;
+        positions[cell] = NOT_INDEXED;
+
+        if (cell == list.firstCell) {
+            list.firstCell = NOT_INDEXED;
+        }
+    }
+
+    /**
+     * @param contents cell contents
+     * @return the number of cells having the contents
+     */
+    int count(ICellContents contents) {
+        CellList list = cellsByContents.get(contents);
+        return list == null ? 0 : list.size;
+    }
+
+    /**
+     * @param contents cell contents
+     * @return the first cell having the contents in row order, as a packed
+     *         location, {@link PackedLocation#NONE} if there is none
+     */
+    long first(ICellContents contents) {
+
+        CellList list = cellsByContents.get(contents);
+        if (list == null || list.size == 0) {
+            return PackedLocation.NONE;
+        }
+
+        if (list.firstCell == NOT_INDEXED) {
+            int firstCell = list.cells[0];
+            for (int position = 1; position < list.size; position++) {
+                firstCell = Math.min(firstCell, list.cells[position]);
+            }
+            list.firstCell = firstCell;
+        }
+        return toPacked(list.firstCell);
+    }
+
+    /**
+     * Gets all the cells having a contents.
+     *
+     * @param contents cell contents
+     * @param consumer consumer of the cells, in row order
+     */
+    void all(ICellContents contents, LocationConsumer consumer) {
+
+        CellList list = cellsByContents.get(contents);
+        if (list == null) {
+            return;
+        }
+
+        if (sortedCells.length < list.size) {
+            sortedCells = new int[list.cells.length];
+        }
+        System.arraycopy(list.cells, 0, sortedCells, 0, list.size);
+        Arrays.sort(sortedCells, 0, list.size);
+
+        for (int position = 0; position < list.size; position++) {
+            int cell = sortedCells[position];
+            consumer.accept(cell % width, cell / width);
+        }
+    }
+
+    /**
+     * @param contents cell contents
+     * @param random the random generator
+     * @return a random cell having the contents, as a packed location,
+     *         {@link PackedLocation#NONE} if there is none
+     */
+    long random(ICellContents contents, Random random) {
+        CellList list = cellsByContents.get(contents);
+        if (list == null || list.size == 0) {
+            return PackedLocation.NONE;
+        }
+        return toPacked(list.cells[random.nextInt(list.size)]);
+    }
+
+    /**
+     * @param contents a collection receiving the indexed contents having at
+     *            least one cell
+     */
+    void collectContents(Collection<ICellContents> contents) {
+        for (Map.Entry<ICellContents, CellList> entry : cellsByContents.entrySet()) {
+            if (entry.getValue().size > 0) {
+                contents.add(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * @param cell a row major cell index
+     * @return the packed location of the cell
+     */
+    private long toPacked(int cell) {
+        return PackedLocation.pack(cell % width, cell / width);
+    }
+
+}
@@ -0,0 +1,25 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+/**
+ * The storage of the contents of the cells of an environment.
+ * 
+ * Reads can be done concurrently, for instance by the threads resolving path
+ * queries, as long as no cell is changed meanwhile.
+ */
+public interface CellStorage {
+
+    /**
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return the contents of the cell
+     */
+    ICellContents get(int cx, int cy);
+
+    /**
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @param contents the new contents of the cell
+     */
+    void set(int cx, int cy, ICellContents contents);
+
+}
@@ -0,0 +1,133 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.github.purpleloop.gameengine.action.model.events.EnvironmentChangeSet;
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+
+/**
+ * Tracks the changes of an environment between two updates.
+ * 
+ * The last published location of each object is kept in the tag of its slot in
+ * the object store, so that moves are found in a single pass over the objects,
+ * without lookup.
+ */
+class ChangeTracker {
+
+    /** Identifiers of the removed objects. */
+    private final IntList removedIds;
+
+    /** Abscissas of the changed cells. */
+    private final IntList changedCellsX;
+
+    /** Ordinates of the changed cells. */
+    private final IntList changedCellsY;
+
+    /** Changed cells, packed, to report each cell once. */
+    private final Set<Long> changedCells;
+
+    /** Identifiers of the moved objects, reused between updates. */
+    private final IntList movedIds;
+
+    /** Identifiers of the added objects, reused between updates. */
+    private final IntList spawnedIds;
+
+    /** Creates a tracker. */
+    ChangeTracker() {
+        this.removedIds = new IntList();
+        this.changedCellsX = new IntList();
+        this.changedCellsY = new IntList();
+        this.changedCells = new HashSet<>();
+        this.movedIds = new IntList();
+        this.spawnedIds = new IntList();
+    }
+
+    /**
+     * Records the removal of an object.
+     * 
+     * @param obj the removed object
+     */
+    void objectRemoved(IEnvironmentObjet obj) {
+        removedIds.add(obj.getId());
+    }
+
+    /**
+     * Records the change of a cell.
+     * 
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     */
+    void cellChanged(int cx, int cy) {
+        if (changedCells.add(pack(cx, cy))) {
+            changedCellsX.add(cx);
+            changedCellsY.add(cy);
+        }
+    }
+
+    /**
+     * Collects the changes since the previous collection, then starts
+     * tracking the next ones.
+     * 
+     * @param objects the objects of the environment
+     * @return the changes
+     */
+    EnvironmentChangeSet collect(DenseObjectStore objects) {
+
+        for (int slot = 0; slot < objects.size(); slot++) {
+
+            IEnvironmentObjet obj = objects.get(slot);
+            long location = pack(obj.getXLoc(), obj.getYLoc());
+            long previous = objects.getTag(slot);
+
+            if (previous == DenseObjectStore.NO_TAG) {
+                spawnedIds.add(obj.getId());
+            } else if (previous != location) {
+                movedIds.add(obj.getId());
+            }
+            objects.setTag(slot, location);
+        }
+
+        EnvironmentChangeSet changeSet = new EnvironmentChangeSet(movedIds.drain(),
+                spawnedIds.drain(), removedIds.drain(), changedCellsX.drain(),
+                changedCellsY.drain());
+        changedCells.clear();
+        return changeSet;
+    }
+
+    /**
+     * @param x abscissa
+     * @param y ordinate
+     * @return the coordinates packed in a long
+     */
+    private static long pack(int x, int y) {
+        return ((long) x << Integer.SIZE) | (y & 0xFFFFFFFFL);
+    }
+
+    /** A growing list of integers. */
+    private static final class IntList {
+
+        /** The values. */
+        private int[] values = new int[16];
+
+        /** Number of values. */
+        private int size;
+
+        /** @param value the added value */
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /** @return a copy of the values, the list being cleared */
+        private int[] drain() {
+            int[] copy = Arrays.copyOf(values, size);
+            size = 0;
+            return copy;
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+/**
+ * Pages the cold chunks of a {@link ChunkedCellStorage} out of memory, for
+ * instance to a file or in a compressed form, and back in when they are used
+ * again.
+ */
+public interface ChunkPager {
+
+    /**
+     * Pages a chunk out.
+     * 
+     * @param chunkX abscissa of the chunk, in chunks
+     * @param chunkY ordinate of the chunk, in chunks
+     * @param cells contents of the cells of the chunk, row by row
+     */
+    void pageOut(int chunkX, int chunkY, ICellContents[] cells);
+
+    /**
+     * Pages a chunk in. It is only called for chunks paged out before.
+     * 
+     * @param chunkX abscissa of the chunk, in chunks
+     * @param chunkY ordinate of the chunk, in chunks
+     * @return contents of the cells of the chunk, row by row
+     */
+    ICellContents[] pageIn(int chunkX, int chunkY);
+
+}
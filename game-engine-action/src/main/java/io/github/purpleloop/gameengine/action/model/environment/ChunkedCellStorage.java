@@ -0,0 +1,336 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cell storage made of square chunks, created on demand, so that the memory
+ * tracks the explored area instead of the bounds of the map.
+ *
+ * <p>
+ * Cells of missing chunks have the default contents. A chunk is created when
+ * one of its cells is given other contents, and dropped when all its cells
+ * have the default contents again. Chunks are found through a directory of
+ * chunk rows, each row being allocated on first use.
+ * </p>
+ *
+ * <p>
+ * Optionally, a pager keeps the number of chunks in memory bounded : when a
+ * chunk is created or paged in above the limit, the least recently used chunk
+ * is paged out. Reads of chunks in memory, and of missing chunks that are not
+ * paged out, are lock-free and do not allocate. Paging is done under the lock
+ * of the storage. The accesses are only stamped when a pager is set.
+ * </p>
+ */
+public class ChunkedCellStorage implements CellStorage {
+
+    /** Default size of the chunks, in cells. */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    /** A chunk of cells. */
+    private static final class Chunk {
+
+        /** Contents of the cells, row by row. */
+        private final ICellContents[] cells;
+
+        /** Number of cells whose contents are not the default ones. */
+        private int customCellCount;
+
+        /**
+         * Stamp of the last access, for the paging of the cold chunks. Readers
+         * may write it concurrently, the last write wins.
+         */
+        private long lastAccess;
+
+        /**
+         * Creates a chunk.
+         *
+         * @param cells contents of the cells, row by row
+         * @param customCellCount number of cells whose contents are not the
+         *            default ones
+         */
+        private Chunk(ICellContents[] cells, int customCellCount) {
+            this.cells = cells;
+            this.customCellCount = customCellCount;
+        }
+    }
+
+    /** Number of bits of the cell coordinates inside a chunk. */
+    private final int chunkShift;
+
+    /** Mask of the cell coordinates inside a chunk. */
+    private final int chunkMask;
+
+    /** Number of chunks in a row. */
+    private final int chunkColumns;
+
+    /** Contents of the cells of missing chunks. */
+    private final ICellContents defaultContents;
+
+    /** Chunks by chunk row then by chunk column, rows allocated on first use. */
+    private final Chunk[][] directory;
+
+    /** Number of chunks in memory. */
+    private int residentChunkCount;
+
+    /** The pager of the cold chunks, null if chunks are not paged. */
+    private volatile ChunkPager pager;
+
+    /** Maximal number of chunks in memory when a pager is set. */
+    private int maxResidentChunks;
+
+    /** Bits of the paged out chunks, indexed by chunk row then chunk column. */
+    private final long[] pagedOutChunks;
+
+    /** Number of chunks paged out, checked before looking for one. */
+    private volatile int pagedOutChunkCount;
+
+    /** Clock of the chunk accesses. */
+    private final AtomicLong accessClock;
+
+    /**
+     * Creates a chunked storage with chunks of the default size.
+     *
+     * @param width width in cells
+     * @param height height in cells
+     * @param defaultContents contents of the cells never set
+     */
+    public ChunkedCellStorage(int width, int height, ICellContents defaultContents) {
+        this(width, height, DEFAULT_CHUNK_SIZE, defaultContents);
+    }
+
+    /**
+     * Creates a chunked storage.
+     *
+     * @param width width in cells
+     * @param height height in cells
+     * @param chunkSize size of the chunks in cells, a power of two
+     * @param defaultContents contents of the cells never set
+     */
+    public ChunkedCellStorage(int width, int height, int chunkSize,
+            ICellContents defaultContents) {
+
+        if (chunkSize < 1 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException(
+                    "The chunk size must be a power of two, got " + chunkSize);
+        }
+
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        this.chunkMask = chunkSize - 1;
+        this.chunkColumns = (width + chunkMask) >> chunkShift;
+        this.directory = new Chunk[(height + chunkMask) >> chunkShift][];
+        this.defaultContents = defaultContents;
+        this.pagedOutChunks = new long[(int) (((long) chunkColumns * directory.length
+                + Long.SIZE - 1) / Long.SIZE)];
+        this.accessClock = new AtomicLong();
+    }
+
+    /**
+     * Pages the cold chunks out, keeping at most a given number of chunks in
+     * memory.
+     *
+     * @param pager the pager of the chunks, null to stop paging
+     * @param maxResidentChunks maximal number of chunks in memory
+     */
+    public synchronized void setPager(ChunkPager pager, int maxResidentChunks) {
+
+        if (pager != null && maxResidentChunks < 1) {
+            throw new IllegalArgumentException(
+                    "At least one chunk must stay in memory, got " + maxResidentChunks);
+        }
+
+        this.pager = pager;
+        this.maxResidentChunks = maxResidentChunks;
+        if (pager != null) {
+            while (residentChunkCount > maxResidentChunks) {
+                pageOutColdestChunk();
+            }
+        }
+    }
+
+    @Override
+    public ICellContents get(int cx, int cy) {
+
+        Chunk chunk = findChunk(cx >> chunkShift, cy >> chunkShift);
+        if (chunk == null) {
+            if (pagedOutChunkCount == 0) {
+                return defaultContents;
+            }
+            chunk = pageIn(cx >> chunkShift, cy >> chunkShift);
+            if (chunk == null) {
+                return defaultContents;
+            }
+        }
+        if (pager != null) {
+            chunk.lastAccess = accessClock.incrementAndGet();
+        }
+        return chunk.cells[((cy & chunkMask) << chunkShift) | (cx & chunkMask)];
+    }
+
+    @Override
+    public void set(int cx, int cy, ICellContents contents) {
+
+        int chunkX = cx >> chunkShift;
+        int chunkY = cy >> chunkShift;
+        Chunk chunk = findChunk(chunkX, chunkY);
+        if (chunk == null && pagedOutChunkCount > 0) {
+            chunk = pageIn(chunkX, chunkY);
+        }
+
+        boolean custom = contents != defaultContents;
+        if (chunk == null) {
+            if (!custom) {
+                return;
+            }
+            chunk = createChunk(chunkX, chunkY);
+        }
+        if (pager != null) {
+            chunk.lastAccess = accessClock.incrementAndGet();
+        }
+
+        int index = ((cy & chunkMask) << chunkShift) | (cx & chunkMask);
+        boolean wasCustom = chunk.cells[index] != defaultContents;
+        chunk.cells[index] = contents;
+
+        if (custom != wasCustom) {
+            chunk.customCellCount += custom ? 1 : -1;
+            if (chunk.customCellCount == 0) {
+                removeChunk(chunkX, chunkY);
+            }
+        }
+    }
+
+    /** @return the number of chunks in memory */
+    public synchronized int getResidentChunkCount() {
+        return residentChunkCount;
+    }
+
+    /** @return the number of chunks paged out */
+    public int getPagedOutChunkCount() {
+        return pagedOutChunkCount;
+    }
+
+    /**
+     * @param chunkX abscissa of the chunk
+     * @param chunkY ordinate of the chunk
+     * @return the chunk, null if it is not in memory
+     */
+    private Chunk findChunk(int chunkX, int chunkY) {
+        Chunk[] row = directory[chunkY];
+        return row == null ? null : row[chunkX];
+    }
+
+    /**
+     * Creates a chunk with the default contents.
+     *
+     * @param chunkX abscissa of the chunk
+     * @param chunkY ordinate of the chunk
+     * @return the chunk
+     */
+    private synchronized Chunk createChunk(int chunkX, int chunkY) {
+
+        ICellContents[] cells = new ICellContents[1 << (chunkShift * 2)];
+        Arrays.fill(cells, defaultContents);
+        Chunk chunk = new Chunk(cells, 0);
+        putChunk(chunkX, chunkY, chunk);
+        return chunk;
+    }
+
+    /**
+     * Pages a chunk in, if it was paged out.
+     *
+     * @param chunkX abscissa of the chunk
+     * @param chunkY ordinate of the chunk
+     * @return the chunk, null if it was not paged out
+     */
+    private synchronized Chunk pageIn(int chunkX, int chunkY) {
+
+        // The chunk may have been paged in by another thread
+        Chunk chunk = findChunk(chunkX, chunkY);
+        int bit = chunkY * chunkColumns + chunkX;
+        if (chunk != null || (pagedOutChunks[bit >>> 6] & (1L << bit)) == 0) {
+            return chunk;
+        }
+        pagedOutChunks[bit >>> 6] &= ~(1L << bit);
+        pagedOutChunkCount--;
+
+        ICellContents[] cells = pager.pageIn(chunkX, chunkY);
+        int customCellCount = 0;
+        for (ICellContents contents : cells) {
+            if (contents != defaultContents) {
+                customCellCount++;
+            }
+        }
+
+        chunk = new Chunk(cells, customCellCount);
+        putChunk(chunkX, chunkY, chunk);
+        return chunk;
+    }
+
+    /**
+     * Puts a chunk in memory, paging out the coldest chunk if there are too
+     * many of them.
+     *
+     * @param chunkX abscissa of the chunk
+     * @param chunkY ordinate of the chunk
+     * @param chunk the chunk
+     */
+    private void putChunk(int chunkX, int chunkY, Chunk chunk) {
+
+        chunk.lastAccess = accessClock.incrementAndGet();
+        if (pager != null && residentChunkCount >= maxResidentChunks) {
+            pageOutColdestChunk();
+        }
+
+        Chunk[] row = directory[chunkY];
+        if (row == null) {
+            row = new Chunk[chunkColumns];
+            directory[chunkY] = row;
+        }
+        row[chunkX] = chunk;
+        residentChunkCount++;
+    }
+
+    /**
+     * Drops a chunk whose cells all have the default contents.
+     *
+     * @param chunkX abscissa of the chunk
+     * @param chunkY ordinate of the chunk
+     */
+    private synchronized void removeChunk(int chunkX, int chunkY) {
+        directory[chunkY][chunkX] = null;
+        residentChunkCount--;
+    }
+
+    /** Pages out the least recently used chunk. */
+    private void pageOutColdestChunk() {
+
+        int coldestX = -1;
+        int coldestY = -1;
+        long coldestAccess = Long.MAX_VALUE;
+        for (int chunkY = 0; chunkY < directory.length; chunkY++) {
+            Chunk[] row = directory[chunkY];
+            if (row == null) {
+                continue;
+            }
+            for (int chunkX = 0; chunkX < row.length; chunkX++) {
+                Chunk chunk = row[chunkX];
+                if (chunk != null && chunk.lastAccess < coldestAccess) {
+                    coldestAccess = chunk.lastAccess;
+                    coldestX = chunkX;
+                    coldestY = chunkY;
+                }
+            }
+        }
+
+        if (coldestX >= 0) {
+            pager.pageOut(coldestX, coldestY, directory[coldestY][coldestX].cells);
+            directory[coldestY][coldestX] = null;
+            int bit = coldestY * chunkColumns + coldestX;
+            pagedOutChunks[bit >>> 6] |= 1L << bit;
+            pagedOutChunkCount++;
+            residentChunkCount--;
+        }
+    }
+
+}
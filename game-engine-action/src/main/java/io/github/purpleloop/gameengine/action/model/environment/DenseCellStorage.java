@@ -0,0 +1,29 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+/** A cell storage allocating all cells up front. */
+public class DenseCellStorage implements CellStorage {
+
+    /** Contents of the cells, by abscissa then ordinate. */
+    private final ICellContents[][] cells;
+
+    /**
+     * Creates a dense storage.
+     * 
+     * @param width width in cells
+     * @param height height in cells
+     */
+    public DenseCellStorage(int width, int height) {
+        this.cells = new ICellContents[width][height];
+    }
+
+    @Override
+    public ICellContents get(int cx, int cy) {
+        return cells[cx][cy];
+    }
+
+    @Override
+    public void set(int cx, int cy, ICellContents contents) {
+        cells[cx][cy] = contents;
+    }
+
+}
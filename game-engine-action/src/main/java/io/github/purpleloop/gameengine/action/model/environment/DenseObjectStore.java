@@ -0,0 +1,388 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+
+/**
+ * A dense store of environment objects, backed by an array.
+ *
+ * <p>
+ * Objects are kept contiguous, in the order of their additions, and are found
+ * by their identifier through an index of their slots. Additions, lookups and
+ * single removals are done in constant time. Single removals move the last
+ * object in the freed slot, whereas batch removals compact the store in one
+ * pass and keep the order of the remaining objects.
+ * </p>
+ *
+ * <p>
+ * Each slot also holds a tag, a long value moved with its object, that can be
+ * used to track the state of the objects between updates, and the tick of the
+ * last update of the object, used by the level of detail scheduling. Added
+ * objects have {@link #NO_TAG} for both.
+ * </p>
+ *
+ * <p>
+ * Objects are identified by {@link IEnvironmentObjet#getId()}, which must be
+ * unique among the stored objects.
+ * </p>
+ */
+public class DenseObjectStore {
+
+    /** The tag of the added objects. */
+    public static final long NO_TAG = Long.MIN_VALUE;
+
+    /** Initial capacity of the store. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Marks an empty slot of the index. */
+    private static final int NO_SLOT = -1;
+
+    /** The stored objects, in their slots. */
+    private IEnvironmentObjet[] objects;
+
+    /** Number of stored objects. */
+    private int size;
+
+    /** The tags of the objects, in their slots. */
+    private long[] tags;
+
+    /** The ticks of the last updates of the objects, in their slots. */
+    private long[] updateTicks;
+
+    /** Object identifiers of the index, hashed with linear probing. */
+    private int[] indexKeys;
+
+    /** Slots of the objects in the index, {@link #NO_SLOT} for free entries. */
+    private int[] indexSlots;
+
+    /** Read only view of the objects. */
+    private final List<IEnvironmentObjet> view;
+
+    /** Creates an empty store. */
+    public DenseObjectStore() {
+        this.objects = new IEnvironmentObjet[INITIAL_CAPACITY];
+        this.tags = new long[INITIAL_CAPACITY];
+        this.updateTicks = new long[INITIAL_CAPACITY];
+        this.indexKeys = new int[INITIAL_CAPACITY * 2];
+        this.indexSlots = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(indexSlots, NO_SLOT);
+        this.view = new ObjectView();
+    }
+
+    /** @return number of stored objects */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param slot slot of an object, between 0 and {@link #size()} excluded
+     * @return the object in the slot
+     */
+    public IEnvironmentObjet get(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " out of " + size + " objects");
+        }
+        return objects[slot];
+    }
+
+    /**
+     * @param slot slot of an object, between 0 and {@link #size()} excluded
+     * @return the tag of the object in the slot
+     */
+    public long getTag(int slot) {
+        get(slot);
+        return tags[slot];
+    }
+
+    /**
+     * @param slot slot of an object, between 0 and {@link #size()} excluded
+     * @param tag the tag of the object in the slot
+     */
+    public void setTag(int slot, long tag) {
+        get(slot);
+        tags[slot] = tag;
+    }
+
+    /**
+     * @param slot slot of an object, between 0 and {@link #size()} excluded
+     * @return the tick of the last update of the object in the slot
+     */
+    public long getUpdateTick(int slot) {
+        get(slot);
+        return updateTicks[slot];
+    }
+
+    /**
+     * @param slot slot of an object, between 0 and {@link #size()} excluded
+     * @param tick the tick of the last update of the object in the slot
+     */
+    public void setUpdateTick(int slot, long tick) {
+        get(slot);
+        updateTicks[slot] = tick;
+    }
+
+    /**
+     * @param obj an object
+     * @return true if the object is stored, false otherwise
+     */
+    public boolean contains(IEnvironmentObjet obj) {
+        int slot = slotOf(obj.getId());
+        return slot != NO_SLOT && objects[slot] == obj;
+    }
+
+    /**
+     * @param id an object identifier
+     * @return the stored object having this identifier, null if none
+     */
+    public IEnvironmentObjet findById(int id) {
+        int slot = slotOf(id);
+        return slot == NO_SLOT ? null : objects[slot];
+    }
+
+    /**
+     * Adds an object after the stored objects.
+     *
+     * @param obj the object to add
+     * @return true if the object was added, false if it was already stored
+     * @throws IllegalArgumentException if another object has the same
+     *             identifier
+     */
+    public boolean add(IEnvironmentObjet obj) {
+
+        int slot = slotOf(obj.getId());
+        if (slot != NO_SLOT) {
+            if (objects[slot] == obj) {
+                return false;
+            }
+            throw new IllegalArgumentException(
+                    "An object with the identifier " + obj.getId() + " is already stored");
+        }
+
+        if (size == objects.length) {
+            objects = Arrays.copyOf(objects, size * 2);
+            tags = Arrays.copyOf(tags, size * 2);
+            updateTicks = Arrays.copyOf(updateTicks, size * 2);
+        }
+        if ((size + 1) * 2 > indexKeys.length) {
+            rehash(indexKeys.length * 2);
+        }
+
+        objects[size] = obj;
+        tags[size] = NO_TAG;
+        updateTicks[size] = NO_TAG;
+        putSlot(obj.getId(), size);
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes an object, by moving the last object in its slot.
+     *
+     * @param obj the object to remove
+     * @return true if the object was removed, false if it was not stored
+     */
+    public boolean remove(IEnvironmentObjet obj) {
+
+        int slot = slotOf(obj.getId());
+        if (slot == NO_SLOT || objects[slot] != obj) {
+            return false;
+        }
+
+        removeSlot(obj.getId());
+        size--;
+        if (slot != size) {
+            IEnvironmentObjet last = objects[size];
+            objects[slot] = last;
+            tags[slot] = tags[size];
+            updateTicks[slot] = updateTicks[size];
+            putSlot(last.getId(), slot);
+        }
+        objects[size] = null;
+        return true;
+    }
+
+    /**
+     * Removes a batch of objects, keeping the order of the remaining objects.
+     * The store is compacted once for the whole batch.
+     *
+     * @param removed the objects to remove, objects not stored are ignored
+     * @return number of removed objects
+     */
+    public int removeAll(Collection<? extends IEnvironmentObjet> removed) {
+        return removeAll(removed, null);
+    }
+
+    /**
+     * Removes a batch of objects, keeping the order of the remaining objects.
+     * The store is compacted once for the whole batch.
+     *
+     * @param removed the objects to remove, objects not stored are ignored
+     * @param removedConsumer consumer of each removed object, null if none
+     * @return number of removed objects
+     */
+    public int removeAll(Collection<? extends IEnvironmentObjet> removed,
+            Consumer<IEnvironmentObjet> removedConsumer) {
+
+        int firstFreed = size;
+        int removedCount = 0;
+
+        for (IEnvironmentObjet obj : removed) {
+            int slot = slotOf(obj.getId());
+            if (slot != NO_SLOT && objects[slot] == obj) {
+                removeSlot(obj.getId());
+                objects[slot] = null;
+                firstFreed = Math.min(firstFreed, slot);
+                removedCount++;
+                if (removedConsumer != null) {
+                    removedConsumer.accept(obj);
+                }
+            }
+        }
+
+        if (removedCount > 0) {
+            int target = firstFreed;
+            for (int slot = firstFreed + 1; slot < size; slot++) {
+                IEnvironmentObjet obj = objects[slot];
+                if (obj != null) {
+                    objects[target] = obj;
+                    tags[target] = tags[slot];
+                    updateTicks[target] = updateTicks[slot];
+                    putSlot(obj.getId(), target);
+                    target++;
+                }
+            }
+            Arrays.fill(objects, target, size, null);
+            size = target;
+        }
+
+        return removedCount;
+    }
+
+    /** Removes all objects. */
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        Arrays.fill(indexSlots, NO_SLOT);
+        size = 0;
+    }
+
+    /**
+     * Gets a read only view of the objects, in their slot order. The view
+     * follows the changes of the store.
+     *
+     * @return the objects
+     */
+    public List<IEnvironmentObjet> asList() {
+        return view;
+    }
+
+    /**
+     * @param id an object identifier
+     * @return the slot of the object in the store, {@link #NO_SLOT} if none
+     */
+    private int slotOf(int id) {
+        int mask = indexKeys.length - 1;
+        for (int entry = hash(id) & mask;; entry = (entry + 1) & mask) {
+            int slot = indexSlots[entry];
+            if (slot == NO_SLOT || indexKeys[entry] == id) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Sets the slot of an object in the index.
+     *
+     * @param id the object identifier
+     * @param slot the slot of the object
+     */
+    private void putSlot(int id, int slot) {
+        int mask = indexKeys.length - 1;
+        int entry = hash(id) & mask;
+        while (indexSlots[entry] != NO_SLOT && indexKeys[entry] != id) {
+            entry = (entry + 1) & mask;
+        }
+        indexKeys[entry] = id;
+        indexSlots[entry] = slot;
+    }
+
+    /**
+     * Removes an object from the index. Following entries of the probe
+     * sequence are shifted back, so that lookups never cross a hole.
+     *
+     * @param id the object identifier
+     */
+    private void removeSlot(int id) {
+
+        int mask = indexKeys.length - 1;
+        int entry = hash(id) & mask;
+        while (indexKeys[entry] != id || indexSlots[entry] == NO_SLOT) {
+            entry = (entry + 1) & mask;
+        }
+
+        int hole = entry;
+        for (int next = (hole + 1) & mask; indexSlots[next] != NO_SLOT; next = (next + 1)
+                & mask) {
+
+            // The entry can fill the hole if its home is not between the hole
+            // and the entry, in the probe order
+            int home = hash(indexKeys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                indexKeys[hole] = indexKeys[next];
+                indexSlots[hole] = indexSlots[next];
+                hole = next;
+            }
+        }
+        indexSlots[hole] = NO_SLOT;
+    }
+
+    /**
+     * Resizes the index and inserts again all objects.
+     *
+     * @param capacity new capacity of the index, as a power of two
+     */
+    private void rehash(int capacity) {
+        indexKeys = new int[capacity];
+        indexSlots = new int[capacity];
+        Arrays.fill(indexSlots, NO_SLOT);
+        for (int slot = 0; slot < size; slot++) {
+            putSlot(objects[slot].getId(), slot);
+        }
+    }
+
+    /**
+     * @param id an object identifier
+     * @return the hash of the identifier, spreading consecutive identifiers
+     */
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** A read only view of the stored objects. */
+    private final class ObjectView extends AbstractList<IEnvironmentObjet>
+            implements RandomAccess {
+
+        @Override
+        public IEnvironmentObjet get(int index) {
+            return DenseObjectStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object obj) {
+            return obj instanceof IEnvironmentObjet
+                    && DenseObjectStore.this.contains((IEnvironmentObjet) obj);
+        }
+    }
+
+}
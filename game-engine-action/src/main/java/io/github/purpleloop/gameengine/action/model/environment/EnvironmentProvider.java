@@ -1,10 +1,15 @@
 package io.github.purpleloop.gameengine.action.model.environment;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import io.github.purpleloop.commons.exception.PurpleException;
 import io.github.purpleloop.commons.lang.ReflexivityTools;
+import io.github.purpleloop.gameengine.action.model.algorithms.CellPassability;
+import io.github.purpleloop.gameengine.action.model.algorithms.ClusterGraph;
 import io.github.purpleloop.gameengine.action.model.interfaces.IGameEngine;
 import io.github.purpleloop.gameengine.action.model.interfaces.ISession;
 import io.github.purpleloop.gameengine.action.model.interfaces.ISessionEnvironment;
@@ -22,6 +27,12 @@ public class EnvironmentProvider {
 	/** The game engine holding the level manager and providing level resources. */
 	private IGameEngine gameEngine;
 
+	/**
+	 * Cluster graphs of the levels, indexed by level id, so that re-entering a
+	 * level does not build its graph again.
+	 */
+	private Map<String, ClusterGraph> clusterGraphs;
+
 	/**
 	 * Constructor of the environment provider.
 	 * 
@@ -29,13 +40,15 @@ public class EnvironmentProvider {
 	 */
 	public EnvironmentProvider(IGameEngine gameEngine) {
 		this.gameEngine = gameEngine;
+		this.clusterGraphs = new HashMap<>();
 	}
 
 	/**
 	 * Initializes the environment for the next level.
 	 * 
 	 * Environment are created by reflection from the class name specified in the
-	 * game configuration.
+	 * game configuration. Cell environments using hierarchical path finding get
+	 * the cluster graph of the level, built on the first use of the level.
 	 * 
 	 * @param session the current game session
 	 * @return the initialized environment
@@ -58,13 +71,48 @@ public class EnvironmentProvider {
 		paramValues[0] = session;
 		paramValues[1] = level;
 
+		ISessionEnvironment environment;
 		try {
-			return ReflexivityTools.createInstance(
+			environment = ReflexivityTools.createInstance(
 					gameEngine.getConfig().getClassName(ClassRole.ENVIRONMENT), paramClasses, paramValues);
 		} catch (PurpleException e) {
 			throw new EngineException("Error while creating the environment", e);
 		}
 
+		if (environment instanceof AbstractCellObjectEnvironment) {
+			prepareNavigation((AbstractCellObjectEnvironment) environment, level);
+		}
+
+		return environment;
+	}
+
+	/**
+	 * Sets the cluster graph of a cell environment, if it uses hierarchical path
+	 * finding. The graph is built from the initial cells of the level, and cached
+	 * with the level.
+	 * 
+	 * @param environment the cell environment
+	 * @param level the level of the environment
+	 */
+	private void prepareNavigation(AbstractCellObjectEnvironment environment, IGameLevel level) {
+
+		CellPassability passability = environment.getNavigationPassability();
+		if (passability == null) {
+			return;
+		}
+
+		int cellWidth = environment.getCellWidth();
+		int cellHeight = environment.getCellHeight();
+		int clusterSize = environment.getClusterSize();
+
+		ClusterGraph clusterGraph = clusterGraphs.get(level.getId());
+		if (clusterGraph == null || !clusterGraph.isCompatible(cellWidth, cellHeight, clusterSize)) {
+			LOG.debug("Building the cluster graph of the level " + level.getId());
+			clusterGraph = ClusterGraph.build(cellWidth, cellHeight, clusterSize, passability);
+			clusterGraphs.put(level.getId(), clusterGraph);
+		}
+
+		environment.setClusterGraph(clusterGraph);
 	}
 
 }
@@ -0,0 +1,194 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import java.util.Arrays;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+
+/**
+ * Schedules the updates of the environment objects according to their level of
+ * detail, so that far away objects are updated less often than the ones near
+ * the focus of the game, typically the controlled object.
+ *
+ * <p>
+ * Objects are bucketed by their distance to the focus. Each bucket has an
+ * update period, in ticks : objects closer than the first distance are updated
+ * at each tick, the other ones every period of their bucket. Updates of the
+ * objects of a bucket are spread over its period according to their
+ * identifiers, so that they do not all happen at the same tick. An object
+ * changing of bucket is updated at the latest when a period has elapsed since
+ * its last update.
+ * </p>
+ *
+ * <p>
+ * The scheduler gives the number of ticks elapsed since the last update of an
+ * object, so that objects can catch up with the elapsed time. See
+ * {@link io.github.purpleloop.gameengine.action.model.interfaces.ICatchUpObject}.
+ * </p>
+ */
+public class LodScheduler {
+
+    /** Squared upper distances of the buckets, in base units. */
+    private final long[] squaredDistances;
+
+    /** Update periods of the buckets, in ticks. */
+    private final int[] periods;
+
+    /** The current tick. */
+    private long tick;
+
+    /** Abscissa of the focus. */
+    private int focusX;
+
+    /** Ordinate of the focus. */
+    private int focusY;
+
+    /** Is there a focus for the current tick ? */
+    private boolean focused;
+
+    /** Number of objects updated during the current tick. */
+    private int updatedCount;
+
+    /** Number of objects skipped during the current tick. */
+    private int skippedCount;
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param distances the upper distances of the buckets to the focus, in
+     *            base units, in increasing order
+     * @param periods the update periods of the buckets in ticks, one more than
+     *            the distances for the objects beyond the last distance
+     */
+    public LodScheduler(int[] distances, int[] periods) {
+
+        if (periods.length != distances.length + 1) {
+            throw new IllegalArgumentException("Expecting " + (distances.length + 1)
+                    + " update periods for " + distances.length + " distances, got "
+                    + periods.length);
+        }
+
+        this.squaredDistances = new long[distances.length];
+        for (int bucket = 0; bucket < distances.length; bucket++) {
+            if (distances[bucket] <= 0
+                    || (bucket > 0 && distances[bucket] <= distances[bucket - 1])) {
+                throw new IllegalArgumentException(
+                        "The distances must be positive and increasing : "
+                                + Arrays.toString(distances));
+            }
+            squaredDistances[bucket] = (long) distances[bucket] * distances[bucket];
+        }
+
+        for (int period : periods) {
+            if (period < 1) {
+                throw new IllegalArgumentException(
+                        "Invalid update periods : " + Arrays.toString(periods));
+            }
+        }
+        this.periods = periods.clone();
+    }
+
+    /**
+     * Creates a scheduler whose buckets are rings of a given width around the
+     * focus, the update period doubling from one ring to the next.
+     *
+     * @param ringWidth width of the rings, in base units
+     * @param levels number of rings beyond the first one
+     * @return the scheduler
+     */
+    public static LodScheduler rings(int ringWidth, int levels) {
+
+        int[] distances = new int[levels];
+        int[] periods = new int[levels + 1];
+        periods[0] = 1;
+        for (int level = 1; level <= levels; level++) {
+            distances[level - 1] = ringWidth * level;
+            periods[level] = 1 << level;
+        }
+        return new LodScheduler(distances, periods);
+    }
+
+    /**
+     * Starts a new tick.
+     *
+     * @param x abscissa of the focus
+     * @param y ordinate of the focus
+     */
+    public void beginTick(int x, int y) {
+        beginTick();
+        this.focusX = x;
+        this.focusY = y;
+        this.focused = true;
+    }
+
+    /** Starts a new tick without focus, where all objects are updated. */
+    public void beginTick() {
+        tick++;
+        focused = false;
+        updatedCount = 0;
+        skippedCount = 0;
+    }
+
+    /**
+     * @param object an environment object
+     * @return the update period of the object, in ticks
+     */
+    public int getPeriod(IEnvironmentObjet object) {
+
+        if (!focused) {
+            return 1;
+        }
+
+        long dx = object.getXLoc() - focusX;
+        long dy = object.getYLoc() - focusY;
+        long squaredDistance = dx * dx + dy * dy;
+
+        int bucket = 0;
+        while (bucket < squaredDistances.length && squaredDistance >= squaredDistances[bucket]) {
+            bucket++;
+        }
+        return periods[bucket];
+    }
+
+    /**
+     * Decides if an object is updated during the current tick.
+     *
+     * @param object an environment object
+     * @param lastUpdate the tick of its last update,
+     *            {@link DenseObjectStore#NO_TAG} if it was never updated
+     * @return the number of ticks elapsed since the last update of the object,
+     *         0 if it is not updated during this tick
+     */
+    public int schedule(IEnvironmentObjet object, long lastUpdate) {
+
+        if (lastUpdate == DenseObjectStore.NO_TAG) {
+            updatedCount++;
+            return 1;
+        }
+
+        long elapsed = tick - lastUpdate;
+        int period = getPeriod(object);
+        if (elapsed < period && (tick + object.getId()) % period != 0) {
+            skippedCount++;
+            return 0;
+        }
+
+        updatedCount++;
+        return (int) Math.min(elapsed, Integer.MAX_VALUE);
+    }
+
+    /** @return the current tick */
+    public long getTick() {
+        return tick;
+    }
+
+    /** @return the number of objects updated during the current tick */
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+
+    /** @return the number of objects skipped during the current tick */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+}
@@ -0,0 +1,178 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IPoolable;
+
+/**
+ * A pool of recyclable objects of a given type.
+ *
+ * <p>
+ * Objects are created by a factory when the pool is empty, and kept for reuse
+ * when they are released, up to a maximal number of available objects. The
+ * pool records the number of objects in use and its high-water mark, which
+ * helps sizing the pool.
+ * </p>
+ *
+ * <p>
+ * When verification is enabled, releasing an object that is already available
+ * in the pool is reported. This is meant for debugging, as the pool then keeps
+ * a set of its available objects.
+ * </p>
+ *
+ * @param <T> type of the pooled objects
+ */
+public class ObjectPool<T extends IPoolable> {
+
+    /** Initial capacity of the available objects. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The factory of the objects. */
+    private final Supplier<T> factory;
+
+    /** Maximal number of available objects kept for reuse. */
+    private final int maxAvailable;
+
+    /** The available objects. */
+    private IPoolable[] available;
+
+    /** Number of available objects. */
+    private int availableCount;
+
+    /** The available objects, when verification is enabled. */
+    private final Set<IPoolable> availableSet;
+
+    /** Number of objects in use. */
+    private int inUseCount;
+
+    /** Maximal number of objects in use at the same time. */
+    private int highWaterMark;
+
+    /** Number of objects created by the factory. */
+    private long createdCount;
+
+    /**
+     * Creates a pool.
+     *
+     * @param factory the factory of the objects
+     * @param maxAvailable maximal number of available objects kept for reuse
+     * @param verification true to verify the releases
+     */
+    public ObjectPool(Supplier<T> factory, int maxAvailable, boolean verification) {
+
+        if (maxAvailable < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid maximal number of pooled objects : " + maxAvailable);
+        }
+
+        this.factory = factory;
+        this.maxAvailable = maxAvailable;
+        this.available = new IPoolable[Math.min(maxAvailable, INITIAL_CAPACITY)];
+        this.availableSet = verification ? Collections.newSetFromMap(new IdentityHashMap<>())
+                : null;
+    }
+
+    /**
+     * Acquires an object, reused if one is available, created otherwise.
+     *
+     * @return the object
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+
+        T object;
+        if (availableCount > 0) {
+            object = (T) available[--availableCount];
+            available[availableCount] = null;
+            if (availableSet != null) {
+                availableSet.remove(object);
+            }
+        } else {
+            object = factory.get();
+            createdCount++;
+        }
+
+        inUseCount++;
+        highWaterMark = Math.max(highWaterMark, inUseCount);
+        return object;
+    }
+
+    /**
+     * Releases an object. The object is reset, then kept for reuse if the pool
+     * is not full.
+     *
+     * @param object the released object, acquired from this pool
+     * @return true if the object is kept for reuse, false if it is dropped
+     * @throws IllegalStateException when verification is enabled, if the
+     *             object was already released
+     */
+    public boolean release(T object) {
+
+        if (availableSet != null && availableSet.contains(object)) {
+            throw new IllegalStateException("The object " + object + " is released twice.");
+        }
+
+        object.reset();
+        if (inUseCount > 0) {
+            inUseCount--;
+        }
+
+        if (availableCount == maxAvailable) {
+            return false;
+        }
+        if (availableCount == available.length) {
+            available = Arrays.copyOf(available, Math.min(maxAvailable, availableCount * 2));
+        }
+
+        available[availableCount++] = object;
+        if (availableSet != null) {
+            availableSet.add(object);
+        }
+        return true;
+    }
+
+    /**
+     * @param object an object
+     * @return true if verification is enabled and the object is available in
+     *         the pool
+     */
+    boolean isAvailable(IPoolable object) {
+        return availableSet != null && availableSet.contains(object);
+    }
+
+    /** @return the number of objects available for reuse */
+    public int getAvailableCount() {
+        return availableCount;
+    }
+
+    /** @return the number of acquired objects not released yet */
+    public int getInUseCount() {
+        return inUseCount;
+    }
+
+    /** @return the maximal number of objects in use at the same time */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /** @return the number of objects created by the factory */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /** @return the maximal number of available objects kept for reuse */
+    public int getMaxAvailable() {
+        return maxAvailable;
+    }
+
+    @Override
+    public String toString() {
+        return "pool inUse=" + inUseCount + " available=" + availableCount + " highWaterMark="
+                + highWaterMark + " created=" + createdCount;
+    }
+
+}
@@ -0,0 +1,177 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IAgent;
+import io.github.purpleloop.gameengine.action.model.interfaces.IConcurrentAgent;
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+import io.github.purpleloop.gameengine.core.util.EngineException;
+
+/**
+ * Evolves objects in two phases, so that agent behaviors use all cores.
+ *
+ * <p>
+ * In the read phase, the behaviors of the {@link IConcurrentAgent}s are run
+ * in parallel on a dedicated fork/join pool. No object evolves during this
+ * phase, so all behaviors see the state of the previous tick. In the commit
+ * phase, on the calling thread, each object evolves in order, applying the
+ * intents decided in the read phase. The other agents behave just before
+ * their evolution, as in a sequential evolution.
+ * </p>
+ *
+ * <p>
+ * The results are the same whatever the number of threads, as long as the
+ * concurrent agents follow the contract of {@link IConcurrentAgent}.
+ * </p>
+ */
+public class ParallelEvolver {
+
+    /** Number of agents below which a range of behaviors is not split. */
+    private static final int SPLIT_THRESHOLD = 64;
+
+    /** Number of threads of the read phase. */
+    private final int parallelism;
+
+    /** The pool of the read phase, null if it is run by the calling thread. */
+    private final ForkJoinPool pool;
+
+    /** The concurrent agents of the current read phase. */
+    private IConcurrentAgent[] agents;
+
+    /**
+     * Creates an evolver.
+     *
+     * @param parallelism number of threads running the behaviors
+     */
+    public ParallelEvolver(int parallelism) {
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid parallelism for the evolution : " + parallelism);
+        }
+
+        this.parallelism = parallelism;
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        this.agents = new IConcurrentAgent[0];
+    }
+
+    /** @return the number of threads running the behaviors */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Makes the objects behave and evolve. Objects added at the end of the list
+     * during the commit phase also behave and evolve.
+     *
+     * @param objects the objects, in their evolution order
+     * @throws EngineException in case of errors
+     */
+    public void evolve(List<IEnvironmentObjet> objects) throws EngineException {
+
+        int decided = objects.size();
+        int count = collectAgents(objects, decided);
+
+        // Read phase
+        if (pool == null || count <= SPLIT_THRESHOLD) {
+            behaveRange(0, count);
+        } else {
+            pool.invoke(new BehaveAction(0, count));
+        }
+        Arrays.fill(agents, 0, count, null);
+
+        // Commit phase
+        for (int index = 0; index < objects.size(); index++) {
+
+            IEnvironmentObjet object = objects.get(index);
+            if (object instanceof IAgent
+                    && (index >= decided || !(object instanceof IConcurrentAgent))) {
+                ((IAgent) object).behave();
+            }
+
+            object.evolve();
+        }
+    }
+
+    /**
+     * Collects the concurrent agents.
+     *
+     * @param objects the objects
+     * @param size number of objects to consider
+     * @return the number of concurrent agents
+     */
+    private int collectAgents(List<IEnvironmentObjet> objects, int size) {
+
+        if (agents.length < size) {
+            agents = new IConcurrentAgent[size];
+        }
+
+        int count = 0;
+        for (int index = 0; index < size; index++) {
+            IEnvironmentObjet object = objects.get(index);
+            if (object instanceof IConcurrentAgent) {
+                agents[count++] = (IConcurrentAgent) object;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs the behaviors of a range of the collected agents.
+     *
+     * @param from index of the first agent
+     * @param to index after the last agent
+     */
+    private void behaveRange(int from, int to) {
+        for (int index = from; index < to; index++) {
+            agents[index].behave();
+        }
+    }
+
+    /** Stops the threads of the pool. The evolver can no longer be used. */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /** Behaviors of a range of the collected agents, split between threads. */
+    private final class BehaveAction extends RecursiveAction {
+
+        /** Serial version. */
+        private static final long serialVersionUID = 1L;
+
+        /** Index of the first agent. */
+        private final int from;
+
+        /** Index after the last agent. */
+        private final int to;
+
+        /**
+         * Creates the behaviors of a range of agents.
+         *
+         * @param from index of the first agent
+         * @param to index after the last agent
+         */
+        private BehaveAction(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from <= SPLIT_THRESHOLD) {
+                behaveRange(from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new BehaveAction(from, middle), new BehaveAction(middle, to));
+        }
+    }
+
+}
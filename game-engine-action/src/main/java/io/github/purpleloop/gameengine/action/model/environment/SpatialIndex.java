@@ -0,0 +1,560 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+
+/**
+ * A broad phase index of the environment objects, as a spatial hash of square
+ * cells.
+ * 
+ * <p>
+ * Each object is registered in the cells covered by its bounds : its collision
+ * rectangle, or a square of a cell anchored on its location when it has none.
+ * Cells are hashed into a table of buckets, so that the index needs no world
+ * bounds. Queries only visit the buckets of the cells they cover, their cost
+ * depends on the local density of objects instead of their total number.
+ * </p>
+ * 
+ * <p>
+ * Objects are not notified of their moves : {@link #update(IEnvironmentObjet)}
+ * reads their bounds again, and only moves them between buckets when they
+ * change of cells.
+ * </p>
+ */
+public class SpatialIndex {
+
+    /** Default size of the cells, in base units. */
+    public static final int DEFAULT_CELL_SIZE = 32;
+
+    /** Initial number of buckets. */
+    private static final int INITIAL_BUCKET_COUNT = 64;
+
+    /** Initial capacity of a bucket. */
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    /** First prime of the cell hash. */
+    private static final int HASH_PRIME_X = 73856093;
+
+    /** Second prime of the cell hash. */
+    private static final int HASH_PRIME_Y = 19349663;
+
+    /** Size of the cells, in base units. */
+    private final int cellSize;
+
+    /** Entries of the indexed objects, in insertion order for reproducible queries. */
+    private final Map<IEnvironmentObjet, Entry> entries;
+
+    /** Entries of each bucket. */
+    private Entry[][] buckets;
+
+    /** Number of entries of each bucket. */
+    private int[] bucketSizes;
+
+    /** Stamp of the current query, to report each object once. */
+    private int queryStamp;
+
+    /** An indexed object, with its bounds at the last update. */
+    private static final class Entry {
+
+        /** The object. */
+        private final IEnvironmentObjet object;
+
+        /** Abscissa of the bounds. */
+        private int x;
+
+        /** Ordinate of the bounds. */
+        private int y;
+
+        /** Abscissa after the bounds. */
+        private int maxX;
+
+        /** Ordinate after the bounds. */
+        private int maxY;
+
+        /** First covered cell abscissa. */
+        private int minCellX;
+
+        /** First covered cell ordinate. */
+        private int minCellY;
+
+        /** Last covered cell abscissa. */
+        private int maxCellX;
+
+        /** Last covered cell ordinate. */
+        private int maxCellY;
+
+        /** Stamp of the last query reporting the object. */
+        private int stamp;
+
+        /**
+         * Creates an entry.
+         * 
+         * @param object the indexed object
+         */
+        private Entry(IEnvironmentObjet object) {
+            this.object = object;
+        }
+
+        /**
+         * @param other another entry
+         * @return true if the bounds of the entries overlap
+         */
+        private boolean overlaps(Entry other) {
+            return x < other.maxX && other.x < maxX && y < other.maxY && other.y < maxY;
+        }
+
+        /**
+         * @param px abscissa of a point
+         * @param py ordinate of a point
+         * @return the squared distance from the point to the bounds
+         */
+        private long squaredDistance(int px, int py) {
+            long dx = px < x ? x - px : (px >= maxX ? px - maxX + 1 : 0);
+            long dy = py < y ? y - py : (py >= maxY ? py - maxY + 1 : 0);
+            return dx * dx + dy * dy;
+        }
+    }
+
+    /**
+     * Creates an empty spatial index.
+     * 
+     * @param cellSize size of the cells, in base units
+     */
+    public SpatialIndex(int cellSize) {
+
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Invalid cell size for a spatial index : " + cellSize);
+        }
+
+        this.cellSize = cellSize;
+        this.entries = new LinkedHashMap<>();
+        this.buckets = new Entry[INITIAL_BUCKET_COUNT][];
+        this.bucketSizes = new int[INITIAL_BUCKET_COUNT];
+    }
+
+    /** @return the size of the cells, in base units */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /** @return the number of indexed objects */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param object an environment object
+     * @return true if the object is indexed
+     */
+    public boolean contains(IEnvironmentObjet object) {
+        return entries.containsKey(object);
+    }
+
+    /**
+     * Adds an object to the index. Adding an indexed object updates it.
+     * 
+     * @param object the object to add
+     */
+    public void add(IEnvironmentObjet object) {
+
+        if (entries.containsKey(object)) {
+            update(object);
+            return;
+        }
+
+        Entry entry = new Entry(object);
+        entries.put(object, entry);
+        readBounds(entry);
+        setCells(entry);
+        insertInCells(entry);
+
+        if (entries.size() > buckets.length) {
+            rehash(buckets.length * 2);
+        }
+    }
+
+    /**
+     * Removes an object from the index.
+     * 
+     * @param object the object to remove
+     */
+    public void remove(IEnvironmentObjet object) {
+        Entry entry = entries.remove(object);
+        if (entry != null) {
+            removeFromCells(entry);
+        }
+    }
+
+    /** Removes all objects. */
+    public void clear() {
+        entries.clear();
+        Arrays.fill(buckets, null);
+        Arrays.fill(bucketSizes, 0);
+    }
+
+    /**
+     * Updates the bounds of an object, after a move. The object is only moved
+     * between buckets if it covers other cells.
+     * 
+     * @param object the object to update
+     */
+    public void update(IEnvironmentObjet object) {
+
+        Entry entry = entries.get(object);
+        if (entry == null) {
+            add(object);
+            return;
+        }
+
+        readBounds(entry);
+
+        if (entry.minCellX != Math.floorDiv(entry.x, cellSize)
+                || entry.minCellY != Math.floorDiv(entry.y, cellSize)
+                || entry.maxCellX != Math.floorDiv(entry.maxX - 1, cellSize)
+                || entry.maxCellY != Math.floorDiv(entry.maxY - 1, cellSize)) {
+            removeFromCells(entry);
+            setCells(entry);
+            insertInCells(entry);
+        }
+    }
+
+    /** Updates the bounds of all indexed objects. */
+    public void updateAll() {
+        for (IEnvironmentObjet object : entries.keySet()) {
+            update(object);
+        }
+    }
+
+    /**
+     * Reads the bounds of the object of an entry. The covered cells are not
+     * changed.
+     * 
+     * @param entry the entry
+     */
+    private void readBounds(Entry entry) {
+
+        IEnvironmentObjet object = entry.object;
+        Rectangle rectangle = object.getCollisionRectangle();
+
+        if (rectangle == null) {
+            entry.x = object.getXLoc();
+            entry.y = object.getYLoc();
+            entry.maxX = entry.x + cellSize;
+            entry.maxY = entry.y + cellSize;
+        } else {
+            entry.x = rectangle.x;
+            entry.y = rectangle.y;
+            entry.maxX = rectangle.x + Math.max(1, rectangle.width);
+            entry.maxY = rectangle.y + Math.max(1, rectangle.height);
+        }
+    }
+
+    /**
+     * Sets the cells covered by an entry, from its bounds.
+     * 
+     * @param entry the entry
+     */
+    private void setCells(Entry entry) {
+        entry.minCellX = Math.floorDiv(entry.x, cellSize);
+        entry.minCellY = Math.floorDiv(entry.y, cellSize);
+        entry.maxCellX = Math.floorDiv(entry.maxX - 1, cellSize);
+        entry.maxCellY = Math.floorDiv(entry.maxY - 1, cellSize);
+    }
+
+    /**
+     * @param cellX abscissa of a cell
+     * @param cellY ordinate of a cell
+     * @return the bucket of the cell
+     */
+    private int getBucket(int cellX, int cellY) {
+        return ((cellX * HASH_PRIME_X) ^ (cellY * HASH_PRIME_Y)) & (buckets.length - 1);
+    }
+
+    /**
+     * Inserts an entry in the buckets of its cells. Cells sharing a bucket
+     * hold the entry once.
+     * 
+     * @param entry the entry
+     */
+    private void insertInCells(Entry entry) {
+
+        for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+            for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+
+                int bucket = getBucket(cellX, cellY);
+                if (indexInBucket(bucket, entry) >= 0) {
+                    continue;
+                }
+
+                Entry[] bucketEntries = buckets[bucket];
+                int bucketSize = bucketSizes[bucket];
+                if (bucketEntries == null) {
+                    bucketEntries = new Entry[INITIAL_BUCKET_CAPACITY];
+                    buckets[bucket] = bucketEntries;
+                } else if (bucketSize == bucketEntries.length) {
+                    bucketEntries = Arrays.copyOf(bucketEntries, bucketSize * 2);
+                    buckets[bucket] = bucketEntries;
+                }
+
+                bucketEntries[bucketSize] = entry;
+                bucketSizes[bucket] = bucketSize + 1;
+            }
+        }
+    }
+
+    /**
+     * Removes an entry from the buckets of its cells.
+     * 
+     * @param entry the entry
+     */
+    private void removeFromCells(Entry entry) {
+
+        for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+            for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+
+                int bucket = getBucket(cellX, cellY);
+                int index = indexInBucket(bucket, entry);
+                if (index >= 0) {
+                    // Swaps with the last entry of the bucket
+                    int last = --bucketSizes[bucket];
+                    buckets[bucket][index] = buckets[bucket][last];
+                    buckets[bucket][last] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param bucket a bucket
+     * @param entry an entry
+     * @return the index of the entry in the bucket, -1 if absent
+     */
+    private int indexInBucket(int bucket, Entry entry) {
+        Entry[] bucketEntries = buckets[bucket];
+        for (int i = 0; i < bucketSizes[bucket]; i++) {
+            if (bucketEntries[i] == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Changes the number of buckets.
+     * 
+     * @param bucketCount the new number of buckets, a power of two
+     */
+    private void rehash(int bucketCount) {
+        buckets = new Entry[bucketCount][];
+        bucketSizes = new int[bucketCount];
+        for (Entry entry : entries.values()) {
+            insertInCells(entry);
+        }
+    }
+
+    /** @return the stamp of a new query */
+    private int nextQueryStamp() {
+        queryStamp++;
+        if (queryStamp == Integer.MAX_VALUE) {
+            for (Entry entry : entries.values()) {
+                entry.stamp = 0;
+            }
+            queryStamp = 1;
+        }
+        return queryStamp;
+    }
+
+    /**
+     * Visits the objects whose bounds overlap a rectangle.
+     * 
+     * @param x abscissa of the rectangle
+     * @param y ordinate of the rectangle
+     * @param width width of the rectangle
+     * @param height height of the rectangle
+     * @param consumer the consumer of the objects, each object being given once
+     */
+    public void forEachInRectangle(int x, int y, int width, int height,
+            Consumer<IEnvironmentObjet> consumer) {
+
+        int stamp = nextQueryStamp();
+        int maxX = x + Math.max(1, width);
+        int maxY = y + Math.max(1, height);
+
+        for (int cellY = Math.floorDiv(y, cellSize); cellY <= Math.floorDiv(maxY - 1,
+                cellSize); cellY++) {
+            for (int cellX = Math.floorDiv(x, cellSize); cellX <= Math.floorDiv(maxX - 1,
+                    cellSize); cellX++) {
+
+                int bucket = getBucket(cellX, cellY);
+                Entry[] bucketEntries = buckets[bucket];
+                for (int i = 0; i < bucketSizes[bucket]; i++) {
+
+                    Entry entry = bucketEntries[i];
+                    if (entry.stamp != stamp && entry.x < maxX && x < entry.maxX
+                            && entry.y < maxY && y < entry.maxY) {
+                        entry.stamp = stamp;
+                        consumer.accept(entry.object);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the objects whose bounds overlap a rectangle.
+     * 
+     * @param rectangle the rectangle
+     * @return the objects overlapping the rectangle
+     */
+    public List<IEnvironmentObjet> findInRectangle(Rectangle rectangle) {
+        List<IEnvironmentObjet> objects = new ArrayList<>();
+        forEachInRectangle(rectangle.x, rectangle.y, rectangle.width, rectangle.height,
+                objects::add);
+        return objects;
+    }
+
+    /**
+     * Finds the objects whose bounds are within a distance of a point.
+     * 
+     * @param x abscissa of the point
+     * @param y ordinate of the point
+     * @param radius the distance
+     * @return the objects within the distance
+     */
+    public List<IEnvironmentObjet> findInRadius(int x, int y, int radius) {
+
+        long squaredRadius = (long) radius * radius;
+        List<IEnvironmentObjet> objects = new ArrayList<>();
+
+        forEachInRectangle(x - radius, y - radius, 2 * radius + 1, 2 * radius + 1, object -> {
+            if (entries.get(object).squaredDistance(x, y) <= squaredRadius) {
+                objects.add(object);
+            }
+        });
+        return objects;
+    }
+
+    /**
+     * Finds the objects nearest to a point, by distance to their bounds. The
+     * identifiers of the objects break ties.
+     * 
+     * @param x abscissa of the point
+     * @param y ordinate of the point
+     * @param count the number of objects to find
+     * @return the nearest objects, by increasing distance, fewer if the index
+     *         holds fewer objects
+     */
+    public List<IEnvironmentObjet> findNearest(int x, int y, int count) {
+
+        if (count <= 0 || entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Entry> candidates = new ArrayList<>();
+
+        int stamp = nextQueryStamp();
+        int centerX = Math.floorDiv(x, cellSize);
+        int centerY = Math.floorDiv(y, cellSize);
+        Comparator<Entry> order = Comparator.<Entry> comparingLong(e -> e.squaredDistance(x, y))
+                .thenComparingInt(e -> e.object.getId());
+
+        // Visits the rings of cells around the point, until the next rings
+        // cannot hold closer objects, or until the rings cover more cells than
+        // there are buckets
+        for (int ring = 0;; ring++) {
+
+            if ((2L * ring + 1) * (2L * ring + 1) > buckets.length) {
+                for (Entry entry : entries.values()) {
+                    if (entry.stamp != stamp) {
+                        entry.stamp = stamp;
+                        candidates.add(entry);
+                    }
+                }
+                break;
+            }
+
+            for (int cellY = centerY - ring; cellY <= centerY + ring; cellY++) {
+                boolean edgeRow = cellY == centerY - ring || cellY == centerY + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int cellX = centerX - ring; cellX <= centerX + ring; cellX += Math.max(1,
+                        step)) {
+                    collectCandidates(getBucket(cellX, cellY), stamp, candidates);
+                }
+            }
+
+            if (candidates.size() == entries.size()) {
+                break;
+            }
+            if (candidates.size() >= count) {
+                candidates.sort(order);
+                long reach = (long) ring * cellSize;
+                if (candidates.get(count - 1).squaredDistance(x, y) <= reach * reach) {
+                    break;
+                }
+            }
+        }
+
+        candidates.sort(order);
+        List<IEnvironmentObjet> nearest = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, candidates.size()); i++) {
+            nearest.add(candidates.get(i).object);
+        }
+        return nearest;
+    }
+
+    /**
+     * Collects the entries of a bucket not yet collected.
+     * 
+     * @param bucket the bucket
+     * @param stamp the stamp of the query
+     * @param candidates the collected entries
+     */
+    private void collectCandidates(int bucket, int stamp, List<Entry> candidates) {
+        Entry[] bucketEntries = buckets[bucket];
+        for (int i = 0; i < bucketSizes[bucket]; i++) {
+            Entry entry = bucketEntries[i];
+            if (entry.stamp != stamp) {
+                entry.stamp = stamp;
+                candidates.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Visits the pairs of objects whose bounds overlap. Each pair is given
+     * once, in the bucket of the top left cell of the overlap of the bounds.
+     * 
+     * @param consumer the consumer of the pairs
+     */
+    public void forEachOverlappingPair(BiConsumer<IEnvironmentObjet, IEnvironmentObjet> consumer) {
+
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+
+            Entry[] bucketEntries = buckets[bucket];
+            int bucketSize = bucketSizes[bucket];
+
+            for (int i = 0; i < bucketSize; i++) {
+                Entry first = bucketEntries[i];
+                for (int j = i + 1; j < bucketSize; j++) {
+                    Entry second = bucketEntries[j];
+
+                    if (first.overlaps(second) && getBucket(
+                            Math.floorDiv(Math.max(first.x, second.x), cellSize),
+                            Math.floorDiv(Math.max(first.y, second.y), cellSize)) == bucket) {
+                        consumer.accept(first.object, second.object);
+                    }
+                }
+            }
+        }
+    }
+
+}
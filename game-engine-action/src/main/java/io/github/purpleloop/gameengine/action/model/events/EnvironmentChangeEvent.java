@@ -0,0 +1,28 @@
+package io.github.purpleloop.gameengine.action.model.events;
+
+/**
+ * The event of an environment update, with the changes of the update. It has
+ * the {@link BasicEvent#ENVIRONNEMENT_UPDATED} code, so that it replaces the
+ * basic update event for the observers that ignore the changes.
+ */
+public class EnvironmentChangeEvent extends BasicEvent {
+
+	/** The changes of the update. */
+	private final EnvironmentChangeSet changeSet;
+
+	/**
+	 * Creates an environment change event.
+	 * 
+	 * @param changeSet the changes of the update
+	 */
+	public EnvironmentChangeEvent(EnvironmentChangeSet changeSet) {
+		super(ENVIRONNEMENT_UPDATED);
+		this.changeSet = changeSet;
+	}
+
+	/** @return the changes of the update */
+	public EnvironmentChangeSet getChangeSet() {
+		return changeSet;
+	}
+
+}
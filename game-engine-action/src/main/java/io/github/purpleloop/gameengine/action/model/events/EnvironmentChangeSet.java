@@ -0,0 +1,81 @@
+package io.github.purpleloop.gameengine.action.model.events;
+
+/**
+ * The changes of an environment during an update : the identifiers of the
+ * moved, spawned and removed objects, and the changed cells.
+ * 
+ * The arrays are shared by all observers and must not be modified.
+ */
+public final class EnvironmentChangeSet {
+
+	/** Identifiers of the objects whose location changed. */
+	private final int[] movedIds;
+
+	/** Identifiers of the added objects. */
+	private final int[] spawnedIds;
+
+	/** Identifiers of the removed objects. */
+	private final int[] removedIds;
+
+	/** Abscissas of the changed cells. */
+	private final int[] changedCellsX;
+
+	/** Ordinates of the changed cells. */
+	private final int[] changedCellsY;
+
+	/**
+	 * Creates a change set.
+	 * 
+	 * @param movedIds identifiers of the objects whose location changed
+	 * @param spawnedIds identifiers of the added objects
+	 * @param removedIds identifiers of the removed objects
+	 * @param changedCellsX abscissas of the changed cells
+	 * @param changedCellsY ordinates of the changed cells
+	 */
+	public EnvironmentChangeSet(int[] movedIds, int[] spawnedIds, int[] removedIds, int[] changedCellsX,
+			int[] changedCellsY) {
+		this.movedIds = movedIds;
+		this.spawnedIds = spawnedIds;
+		this.removedIds = removedIds;
+		this.changedCellsX = changedCellsX;
+		this.changedCellsY = changedCellsY;
+	}
+
+	/** @return identifiers of the objects whose location changed */
+	public int[] getMovedIds() {
+		return movedIds;
+	}
+
+	/** @return identifiers of the added objects */
+	public int[] getSpawnedIds() {
+		return spawnedIds;
+	}
+
+	/** @return identifiers of the removed objects */
+	public int[] getRemovedIds() {
+		return removedIds;
+	}
+
+	/** @return abscissas of the changed cells, each cell given once */
+	public int[] getChangedCellsX() {
+		return changedCellsX;
+	}
+
+	/** @return ordinates of the changed cells, each cell given once */
+	public int[] getChangedCellsY() {
+		return changedCellsY;
+	}
+
+	/** @return true if nothing changed */
+	public boolean isEmpty() {
+		return movedIds.length == 0 && spawnedIds.length == 0 && removedIds.length == 0
+				&& changedCellsX.length == 0;
+	}
+
+	@Override
+	public String toString() {
+		return "changes moved=" + movedIds.length + " spawned=" + spawnedIds.length + " removed="
+				+ removedIds.length + " cells=" + changedCellsX.length;
+	}
+
+}
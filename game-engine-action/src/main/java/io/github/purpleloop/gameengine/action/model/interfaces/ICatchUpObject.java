@@ -0,0 +1,25 @@
+package io.github.purpleloop.gameengine.action.model.interfaces;
+
+/**
+ * An environment object able to catch up with the time elapsed since its last
+ * update, when it is not updated at each tick.
+ *
+ * <p>
+ * With a level of detail scheduling, far away objects are updated only every
+ * few ticks. Before such an update, the object is told how many ticks have
+ * elapsed, and can then scale its moves, timers or cooldowns, so that it
+ * progresses at the same pace as if it was updated at each tick.
+ * </p>
+ */
+public interface ICatchUpObject extends IEnvironmentObjet {
+
+    /**
+     * Called before the behavior and the evolution of the object, when more
+     * than one tick has elapsed since its last update.
+     *
+     * @param elapsedTicks number of ticks elapsed since the last update,
+     *            including the current one
+     */
+    void catchUp(int elapsedTicks);
+
+}
@@ -0,0 +1,19 @@
+package io.github.purpleloop.gameengine.action.model.interfaces;
+
+/**
+ * An agent whose behavior can be decided concurrently with the behaviors of
+ * the other agents.
+ *
+ * <p>
+ * When the environment evolves its objects in parallel, the behaviors of these
+ * agents are run first, by several threads, while no object evolves. The
+ * behavior must then only read the environment and the other objects, and only
+ * write the intent of the agent : a state of its own, that no other behavior
+ * reads, applied later by {@link #evolve()}. The agent evolutions are then run
+ * on the game thread, in the order of the objects, so that the results do not
+ * depend on the number of threads.
+ * </p>
+ */
+public interface IConcurrentAgent extends IAgent {
+
+}
@@ -0,0 +1,16 @@
+package io.github.purpleloop.gameengine.action.model.interfaces;
+
+/**
+ * An environment object that can be recycled through an object pool, instead
+ * of being allocated for each spawn.
+ */
+public interface IPoolable extends IEnvironmentObjet {
+
+    /**
+     * Resets the object when it is released to its pool. The object must drop
+     * its references to other objects and get back to a state where it can be
+     * acquired again.
+     */
+    void reset();
+
+}
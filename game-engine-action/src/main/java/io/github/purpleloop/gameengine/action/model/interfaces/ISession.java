@@ -4,6 +4,8 @@ import java.util.List;
 
 import io.github.purpleloop.gameengine.action.model.dialog.DialogObserver;
 import io.github.purpleloop.gameengine.action.model.events.IGameEvent;
+import io.github.purpleloop.gameengine.action.model.metrics.IMetricsRegistry;
+import io.github.purpleloop.gameengine.action.model.metrics.NoOpMetricsRegistry;
 import io.github.purpleloop.gameengine.core.util.EngineException;
 
 /** Models a session of the game. */
@@ -51,4 +53,12 @@ public interface ISession extends IEnvironmentObserver, DialogObserver {
     /** @return Target level id. */
     String getTargetLevelId();
 
+    /**
+     * @return the registry where the tick metrics of the session are recorded,
+     *         by default a registry recording nothing
+     */
+    default IMetricsRegistry getMetricsRegistry() {
+        return NoOpMetricsRegistry.INSTANCE;
+    }
+
 }
@@ -46,4 +46,12 @@ public interface ISessionEnvironment {
     /** Do a specific cleanup of the environment, if necessary. */
     void specificCleanUp();
 
+    /**
+     * Cleans up the environment when the session leaves it : does the specific
+     * cleanup, then releases the resources held by the engine, if any.
+     */
+    default void cleanUp() {
+        specificCleanUp();
+    }
+
 }
@@ -0,0 +1,71 @@
+package io.github.purpleloop.gameengine.action.model.metrics;
+
+/**
+ * A registry of metrics on the game ticks.
+ *
+ * <p>
+ * Phases are timed by chaining timestamps :
+ * </p>
+ *
+ * <pre>
+ * long time = metrics.startTiming();
+ * doSomething();
+ * time = metrics.recordPhase(TickPhase.SOME_PHASE, time);
+ * doSomethingElse();
+ * metrics.recordPhase(TickPhase.OTHER_PHASE, time);
+ * </pre>
+ *
+ * <p>
+ * When the registry is disabled, no clock is read and nothing is recorded.
+ * Registries can be enabled or disabled at runtime and snapshotted from any
+ * thread, without stopping the game thread.
+ * </p>
+ */
+public interface IMetricsRegistry {
+
+    /** @return true if the metrics are recorded, false otherwise */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables the recording of metrics.
+     *
+     * @param enabled true to record metrics, false otherwise
+     */
+    void setEnabled(boolean enabled);
+
+    /** @return a timestamp to start timing a phase, 0 if metrics are disabled */
+    long startTiming();
+
+    /**
+     * Records the duration of a phase.
+     *
+     * @param phase the timed phase
+     * @param startTime the timestamp of the phase start, as given by
+     *            {@link #startTiming()} or a previous phase record
+     * @return the timestamp of the phase end, usable to time the next phase,
+     *         0 if metrics are disabled
+     */
+    long recordPhase(TickPhase phase, long startTime);
+
+    /**
+     * Records the end of a tick. The duration of the tick is recorded as a
+     * {@link TickPhase#SESSION_UPDATE} phase.
+     *
+     * @param startTime the timestamp of the tick start
+     */
+    void recordTick(long startTime);
+
+    /**
+     * Records the number of objects of the environment.
+     *
+     * @param objectCount number of objects
+     */
+    void recordObjectCount(int objectCount);
+
+    /** @return a snapshot of the current metrics */
+    MetricsSnapshot snapshot();
+
+    /** Clears all recorded metrics. */
+    void reset();
+
+}
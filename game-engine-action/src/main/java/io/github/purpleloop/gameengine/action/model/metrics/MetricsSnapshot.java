@@ -0,0 +1,81 @@
+package io.github.purpleloop.gameengine.action.model.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/** An immutable snapshot of the tick metrics. */
+public final class MetricsSnapshot {
+
+    /** Statistics per phase. */
+    private final Map<TickPhase, PhaseStatistics> phaseStatistics;
+
+    /** Total number of recorded ticks. */
+    private final long tickCount;
+
+    /** Ticks per second, measured since the previous snapshot. */
+    private final double ticksPerSecond;
+
+    /** Number of objects in the environment, at the last record. */
+    private final int objectCount;
+
+    /**
+     * Creates a metrics snapshot.
+     *
+     * @param phaseStatistics statistics per phase
+     * @param tickCount total number of recorded ticks
+     * @param ticksPerSecond ticks per second since the previous snapshot
+     * @param objectCount number of objects in the environment
+     */
+    public MetricsSnapshot(Map<TickPhase, PhaseStatistics> phaseStatistics, long tickCount,
+            double ticksPerSecond, int objectCount) {
+        this.phaseStatistics = Collections.unmodifiableMap(new EnumMap<>(phaseStatistics));
+        this.tickCount = tickCount;
+        this.ticksPerSecond = ticksPerSecond;
+        this.objectCount = objectCount;
+    }
+
+    /**
+     * @param phase the requested phase
+     * @return statistics for the phase
+     */
+    public PhaseStatistics getPhaseStatistics(TickPhase phase) {
+        return phaseStatistics.get(phase);
+    }
+
+    /** @return statistics for all phases */
+    public Map<TickPhase, PhaseStatistics> getPhaseStatistics() {
+        return phaseStatistics;
+    }
+
+    /** @return the total number of recorded ticks */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /** @return the ticks per second, measured since the previous snapshot */
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    /** @return the number of objects in the environment, at the last record */
+    public int getObjectCount() {
+        return objectCount;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("ticks=%d (%.1f/s) objects=%d", tickCount, ticksPerSecond,
+                objectCount));
+
+        for (PhaseStatistics statistics : phaseStatistics.values()) {
+            if (statistics.getCount() > 0) {
+                sb.append("\n").append(statistics);
+            }
+        }
+
+        return sb.toString();
+    }
+}
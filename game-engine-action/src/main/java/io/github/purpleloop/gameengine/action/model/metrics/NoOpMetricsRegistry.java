@@ -0,0 +1,58 @@
+package io.github.purpleloop.gameengine.action.model.metrics;
+
+import java.util.EnumMap;
+
+/**
+ * A metrics registry that never records anything, for the sessions without
+ * metrics. It can't be enabled.
+ */
+public final class NoOpMetricsRegistry implements IMetricsRegistry {
+
+    /** The shared instance. */
+    public static final NoOpMetricsRegistry INSTANCE = new NoOpMetricsRegistry();
+
+    /** Private constructor, use {@link #INSTANCE}. */
+    private NoOpMetricsRegistry() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        // Nothing is ever recorded
+    }
+
+    @Override
+    public long startTiming() {
+        return 0;
+    }
+
+    @Override
+    public long recordPhase(TickPhase phase, long startTime) {
+        return 0;
+    }
+
+    @Override
+    public void recordTick(long startTime) {
+        // Nothing is ever recorded
+    }
+
+    @Override
+    public void recordObjectCount(int objectCount) {
+        // Nothing is ever recorded
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(new EnumMap<>(TickPhase.class), 0, 0, 0);
+    }
+
+    @Override
+    public void reset() {
+        // Nothing is ever recorded
+    }
+
+}
@@ -0,0 +1,83 @@
+package io.github.purpleloop.gameengine.action.model.metrics;
+
+/** Statistics on the durations of a tick phase, in nanoseconds. */
+public final class PhaseStatistics {
+
+    /** Nanoseconds per microsecond, for display. */
+    private static final double NANO_PER_MICROS = 1000.0;
+
+    /** The measured phase. */
+    private final TickPhase phase;
+
+    /** Number of measures. */
+    private final long count;
+
+    /** Mean duration. */
+    private final long mean;
+
+    /** Median duration. */
+    private final long p50;
+
+    /** 99th percentile of the durations. */
+    private final long p99;
+
+    /** Maximal duration. */
+    private final long max;
+
+    /**
+     * Creates statistics for a phase.
+     *
+     * @param phase the measured phase
+     * @param count number of measures
+     * @param mean mean duration
+     * @param p50 median duration
+     * @param p99 99th percentile of the durations
+     * @param max maximal duration
+     */
+    public PhaseStatistics(TickPhase phase, long count, long mean, long p50, long p99, long max) {
+        this.phase = phase;
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    /** @return the measured phase */
+    public TickPhase getPhase() {
+        return phase;
+    }
+
+    /** @return the number of measures */
+    public long getCount() {
+        return count;
+    }
+
+    /** @return the mean duration in nanoseconds */
+    public long getMean() {
+        return mean;
+    }
+
+    /** @return the median duration in nanoseconds */
+    public long getP50() {
+        return p50;
+    }
+
+    /** @return the 99th percentile of the durations in nanoseconds */
+    public long getP99() {
+        return p99;
+    }
+
+    /** @return the maximal duration in nanoseconds */
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s : count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus", phase,
+                count, mean / NANO_PER_MICROS, p50 / NANO_PER_MICROS, p99 / NANO_PER_MICROS,
+                max / NANO_PER_MICROS);
+    }
+
+}
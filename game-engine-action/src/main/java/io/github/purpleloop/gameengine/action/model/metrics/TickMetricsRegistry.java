@@ -0,0 +1,121 @@
+package io.github.purpleloop.gameengine.action.model.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/** The default metrics registry, with a timing histogram per tick phase. */
+public class TickMetricsRegistry implements IMetricsRegistry {
+
+    /** Nanoseconds per second. */
+    private static final double NANO_PER_SECOND = 1e9;
+
+    /** Histograms, indexed by phase ordinal. */
+    private final TimingHistogram[] histograms;
+
+    /** Are the metrics recorded ? */
+    private volatile boolean enabled;
+
+    /** Number of objects in the environment, at the last record. */
+    private volatile int objectCount;
+
+    /** Tick count at the previous snapshot. */
+    private long previousSnapshotTickCount;
+
+    /** Timestamp of the previous snapshot. */
+    private long previousSnapshotTime;
+
+    /**
+     * Creates a metrics registry.
+     *
+     * @param enabled true if metrics are recorded from the start
+     */
+    public TickMetricsRegistry(boolean enabled) {
+
+        TickPhase[] phases = TickPhase.values();
+        this.histograms = new TimingHistogram[phases.length];
+        for (TickPhase phase : phases) {
+            histograms[phase.ordinal()] = new TimingHistogram();
+        }
+
+        this.enabled = enabled;
+        this.previousSnapshotTime = System.nanoTime();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long startTiming() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    @Override
+    public long recordPhase(TickPhase phase, long startTime) {
+
+        if (!enabled) {
+            return 0L;
+        }
+
+        long now = System.nanoTime();
+
+        // Timing may have been started while disabled
+        if (startTime != 0L) {
+            histograms[phase.ordinal()].record(now - startTime);
+        }
+
+        return now;
+    }
+
+    @Override
+    public void recordTick(long startTime) {
+        recordPhase(TickPhase.SESSION_UPDATE, startTime);
+    }
+
+    @Override
+    public void recordObjectCount(int objectCount) {
+        if (enabled) {
+            this.objectCount = objectCount;
+        }
+    }
+
+    @Override
+    public synchronized MetricsSnapshot snapshot() {
+
+        Map<TickPhase, PhaseStatistics> phaseStatistics = new EnumMap<>(TickPhase.class);
+        for (TickPhase phase : TickPhase.values()) {
+            phaseStatistics.put(phase, histograms[phase.ordinal()].snapshot(phase));
+        }
+
+        long tickCount = phaseStatistics.get(TickPhase.SESSION_UPDATE).getCount();
+        long now = System.nanoTime();
+
+        double ticksPerSecond = 0.0;
+        if (now > previousSnapshotTime && tickCount >= previousSnapshotTickCount) {
+            ticksPerSecond = (tickCount - previousSnapshotTickCount) * NANO_PER_SECOND
+                    / (now - previousSnapshotTime);
+        }
+
+        previousSnapshotTime = now;
+        previousSnapshotTickCount = tickCount;
+
+        return new MetricsSnapshot(phaseStatistics, tickCount, ticksPerSecond, objectCount);
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (TimingHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        objectCount = 0;
+        previousSnapshotTickCount = 0;
+        previousSnapshotTime = System.nanoTime();
+    }
+
+}
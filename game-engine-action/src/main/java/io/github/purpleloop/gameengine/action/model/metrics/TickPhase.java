@@ -0,0 +1,36 @@
+package io.github.purpleloop.gameengine.action.model.metrics;
+
+/** The measured phases of a game tick. */
+public enum TickPhase {
+
+    /** The whole update of the session. */
+    SESSION_UPDATE,
+
+    /** The update of the dialog in progress, replacing the environment update. */
+    DIALOG,
+
+    /** The evolution of the environment objects, including agent behaviors. */
+    EVOLVE_OBJECTS,
+
+    /** The update of the entities by the entity systems. */
+    ENTITY_SYSTEMS,
+
+    /** The resolution of the path queries submitted during the evolution. */
+    PATH_QUERIES,
+
+    /** The removal of the objects marked for removal. */
+    REMOVE_OBJECTS,
+
+    /** The addition of the pre-added objects. */
+    ADD_OBJECTS,
+
+    /** The update of the spatial index, after the moves of the objects. */
+    SPATIAL_INDEX,
+
+    /** The specific evolutions of the environment. */
+    SPECIFIC_EVOLVE,
+
+    /** The notification of the environment observers. */
+    OBSERVERS;
+
+}
@@ -0,0 +1,163 @@
+package io.github.purpleloop.gameengine.action.model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A low overhead histogram of durations, expressed in nanoseconds.
+ *
+ * <p>
+ * As in HdrHistogram, values are counted in log-linear buckets : each power of
+ * two range is split in a fixed number of linear sub-buckets, which bounds the
+ * relative error of the recorded values (here below 1/64). Recording is a
+ * couple of bit operations and an atomic increment, so it can be done on the
+ * game thread while other threads read the histogram.
+ * </p>
+ */
+public class TimingHistogram {
+
+    /** Number of bits used for the linear sub-buckets. */
+    private static final int SUB_BUCKET_BITS = 7;
+
+    /** Half of the number of sub-buckets, the size of a power of two range. */
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << (SUB_BUCKET_BITS - 1);
+
+    /** Highest trackable value (about one minute), larger values are clipped. */
+    private static final long MAX_TRACKABLE_VALUE = (1L << 36) - 1;
+
+    /** Number of buckets needed to count values up to the highest one. */
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+    /** Ratio between percentiles and fractions. */
+    private static final double PERCENT = 100.0;
+
+    /** The counts, per bucket. */
+    private final AtomicLongArray counts;
+
+    /** Sum of the recorded values. */
+    private final AtomicLong sum;
+
+    /** Maximal recorded value. */
+    private final AtomicLong max;
+
+    /** Creates an empty histogram. */
+    public TimingHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.sum = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Gets the bucket where a value is counted.
+     *
+     * @param value the value (positive)
+     * @return index of the bucket
+     */
+    private static int bucketIndex(long value) {
+
+        if (value < 2 * SUB_BUCKET_HALF_COUNT) {
+            return (int) value;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the highest value counted in a bucket.
+     *
+     * @param index index of the bucket
+     * @return the highest value equivalent to the bucket
+     */
+    private static long highestValueOf(int index) {
+
+        if (index < 2 * SUB_BUCKET_HALF_COUNT) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds, negative values are ignored
+     */
+    public void record(long nanos) {
+
+        if (nanos < 0) {
+            return;
+        }
+
+        long value = Math.min(nanos, MAX_TRACKABLE_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+        sum.addAndGet(value);
+
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /** Clears all recorded values. */
+    public void reset() {
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            counts.set(index, 0);
+        }
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Takes statistics on the recorded values. This can be done while values
+     * are recorded, statistics are then approximative.
+     *
+     * @param phase the phase the histogram is measuring
+     * @return the statistics of the histogram
+     */
+    public PhaseStatistics snapshot(TickPhase phase) {
+
+        long[] snapshotCounts = new long[BUCKET_COUNT];
+        long totalCount = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            snapshotCounts[index] = counts.get(index);
+            totalCount += snapshotCounts[index];
+        }
+
+        if (totalCount == 0) {
+            return new PhaseStatistics(phase, 0, 0, 0, 0, 0);
+        }
+
+        long maxValue = max.get();
+        return new PhaseStatistics(phase, totalCount, sum.get() / totalCount,
+                Math.min(maxValue, valueAtPercentile(snapshotCounts, totalCount, 50.0)),
+                Math.min(maxValue, valueAtPercentile(snapshotCounts, totalCount, 99.0)), maxValue);
+    }
+
+    /**
+     * Computes the value at a given percentile.
+     *
+     * @param snapshotCounts the bucket counts
+     * @param totalCount the total count of values
+     * @param percentile the requested percentile
+     * @return the highest value equivalent to the percentile
+     */
+    private static long valueAtPercentile(long[] snapshotCounts, long totalCount,
+            double percentile) {
+
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / PERCENT * totalCount));
+
+        long cumulatedCount = 0;
+        for (int index = 0; index < snapshotCounts.length; index++) {
+            cumulatedCount += snapshotCounts[index];
+            if (cumulatedCount >= countAtPercentile) {
+                return highestValueOf(index);
+            }
+        }
+
+        return highestValueOf(snapshotCounts.length - 1);
+    }
+
+}
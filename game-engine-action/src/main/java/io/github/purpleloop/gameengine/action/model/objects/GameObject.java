@@ -4,6 +4,7 @@ import java.awt.Rectangle;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -31,8 +32,8 @@ public class GameObject implements IEnvironmentObjet {
 		
 	};
 
-	/** Next unique identifier for game objects. */
-	private static int nextId;
+	/** Next unique identifier for environment objects. */
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
 
 	/** Object name. */
 	private String name;
@@ -52,15 +53,45 @@ public class GameObject implements IEnvironmentObjet {
 	/** A reusable random generator for agents. */
 	protected Random random = new Random();
 
-	/** Extra properties. */
+	/** Schema of the typed properties. */
+	private final PropertySchema schema;
+
+	/** Values of the primitive typed properties, by slot. */
+	private final long[] primitiveProperties;
+
+	/** Values of the object typed properties, by slot. */
+	private final Object[] objectProperties;
+
+	/** Extra properties, not declared in the schema, created on first use. */
 	private Map<String, Object> properties;
 
-	/** Constructor for game objects. */
+	/** Constructor for game objects without typed properties. */
 	public GameObject() {
+		this(PropertySchema.EMPTY);
+	}
+
+	/**
+	 * Constructor for game objects with typed properties.
+	 * 
+	 * @param schema the schema of the typed properties, frozen by this call
+	 */
+	protected GameObject(PropertySchema schema) {
 
 		name = "dummy";
-		id = nextId++;
-		properties = new HashMap<>();
+		id = allocateId();
+		this.schema = schema.freeze();
+		primitiveProperties = new long[schema.getPrimitiveCount()];
+		objectProperties = new Object[schema.getObjectCount()];
+	}
+
+	/**
+	 * Allocates a unique identifier, shared by all environment objects including
+	 * those that are not game objects.
+	 * 
+	 * @return a new unique identifier
+	 */
+	public static int allocateId() {
+		return NEXT_ID.getAndIncrement();
 	}
 
 	@Override
@@ -139,14 +170,163 @@ public class GameObject implements IEnvironmentObjet {
 		return false;
 	}
 
+	/**
+	 * Sets a property. Properties declared in the schema are converted to
+	 * their type, this is slower than the typed accessors. A null value resets
+	 * a declared primitive property to its default value, 0 or false.
+	 * 
+	 * @param key the key of the property
+	 * @param value value to associate to the property
+	 */
 	@Override
 	public final void setProperty(String key, Object value) {
-		properties.put(key, value);
+
+		PropertySchema.PropertyType type = schema.getType(key);
+		if (type == null) {
+			if (properties == null) {
+				properties = new HashMap<>();
+			}
+			properties.put(key, value);
+			return;
+		}
+
+		int slot = schema.getSlot(key);
+		if (value == null && type != PropertySchema.PropertyType.OBJECT) {
+			primitiveProperties[slot] = 0L;
+			return;
+		}
+
+		switch (type) {
+		case INT:
+		case LONG:
+			primitiveProperties[slot] = ((Number) value).longValue();
+			break;
+		case DOUBLE:
+			setDoubleProperty(slot, ((Number) value).doubleValue());
+			break;
+		case BOOLEAN:
+			setBooleanProperty(slot, ((Boolean) value).booleanValue());
+			break;
+		default:
+			objectProperties[slot] = value;
+		}
 	}
 
+	/**
+	 * Gets a property. Primitive properties declared in the schema are boxed,
+	 * this is slower than the typed accessors.
+	 * 
+	 * @param key the key of the property
+	 * @return value associated to the property. A declared primitive property
+	 *         that has not been set has its default value, 0 or false. Other
+	 *         properties are null if they have not been set.
+	 */
 	@Override
 	public final Object getProperty(String key) {
-		return properties.get(key);
+
+		PropertySchema.PropertyType type = schema.getType(key);
+		if (type == null) {
+			return properties == null ? null : properties.get(key);
+		}
+
+		int slot = schema.getSlot(key);
+		switch (type) {
+		case INT:
+			return getIntProperty(slot);
+		case LONG:
+			return getLongProperty(slot);
+		case DOUBLE:
+			return getDoubleProperty(slot);
+		case BOOLEAN:
+			return getBooleanProperty(slot);
+		default:
+			return objectProperties[slot];
+		}
+	}
+
+	/** @return the schema of the typed properties */
+	public final PropertySchema getPropertySchema() {
+		return schema;
+	}
+
+	/**
+	 * @param slot slot of an integer property of the schema
+	 * @return value of the property
+	 */
+	public final int getIntProperty(int slot) {
+		return (int) primitiveProperties[slot];
+	}
+
+	/**
+	 * @param slot slot of an integer property of the schema
+	 * @param value value of the property
+	 */
+	public final void setIntProperty(int slot, int value) {
+		primitiveProperties[slot] = value;
+	}
+
+	/**
+	 * @param slot slot of a long integer property of the schema
+	 * @return value of the property
+	 */
+	public final long getLongProperty(int slot) {
+		return primitiveProperties[slot];
+	}
+
+	/**
+	 * @param slot slot of a long integer property of the schema
+	 * @param value value of the property
+	 */
+	public final void setLongProperty(int slot, long value) {
+		primitiveProperties[slot] = value;
+	}
+
+	/**
+	 * @param slot slot of a floating point property of the schema
+	 * @return value of the property
+	 */
+	public final double getDoubleProperty(int slot) {
+		return Double.longBitsToDouble(primitiveProperties[slot]);
+	}
+
+	/**
+	 * @param slot slot of a floating point property of the schema
+	 * @param value value of the property
+	 */
+	public final void setDoubleProperty(int slot, double value) {
+		primitiveProperties[slot] = Double.doubleToRawLongBits(value);
+	}
+
+	/**
+	 * @param slot slot of a boolean property of the schema
+	 * @return value of the property
+	 */
+	public final boolean getBooleanProperty(int slot) {
+		return primitiveProperties[slot] != 0L;
+	}
+
+	/**
+	 * @param slot slot of a boolean property of the schema
+	 * @param value value of the property
+	 */
+	public final void setBooleanProperty(int slot, boolean value) {
+		primitiveProperties[slot] = value ? 1L : 0L;
+	}
+
+	/**
+	 * @param slot slot of an object property of the schema
+	 * @return value of the property
+	 */
+	public final Object getObjectProperty(int slot) {
+		return objectProperties[slot];
+	}
+
+	/**
+	 * @param slot slot of an object property of the schema
+	 * @param value value of the property
+	 */
+	public final void setObjectProperty(int slot, Object value) {
+		objectProperties[slot] = value;
 	}
 
 	@Override
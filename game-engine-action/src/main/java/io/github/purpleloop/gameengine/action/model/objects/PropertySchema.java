@@ -0,0 +1,226 @@
+package io.github.purpleloop.gameengine.action.model.objects;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The schema of the properties of a type of game objects.
+ *
+ * <p>
+ * Properties are declared once per object type, each declaration giving a slot.
+ * Game objects created with the schema store the primitive properties in an
+ * array of longs and the other ones in an array of objects, and the game logic
+ * accesses them through their slots with the typed accessors of
+ * {@link GameObject}, without hashing nor boxing :
+ * </p>
+ *
+ * <pre>
+ * public class Monster extends GameObject {
+ *
+ *     private static final PropertySchema SCHEMA = new PropertySchema();
+ *
+ *     public static final int HEALTH = SCHEMA.declareInt("health");
+ *
+ *     public Monster() {
+ *         super(SCHEMA);
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * The declared properties are also reachable by name, through the slower
+ * string keyed accessors. A schema is frozen when the first object uses it, no
+ * property can be declared afterwards.
+ * </p>
+ */
+public class PropertySchema {
+
+    /** The schema without declared properties. */
+    public static final PropertySchema EMPTY = new PropertySchema().freeze();
+
+    /** Types of the properties. */
+    public enum PropertyType {
+
+        /** An integer property. */
+        INT,
+
+        /** A long integer property. */
+        LONG,
+
+        /** A floating point property. */
+        DOUBLE,
+
+        /** A boolean property. */
+        BOOLEAN,
+
+        /** An object property. */
+        OBJECT;
+    }
+
+    /** A declared property. */
+    private static final class Property {
+
+        /** Type of the property. */
+        private final PropertyType type;
+
+        /** Slot of the property, in the array of its type. */
+        private final int slot;
+
+        /**
+         * Creates a property.
+         *
+         * @param type type of the property
+         * @param slot slot of the property
+         */
+        private Property(PropertyType type, int slot) {
+            this.type = type;
+            this.slot = slot;
+        }
+    }
+
+    /** Declared properties, by name. */
+    private final Map<String, Property> properties;
+
+    /** Number of primitive properties. */
+    private int primitiveCount;
+
+    /** Number of object properties. */
+    private int objectCount;
+
+    /** Is the schema frozen ? */
+    private volatile boolean frozen;
+
+    /** Creates an empty schema. */
+    public PropertySchema() {
+        this.properties = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a schema extending another one, for a subtype of objects. The
+     * properties of the parent schema keep their slots.
+     *
+     * @param parent the parent schema
+     */
+    public PropertySchema(PropertySchema parent) {
+        synchronized (parent) {
+            this.properties = new LinkedHashMap<>(parent.properties);
+            this.primitiveCount = parent.primitiveCount;
+            this.objectCount = parent.objectCount;
+        }
+    }
+
+    /**
+     * @param name name of the property
+     * @return slot of the property
+     */
+    public int declareInt(String name) {
+        return declare(name, PropertyType.INT);
+    }
+
+    /**
+     * @param name name of the property
+     * @return slot of the property
+     */
+    public int declareLong(String name) {
+        return declare(name, PropertyType.LONG);
+    }
+
+    /**
+     * @param name name of the property
+     * @return slot of the property
+     */
+    public int declareDouble(String name) {
+        return declare(name, PropertyType.DOUBLE);
+    }
+
+    /**
+     * @param name name of the property
+     * @return slot of the property
+     */
+    public int declareBoolean(String name) {
+        return declare(name, PropertyType.BOOLEAN);
+    }
+
+    /**
+     * @param name name of the property
+     * @return slot of the property
+     */
+    public int declareObject(String name) {
+        return declare(name, PropertyType.OBJECT);
+    }
+
+    /**
+     * Declares a property.
+     *
+     * @param name name of the property
+     * @param type type of the property
+     * @return slot of the property
+     * @throws IllegalStateException if the schema is already used by objects
+     * @throws IllegalArgumentException if the property is already declared
+     */
+    private synchronized int declare(String name, PropertyType type) {
+
+        if (frozen) {
+            throw new IllegalStateException(
+                    "The property " + name + " is declared after the schema was used.");
+        }
+        if (properties.containsKey(name)) {
+            throw new IllegalArgumentException("The property " + name + " is already declared.");
+        }
+
+        int slot = type == PropertyType.OBJECT ? objectCount++ : primitiveCount++;
+        properties.put(name, new Property(type, slot));
+        return slot;
+    }
+
+    /**
+     * Freezes the schema. This is done when the first object uses it.
+     *
+     * @return this schema
+     */
+    PropertySchema freeze() {
+        if (!frozen) {
+            synchronized (this) {
+                frozen = true;
+            }
+        }
+        return this;
+    }
+
+    /** @return the number of primitive properties */
+    public int getPrimitiveCount() {
+        return primitiveCount;
+    }
+
+    /** @return the number of object properties */
+    public int getObjectCount() {
+        return objectCount;
+    }
+
+    /**
+     * @param name name of a property
+     * @return true if the property is declared
+     */
+    public boolean isDeclared(String name) {
+        return properties.containsKey(name);
+    }
+
+    /**
+     * @param name name of a declared property
+     * @return the type of the property, null if it is not declared
+     */
+    public PropertyType getType(String name) {
+        Property property = properties.get(name);
+        return property == null ? null : property.type;
+    }
+
+    /**
+     * @param name name of a declared property
+     * @return the slot of the property, -1 if it is not declared
+     */
+    public int getSlot(String name) {
+        Property property = properties.get(name);
+        return property == null ? -1 : property.slot;
+    }
+
+}
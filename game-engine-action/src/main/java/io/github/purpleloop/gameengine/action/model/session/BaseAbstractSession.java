@@ -2,6 +2,7 @@ package io.github.purpleloop.gameengine.action.model.session;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.commons.logging.Log;
@@ -15,6 +16,9 @@ import io.github.purpleloop.gameengine.action.model.interfaces.IPlayer;
 import io.github.purpleloop.gameengine.action.model.interfaces.ISession;
 import io.github.purpleloop.gameengine.action.model.interfaces.ISessionEnvironment;
 import io.github.purpleloop.gameengine.action.model.level.ILevelManager;
+import io.github.purpleloop.gameengine.action.model.metrics.IMetricsRegistry;
+import io.github.purpleloop.gameengine.action.model.metrics.TickMetricsRegistry;
+import io.github.purpleloop.gameengine.action.model.metrics.TickPhase;
 import io.github.purpleloop.gameengine.core.util.EngineException;
 
 /**
@@ -35,6 +39,9 @@ public abstract class BaseAbstractSession implements ISession {
     /** Intermission length in milliseconds. */
     private static final int INTERMISSION_LENGTH_MILLIS = 1000 * 5;
 
+    /** Property enabling the tick metrics from the session start. */
+    private static final String METRICS_ENABLED = "metrics.enabled";
+
     /** The game engine where the session runs. */
     protected IGameEngine gameEngine;
 
@@ -71,6 +78,9 @@ public abstract class BaseAbstractSession implements ISession {
     /** Timer for the intermission end, when relevant. */
     private long timerEndInterludeMillis;
 
+    /** The registry where the tick metrics are recorded. */
+    private IMetricsRegistry metricsRegistry;
+
     /**
      * Creates a game session.
      * 
@@ -83,6 +93,9 @@ public abstract class BaseAbstractSession implements ISession {
 
         this.players = new ArrayList<>();
 
+        this.metricsRegistry = new TickMetricsRegistry(
+                gameEngine.getConfig().getBooleanProperty(METRICS_ENABLED, false));
+
         // Initialize the game levels
         levelManager = gameEngine.getLevelManager();
 
@@ -115,7 +128,7 @@ public abstract class BaseAbstractSession implements ISession {
         if (currentEnvironment != null) {
             LOG.debug("Cleaning the current environment");
 
-            currentEnvironment.specificCleanUp();
+            currentEnvironment.cleanUp();
             currentEnvironment.removeController(gameEngine.getController());
             currentEnvironment.removeObserver(this);
             currentEnvironment = null;
@@ -130,6 +143,8 @@ public abstract class BaseAbstractSession implements ISession {
     @Override
     public final synchronized void update() throws EngineException {
 
+        long tickStartTime = metricsRegistry.startTiming();
+
         if (changeLevelOnNextUpdate) {
 
             changeLevelOnNextUpdate = false;
@@ -151,15 +166,20 @@ public abstract class BaseAbstractSession implements ISession {
         }
         
         Optional<IDialogEngine> dialogEngineOptional = gameEngine.getDialogEngine();
+        DialogController dialogController = null;
         if (dialogEngineOptional.isPresent()) {
-            DialogController dialogController = dialogEngineOptional.get().getDialogController();
-            if (dialogController.hasDialogInProgress()) {
-                dialogController.update();
-                return;
-            }
+            dialogController = dialogEngineOptional.get().getDialogController();
         }
-        
-        updateSpecific();
+
+        if (dialogController != null && dialogController.hasDialogInProgress()) {
+            long dialogStartTime = metricsRegistry.startTiming();
+            dialogController.update();
+            metricsRegistry.recordPhase(TickPhase.DIALOG, dialogStartTime);
+        } else {
+            updateSpecific();
+        }
+
+        metricsRegistry.recordTick(tickStartTime);
     }
 
     /** Specific actions to do for intermission (for instance, play a sound). */
@@ -260,4 +280,19 @@ public abstract class BaseAbstractSession implements ISession {
     @Override
     public void dialogChanged(int dialogEvent) {
     }
+
+    @Override
+    public IMetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    /**
+     * Replaces the registry where the tick metrics are recorded.
+     * 
+     * @param metricsRegistry the new metrics registry, not null
+     */
+    public void setMetricsRegistry(IMetricsRegistry metricsRegistry) {
+        this.metricsRegistry = Objects.requireNonNull(metricsRegistry,
+                "The metrics registry is mandatory.");
+    }
 }
@@ -4,10 +4,12 @@ module io.github.purpleloop.gameengine.action {
 	exports io.github.purpleloop.gameengine.action.model.actions;
 	exports io.github.purpleloop.gameengine.action.model.algorithms;
 	exports io.github.purpleloop.gameengine.action.model.dialog;
+	exports io.github.purpleloop.gameengine.action.model.ecs;
 	exports io.github.purpleloop.gameengine.action.model.environment;
     exports io.github.purpleloop.gameengine.action.model.interfaces;
     exports io.github.purpleloop.gameengine.action.model.events; 
     exports io.github.purpleloop.gameengine.action.model.level;
+    exports io.github.purpleloop.gameengine.action.model.metrics;
     exports io.github.purpleloop.gameengine.action.model.objects;
     exports io.github.purpleloop.gameengine.action.model.session;
     exports io.github.purpleloop.gameengine.action.model;    
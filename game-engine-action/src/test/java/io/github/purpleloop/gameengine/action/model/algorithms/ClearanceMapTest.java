@@ -0,0 +1,122 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests on clearance maps. */
+class ClearanceMapTest {
+
+    /** Width of the grid. */
+    private static final int WIDTH = 25;
+
+    /** Height of the grid. */
+    private static final int HEIGHT = 20;
+
+    /** Maximal footprint of the tests. */
+    private static final int MAX_FOOTPRINT = 4;
+
+    /** Tests that large objects are not routed through narrow gaps. */
+    @Test
+    void testLargeObjectsAvoidNarrowGaps() {
+
+        // A wall at x = 10 with a gap of 1 cell at y = 3 and of 2 cells at y = 15
+        boolean[][] open = new boolean[WIDTH][HEIGHT];
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                open[x][y] = x != 10 || y == 3 || y == 15 || y == 16;
+            }
+        }
+
+        ClearanceMap clearanceMap = new ClearanceMap(WIDTH, HEIGHT, MAX_FOOTPRINT,
+                (cx, cy) -> open[cx][cy]);
+        AStarPathPlanner planner = new AStarPathPlanner(WIDTH, HEIGHT);
+        PathBuffer path = new PathBuffer();
+
+        assertTrue(planner.findPath(0, 3, 20, 3, clearanceMap.getPassability(1), path));
+        assertEquals(20, path.getLength());
+
+        assertTrue(planner.findPath(0, 3, 20, 3, clearanceMap.getPassability(2), path));
+        for (int i = 0; i < path.size(); i++) {
+            if (path.getX(i) == 9 || path.getX(i) == 10) {
+                assertEquals(15, path.getY(i));
+            }
+        }
+
+        assertFalse(planner.findPath(0, 3, 20, 3, clearanceMap.getPassability(3), path));
+        assertThrows(IllegalArgumentException.class,
+                () -> clearanceMap.getPassability(MAX_FOOTPRINT + 1));
+    }
+
+    /** Tests that updated clearances match computed ones. */
+    @Test
+    void testUpdatesMatchComputation() {
+
+        Random random = new Random(9);
+        boolean[][] open = new boolean[WIDTH][HEIGHT];
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                open[x][y] = random.nextInt(100) >= 15;
+            }
+        }
+
+        CellPassability passability = (cx, cy) -> open[cx][cy];
+        ClearanceMap clearanceMap = new ClearanceMap(WIDTH, HEIGHT, MAX_FOOTPRINT, passability);
+
+        for (int change = 0; change < 200; change++) {
+
+            int cx = random.nextInt(WIDTH);
+            int cy = random.nextInt(HEIGHT);
+            open[cx][cy] = !open[cx][cy];
+            clearanceMap.updateCell(cx, cy);
+
+            for (int x = 0; x < WIDTH; x++) {
+                for (int y = 0; y < HEIGHT; y++) {
+                    assertEquals(computeClearance(open, x, y), clearanceMap.getClearance(x, y));
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the clearance of a cell by checking the squares.
+     * 
+     * @param open the passability of the cells
+     * @param cx abscissa of the cell
+     * @param cy ordinate of the cell
+     * @return the clearance of the cell
+     */
+    private int computeClearance(boolean[][] open, int cx, int cy) {
+
+        int size = 0;
+        while (size < MAX_FOOTPRINT && fits(open, cx, cy, size + 1)) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * @param open the passability of the cells
+     * @param cx abscissa of the top left cell
+     * @param cy ordinate of the top left cell
+     * @param size size of the square
+     * @return true if the square is made of passable cells of the grid
+     */
+    private boolean fits(boolean[][] open, int cx, int cy, int size) {
+
+        for (int x = cx; x < cx + size; x++) {
+            for (int y = cy; y < cy + size; y++) {
+                if (x >= WIDTH || y >= HEIGHT || !open[x][y]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
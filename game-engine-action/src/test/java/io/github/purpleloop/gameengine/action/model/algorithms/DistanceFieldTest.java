@@ -0,0 +1,177 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.commons.direction.Direction4;
+
+/** Tests on distance fields, over grids of open and closed cells. */
+class DistanceFieldTest {
+
+    /** Tests the distances on an open grid. */
+    @Test
+    void testDistancesOnOpenGrid() {
+
+        boolean[][] open = createGrid(5, 4, true);
+        DistanceField field = new DistanceField(5, 4);
+        field.addTarget(1, 2);
+        field.propagate(passability(open));
+
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 4; y++) {
+                assertEquals(Math.abs(x - 1) + Math.abs(y - 2), field.getDistance(x, y));
+            }
+        }
+        assertEquals(DistanceField.TARGET_VALUE, field.getValue(1, 2));
+        assertEquals(DistanceField.TARGET_VALUE - 4, field.getValue(4, 3));
+    }
+
+    /** Tests that the nearest target gives the distance. */
+    @Test
+    void testDistancesWithSeveralTargets() {
+
+        boolean[][] open = createGrid(9, 1, true);
+        DistanceField field = new DistanceField(9, 1);
+        field.addTarget(0, 0);
+        field.addTarget(8, 0);
+        field.propagate(passability(open));
+
+        assertEquals(3, field.getDistance(3, 0));
+        assertEquals(4, field.getDistance(4, 0));
+        assertEquals(2, field.getDistance(6, 0));
+    }
+
+    /** Tests that walls are bypassed and enclosed cells not reached. */
+    @Test
+    void testDistancesWithWalls() {
+
+        // A wall on column 2 with a gap at the bottom, and a closed room at the
+        // top right
+        boolean[][] open = createGrid(5, 5, true);
+        for (int y = 0; y < 4; y++) {
+            open[2][y] = false;
+        }
+        open[3][0] = false;
+        open[3][1] = false;
+        open[4][1] = false;
+
+        DistanceField field = new DistanceField(5, 5);
+        field.addTarget(0, 0);
+        field.propagate(passability(open));
+
+        assertEquals(9, field.getDistance(3, 2));
+        assertEquals(DistanceField.UNREACHED, field.getDistance(2, 0));
+        assertEquals(DistanceField.UNREACHED, field.getDistance(4, 0));
+        assertEquals(0, field.getValue(4, 0));
+    }
+
+    /** Tests the choice of directions, ties being broken by direction order. */
+    @Test
+    void testFindBetterDirection() {
+
+        boolean[][] open = createGrid(3, 3, true);
+        CellPassability passability = passability(open);
+        DistanceField field = new DistanceField(3, 3);
+        field.addTarget(0, 0);
+        field.propagate(passability);
+
+        Direction[] directions = Direction4.values();
+        Direction expected = null;
+        for (Direction direction : directions) {
+            if (direction.getXStep() < 0 || direction.getYStep() < 0) {
+                expected = direction;
+                break;
+            }
+        }
+
+        assertEquals(expected, field.findBetterDirection(1, 1, passability));
+        assertEquals(Direction.NONE, field.findBetterDirection(0, 0, passability));
+    }
+
+    /** Tests a target out of the grid. */
+    @Test
+    void testTargetOutOfGridThrowsIllegalArgumentException() {
+
+        DistanceField field = new DistanceField(3, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            field.addTarget(3, 0);
+        });
+    }
+
+    /** Tests that repairs after random cell changes match full propagations. */
+    @Test
+    void testUpdateCellMatchesPropagation() {
+
+        Random random = new Random(42);
+        int width = 24;
+        int height = 17;
+
+        for (int grid = 0; grid < 20; grid++) {
+
+            boolean[][] open = createGrid(width, height, true);
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    open[x][y] = random.nextInt(100) >= 30;
+                }
+            }
+
+            CellPassability passability = passability(open);
+            DistanceField repaired = new DistanceField(width, height);
+            repaired.addTarget(3, 4);
+            repaired.addTarget(20, 12);
+            repaired.propagate(passability);
+
+            for (int change = 0; change < 200; change++) {
+
+                int cx = random.nextInt(width);
+                int cy = random.nextInt(height);
+                open[cx][cy] = !open[cx][cy];
+                repaired.updateCell(cx, cy, passability);
+
+                DistanceField expected = new DistanceField(width, height);
+                expected.addTarget(3, 4);
+                expected.addTarget(20, 12);
+                expected.propagate(passability);
+
+                for (int x = 0; x < width; x++) {
+                    for (int y = 0; y < height; y++) {
+                        assertEquals(expected.getDistance(x, y), repaired.getDistance(x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a grid of cells.
+     * 
+     * @param width width of the grid
+     * @param height height of the grid
+     * @param open true for open cells, false for closed ones
+     * @return the grid
+     */
+    private boolean[][] createGrid(int width, int height, boolean open) {
+        boolean[][] grid = new boolean[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                grid[x][y] = open;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @param open the grid of open cells
+     * @return the passability of the grid
+     */
+    private CellPassability passability(boolean[][] open) {
+        return (cx, cy) -> open[cx][cy];
+    }
+
+}
@@ -0,0 +1,129 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.gameengine.core.util.Location;
+
+/** Tests on flow fields. */
+class FlowFieldTest {
+
+    /** Width of the grid. */
+    private static final int WIDTH = 30;
+
+    /** Height of the grid. */
+    private static final int HEIGHT = 20;
+
+    /** Tests that the field is only computed when the goal cells change. */
+    @Test
+    void testComputedOnlyWhenGoalsChange() {
+
+        FlowField flowField = new FlowField(WIDTH, HEIGHT, (cx, cy) -> true);
+
+        assertEquals(Direction.NONE, flowField.getDirection(3, 3));
+        assertTrue(flowField.setGoal(5, 5));
+        assertFalse(flowField.setGoal(5, 5));
+        assertFalse(flowField.setGoals(
+                Arrays.asList(Location.getLocation(5, 5), Location.getLocation(5, 5))));
+        assertTrue(flowField.setGoals(
+                Arrays.asList(Location.getLocation(5, 5), Location.getLocation(20, 5))));
+        assertEquals(2, flowField.getGoalCount());
+    }
+
+    /** Tests that following the field leads to the nearest goal. */
+    @Test
+    void testFollowingLeadsToNearestGoal() {
+
+        Random random = new Random(3);
+        boolean[][] open = createGrid(random);
+        FlowField flowField = new FlowField(WIDTH, HEIGHT, (cx, cy) -> open[cx][cy]);
+        flowField.setGoals(Arrays.asList(Location.getLocation(2, 2),
+                Location.getLocation(WIDTH - 3, HEIGHT - 3)));
+
+        checkFollowing(flowField, open);
+    }
+
+    /** Tests that the field follows the changes of cells. */
+    @Test
+    void testFollowsCellChanges() {
+
+        Random random = new Random(4);
+        boolean[][] open = createGrid(random);
+        FlowField flowField = new FlowField(WIDTH, HEIGHT, (cx, cy) -> open[cx][cy]);
+        flowField.setGoal(WIDTH / 2, HEIGHT / 2);
+
+        for (int change = 0; change < 50; change++) {
+            int cx = random.nextInt(WIDTH);
+            int cy = random.nextInt(HEIGHT);
+            open[cx][cy] = !open[cx][cy];
+            flowField.cellChanged(cx, cy);
+        }
+
+        FlowField computed = new FlowField(WIDTH, HEIGHT, (cx, cy) -> open[cx][cy]);
+        computed.setGoal(WIDTH / 2, HEIGHT / 2);
+
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                assertEquals(computed.getDistance(x, y), flowField.getDistance(x, y));
+                assertEquals(computed.getDirection(x, y), flowField.getDirection(x, y));
+            }
+        }
+        checkFollowing(flowField, open);
+    }
+
+    /**
+     * Checks that following the directions from any cell reaching a goal
+     * decreases the distance by one at each step.
+     * 
+     * @param flowField the flow field
+     * @param open the passability of the cells
+     */
+    private void checkFollowing(FlowField flowField, boolean[][] open) {
+
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+
+                int distance = flowField.getDistance(x, y);
+                Direction direction = flowField.getDirection(x, y);
+
+                if (distance == 0) {
+                    assertEquals(Direction.NONE, direction);
+                } else if (distance != DistanceField.UNREACHED || direction != Direction.NONE) {
+                    // Blocked cells next to the field lead into it
+                    int nx = x + (int) direction.getXStep();
+                    int ny = y + (int) direction.getYStep();
+                    assertTrue(open[nx][ny]);
+                    assertTrue(flowField.getDistance(nx, ny) < distance);
+                    if (distance != DistanceField.UNREACHED) {
+                        assertEquals(distance - 1, flowField.getDistance(nx, ny));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a random grid.
+     * 
+     * @param random the random generator
+     * @return the passability of the cells
+     */
+    private boolean[][] createGrid(Random random) {
+
+        boolean[][] open = new boolean[WIDTH][HEIGHT];
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                open[x][y] = random.nextInt(100) >= 30;
+            }
+        }
+        return open;
+    }
+
+}
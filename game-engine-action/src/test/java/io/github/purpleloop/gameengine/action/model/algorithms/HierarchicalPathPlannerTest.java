@@ -0,0 +1,147 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests on the hierarchical path planner, on random grids. */
+class HierarchicalPathPlannerTest {
+
+    /** Tests that paths are found whenever the goal is reachable. */
+    @Test
+    void testFindsValidPaths() {
+
+        Random random = new Random(11);
+        PathBuffer path = new PathBuffer(1);
+
+        for (int grid = 0; grid < 100; grid++) {
+
+            int width = 2 + random.nextInt(50);
+            int height = 2 + random.nextInt(50);
+            boolean[][] open = createGrid(random, width, height);
+            CellPassability passability = (cx, cy) -> open[cx][cy];
+
+            HierarchicalPathPlanner planner = new HierarchicalPathPlanner(
+                    ClusterGraph.build(width, height, 2 + random.nextInt(10), passability));
+
+            for (int query = 0; query < 20; query++) {
+
+                int startX = random.nextInt(width);
+                int startY = random.nextInt(height);
+                int goalX = random.nextInt(width);
+                int goalY = random.nextInt(height);
+
+                // The start cell does not need to be passable
+                DistanceField field = new DistanceField(width, height);
+                field.addTarget(goalX, goalY);
+                field.propagate((cx, cy) -> (cx == startX && cy == startY) || open[cx][cy]);
+                boolean reachable = open[goalX][goalY]
+                        && field.getDistance(startX, startY) != DistanceField.UNREACHED;
+
+                assertEquals(reachable,
+                        planner.findPath(startX, startY, goalX, goalY, passability, path));
+
+                if (reachable) {
+                    assertTrue(path.getLength() >= field.getDistance(startX, startY));
+                    assertEquals(startX, path.getX(0));
+                    assertEquals(startY, path.getY(0));
+                    assertEquals(goalX, path.getX(path.getLength()));
+                    assertEquals(goalY, path.getY(path.getLength()));
+
+                    for (int i = 1; i < path.size(); i++) {
+                        assertTrue(open[path.getX(i)][path.getY(i)]);
+                        assertEquals(1, Math.abs(path.getX(i) - path.getX(i - 1))
+                                + Math.abs(path.getY(i) - path.getY(i - 1)));
+                    }
+                } else {
+                    assertTrue(path.isEmpty());
+                }
+            }
+        }
+    }
+
+    /** Tests that a graph derived after cell changes matches a built graph. */
+    @Test
+    void testCellChangesMatchRebuild() {
+
+        Random random = new Random(13);
+        PathBuffer changedPath = new PathBuffer();
+        PathBuffer rebuiltPath = new PathBuffer();
+
+        for (int grid = 0; grid < 50; grid++) {
+
+            int width = 2 + random.nextInt(50);
+            int height = 2 + random.nextInt(50);
+            int clusterSize = 2 + random.nextInt(10);
+            boolean[][] open = createGrid(random, width, height);
+            CellPassability passability = (cx, cy) -> open[cx][cy];
+
+            ClusterGraph graph = ClusterGraph.build(width, height, clusterSize, passability);
+            for (int change = 0; change < 10; change++) {
+                int cx = random.nextInt(width);
+                int cy = random.nextInt(height);
+                open[cx][cy] = !open[cx][cy];
+                graph = graph.withCellChanged(cx, cy, passability);
+            }
+
+            HierarchicalPathPlanner changed = new HierarchicalPathPlanner(graph);
+            HierarchicalPathPlanner rebuilt = new HierarchicalPathPlanner(
+                    ClusterGraph.build(width, height, clusterSize, passability));
+            assertEquals(rebuilt.getClusterGraph().getNodeCount(), graph.getNodeCount());
+
+            for (int query = 0; query < 20; query++) {
+
+                int startX = random.nextInt(width);
+                int startY = random.nextInt(height);
+                int goalX = random.nextInt(width);
+                int goalY = random.nextInt(height);
+
+                assertEquals(
+                        rebuilt.findPath(startX, startY, goalX, goalY, passability,
+                                rebuiltPath),
+                        changed.findPath(startX, startY, goalX, goalY, passability,
+                                changedPath));
+                assertEquals(rebuiltPath.getLength(), changedPath.getLength());
+            }
+        }
+    }
+
+    /** Tests that a change keeping the passability of the cell keeps the graph. */
+    @Test
+    void testUnchangedPassabilityKeepsGraph() {
+
+        boolean[][] open = createGrid(new Random(17), 40, 30);
+        CellPassability passability = (cx, cy) -> open[cx][cy];
+        ClusterGraph graph = ClusterGraph.build(40, 30, 8, passability);
+
+        assertSame(graph, graph.withCellChanged(12, 7, passability));
+
+        open[12][7] = !open[12][7];
+        assertNotSame(graph, graph.withCellChanged(12, 7, passability));
+    }
+
+    /**
+     * Creates a random grid.
+     * 
+     * @param random the random generator
+     * @param width width of the grid
+     * @param height height of the grid
+     * @return the passability of the cells
+     */
+    private boolean[][] createGrid(Random random, int width, int height) {
+
+        boolean[][] open = new boolean[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                open[x][y] = random.nextInt(100) >= 30;
+            }
+        }
+        return open;
+    }
+
+}
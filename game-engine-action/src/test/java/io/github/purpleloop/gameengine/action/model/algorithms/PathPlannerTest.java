@@ -0,0 +1,116 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests on path planners, compared to distance fields on random grids. */
+class PathPlannerTest {
+
+    /** Tests the A* path planner. */
+    @Test
+    void testAStarFindsShortestPaths() {
+        checkShortestPaths((width, height) -> new AStarPathPlanner(width, height));
+    }
+
+    /** Tests the jump point search path planner. */
+    @Test
+    void testJumpPointSearchFindsShortestPaths() {
+        checkShortestPaths((width, height) -> new JumpPointPathPlanner(width, height));
+    }
+
+    /** Tests that a search fails when the expansion limit is reached. */
+    @Test
+    void testSearchFailsOnExpansionLimit() {
+
+        CellPassability open = (cx, cy) -> true;
+        AStarPathPlanner planner = new AStarPathPlanner(50, 50);
+        PathBuffer path = new PathBuffer();
+
+        planner.setMaxExpandedNodes(10);
+        assertFalse(planner.findPath(0, 0, 49, 49, open, path));
+        assertTrue(path.isEmpty());
+
+        planner.setMaxExpandedNodes(0);
+        assertTrue(planner.findPath(0, 0, 49, 49, open, path));
+        assertEquals(98, path.getLength());
+    }
+
+    /** Creates path planners for a grid size. */
+    @FunctionalInterface
+    private interface PlannerFactory {
+
+        /**
+         * @param width width of the grid
+         * @param height height of the grid
+         * @return a path planner
+         */
+        PathPlanner create(int width, int height);
+    }
+
+    /**
+     * Checks that the paths of a planner are valid and as short as the
+     * distances of a distance field, on random grids.
+     * 
+     * @param factory the planner factory
+     */
+    private void checkShortestPaths(PlannerFactory factory) {
+
+        Random random = new Random(7);
+        PathBuffer path = new PathBuffer(1);
+
+        for (int grid = 0; grid < 100; grid++) {
+
+            int width = 2 + random.nextInt(30);
+            int height = 2 + random.nextInt(30);
+            boolean[][] open = new boolean[width][height];
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    open[x][y] = random.nextInt(100) >= 30;
+                }
+            }
+
+            CellPassability passability = (cx, cy) -> open[cx][cy];
+            PathPlanner planner = factory.create(width, height);
+
+            for (int query = 0; query < 20; query++) {
+
+                int startX = random.nextInt(width);
+                int startY = random.nextInt(height);
+                int goalX = random.nextInt(width);
+                int goalY = random.nextInt(height);
+
+                // The start cell does not need to be passable
+                DistanceField field = new DistanceField(width, height);
+                field.addTarget(goalX, goalY);
+                field.propagate((cx, cy) -> (cx == startX && cy == startY) || open[cx][cy]);
+                boolean reachable = open[goalX][goalY]
+                        && field.getDistance(startX, startY) != DistanceField.UNREACHED;
+
+                assertEquals(reachable,
+                        planner.findPath(startX, startY, goalX, goalY, passability, path));
+
+                if (reachable) {
+                    assertEquals(field.getDistance(startX, startY), path.getLength());
+                    assertEquals(startX, path.getX(0));
+                    assertEquals(startY, path.getY(0));
+                    assertEquals(goalX, path.getX(path.getLength()));
+                    assertEquals(goalY, path.getY(path.getLength()));
+
+                    for (int i = 1; i < path.size(); i++) {
+                        assertTrue(open[path.getX(i)][path.getY(i)]);
+                        assertEquals(1, Math.abs(path.getX(i) - path.getX(i - 1))
+                                + Math.abs(path.getY(i) - path.getY(i - 1)));
+                    }
+                } else {
+                    assertTrue(path.isEmpty());
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.github.purpleloop.gameengine.action.model.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests on the parallel resolution of path queries. */
+class PathQuerySchedulerTest {
+
+    /** Width of the grid. */
+    private static final int WIDTH = 40;
+
+    /** Height of the grid. */
+    private static final int HEIGHT = 30;
+
+    /** Tests that parallel results are the same as sequential ones. */
+    @Test
+    void testParallelResultsMatchSequentialOnes() {
+
+        Random random = new Random(5);
+        boolean[][] open = new boolean[WIDTH][HEIGHT];
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                open[x][y] = random.nextInt(100) >= 25;
+            }
+        }
+        CellPassability passability = (cx, cy) -> open[cx][cy];
+
+        PathQueryScheduler scheduler = new PathQueryScheduler(WIDTH, HEIGHT, 4);
+        AStarPathPlanner planner = new AStarPathPlanner(WIDTH, HEIGHT);
+        List<PathQuery> queries = new ArrayList<>();
+        List<int[]> cells = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                int[] cell = { random.nextInt(WIDTH), random.nextInt(HEIGHT),
+                        random.nextInt(WIDTH), random.nextInt(HEIGHT) };
+                cells.add(cell);
+                if (i % 10 == 0) {
+                    queries.add(scheduler.submitDistanceField(cell[2], cell[3], passability,
+                            new DistanceField(WIDTH, HEIGHT)));
+                } else {
+                    queries.add(scheduler.submitPath(cell[0], cell[1], cell[2], cell[3],
+                            passability, new PathBuffer()));
+                }
+            }
+
+            assertEquals(200, scheduler.getPendingCount());
+            assertFalse(queries.get(0).isResolved());
+
+            scheduler.resolve();
+            assertEquals(0, scheduler.getPendingCount());
+
+            PathBuffer expected = new PathBuffer();
+            DistanceField expectedField = new DistanceField(WIDTH, HEIGHT);
+            for (int i = 0; i < queries.size(); i++) {
+
+                PathQuery query = queries.get(i);
+                int[] cell = cells.get(i);
+                assertTrue(query.isResolved());
+
+                if (query.getPath() != null) {
+                    assertEquals(planner.findPath(cell[0], cell[1], cell[2], cell[3],
+                            passability, expected), query.isFound());
+                    assertEquals(expected.toString(), query.getPath().toString());
+                } else {
+                    expectedField.reset();
+                    expectedField.addTarget(cell[2], cell[3]);
+                    expectedField.propagate(passability);
+                    for (int x = 0; x < WIDTH; x++) {
+                        for (int y = 0; y < HEIGHT; y++) {
+                            assertEquals(expectedField.getDistance(x, y),
+                                    query.getDistanceField().getDistance(x, y));
+                        }
+                    }
+                }
+            }
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    /** Tests that queries out of the grid are rejected at submission. */
+    @Test
+    void testRejectsCellsOutOfGrid() {
+
+        PathQueryScheduler scheduler = new PathQueryScheduler(WIDTH, HEIGHT, 1);
+        CellPassability passability = (cx, cy) -> true;
+
+        try {
+            assertThrows(IllegalArgumentException.class,
+                    () -> scheduler.submitPath(0, 0, WIDTH, 0, passability, new PathBuffer()));
+            assertThrows(IllegalArgumentException.class, () -> scheduler.submitDistanceField(0, 0,
+                    passability, new DistanceField(WIDTH + 1, HEIGHT)));
+            assertEquals(0, scheduler.getPendingCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+}
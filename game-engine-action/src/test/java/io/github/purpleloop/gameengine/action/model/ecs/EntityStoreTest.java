@@ -0,0 +1,87 @@
+package io.github.purpleloop.gameengine.action.model.ecs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.commons.direction.Direction;
+
+/** Tests on the entity store. */
+class EntityStoreTest {
+
+    /** Tests that entities keep their components while rows move. */
+    @Test
+    void testComponentsFollowHandles() {
+
+        Random random = new Random(3);
+        EntityStore store = new EntityStore(4);
+        Map<Integer, Integer> expectedX = new HashMap<>();
+        List<Integer> alive = new ArrayList<>();
+
+        for (int round = 0; round < 2000; round++) {
+            if (alive.isEmpty() || random.nextInt(3) > 0) {
+                int x = random.nextInt(1000);
+                int handle = store.create(x, -x);
+                alive.add(handle);
+                expectedX.put(handle, x);
+            } else {
+                int handle = alive.remove(random.nextInt(alive.size()));
+                store.destroy(handle);
+                assertFalse(store.isAlive(handle));
+            }
+        }
+
+        assertEquals(alive.size(), store.size());
+        for (int handle : alive) {
+            int row = store.rowOf(handle);
+            assertEquals(handle, store.handleAt(row));
+            assertEquals(expectedX.get(handle).intValue(), store.getXs()[row]);
+            assertEquals(-expectedX.get(handle).intValue(), store.getYs()[row]);
+        }
+    }
+
+    /** Tests the movement system and the object adapters. */
+    @Test
+    void testSystemsAndAdapters() {
+
+        EntityStore store = new EntityStore();
+        int first = store.create(10, 20);
+        int second = store.create(0, 0);
+        store.setVelocity(first, 2, -1);
+        store.setOrientation(first, Direction.EAST);
+        store.setFlags(first, 0b101);
+
+        EntityObject object = store.getObject(first);
+        new MovementSystem().update(store);
+
+        assertEquals(12, object.getXLoc());
+        assertEquals(19, object.getYLoc());
+        assertEquals(Direction.EAST, object.getOrientation());
+        assertTrue(store.hasFlags(first, 0b100));
+        assertEquals(object, store.getObject(first));
+        assertTrue(object.getId() != store.getObject(second).getId());
+
+        // The adapter follows its entity when rows move
+        store.destroy(second);
+        int third = store.create(5, 5);
+        assertEquals(12, object.getXLoc());
+
+        // Then is detached when its entity is destroyed, even if the handle is
+        // reused
+        store.destroy(first);
+        store.create(0, 0);
+        assertFalse(object.isAttached());
+        assertThrows(IllegalStateException.class, object::getXLoc);
+        assertTrue(store.isAlive(third));
+    }
+
+}
@@ -0,0 +1,82 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.gameengine.core.util.LocationList;
+import io.github.purpleloop.gameengine.core.util.PackedLocation;
+
+/** Tests on the index of the cells by contents. */
+class CellContentsIndexTest {
+
+    /** Contents of a floor. */
+    private static final ICellContents FLOOR = () -> '.';
+
+    /** Contents of a wall. */
+    private static final ICellContents WALL = () -> '#';
+
+    /** Tests the searches after changes of cells. */
+    @Test
+    void testSearches() {
+
+        CellContentsIndex index = new CellContentsIndex(4, 3);
+        for (int cy = 0; cy < 3; cy++) {
+            for (int cx = 0; cx < 4; cx++) {
+                index.update(cx, cy, null, FLOOR);
+            }
+        }
+        index.update(3, 2, FLOOR, WALL);
+        index.update(1, 1, FLOOR, WALL);
+        index.update(2, 0, FLOOR, WALL);
+
+        assertEquals(9, index.count(FLOOR));
+        assertEquals(3, index.count(WALL));
+        assertEquals(PackedLocation.pack(2, 0), index.first(WALL));
+
+        LocationList walls = new LocationList();
+        index.all(WALL, walls::add);
+        assertEquals("[(2, 0), (1, 1), (3, 2)]", walls.toString());
+
+        // The first wall is searched again once removed
+        index.update(2, 0, WALL, FLOOR);
+        assertEquals(PackedLocation.pack(1, 1), index.first(WALL));
+        index.update(0, 1, FLOOR, WALL);
+        assertEquals(PackedLocation.pack(0, 1), index.first(WALL));
+
+        index.update(0, 1, WALL, FLOOR);
+        index.update(1, 1, WALL, FLOOR);
+        index.update(3, 2, WALL, FLOOR);
+        assertEquals(0, index.count(WALL));
+        assertEquals(PackedLocation.NONE, index.first(WALL));
+        assertEquals(PackedLocation.NONE, index.random(WALL, new Random()));
+
+        List<ICellContents> contents = new ArrayList<>();
+        index.collectContents(contents);
+        assertEquals(List.of(FLOOR), contents);
+    }
+
+    /** Tests that the random cells are drawn among the matching cells. */
+    @Test
+    void testRandom() {
+
+        CellContentsIndex index = new CellContentsIndex(10, 10);
+        for (int cy = 0; cy < 10; cy++) {
+            for (int cx = 0; cx < 10; cx++) {
+                index.update(cx, cy, null, (cx + cy) % 2 == 0 ? FLOOR : WALL);
+            }
+        }
+
+        Random random = new Random(7);
+        for (int draw = 0; draw < 200; draw++) {
+            long cell = index.random(WALL, random);
+            assertTrue((PackedLocation.x(cell) + PackedLocation.y(cell)) % 2 == 1);
+        }
+    }
+
+}
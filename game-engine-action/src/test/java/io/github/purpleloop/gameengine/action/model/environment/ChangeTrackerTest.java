@@ -0,0 +1,56 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.gameengine.action.model.events.EnvironmentChangeSet;
+import io.github.purpleloop.gameengine.action.model.objects.GameObject;
+
+/** Tests on the tracking of the environment changes. */
+class ChangeTrackerTest {
+
+    /** Tests the moves, additions, removals and cell changes. */
+    @Test
+    void testChangesBetweenUpdates() {
+
+        DenseObjectStore store = new DenseObjectStore();
+        ChangeTracker tracker = new ChangeTracker();
+
+        GameObject first = new GameObject();
+        GameObject second = new GameObject();
+        GameObject third = new GameObject();
+        store.add(first);
+        store.add(second);
+        store.add(third);
+
+        EnvironmentChangeSet changes = tracker.collect(store);
+        assertArrayEquals(new int[] { first.getId(), second.getId(), third.getId() },
+                changes.getSpawnedIds());
+
+        // Nothing changed
+        assertTrue(tracker.collect(store).isEmpty());
+
+        // The removal moves the tags of the remaining objects
+        third.setLoc(4, 2);
+        store.removeAll(List.of(first), tracker::objectRemoved);
+        GameObject fourth = new GameObject();
+        store.add(fourth);
+        tracker.cellChanged(3, 5);
+        tracker.cellChanged(3, 5);
+        tracker.cellChanged(1, 0);
+
+        changes = tracker.collect(store);
+        assertArrayEquals(new int[] { third.getId() }, changes.getMovedIds());
+        assertArrayEquals(new int[] { fourth.getId() }, changes.getSpawnedIds());
+        assertArrayEquals(new int[] { first.getId() }, changes.getRemovedIds());
+        assertArrayEquals(new int[] { 3, 1 }, changes.getChangedCellsX());
+        assertArrayEquals(new int[] { 5, 0 }, changes.getChangedCellsY());
+
+        assertTrue(tracker.collect(store).isEmpty());
+    }
+
+}
@@ -0,0 +1,138 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests on the chunked storage of cells. */
+class ChunkedCellStorageTest {
+
+    /** Contents of the cells never set. */
+    private static final ICellContents EMPTY = () -> ' ';
+
+    /** Contents of a wall. */
+    private static final ICellContents WALL = () -> '#';
+
+    /** Tests that chunks are created on demand, and dropped when empty. */
+    @Test
+    void testChunksOnDemand() {
+
+        ChunkedCellStorage storage = new ChunkedCellStorage(100000, 100000, 16, EMPTY);
+        assertSame(EMPTY, storage.get(99999, 99999));
+        assertEquals(0, storage.getResidentChunkCount());
+
+        // Setting the default contents does not create a chunk
+        storage.set(5, 5, EMPTY);
+        assertEquals(0, storage.getResidentChunkCount());
+
+        storage.set(5, 5, WALL);
+        storage.set(15, 15, WALL);
+        storage.set(16, 15, WALL);
+        assertSame(WALL, storage.get(5, 5));
+        assertSame(WALL, storage.get(16, 15));
+        assertSame(EMPTY, storage.get(6, 5));
+        assertEquals(2, storage.getResidentChunkCount());
+
+        storage.set(16, 15, EMPTY);
+        assertEquals(1, storage.getResidentChunkCount());
+        assertSame(EMPTY, storage.get(16, 15));
+    }
+
+    /**
+     * Tests that default cells and cells of resident chunks are read
+     * concurrently.
+     * 
+     * @throws Exception in case of error in a reading thread
+     */
+    @Test
+    void testConcurrentReads() throws Exception {
+
+        ChunkedCellStorage storage = new ChunkedCellStorage(4096, 4096, 16, EMPTY);
+        storage.set(100, 100, WALL);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> walls = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread;
+                walls.add(executor.submit(() -> {
+                    int count = 0;
+                    for (int y = offset; y < 4096; y += 4) {
+                        for (int x = 0; x < 4096; x += 4) {
+                            if (storage.get(x, y) == WALL) {
+                                count++;
+                            }
+                        }
+                        if (storage.get(100, 100) != WALL) {
+                            throw new IllegalStateException("The wall has been lost.");
+                        }
+                    }
+                    return count;
+                }));
+            }
+
+            int total = 0;
+            for (Future<Integer> count : walls) {
+                total += count.get();
+            }
+            assertEquals(1, total);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, storage.getResidentChunkCount());
+        assertEquals(0, storage.getPagedOutChunkCount());
+    }
+
+    /** Tests that the least recently used chunks are paged out and back in. */
+    @Test
+    void testPaging() {
+
+        Map<Long, ICellContents[]> pagedOut = new HashMap<>();
+        ChunkPager pager = new ChunkPager() {
+
+            @Override
+            public void pageOut(int chunkX, int chunkY, ICellContents[] cells) {
+                pagedOut.put(((long) chunkX << 32) | chunkY, cells.clone());
+            }
+
+            @Override
+            public ICellContents[] pageIn(int chunkX, int chunkY) {
+                return pagedOut.remove(((long) chunkX << 32) | chunkY);
+            }
+        };
+
+        ChunkedCellStorage storage = new ChunkedCellStorage(64, 64, 8, EMPTY);
+        storage.setPager(pager, 2);
+
+        storage.set(0, 0, WALL);
+        storage.set(8, 0, WALL);
+        storage.get(0, 0);
+        storage.set(16, 0, WALL);
+
+        // The chunk of (8, 0) was the coldest one
+        assertEquals(2, storage.getResidentChunkCount());
+        assertEquals(1, storage.getPagedOutChunkCount());
+        assertEquals(1, pagedOut.size());
+
+        assertSame(WALL, storage.get(8, 0));
+        assertSame(EMPTY, storage.get(9, 0));
+        assertEquals(2, storage.getResidentChunkCount());
+        assertEquals(1, storage.getPagedOutChunkCount());
+
+        assertThrows(IllegalArgumentException.class, () -> storage.setPager(pager, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChunkedCellStorage(64, 64, 12, EMPTY));
+    }
+
+}
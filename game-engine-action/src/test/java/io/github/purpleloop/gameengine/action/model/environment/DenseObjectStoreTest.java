@@ -0,0 +1,101 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+import io.github.purpleloop.gameengine.action.model.objects.GameObject;
+
+/** Tests on the dense object store, compared to a plain list. */
+class DenseObjectStoreTest {
+
+    /** Tests that batch removals keep the order of the remaining objects. */
+    @Test
+    void testBatchRemovalsKeepOrder() {
+
+        Random random = new Random(5);
+        DenseObjectStore store = new DenseObjectStore();
+        List<IEnvironmentObjet> expected = new ArrayList<>();
+
+        for (int round = 0; round < 50; round++) {
+
+            int added = random.nextInt(100);
+            for (int i = 0; i < added; i++) {
+                GameObject object = new GameObject();
+                assertTrue(store.add(object));
+                expected.add(object);
+            }
+
+            List<IEnvironmentObjet> removed = new ArrayList<>();
+            for (IEnvironmentObjet object : expected) {
+                if (random.nextInt(3) == 0) {
+                    removed.add(object);
+                }
+            }
+            if (!removed.isEmpty()) {
+                // Duplicates are ignored
+                removed.add(removed.get(0));
+            }
+
+            assertEquals(removed.isEmpty() ? 0 : removed.size() - 1, store.removeAll(removed));
+            expected.removeAll(removed);
+
+            assertEquals(expected, store.asList());
+            for (IEnvironmentObjet object : removed) {
+                assertFalse(store.contains(object));
+                assertEquals(null, store.findById(object.getId()));
+            }
+            for (IEnvironmentObjet object : expected) {
+                assertEquals(object, store.findById(object.getId()));
+            }
+        }
+    }
+
+    /** Tests the single removals, moving the last object. */
+    @Test
+    void testSingleRemovals() {
+
+        DenseObjectStore store = new DenseObjectStore();
+        List<GameObject> objects = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            GameObject object = new GameObject();
+            store.add(object);
+            objects.add(object);
+        }
+
+        assertTrue(store.remove(objects.get(10)));
+        assertFalse(store.remove(objects.get(10)));
+        assertEquals(objects.get(199), store.get(10));
+        assertEquals(199, store.size());
+
+        for (GameObject object : objects) {
+            store.remove(object);
+        }
+        assertEquals(0, store.size());
+        assertTrue(store.asList().isEmpty());
+    }
+
+    /** Tests that the objects view can't be modified. */
+    @Test
+    void testViewIsReadOnly() {
+
+        DenseObjectStore store = new DenseObjectStore();
+        GameObject object = new GameObject();
+        store.add(object);
+
+        assertFalse(store.add(object));
+        assertEquals(1, store.size());
+        assertThrows(UnsupportedOperationException.class,
+                () -> store.asList().add(new GameObject()));
+        assertThrows(UnsupportedOperationException.class, () -> store.asList().remove(0));
+    }
+
+}
@@ -0,0 +1,103 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.gameengine.action.model.objects.GameObject;
+
+/** Tests on the level of detail scheduling. */
+class LodSchedulerTest {
+
+    /** Tests the update rates and elapsed ticks of near and far objects. */
+    @Test
+    void testUpdateRates() {
+
+        // Every tick below 100, every 2 ticks below 200, every 4 ticks beyond
+        LodScheduler scheduler = LodScheduler.rings(100, 2);
+
+        GameObject near = new GameObject();
+        near.setLoc(10, 10);
+        GameObject far = new GameObject();
+        far.setLoc(500, 0);
+
+        long nearLastUpdate = DenseObjectStore.NO_TAG;
+        long farLastUpdate = DenseObjectStore.NO_TAG;
+        int nearUpdates = 0;
+        int farUpdates = 0;
+
+        for (int tick = 0; tick < 40; tick++) {
+            scheduler.beginTick(0, 0);
+
+            int elapsed = scheduler.schedule(near, nearLastUpdate);
+            if (elapsed > 0) {
+                assertEquals(1, elapsed);
+                nearLastUpdate = scheduler.getTick();
+                nearUpdates++;
+            }
+
+            elapsed = scheduler.schedule(far, farLastUpdate);
+            if (elapsed > 0) {
+                // The first update is immediate, the next ones are aligned on
+                // the period according to the identifier
+                if (farUpdates == 0) {
+                    assertEquals(1, elapsed);
+                } else if (farUpdates == 1) {
+                    assertTrue(elapsed <= 4);
+                } else {
+                    assertEquals(4, elapsed);
+                }
+                farLastUpdate = scheduler.getTick();
+                farUpdates++;
+            }
+        }
+
+        assertEquals(40, nearUpdates);
+        assertEquals(10, farUpdates, 1);
+
+        // Without focus, the far object is updated at once
+        scheduler.beginTick();
+        assertEquals(scheduler.getTick() - farLastUpdate,
+                scheduler.schedule(far, farLastUpdate));
+        assertEquals(1, scheduler.getUpdatedCount());
+    }
+
+    /** Tests that the updates of a bucket are spread over its period. */
+    @Test
+    void testSpreadUpdates() {
+
+        LodScheduler scheduler = new LodScheduler(new int[] { 10 }, new int[] { 1, 4 });
+
+        GameObject[] objects = new GameObject[8];
+        long[] lastUpdates = new long[objects.length];
+        for (int index = 0; index < objects.length; index++) {
+            objects[index] = new GameObject();
+            objects[index].setLoc(1000, 1000);
+        }
+
+        scheduler.beginTick(0, 0);
+        for (int index = 0; index < objects.length; index++) {
+            scheduler.schedule(objects[index], DenseObjectStore.NO_TAG);
+            lastUpdates[index] = scheduler.getTick();
+        }
+
+        for (int tick = 0; tick < 4; tick++) {
+            scheduler.beginTick(0, 0);
+            for (int index = 0; index < objects.length; index++) {
+                if (scheduler.schedule(objects[index], lastUpdates[index]) > 0) {
+                    lastUpdates[index] = scheduler.getTick();
+                }
+            }
+            assertEquals(2, scheduler.getUpdatedCount());
+            assertEquals(6, scheduler.getSkippedCount());
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new LodScheduler(new int[] { 10, 5 }, new int[] { 1, 2, 4 }));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LodScheduler(new int[] { 10 }, new int[] { 1 }));
+    }
+
+}
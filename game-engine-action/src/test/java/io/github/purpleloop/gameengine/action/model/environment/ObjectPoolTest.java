@@ -0,0 +1,77 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IPoolable;
+import io.github.purpleloop.gameengine.action.model.objects.GameObject;
+
+/** Tests on the object pools. */
+class ObjectPoolTest {
+
+    /** A recyclable projectile. */
+    private static final class Projectile extends GameObject implements IPoolable {
+
+        /** Number of resets. */
+        private int resetCount;
+
+        @Override
+        public void reset() {
+            setLoc(0, 0);
+            resetCount++;
+        }
+    }
+
+    /** Tests the reuse of the objects and the statistics of the pool. */
+    @Test
+    void testReuseAndStatistics() {
+
+        ObjectPool<Projectile> pool = new ObjectPool<>(Projectile::new, 3, false);
+
+        List<Projectile> projectiles = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Projectile projectile = pool.acquire();
+            projectile.setLoc(i, i);
+            projectiles.add(projectile);
+        }
+        assertEquals(5, pool.getInUseCount());
+        assertEquals(5, pool.getCreatedCount());
+
+        for (Projectile projectile : projectiles) {
+            pool.release(projectile);
+        }
+        assertEquals(0, pool.getInUseCount());
+        assertEquals(3, pool.getAvailableCount());
+        assertEquals(5, pool.getHighWaterMark());
+
+        // Released objects are reset, then reused before creating new ones
+        Projectile reused = pool.acquire();
+        assertTrue(projectiles.contains(reused));
+        assertEquals(1, reused.resetCount);
+        assertEquals(0, reused.getXLoc());
+        assertEquals(5, pool.getCreatedCount());
+        assertEquals(5, pool.getHighWaterMark());
+    }
+
+    /** Tests the detection of double releases. */
+    @Test
+    void testDoubleReleaseIsVerified() {
+
+        ObjectPool<Projectile> pool = new ObjectPool<>(Projectile::new, 8, true);
+        Projectile projectile = pool.acquire();
+
+        assertTrue(pool.release(projectile));
+        assertThrows(IllegalStateException.class, () -> pool.release(projectile));
+
+        ObjectPool<Projectile> emptyPool = new ObjectPool<>(Projectile::new, 0, true);
+        assertFalse(emptyPool.release(emptyPool.acquire()));
+    }
+
+}
@@ -0,0 +1,100 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IConcurrentAgent;
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+import io.github.purpleloop.gameengine.action.model.objects.CommonAgent;
+import io.github.purpleloop.gameengine.core.util.EngineException;
+
+/** Tests on the parallel evolution of objects. */
+class ParallelEvolverTest {
+
+    /** Number of agents. */
+    private static final int AGENT_COUNT = 1000;
+
+    /** An agent following the previous agent of a chain. */
+    private static final class FollowerAgent extends CommonAgent implements IConcurrentAgent {
+
+        /** The followed agent, null for the leader. */
+        private final FollowerAgent followed;
+
+        /** The decided abscissa. */
+        private int targetX;
+
+        /**
+         * Creates an agent.
+         * 
+         * @param followed the followed agent, null for the leader
+         * @param x initial abscissa
+         */
+        private FollowerAgent(FollowerAgent followed, int x) {
+            this.followed = followed;
+            setLoc(x, 0);
+        }
+
+        @Override
+        public void behave() {
+            targetX = followed == null ? xLoc + 1 : followed.getXLoc() - 1;
+        }
+
+        @Override
+        public void evolve() {
+            xLoc = targetX;
+        }
+    }
+
+    /**
+     * Evolves a chain of agents.
+     * 
+     * @param parallelism number of threads of the evolution
+     * @return the final abscissas of the agents
+     * @throws EngineException in case of error
+     */
+    private static List<Integer> evolveChain(int parallelism) throws EngineException {
+
+        List<IEnvironmentObjet> objects = new ArrayList<>();
+        FollowerAgent previous = null;
+        for (int i = 0; i < AGENT_COUNT; i++) {
+            // Agents start scattered, then close up one step per tick
+            previous = new FollowerAgent(previous, -3 * i);
+            objects.add(previous);
+        }
+
+        ParallelEvolver evolver = new ParallelEvolver(parallelism);
+        try {
+            for (int tick = 0; tick < 20; tick++) {
+                evolver.evolve(objects);
+            }
+        } finally {
+            evolver.shutdown();
+        }
+
+        List<Integer> locations = new ArrayList<>();
+        for (IEnvironmentObjet object : objects) {
+            locations.add(object.getXLoc());
+        }
+        return locations;
+    }
+
+    /** Tests that the behaviors see the previous tick, whatever the threads. */
+    @Test
+    void testResultsDoNotDependOnThreads() throws EngineException {
+
+        List<Integer> sequential = evolveChain(1);
+
+        // Each agent moves next to the previous location of its followed agent
+        assertEquals(20, sequential.get(0).intValue());
+        assertEquals(18, sequential.get(1).intValue());
+        assertEquals(-3 * 25 + 2 * 20, sequential.get(25).intValue());
+
+        assertEquals(sequential, evolveChain(2));
+        assertEquals(sequential, evolveChain(8));
+    }
+
+}
@@ -0,0 +1,143 @@
+package io.github.purpleloop.gameengine.action.model.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+import io.github.purpleloop.gameengine.action.model.objects.GameObject;
+
+/** Tests on the spatial index, compared to exhaustive searches. */
+class SpatialIndexTest {
+
+    /** Size of the cells of the index. */
+    private static final int CELL_SIZE = 16;
+
+    /** An object with a collision rectangle. */
+    private static final class BoxObject extends GameObject {
+
+        /** Width of the box. */
+        private final int width;
+
+        /** Height of the box. */
+        private final int height;
+
+        /**
+         * Creates a box.
+         * 
+         * @param width width of the box
+         * @param height height of the box
+         */
+        private BoxObject(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public Rectangle getCollisionRectangle() {
+            return new Rectangle(xLoc, yLoc, width, height);
+        }
+    }
+
+    /** Tests the queries while objects move. */
+    @Test
+    void testQueriesMatchExhaustiveSearches() {
+
+        Random random = new Random(17);
+        SpatialIndex index = new SpatialIndex(CELL_SIZE);
+        List<BoxObject> objects = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            BoxObject object = new BoxObject(1 + random.nextInt(40), 1 + random.nextInt(40));
+            object.setLoc(random.nextInt(600) - 100, random.nextInt(600) - 100);
+            objects.add(object);
+            index.add(object);
+        }
+
+        for (int round = 0; round < 20; round++) {
+
+            for (BoxObject object : objects) {
+                if (random.nextInt(3) == 0) {
+                    object.setLoc(object.getXLoc() + random.nextInt(41) - 20,
+                            object.getYLoc() + random.nextInt(41) - 20);
+                }
+            }
+            index.updateAll();
+
+            // Rectangle queries
+            Rectangle area = new Rectangle(random.nextInt(500) - 50, random.nextInt(500) - 50,
+                    random.nextInt(120), random.nextInt(120));
+            Set<IEnvironmentObjet> expected = new HashSet<>();
+            for (BoxObject object : objects) {
+                if (object.getCollisionRectangle().intersects(area)) {
+                    expected.add(object);
+                }
+            }
+            List<IEnvironmentObjet> found = index.findInRectangle(area);
+            assertEquals(expected.size(), found.size());
+            assertEquals(expected, new HashSet<>(found));
+
+            // Nearest objects
+            int x = random.nextInt(500) - 50;
+            int y = random.nextInt(500) - 50;
+            List<BoxObject> sorted = new ArrayList<>(objects);
+            sorted.sort(Comparator.<BoxObject> comparingLong(o -> squaredDistance(o, x, y))
+                    .thenComparingInt(GameObject::getId));
+            assertEquals(sorted.subList(0, 5), index.findNearest(x, y, 5));
+
+            // Radius queries
+            int radius = random.nextInt(80);
+            Set<IEnvironmentObjet> inRadius = new HashSet<>();
+            for (BoxObject object : objects) {
+                if (squaredDistance(object, x, y) <= (long) radius * radius) {
+                    inRadius.add(object);
+                }
+            }
+            assertEquals(inRadius, new HashSet<>(index.findInRadius(x, y, radius)));
+
+            // Overlapping pairs, each given once
+            Set<String> pairs = new HashSet<>();
+            index.forEachOverlappingPair((first, second) -> assertTrue(
+                    pairs.add(Math.min(first.getId(), second.getId()) + "-"
+                            + Math.max(first.getId(), second.getId()))));
+            int expectedPairs = 0;
+            for (int i = 0; i < objects.size(); i++) {
+                for (int j = i + 1; j < objects.size(); j++) {
+                    if (objects.get(i).getCollisionRectangle()
+                            .intersects(objects.get(j).getCollisionRectangle())) {
+                        expectedPairs++;
+                    }
+                }
+            }
+            assertEquals(expectedPairs, pairs.size());
+        }
+
+        index.remove(objects.get(0));
+        assertFalse(index.contains(objects.get(0)));
+        assertEquals(objects.size() - 1, index.size());
+    }
+
+    /**
+     * @param object an object
+     * @param x abscissa of a point
+     * @param y ordinate of a point
+     * @return the squared distance from the point to the box of the object
+     */
+    private static long squaredDistance(BoxObject object, int x, int y) {
+        Rectangle box = object.getCollisionRectangle();
+        long dx = Math.max(0, Math.max(box.x - x, x - (box.x + box.width - 1)));
+        long dy = Math.max(0, Math.max(box.y - y, y - (box.y + box.height - 1)));
+        return dx * dx + dy * dy;
+    }
+
+}
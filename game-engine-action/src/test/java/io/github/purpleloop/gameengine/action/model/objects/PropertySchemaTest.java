@@ -0,0 +1,114 @@
+package io.github.purpleloop.gameengine.action.model.objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests on the typed properties of the game objects. */
+class PropertySchemaTest {
+
+    /** Schema of the test objects. */
+    private static final PropertySchema SCHEMA = new PropertySchema();
+
+    /** An integer property. */
+    private static final int HEALTH = SCHEMA.declareInt("health");
+
+    /** A floating point property. */
+    private static final int SPEED = SCHEMA.declareDouble("speed");
+
+    /** A boolean property. */
+    private static final int ANGRY = SCHEMA.declareBoolean("angry");
+
+    /** An object property. */
+    private static final int TARGET = SCHEMA.declareObject("target");
+
+    /** Schema of a subtype of the test objects. */
+    private static final PropertySchema SUB_SCHEMA = new PropertySchema(SCHEMA);
+
+    /** A long integer property of the subtype. */
+    private static final int SCORE = SUB_SCHEMA.declareLong("score");
+
+    /** An object with typed properties. */
+    private static final class Monster extends GameObject {
+
+        /**
+         * Creates a monster.
+         * 
+         * @param schema the property schema
+         */
+        private Monster(PropertySchema schema) {
+            super(schema);
+        }
+    }
+
+    /** Tests that typed and string keyed accessors see the same values. */
+    @Test
+    void testTypedAndNamedAccessors() {
+
+        Monster monster = new Monster(SCHEMA);
+
+        monster.setIntProperty(HEALTH, 42);
+        monster.setDoubleProperty(SPEED, -1.5);
+        monster.setBooleanProperty(ANGRY, true);
+        monster.setObjectProperty(TARGET, "player");
+
+        assertEquals(42, monster.getProperty("health"));
+        assertEquals(-1.5, monster.getProperty("speed"));
+        assertTrue(monster.getBooleanProperty("angry"));
+        assertEquals("player", monster.getProperty("target"));
+
+        monster.setProperty("health", 7);
+        monster.setProperty("angry", Boolean.FALSE);
+        monster.setProperty("undeclared", "value");
+        assertEquals(7, monster.getIntProperty(HEALTH));
+        assertFalse(monster.getBooleanProperty(ANGRY));
+        assertEquals(-1.5, monster.getDoubleProperty(SPEED));
+        assertEquals("value", monster.getProperty("undeclared"));
+        assertEquals(null, monster.getProperty("missing"));
+    }
+
+    /** Tests that null values reset the declared properties. */
+    @Test
+    void testNullResetsDeclaredProperties() {
+
+        Monster monster = new Monster(SCHEMA);
+        assertEquals(0, monster.getProperty("health"));
+        assertEquals(Boolean.FALSE, monster.getProperty("angry"));
+
+        monster.setIntProperty(HEALTH, 42);
+        monster.setDoubleProperty(SPEED, 2.5);
+        monster.setBooleanProperty(ANGRY, true);
+        monster.setObjectProperty(TARGET, "player");
+
+        monster.setProperty("health", null);
+        monster.setProperty("speed", null);
+        monster.setProperty("angry", null);
+        monster.setProperty("target", null);
+
+        assertEquals(0, monster.getIntProperty(HEALTH));
+        assertEquals(0.0, monster.getDoubleProperty(SPEED));
+        assertFalse(monster.getBooleanProperty(ANGRY));
+        assertEquals(null, monster.getProperty("target"));
+    }
+
+    /** Tests the extension of schemas and their freezing. */
+    @Test
+    void testSchemaExtensionAndFreeze() {
+
+        Monster monster = new Monster(SUB_SCHEMA);
+        monster.setIntProperty(HEALTH, 3);
+        monster.setLongProperty(SCORE, 1L << 40);
+
+        assertEquals(3, monster.getProperty("health"));
+        assertEquals(1L << 40, monster.getProperty("score"));
+        assertFalse(SCHEMA.isDeclared("score"));
+
+        assertThrows(IllegalStateException.class, () -> SUB_SCHEMA.declareInt("late"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PropertySchema(SCHEMA).declareInt("health"));
+    }
+
+}
@@ -0,0 +1,98 @@
+package io.github.purpleloop.gameengine.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.purpleloop.gameengine.action.model.environment.SpatialIndex;
+import io.github.purpleloop.gameengine.action.model.objects.GameObject;
+import io.github.purpleloop.gameengine.benchmarks.fixture.BenchmarkEnvironment;
+
+/**
+ * Benchmark of the search of overlapping objects, with the spatial index and
+ * with pairwise checks, for a constant density of objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    /** Average number of cells per object. */
+    private static final int CELLS_PER_OBJECT = 4;
+
+    /** Number of objects. */
+    @Param({ "1000", "10000" })
+    private int objectCount;
+
+    /** The objects. */
+    private List<GameObject> objects;
+
+    /** The spatial index of the objects. */
+    private SpatialIndex index;
+
+    /** Number of found pairs. */
+    private int pairCount;
+
+    /** Spreads the objects and indexes them. */
+    @Setup
+    public void setUp() {
+
+        int cellSize = BenchmarkEnvironment.CELL_SIZE;
+        int size = (int) Math.sqrt((double) objectCount * CELLS_PER_OBJECT) * cellSize;
+        Random random = new Random(1);
+
+        objects = new ArrayList<>();
+        index = new SpatialIndex(cellSize);
+        for (int i = 0; i < objectCount; i++) {
+            GameObject object = new GameObject();
+            object.setLoc(random.nextInt(size), random.nextInt(size));
+            objects.add(object);
+            index.add(object);
+        }
+    }
+
+    /** @return the number of overlapping pairs, found with the spatial index */
+    @Benchmark
+    public int indexedPairs() {
+        pairCount = 0;
+        index.updateAll();
+        index.forEachOverlappingPair((first, second) -> pairCount++);
+        return pairCount;
+    }
+
+    /** @return the number of overlapping pairs, found with pairwise checks */
+    @Benchmark
+    public int pairwiseChecks() {
+
+        int cellSize = BenchmarkEnvironment.CELL_SIZE;
+        int count = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject first = objects.get(i);
+            for (int j = i + 1; j < objects.size(); j++) {
+                GameObject second = objects.get(j);
+                if (Math.abs(first.getXLoc() - second.getXLoc()) < cellSize
+                        && Math.abs(first.getYLoc() - second.getYLoc()) < cellSize) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+}
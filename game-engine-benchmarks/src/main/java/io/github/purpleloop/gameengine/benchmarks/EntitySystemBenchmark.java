@@ -0,0 +1,138 @@
+package io.github.purpleloop.gameengine.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.commons.direction.Direction4;
+import io.github.purpleloop.gameengine.action.model.ecs.EntityStore;
+import io.github.purpleloop.gameengine.action.model.ecs.EntitySystem;
+import io.github.purpleloop.gameengine.action.model.ecs.MovementSystem;
+import io.github.purpleloop.gameengine.benchmarks.fixture.BenchmarkAgent;
+import io.github.purpleloop.gameengine.core.util.EngineException;
+
+/**
+ * Benchmark of the evolution of wandering agents, as objects and as entities
+ * updated by systems.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class EntitySystemBenchmark {
+
+    /** The directions followed by the agents. */
+    private static final Direction[] DIRECTIONS = Direction4.values();
+
+    /** Number of steps before turning, as for the benchmark agents. */
+    private static final int STEPS_PER_SIDE = 8;
+
+    /** Horizontal steps of the directions. */
+    private static final int[] X_STEPS = new int[DIRECTIONS.length];
+
+    /** Vertical steps of the directions. */
+    private static final int[] Y_STEPS = new int[DIRECTIONS.length];
+
+    static {
+        for (int index = 0; index < DIRECTIONS.length; index++) {
+            X_STEPS[index] = (int) DIRECTIONS[index].getXStep();
+            Y_STEPS[index] = (int) DIRECTIONS[index].getYStep();
+        }
+    }
+
+    /** Number of agents. */
+    @Param({ "10000", "100000", "1000000" })
+    private int objectCount;
+
+    /** The agents, as objects. */
+    private List<BenchmarkAgent> agents;
+
+    /** The agents, as entities. */
+    private EntityStore store;
+
+    /** The system turning the entities, as the benchmark agents behave. */
+    private EntitySystem wanderSystem;
+
+    /** The system moving the entities. */
+    private EntitySystem movementSystem;
+
+    /** Creates the agents and the entities. */
+    @Setup
+    public void setUp() {
+
+        agents = new ArrayList<>(objectCount);
+        store = new EntityStore(objectCount);
+        for (int i = 0; i < objectCount; i++) {
+            agents.add(new BenchmarkAgent(i, i));
+            int handle = store.create(i, i);
+            store.setOrientation(handle, DIRECTIONS[0]);
+            store.setVelocity(handle, X_STEPS[0], Y_STEPS[0]);
+        }
+
+        wanderSystem = this::wander;
+        movementSystem = new MovementSystem();
+    }
+
+    /**
+     * Turns the entities after each side. The steps are counted by the
+     * animation sequence, and the index of the direction is kept in the flags.
+     * 
+     * @param entities the entity store
+     */
+    private void wander(EntityStore entities) {
+
+        int size = entities.size();
+        int[] steps = entities.getAnimationSequences();
+        int[] directionIndexes = entities.getFlags();
+        byte[] orientations = entities.getOrientations();
+        int[] xVelocities = entities.getXVelocities();
+        int[] yVelocities = entities.getYVelocities();
+
+        for (int row = 0; row < size; row++) {
+            if (++steps[row] == STEPS_PER_SIDE) {
+                steps[row] = 0;
+                int index = (directionIndexes[row] + 1) % DIRECTIONS.length;
+                directionIndexes[row] = index;
+                orientations[row] = (byte) DIRECTIONS[index].ordinal();
+                xVelocities[row] = X_STEPS[index];
+                yVelocities[row] = Y_STEPS[index];
+            }
+        }
+    }
+
+    /** Makes the agent objects behave and evolve. */
+    @Benchmark
+    public void objects() {
+        for (BenchmarkAgent agent : agents) {
+            agent.behave();
+            agent.evolve();
+        }
+    }
+
+    /**
+     * Runs the systems on the entities.
+     * 
+     * @throws EngineException in case of error
+     */
+    @Benchmark
+    public void entities() throws EngineException {
+        wanderSystem.update(store);
+        movementSystem.update(store);
+    }
+
+}
@@ -0,0 +1,74 @@
+package io.github.purpleloop.gameengine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.purpleloop.gameengine.benchmarks.fixture.BenchmarkAgent;
+import io.github.purpleloop.gameengine.benchmarks.fixture.BenchmarkEnvironment;
+import io.github.purpleloop.gameengine.core.util.EngineException;
+
+/** Benchmark of a whole environment update, for a growing number of agents. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class EnvironmentUpdateBenchmark {
+
+    /** Size of the environment in cells. */
+    private static final int ENVIRONMENT_SIZE = 64;
+
+    /** Number of agents in the environment. */
+    @Param({ "1000", "10000", "100000" })
+    private int objectCount;
+
+    /** The updated environment. */
+    private BenchmarkEnvironment environment;
+
+    /**
+     * Prepares the environment and spreads the agents on the free cells.
+     * 
+     * @throws EngineException in case of problems during environment creation
+     */
+    @Setup
+    public void setUp() throws EngineException {
+
+        environment = BenchmarkEnvironment.create(ENVIRONMENT_SIZE, objectCount);
+
+        int cellSize = BenchmarkEnvironment.CELL_SIZE;
+        int added = 0;
+        while (added < objectCount) {
+            for (int cx = 0; cx < ENVIRONMENT_SIZE && added < objectCount; cx++) {
+                for (int cy = 0; cy < ENVIRONMENT_SIZE && added < objectCount; cy++) {
+                    if (environment.isObjectAllowedAtCell(null, cx, cy)) {
+                        environment.add(new BenchmarkAgent(cx * cellSize, cy * cellSize));
+                        added++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the environment.
+     * 
+     * @throws EngineException in case of error
+     */
+    @Benchmark
+    public void update() throws EngineException {
+        environment.update();
+    }
+
+}
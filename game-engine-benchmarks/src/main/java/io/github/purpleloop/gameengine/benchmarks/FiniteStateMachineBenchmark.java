@@ -0,0 +1,167 @@
+package io.github.purpleloop.gameengine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.purpleloop.gameengine.core.fsm.FSMNode;
+import io.github.purpleloop.gameengine.core.fsm.FiniteStateMachine;
+import io.github.purpleloop.gameengine.core.fsm.MachineFact;
+import io.github.purpleloop.gameengine.core.fsm.MachineState;
+import io.github.purpleloop.gameengine.core.fsm.StateMachineBatch;
+import io.github.purpleloop.gameengine.core.fsm.StateMachineInstance;
+import io.github.purpleloop.gameengine.core.fsm.TransitionList;
+
+/**
+ * Benchmark of the finite state machine processing, on a small creature
+ * behavior model.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class FiniteStateMachineBenchmark {
+
+    /** States of the creature. */
+    enum CreatureState implements MachineState {
+
+        /** The creature is idle. */
+        IDLE,
+
+        /** The creature wanders. */
+        WANDER,
+
+        /** The creature chases a target. */
+        CHASE,
+
+        /** The creature flees. */
+        FLEE;
+    }
+
+    /** Facts perceived by the creature. */
+    enum CreatureFact implements MachineFact {
+
+        /** A target is seen. */
+        SEE_TARGET,
+
+        /** The target is lost. */
+        LOSE_TARGET,
+
+        /** The creature is hurt. */
+        HURT,
+
+        /** The creature is healed. */
+        HEALED;
+    }
+
+    /** Facts leading through all states, back to the initial one. */
+    private static final CreatureFact[] CYCLE = { CreatureFact.SEE_TARGET, CreatureFact.HURT,
+            CreatureFact.HEALED, CreatureFact.LOSE_TARGET };
+
+    /** Number of instances stepped by the batch. */
+    private static final int BATCH_SIZE = 10000;
+
+    /** The state machine. */
+    private FiniteStateMachine fsm;
+
+    /** An instance of the compiled state machine. */
+    private StateMachineInstance instance;
+
+    /** Masks of the facts of the cycle, for the compiled state machine. */
+    private long[] cycleMasks;
+
+    /** Index of the next fact in the cycle. */
+    private int cycleIndex;
+
+    /** The batch of compiled state machines. */
+    private StateMachineBatch batch;
+
+    /** States of the instances of the batch. */
+    private int[] batchStates;
+
+    /** Facts of the instances of the batch. */
+    private long[] batchFacts;
+
+    /** Transitions of the batch. */
+    private TransitionList transitions;
+
+    /** Builds the state machine. */
+    @Setup
+    public void setUp() {
+
+        fsm = new FiniteStateMachine();
+        for (CreatureState state : CreatureState.values()) {
+            fsm.newState(state);
+        }
+
+        fsm.newTransition(CreatureState.IDLE, CreatureState.CHASE, CreatureFact.SEE_TARGET);
+        fsm.newTransition(CreatureState.IDLE, CreatureState.FLEE, CreatureFact.HURT);
+        fsm.newTransition(CreatureState.CHASE, CreatureState.FLEE, CreatureFact.HURT);
+        fsm.newTransition(CreatureState.CHASE, CreatureState.WANDER, CreatureFact.LOSE_TARGET);
+        fsm.newTransition(CreatureState.FLEE, CreatureState.WANDER, CreatureFact.HEALED);
+        fsm.newTransition(CreatureState.WANDER, CreatureState.CHASE, CreatureFact.SEE_TARGET);
+        fsm.newTransition(CreatureState.WANDER, CreatureState.IDLE, CreatureFact.LOSE_TARGET);
+
+        fsm.setInitial(CreatureState.IDLE);
+
+        instance = fsm.compile().newInstance();
+        cycleMasks = new long[CYCLE.length];
+        for (int index = 0; index < CYCLE.length; index++) {
+            cycleMasks[index] = instance.getMachine().factMask(CYCLE[index]);
+        }
+
+        batch = new StateMachineBatch(instance.getMachine());
+        batchStates = new int[BATCH_SIZE];
+        batchFacts = new long[BATCH_SIZE];
+        transitions = new TransitionList();
+    }
+
+    /** @return the node after a transition */
+    @Benchmark
+    public FSMNode processTransition() {
+        fsm.addFact(CYCLE[cycleIndex]);
+        cycleIndex = (cycleIndex + 1) % CYCLE.length;
+        fsm.process();
+        return fsm.getCurrentNode();
+    }
+
+    /** @return the state index after a transition of the compiled machine */
+    @Benchmark
+    public int processCompiledTransition() {
+        instance.addFacts(cycleMasks[cycleIndex]);
+        cycleIndex = (cycleIndex + 1) % CYCLE.length;
+        instance.process();
+        return instance.getStateIndex();
+    }
+
+    /** @return the number of transitions of a batch of compiled machines */
+    @Benchmark
+    public int stepBatch() {
+        long mask = cycleMasks[cycleIndex];
+        cycleIndex = (cycleIndex + 1) % CYCLE.length;
+        for (int index = 0; index < BATCH_SIZE; index++) {
+            batchFacts[index] |= mask;
+        }
+        transitions.clear();
+        return batch.step(batchStates, batchFacts, BATCH_SIZE, transitions);
+    }
+
+    /** @return the node, unchanged as no fact is present */
+    @Benchmark
+    public FSMNode processWithoutFact() {
+        fsm.process();
+        return fsm.getCurrentNode();
+    }
+
+}
@@ -0,0 +1,100 @@
+package io.github.purpleloop.gameengine.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.purpleloop.gameengine.core.util.Location;
+
+/**
+ * Benchmark of the shared locations lookup, from a single thread and under
+ * contention.
+ * 
+ * The locations of the grid are created beforehand, so that only lookups of
+ * existing locations are measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class LocationBenchmark {
+
+    /** Size of the grid of looked up locations. */
+    private static final int GRID_SIZE = 256;
+
+    /** A cursor walking the grid, one per thread. */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        /** Current abscissa. */
+        private int x;
+
+        /** Current ordinate. */
+        private int y;
+
+        /** Starts the cursor at a random location of the grid. */
+        @Setup
+        public void setUp() {
+            x = ThreadLocalRandom.current().nextInt(GRID_SIZE);
+            y = ThreadLocalRandom.current().nextInt(GRID_SIZE);
+        }
+
+        /** Moves the cursor to the next location of the grid. */
+        private void advance() {
+            if (++x == GRID_SIZE) {
+                x = 0;
+                if (++y == GRID_SIZE) {
+                    y = 0;
+                }
+            }
+        }
+    }
+
+    /** Creates all locations of the grid. */
+    @Setup
+    public void setUp() {
+        for (int x = 0; x < GRID_SIZE; x++) {
+            for (int y = 0; y < GRID_SIZE; y++) {
+                Location.getLocation(x, y);
+            }
+        }
+    }
+
+    /**
+     * @param cursor the cursor of the thread
+     * @return the location under the cursor
+     */
+    @Benchmark
+    @Threads(1)
+    public Location getLocation(Cursor cursor) {
+        Location location = Location.getLocation(cursor.x, cursor.y);
+        cursor.advance();
+        return location;
+    }
+
+    /**
+     * @param cursor the cursor of the thread
+     * @return the location under the cursor
+     */
+    @Benchmark
+    @Threads(4)
+    public Location getLocationContended(Cursor cursor) {
+        Location location = Location.getLocation(cursor.x, cursor.y);
+        cursor.advance();
+        return location;
+    }
+
+}
@@ -0,0 +1,90 @@
+package io.github.purpleloop.gameengine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.purpleloop.gameengine.network.message.AbstractNetMessageFactory;
+import io.github.purpleloop.gameengine.network.message.GameEngineNetMessage;
+import io.github.purpleloop.gameengine.network.message.INetMessage;
+
+/** Benchmark of the decoding of the messages received from the network. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class NetMessageDecodeBenchmark {
+
+    /** A game message. */
+    static class BenchmarkNetMessage extends GameEngineNetMessage {
+
+        /**
+         * Creates a game message.
+         * 
+         * @param plainMessage the message string
+         */
+        BenchmarkNetMessage(String plainMessage) {
+            super(plainMessage);
+        }
+    }
+
+    /** The message factory. */
+    private AbstractNetMessageFactory factory;
+
+    /** A received dummy message. */
+    private String dummyString;
+
+    /** A received goodbye message. */
+    private String goodbyeString;
+
+    /** A received game message. */
+    private String gameString;
+
+    /** Prepares the factory and the received strings. */
+    @Setup
+    public void setUp() {
+
+        factory = new AbstractNetMessageFactory() {
+
+            @Override
+            protected INetMessage decodeGameMessage(String sourceString) {
+                return new BenchmarkNetMessage(sourceString);
+            }
+        };
+
+        // Received strings are distinct instances from the interned constants
+        dummyString = new StringBuilder("DUMMY").toString();
+        goodbyeString = new StringBuilder("GOODBYE").toString();
+        gameString = new StringBuilder("MOVE 12 34 NORTH").toString();
+    }
+
+    /** @return the decoded dummy message */
+    @Benchmark
+    public INetMessage decodeDummy() {
+        return factory.decodeMessage(dummyString);
+    }
+
+    /** @return the decoded goodbye message */
+    @Benchmark
+    public INetMessage decodeGoodbye() {
+        return factory.decodeMessage(goodbyeString);
+    }
+
+    /** @return the decoded game message */
+    @Benchmark
+    public INetMessage decodeGameMessage() {
+        return factory.decodeMessage(gameString);
+    }
+
+}
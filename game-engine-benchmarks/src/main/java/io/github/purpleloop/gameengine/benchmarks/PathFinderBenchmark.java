@@ -0,0 +1,72 @@
+package io.github.purpleloop.gameengine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.gameengine.action.model.algorithms.PathFinder;
+import io.github.purpleloop.gameengine.benchmarks.fixture.BenchmarkAgent;
+import io.github.purpleloop.gameengine.benchmarks.fixture.BenchmarkEnvironment;
+import io.github.purpleloop.gameengine.core.util.EngineException;
+import io.github.purpleloop.gameengine.core.util.Location;
+
+/**
+ * Benchmark of a complete path search : the propagation of the target value
+ * from the far corner of a winding environment, then the choice of a direction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class PathFinderBenchmark {
+
+    /** Size of the environment in cells. */
+    @Param({ "16", "64", "256", "512" })
+    private int size;
+
+    /** The path finder. */
+    private PathFinder pathFinder;
+
+    /** The target location. */
+    private Location target;
+
+    /**
+     * Prepares the environment and the path finder.
+     * 
+     * @throws EngineException in case of problems during environment creation
+     */
+    @Setup
+    public void setUp() throws EngineException {
+
+        BenchmarkEnvironment environment = BenchmarkEnvironment.create(size, 1);
+
+        // The object starts in the top left corner, the target is the opposite one
+        BenchmarkAgent agent = new BenchmarkAgent(BenchmarkEnvironment.CELL_SIZE,
+                BenchmarkEnvironment.CELL_SIZE);
+        pathFinder = new PathFinder(environment, agent);
+        target = Location.getLocation(size - 2, size - 2);
+    }
+
+    /** @return the direction to take towards the target */
+    @Benchmark
+    public Direction propagate() {
+        pathFinder.reset();
+        pathFinder.setTarget(target);
+        pathFinder.propagate();
+        return pathFinder.findBetterDirection();
+    }
+
+}
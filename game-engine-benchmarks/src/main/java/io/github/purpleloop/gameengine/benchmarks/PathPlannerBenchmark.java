@@ -0,0 +1,86 @@
+package io.github.purpleloop.gameengine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.purpleloop.gameengine.action.model.algorithms.AStarPathPlanner;
+import io.github.purpleloop.gameengine.action.model.algorithms.CellPassability;
+import io.github.purpleloop.gameengine.action.model.algorithms.ClusterGraph;
+import io.github.purpleloop.gameengine.action.model.algorithms.HierarchicalPathPlanner;
+import io.github.purpleloop.gameengine.action.model.algorithms.JumpPointPathPlanner;
+import io.github.purpleloop.gameengine.action.model.algorithms.PathBuffer;
+import io.github.purpleloop.gameengine.action.model.algorithms.PathPlanner;
+import io.github.purpleloop.gameengine.benchmarks.fixture.BenchmarkAgent;
+import io.github.purpleloop.gameengine.benchmarks.fixture.BenchmarkEnvironment;
+import io.github.purpleloop.gameengine.core.util.EngineException;
+
+/**
+ * Benchmark of a point to point path search across a winding environment, for
+ * each path planner.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class PathPlannerBenchmark {
+
+    /** Size of the environment in cells. */
+    @Param({ "64", "256", "512" })
+    private int size;
+
+    /** The path planner, "astar", "jps" or "hpa" (graph built in the setup). */
+    @Param({ "astar", "jps", "hpa" })
+    private String planner;
+
+    /** The path planner. */
+    private PathPlanner pathPlanner;
+
+    /** The passability of the cells. */
+    private CellPassability passability;
+
+    /** The reused path. */
+    private PathBuffer path;
+
+    /**
+     * Prepares the environment and the path planner.
+     * 
+     * @throws EngineException in case of problems during environment creation
+     */
+    @Setup
+    public void setUp() throws EngineException {
+
+        BenchmarkEnvironment environment = BenchmarkEnvironment.create(size, 1);
+        passability = environment.getCellPassability(new BenchmarkAgent(0, 0));
+
+        if ("jps".equals(planner)) {
+            pathPlanner = new JumpPointPathPlanner(size, size);
+        } else if ("hpa".equals(planner)) {
+            pathPlanner = new HierarchicalPathPlanner(ClusterGraph.build(size, size,
+                    ClusterGraph.DEFAULT_CLUSTER_SIZE, passability));
+        } else {
+            pathPlanner = new AStarPathPlanner(size, size);
+        }
+        path = new PathBuffer();
+    }
+
+    /** @return the length of the path between opposite corners */
+    @Benchmark
+    public int findPath() {
+        pathPlanner.findPath(1, 1, size - 2, size - 2, passability, path);
+        return path.getLength();
+    }
+
+}
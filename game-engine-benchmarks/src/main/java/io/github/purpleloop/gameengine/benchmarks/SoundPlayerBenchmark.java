@@ -0,0 +1,91 @@
+package io.github.purpleloop.gameengine.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.purpleloop.gameengine.sound.AudioChunk;
+import io.github.purpleloop.gameengine.sound.SoundPlayer;
+
+/**
+ * Benchmark of the sound cache hits.
+ * 
+ * Only the cache lookup is measured, as no audio line is expected to be
+ * available where benchmarks run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class SoundPlayerBenchmark {
+
+    /** Sample rate of the generated sound. */
+    private static final float SAMPLE_RATE = 22050f;
+
+    /** Number of frames of the generated sound (half a second). */
+    private static final int FRAME_COUNT = 11025;
+
+    /** The generated sound file. */
+    private File soundFile;
+
+    /** Name of the generated sound file. */
+    private String soundFileName;
+
+    /** The sound player. */
+    private SoundPlayer soundPlayer;
+
+    /**
+     * Generates a short WAV file and loads it in the cache of the player.
+     * 
+     * @throws IOException in case of problem while writing the sound file
+     */
+    @Setup
+    public void setUp() throws IOException {
+
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+        byte[] samples = new byte[FRAME_COUNT * format.getFrameSize()];
+
+        soundFile = File.createTempFile("benchmark", ".wav");
+        try (AudioInputStream audioInputStream = new AudioInputStream(
+                new ByteArrayInputStream(samples), format, FRAME_COUNT)) {
+            AudioSystem.write(audioInputStream, AudioFileFormat.Type.WAVE, soundFile);
+        }
+
+        soundFileName = soundFile.getAbsolutePath();
+        soundPlayer = new SoundPlayer();
+        soundPlayer.getCachedAudioChunk(soundFileName);
+    }
+
+    /** Deletes the generated sound file. */
+    @TearDown
+    public void tearDown() {
+        soundFile.delete();
+    }
+
+    /** @return the cached audio chunk */
+    @Benchmark
+    public AudioChunk cacheHit() {
+        return soundPlayer.getCachedAudioChunk(soundFileName);
+    }
+
+}
@@ -0,0 +1,52 @@
+package io.github.purpleloop.gameengine.benchmarks.fixture;
+
+import io.github.purpleloop.commons.direction.Direction;
+import io.github.purpleloop.commons.direction.Direction4;
+import io.github.purpleloop.gameengine.action.model.objects.CommonAgent;
+
+/**
+ * An agent of the benchmark environments, wandering in a small square around
+ * its start location. It has a bit of behavior and evolution, without
+ * dominating the cost of the environment update.
+ */
+public class BenchmarkAgent extends CommonAgent {
+
+    /** The directions followed by the agent. */
+    private static final Direction[] DIRECTIONS = Direction4.values();
+
+    /** Number of steps before turning. */
+    private static final int STEPS_PER_SIDE = 8;
+
+    /** Index of the current direction. */
+    private int directionIndex;
+
+    /** Steps done on the current side. */
+    private int steps;
+
+    /**
+     * Creates a benchmark agent.
+     * 
+     * @param x initial abscissa
+     * @param y initial ordinate
+     */
+    public BenchmarkAgent(int x, int y) {
+        setLoc(x, y);
+        setOrientation(DIRECTIONS[0]);
+    }
+
+    @Override
+    public void behave() {
+        if (++steps == STEPS_PER_SIDE) {
+            steps = 0;
+            directionIndex = (directionIndex + 1) % DIRECTIONS.length;
+            setOrientation(DIRECTIONS[directionIndex]);
+        }
+    }
+
+    @Override
+    public void evolve() {
+        xLoc += (int) orientation.getXStep();
+        yLoc += (int) orientation.getYStep();
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.github.purpleloop.gameengine.benchmarks.fixture;
+
+import io.github.purpleloop.gameengine.action.model.environment.ICellContents;
+
+/** Cell contents of the benchmark environments. */
+public enum BenchmarkCell implements ICellContents {
+
+    /** An empty cell. */
+    EMPTY('.'),
+
+    /** A wall. */
+    WALL('#');
+
+    /** The level character. */
+    private char levelChar;
+
+    /**
+     * Creates a cell contents.
+     * 
+     * @param levelChar the level character
+     */
+    BenchmarkCell(char levelChar) {
+        this.levelChar = levelChar;
+    }
+
+    @Override
+    public char getLevelChar() {
+        return levelChar;
+    }
+
+}
@@ -0,0 +1,94 @@
+package io.github.purpleloop.gameengine.benchmarks.fixture;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.github.purpleloop.gameengine.action.model.environment.AbstractCellObjectEnvironment;
+import io.github.purpleloop.gameengine.action.model.interfaces.IEnvironmentObjet;
+import io.github.purpleloop.gameengine.action.model.interfaces.ISession;
+import io.github.purpleloop.gameengine.action.model.level.IGameLevel;
+import io.github.purpleloop.gameengine.core.util.EngineException;
+
+/**
+ * A square cell environment for benchmarks.
+ * 
+ * The environment is surrounded by walls. Inside, every fourth column is a
+ * wall with a gap alternatively at the top and at the bottom, so that paths
+ * across the environment are winding.
+ */
+public class BenchmarkEnvironment extends AbstractCellObjectEnvironment {
+
+    /** Cell size in base units. */
+    public static final int CELL_SIZE = 16;
+
+    /** Period of the inner wall columns. */
+    private static final int WALL_PERIOD = 4;
+
+    /**
+     * Creates a benchmark environment.
+     * 
+     * @param session the benchmark session
+     * @param level the benchmark level
+     * @throws EngineException in case of problems during environment creation
+     */
+    public BenchmarkEnvironment(ISession session, IGameLevel level) throws EngineException {
+        super(session, level);
+    }
+
+    /**
+     * Creates an environment and its context for a given size.
+     * 
+     * @param size size of the environment in cells
+     * @param maxAgents maximal number of agents
+     * @return the environment
+     * @throws EngineException in case of problems during environment creation
+     */
+    public static BenchmarkEnvironment create(int size, int maxAgents) throws EngineException {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("environment.cellSize", Integer.toString(CELL_SIZE));
+        properties.put("environment.maxAgents", Integer.toString(maxAgents));
+
+        BenchmarkSession session = new BenchmarkSession(new BenchmarkGameEngine(properties));
+        return new BenchmarkEnvironment(session, new BenchmarkLevel(size));
+    }
+
+    @Override
+    protected void initFromGameLevel() {
+
+        int size = ((BenchmarkLevel) getLevel()).getSize();
+        initStorage(size, size);
+
+        for (int cx = 0; cx < size; cx++) {
+            for (int cy = 0; cy < size; cy++) {
+
+                boolean border = cx == 0 || cy == 0 || cx == size - 1 || cy == size - 1;
+                boolean innerWall = cx % WALL_PERIOD == 0
+                        && cy != ((cx / WALL_PERIOD) % 2 == 0 ? 1 : size - 2);
+
+                setCellContents(cx, cy,
+                        border || innerWall ? BenchmarkCell.WALL : BenchmarkCell.EMPTY);
+            }
+        }
+    }
+
+    /**
+     * Adds an object to the environment immediately.
+     * 
+     * @param object the object to add
+     * @throws EngineException in case of error
+     */
+    public void add(IEnvironmentObjet object) throws EngineException {
+        addObject(object);
+    }
+
+    @Override
+    public boolean isObjectAllowedAtCell(IEnvironmentObjet object, int cx, int cy) {
+        return isValidCell(cx, cy) && getCellContents(cx, cy) == BenchmarkCell.EMPTY;
+    }
+
+    @Override
+    public void reachingCell(IEnvironmentObjet object, int cx, int cy) {
+    }
+
+}
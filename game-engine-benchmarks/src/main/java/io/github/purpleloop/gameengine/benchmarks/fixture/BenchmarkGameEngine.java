@@ -0,0 +1,129 @@
+package io.github.purpleloop.gameengine.benchmarks.fixture;
+
+import java.awt.Image;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import io.github.purpleloop.gameengine.action.model.interfaces.IController;
+import io.github.purpleloop.gameengine.action.model.interfaces.IDialogEngine;
+import io.github.purpleloop.gameengine.action.model.interfaces.IGameEngine;
+import io.github.purpleloop.gameengine.action.model.interfaces.IGameView;
+import io.github.purpleloop.gameengine.action.model.interfaces.ISession;
+import io.github.purpleloop.gameengine.action.model.level.ILevelManager;
+import io.github.purpleloop.gameengine.core.config.GameConfig;
+import io.github.purpleloop.gameengine.core.config.IDataFileProvider;
+import io.github.purpleloop.gameengine.core.sound.interfaces.MutableSoundEngine;
+import io.github.purpleloop.gameengine.core.util.EngineException;
+
+/**
+ * A headless game engine for benchmarks, only providing a configuration.
+ * 
+ * The configuration is parsed from an in-memory XML document holding the given
+ * properties, so that no file is needed.
+ */
+public class BenchmarkGameEngine implements IGameEngine {
+
+    /** The game configuration. */
+    private GameConfig config;
+
+    /**
+     * Creates a benchmark game engine.
+     * 
+     * @param properties configuration properties
+     * @throws EngineException in case of problem while building the
+     *             configuration
+     */
+    public BenchmarkGameEngine(Map<String, String> properties) throws EngineException {
+
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><config><properties>");
+        for (Entry<String, String> property : properties.entrySet()) {
+            xml.append("<property name=\"").append(property.getKey()).append("\" value=\"")
+                    .append(property.getValue()).append("\"/>");
+        }
+        xml.append("</properties></config>");
+
+        byte[] content = xml.toString().getBytes(StandardCharsets.UTF_8);
+
+        IDataFileProvider dataFileProvider = new IDataFileProvider() {
+
+            @Override
+            public InputStream getInputStream(String fileName) {
+                return new ByteArrayInputStream(content);
+            }
+
+            @Override
+            public Image getImage(String imageName) throws EngineException {
+                throw new EngineException("No image in benchmarks.");
+            }
+        };
+
+        this.config = GameConfig.parse(dataFileProvider, GameConfig.DEFAULT_CONFIG_FILE_NAME);
+    }
+
+    @Override
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public void startGame() {
+    }
+
+    @Override
+    public void stopGame() {
+    }
+
+    @Override
+    public boolean hasRunningGame() {
+        return false;
+    }
+
+    @Override
+    public boolean pauseGame() {
+        return false;
+    }
+
+    @Override
+    public void playSound(String soundName) {
+    }
+
+    @Override
+    public MutableSoundEngine getSoundEngine() {
+        return null;
+    }
+
+    @Override
+    public void dumpObjects() {
+    }
+
+    @Override
+    public IController getController() {
+        return null;
+    }
+
+    @Override
+    public Optional<ISession> getSession() {
+        return Optional.empty();
+    }
+
+    @Override
+    public IGameView getView() {
+        return null;
+    }
+
+    @Override
+    public ILevelManager getLevelManager() {
+        return null;
+    }
+
+    @Override
+    public Optional<IDialogEngine> getDialogEngine() {
+        return Optional.empty();
+    }
+
+}
@@ -0,0 +1,39 @@
+package io.github.purpleloop.gameengine.benchmarks.fixture;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.github.purpleloop.gameengine.action.model.level.IGameLevel;
+import io.github.purpleloop.gameengine.action.model.level.LevelLink;
+
+/** A square level for benchmarks, given by its size in cells. */
+public class BenchmarkLevel implements IGameLevel {
+
+    /** Size of the level in cells. */
+    private int size;
+
+    /**
+     * Creates a benchmark level.
+     * 
+     * @param size size of the level in cells
+     */
+    public BenchmarkLevel(int size) {
+        this.size = size;
+    }
+
+    /** @return the size of the level in cells */
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getId() {
+        return "benchmark-" + size;
+    }
+
+    @Override
+    public List<LevelLink> getLinks() {
+        return Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,95 @@
+package io.github.purpleloop.gameengine.benchmarks.fixture;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.github.purpleloop.gameengine.action.model.events.IGameEvent;
+import io.github.purpleloop.gameengine.action.model.interfaces.IGameEngine;
+import io.github.purpleloop.gameengine.action.model.interfaces.IPlayer;
+import io.github.purpleloop.gameengine.action.model.interfaces.ISession;
+import io.github.purpleloop.gameengine.action.model.interfaces.ISessionEnvironment;
+import io.github.purpleloop.gameengine.action.model.metrics.IMetricsRegistry;
+import io.github.purpleloop.gameengine.action.model.metrics.TickMetricsRegistry;
+
+/**
+ * A minimal session for benchmarks. It only serves as a context for an
+ * environment that is updated directly by the benchmarks.
+ */
+public class BenchmarkSession implements ISession {
+
+    /** The benchmark level id. */
+    private static final String LEVEL_ID = "benchmark";
+
+    /** The game engine. */
+    private IGameEngine gameEngine;
+
+    /** The metrics registry, disabled to measure the engine alone. */
+    private IMetricsRegistry metricsRegistry;
+
+    /**
+     * Creates a benchmark session.
+     * 
+     * @param gameEngine the game engine
+     */
+    public BenchmarkSession(IGameEngine gameEngine) {
+        this.gameEngine = gameEngine;
+        this.metricsRegistry = new TickMetricsRegistry(false);
+    }
+
+    @Override
+    public void update() {
+    }
+
+    @Override
+    public boolean isEnded() {
+        return false;
+    }
+
+    @Override
+    public boolean isIntermission() {
+        return false;
+    }
+
+    @Override
+    public ISessionEnvironment getCurrentEnvironment() {
+        return null;
+    }
+
+    @Override
+    public IGameEngine getGameEngine() {
+        return gameEngine;
+    }
+
+    @Override
+    public void environmentChanged(IGameEvent event) {
+    }
+
+    @Override
+    public void dialogChanged(int dialogEvent) {
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+    @Override
+    public List<IPlayer> getPlayers() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public String getCurrentLevelId() {
+        return LEVEL_ID;
+    }
+
+    @Override
+    public String getTargetLevelId() {
+        return LEVEL_ID;
+    }
+
+    @Override
+    public IMetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+}
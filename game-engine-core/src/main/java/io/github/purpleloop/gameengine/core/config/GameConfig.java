@@ -343,6 +343,48 @@ public class GameConfig implements ISoundFileResolver {
         return Integer.parseInt(strValue);
     }
 
+    /**
+     * Get an optional integer property.
+     * 
+     * @param propertyName the name of the property
+     * @param defaultValue the value to use if the property is not defined
+     * @return the integer property value, or the default value
+     * @throws EngineException in case of error on the property
+     */
+    public int getIntProperty(String propertyName, int defaultValue) throws EngineException {
+
+        String strValue = getProperty(propertyName);
+
+        if (strValue == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(strValue);
+        } catch (NumberFormatException e) {
+            throw new EngineException(
+                    "The value of the property " + propertyName + " must be an integer.", e);
+        }
+    }
+
+    /**
+     * Get an optional boolean property.
+     * 
+     * @param propertyName the name of the property
+     * @param defaultValue the value to use if the property is not defined
+     * @return the boolean property value, or the default value
+     */
+    public boolean getBooleanProperty(String propertyName, boolean defaultValue) {
+
+        String strValue = getProperty(propertyName);
+
+        if (strValue == null) {
+            return defaultValue;
+        }
+
+        return Boolean.parseBoolean(strValue);
+    }
+
     /**
      * Get an property value.
      * 
@@ -0,0 +1,211 @@
+package io.github.purpleloop.gameengine.core.fsm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable, compiled definition of a deterministic finite state machine,
+ * shared by any number of machine instances.
+ *
+ * <p>
+ * States and facts are mapped to dense indexes, in the order of their
+ * declaration in the {@link FiniteStateMachine} they are compiled from. The
+ * transitions are stored in a flat table indexed by state and fact, and each
+ * state has the mask of the facts triggering one of its transitions. An
+ * instance then only holds the index of its state and the mask of its current
+ * facts, and processing the facts is a few array lookups. See
+ * {@link StateMachineInstance}.
+ * </p>
+ *
+ * <p>
+ * When several current facts trigger a transition of the state, they are all
+ * consumed and the transition of the state declared last is followed, as done
+ * by {@link FiniteStateMachine#process()}.
+ * </p>
+ */
+public final class CompiledStateMachine {
+
+    /** Maximal number of facts of a compiled machine. */
+    public static final int MAX_FACTS = Long.SIZE;
+
+    /** Marks a missing transition in the table. */
+    static final int NO_TRANSITION = -1;
+
+    /** The states, by index. */
+    private final MachineState[] states;
+
+    /** The facts, by index. */
+    private final MachineFact[] facts;
+
+    /** Indexes of the states. */
+    private final Map<MachineState, Integer> stateIndexes;
+
+    /** Indexes of the facts. */
+    private final Map<MachineFact, Integer> factIndexes;
+
+    /** Index of the initial state. */
+    private final int initialState;
+
+    /** Target states of the transitions, by state then by fact. */
+    private final int[] targets;
+
+    /** Ranks of the declarations of the transitions, by state then by fact. */
+    private final int[] ranks;
+
+    /** Masks of the facts triggering a transition, by state. */
+    private final long[] triggerMasks;
+
+    /**
+     * Creates a compiled machine.
+     *
+     * @param states the states, by index
+     * @param facts the facts, by index
+     * @param targets target states of the transitions by state then by fact,
+     *            negative for missing transitions
+     * @param ranks ranks of the declarations of the transitions of each state,
+     *            by state then by fact
+     * @param initialState index of the initial state
+     */
+    CompiledStateMachine(MachineState[] states, MachineFact[] facts, int[] targets, int[] ranks,
+            int initialState) {
+
+        if (facts.length > MAX_FACTS) {
+            throw new IllegalStateException("A compiled state machine is limited to "
+                    + MAX_FACTS + " facts, got " + facts.length);
+        }
+
+        this.states = states;
+        this.facts = facts;
+        this.targets = targets;
+        this.ranks = ranks;
+        this.initialState = initialState;
+
+        this.stateIndexes = new HashMap<>();
+        for (int state = 0; state < states.length; state++) {
+            stateIndexes.put(states[state], state);
+        }
+        this.factIndexes = new HashMap<>();
+        for (int fact = 0; fact < facts.length; fact++) {
+            factIndexes.put(facts[fact], fact);
+        }
+
+        this.triggerMasks = new long[states.length];
+        for (int state = 0; state < states.length; state++) {
+            for (int fact = 0; fact < facts.length; fact++) {
+                if (targets[state * facts.length + fact] != NO_TRANSITION) {
+                    triggerMasks[state] |= 1L << fact;
+                }
+            }
+        }
+    }
+
+    /** @return a new instance of the machine, in the initial state */
+    public StateMachineInstance newInstance() {
+        return new StateMachineInstance(this);
+    }
+
+    /**
+     * Gives the state following a state, according to the current facts.
+     *
+     * @param state index of the state
+     * @param currentFacts mask of the current facts
+     * @return index of the next state, the same state if no transition is
+     *         triggered
+     */
+    public int nextState(int state, long currentFacts) {
+
+        long triggered = currentFacts & triggerMasks[state];
+        if (triggered == 0) {
+            return state;
+        }
+
+        int row = state * facts.length;
+        int fact = Long.numberOfTrailingZeros(triggered);
+        triggered &= triggered - 1;
+
+        // Several facts trigger a transition, the last declared one is followed
+        while (triggered != 0) {
+            int otherFact = Long.numberOfTrailingZeros(triggered);
+            if (ranks[row + otherFact] > ranks[row + fact]) {
+                fact = otherFact;
+            }
+            triggered &= triggered - 1;
+        }
+        return targets[row + fact];
+    }
+
+    /**
+     * @param state index of a state
+     * @return the mask of the facts triggering a transition from this state,
+     *         consumed when processed
+     */
+    public long getTriggerMask(int state) {
+        return triggerMasks[state];
+    }
+
+    /** @return the number of states */
+    public int getStateCount() {
+        return states.length;
+    }
+
+    /** @return the number of facts */
+    public int getFactCount() {
+        return facts.length;
+    }
+
+    /** @return index of the initial state */
+    public int getInitialState() {
+        return initialState;
+    }
+
+    /**
+     * @param state index of a state
+     * @return the state
+     */
+    public MachineState getState(int state) {
+        return states[state];
+    }
+
+    /**
+     * @param fact index of a fact
+     * @return the fact
+     */
+    public MachineFact getFact(int fact) {
+        return facts[fact];
+    }
+
+    /**
+     * @param state a state of the machine
+     * @return the index of the state
+     */
+    public int stateIndexOf(MachineState state) {
+
+        Integer index = stateIndexes.get(state);
+        if (index == null) {
+            throw new IllegalArgumentException("State " + state + " is not defined.");
+        }
+        return index;
+    }
+
+    /**
+     * @param fact a fact of the machine
+     * @return the index of the fact
+     */
+    public int factIndexOf(MachineFact fact) {
+
+        Integer index = factIndexes.get(fact);
+        if (index == null) {
+            throw new IllegalArgumentException("Fact " + fact + " is not used by the machine.");
+        }
+        return index;
+    }
+
+    /**
+     * @param fact a fact of the machine
+     * @return the mask of the fact
+     */
+    public long factMask(MachineFact fact) {
+        return 1L << factIndexOf(fact);
+    }
+
+}
@@ -1,6 +1,6 @@
 package io.github.purpleloop.gameengine.core.fsm;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /** Models the a finite state machine internal node, bound to a state. */
@@ -11,7 +11,7 @@ public class FSMNode {
 
     /**
      * Deterministic transitions from this node to other ones, depending on
-     * facts.
+     * facts, in their order of declaration.
      */
     private Map<MachineFact, FSMNode> transitions;
 
@@ -22,7 +22,7 @@ public class FSMNode {
      */
     public FSMNode(MachineState state) {
         this.state = state;
-        this.transitions = new HashMap<>();
+        this.transitions = new LinkedHashMap<>();
     }
 
     /**
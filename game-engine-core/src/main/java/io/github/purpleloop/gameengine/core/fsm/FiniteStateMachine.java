@@ -1,7 +1,8 @@
 package io.github.purpleloop.gameengine.core.fsm;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -20,14 +21,18 @@ import org.apache.commons.logging.LogFactory;
  * probabilistic computations, for instance.
  * </p>
  * 
- * TODO Separate the FSM model of from possible multiple instances.
+ * <p>
+ * This machine holds both its model and its current state. When many agents
+ * share the same model, it can be compiled once with {@link #compile()}, each
+ * agent then owning a lightweight {@link StateMachineInstance}.
+ * </p>
  */
 public class FiniteStateMachine {
 
     /** Logger of the class. */
     private static final Log LOG = LogFactory.getLog(FiniteStateMachine.class);
 
-    /** The FSM nodes bindings with states. */
+    /** The FSM nodes bindings with states, in their order of declaration. */
     private Map<MachineState, FSMNode> nodeBindings;
 
     /** The initial FSM node. */
@@ -43,7 +48,7 @@ public class FiniteStateMachine {
     public FiniteStateMachine() {
 
         LOG.debug("Creating a new finite state machine");
-        this.nodeBindings = new HashMap<>();
+        this.nodeBindings = new LinkedHashMap<>();
         this.currentFacts = new HashSet<>();
     }
 
@@ -156,6 +161,50 @@ public class FiniteStateMachine {
 
     }
 
+    /**
+     * Compiles the model of the machine in an immutable definition, shared by
+     * any number of instances. Later changes of this machine do not affect the
+     * compiled definition.
+     * 
+     * @return the compiled definition
+     * @throws IllegalStateException if there is no initial state, or if the
+     *             transitions use more than {@link CompiledStateMachine#MAX_FACTS}
+     *             facts
+     */
+    public CompiledStateMachine compile() {
+
+        if (initialNode == null) {
+            throw new IllegalStateException("The initial state is not set.");
+        }
+
+        Map<MachineState, Integer> stateIndexes = new LinkedHashMap<>();
+        Map<MachineFact, Integer> factIndexes = new LinkedHashMap<>();
+        for (FSMNode node : nodeBindings.values()) {
+            stateIndexes.put(node.getState(), stateIndexes.size());
+            for (MachineFact fact : node.getTransitions().keySet()) {
+                factIndexes.putIfAbsent(fact, factIndexes.size());
+            }
+        }
+
+        int factCount = factIndexes.size();
+        int[] targets = new int[stateIndexes.size() * factCount];
+        int[] ranks = new int[targets.length];
+        Arrays.fill(targets, CompiledStateMachine.NO_TRANSITION);
+        for (FSMNode node : nodeBindings.values()) {
+            int row = stateIndexes.get(node.getState()) * factCount;
+            int rank = 0;
+            for (Entry<MachineFact, FSMNode> transition : node.getTransitions().entrySet()) {
+                int cell = row + factIndexes.get(transition.getKey());
+                targets[cell] = stateIndexes.get(transition.getValue().getState());
+                ranks[cell] = rank++;
+            }
+        }
+
+        return new CompiledStateMachine(stateIndexes.keySet().toArray(new MachineState[0]),
+                factIndexes.keySet().toArray(new MachineFact[0]), targets, ranks,
+                stateIndexes.get(initialNode.getState()));
+    }
+
     /** @return The current FSM node. */
     public FSMNode getCurrentNode() {
         return currentNode;
@@ -0,0 +1,206 @@
+package io.github.purpleloop.gameengine.core.fsm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Steps many instances of the same compiled state machine in one call.
+ *
+ * <p>
+ * The states and the fact masks of the instances are given in primitive
+ * arrays, indexed by instance, and processed in a tight loop without virtual
+ * calls nor logging. Each instance follows at most one transition, exactly as
+ * {@link StateMachineInstance#process()} would do. The followed transitions
+ * are reported in a {@link TransitionList}, in the order of the instances.
+ * </p>
+ *
+ * <p>
+ * When a fork-join pool is given, large batches are split in chunks processed
+ * by the threads of the pool. Each chunk records its own transitions, which
+ * are then appended in the order of the chunks, so that the reported
+ * transitions do not depend on the number of threads.
+ * </p>
+ */
+public final class StateMachineBatch {
+
+    /** Number of instances of a chunk of a parallel step. */
+    private static final int CHUNK_SIZE = 4096;
+
+    /** The definition of the machines. */
+    private final CompiledStateMachine machine;
+
+    /** The pool of the parallel steps, null for sequential steps. */
+    private final ForkJoinPool pool;
+
+    /** The transitions of the chunks, kept between parallel steps. */
+    private TransitionList[] chunkTransitions;
+
+    /** Numbers of transitions followed in the chunks. */
+    private int[] chunkFollowed;
+
+    /**
+     * Creates a batch for sequential steps.
+     *
+     * @param machine the definition of the machines
+     */
+    public StateMachineBatch(CompiledStateMachine machine) {
+        this(machine, null);
+    }
+
+    /**
+     * Creates a batch.
+     *
+     * @param machine the definition of the machines
+     * @param pool the pool of the parallel steps, null for sequential steps
+     */
+    public StateMachineBatch(CompiledStateMachine machine, ForkJoinPool pool) {
+        this.machine = machine;
+        this.pool = pool;
+        this.chunkTransitions = new TransitionList[0];
+        this.chunkFollowed = new int[0];
+    }
+
+    /**
+     * Steps the instances once. The facts triggering a transition are
+     * consumed.
+     *
+     * @param states indexes of the states of the instances, updated
+     * @param facts masks of the facts of the instances, updated
+     * @param count number of instances
+     * @param transitions list to which the followed transitions are added,
+     *            null if they are not reported
+     * @return the number of followed transitions
+     */
+    public int step(int[] states, long[] facts, int count, TransitionList transitions) {
+
+        if (count > states.length || count > facts.length) {
+            throw new IllegalArgumentException("Expecting states and facts for " + count
+                    + " instances, got " + states.length + " states and " + facts.length
+                    + " facts");
+        }
+
+        if (pool == null || count <= CHUNK_SIZE) {
+            return stepRange(states, facts, 0, count, transitions);
+        }
+
+        int chunkCount = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunkTransitions.length < chunkCount) {
+            TransitionList[] newChunkTransitions = new TransitionList[chunkCount];
+            System.arraycopy(chunkTransitions, 0, newChunkTransitions, 0,
+                    chunkTransitions.length);
+            for (int chunk = chunkTransitions.length; chunk < chunkCount; chunk++) {
+                newChunkTransitions[chunk] = new TransitionList();
+            }
+            chunkTransitions = newChunkTransitions;
+            chunkFollowed = new int[chunkCount];
+        }
+
+        pool.invoke(new StepAction(states, facts, count, transitions != null, 0, chunkCount));
+
+        int followed = 0;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            followed += chunkFollowed[chunk];
+            if (transitions != null) {
+                transitions.addAll(chunkTransitions[chunk]);
+                chunkTransitions[chunk].clear();
+            }
+        }
+        return followed;
+    }
+
+    /**
+     * Steps a range of instances.
+     *
+     * @param states indexes of the states of the instances
+     * @param facts masks of the facts of the instances
+     * @param from first instance of the range
+     * @param to last instance of the range, excluded
+     * @param transitions list to which the followed transitions are added,
+     *            null if they are not reported
+     * @return the number of followed transitions
+     */
+    private int stepRange(int[] states, long[] facts, int from, int to,
+            TransitionList transitions) {
+
+        int followed = 0;
+        for (int instance = from; instance < to; instance++) {
+
+            int state = states[instance];
+            long triggered = facts[instance] & machine.getTriggerMask(state);
+            if (triggered == 0) {
+                continue;
+            }
+
+            int nextState = machine.nextState(state, triggered);
+            states[instance] = nextState;
+            facts[instance] &= ~triggered;
+            followed++;
+            if (transitions != null) {
+                transitions.add(instance, state, nextState);
+            }
+        }
+        return followed;
+    }
+
+    /** Steps a range of chunks, splitting it between the threads. */
+    private final class StepAction extends RecursiveAction {
+
+        /** Serial tag. */
+        private static final long serialVersionUID = 1L;
+
+        /** Indexes of the states of the instances. */
+        private final transient int[] states;
+
+        /** Masks of the facts of the instances. */
+        private final transient long[] facts;
+
+        /** Number of instances. */
+        private final int count;
+
+        /** Are the transitions reported ? */
+        private final boolean reported;
+
+        /** First chunk of the range. */
+        private final int fromChunk;
+
+        /** Last chunk of the range, excluded. */
+        private final int toChunk;
+
+        /**
+         * Creates an action.
+         *
+         * @param states indexes of the states of the instances
+         * @param facts masks of the facts of the instances
+         * @param count number of instances
+         * @param reported are the transitions reported ?
+         * @param fromChunk first chunk of the range
+         * @param toChunk last chunk of the range, excluded
+         */
+        private StepAction(int[] states, long[] facts, int count, boolean reported,
+                int fromChunk, int toChunk) {
+            this.states = states;
+            this.facts = facts;
+            this.count = count;
+            this.reported = reported;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * CHUNK_SIZE;
+                chunkFollowed[fromChunk] = stepRange(states, facts, from,
+                        Math.min(count, from + CHUNK_SIZE),
+                        reported ? chunkTransitions[fromChunk] : null);
+                return;
+            }
+
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new StepAction(states, facts, count, reported, fromChunk, middle),
+                    new StepAction(states, facts, count, reported, middle, toChunk));
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package io.github.purpleloop.gameengine.core.fsm;
+
+/**
+ * An instance of a compiled finite state machine. It only holds the index of
+ * its current state and the mask of its current facts, the definition of the
+ * machine being shared by all its instances.
+ */
+public final class StateMachineInstance {
+
+    /** The definition of the machine. */
+    private final CompiledStateMachine machine;
+
+    /** Index of the current state. */
+    private int state;
+
+    /** Mask of the current facts, consumed while processing. */
+    private long facts;
+
+    /**
+     * Creates an instance, in the initial state.
+     *
+     * @param machine the definition of the machine
+     */
+    StateMachineInstance(CompiledStateMachine machine) {
+        this.machine = machine;
+        this.state = machine.getInitialState();
+    }
+
+    /**
+     * Resets the instance at the initial state. This resets also the current
+     * facts.
+     */
+    public void reset() {
+        this.state = machine.getInitialState();
+        this.facts = 0L;
+    }
+
+    /**
+     * Add a fact to the current facts.
+     *
+     * @param fact the fact to add
+     */
+    public void addFact(MachineFact fact) {
+        facts |= machine.factMask(fact);
+    }
+
+    /**
+     * Add facts to the current facts.
+     *
+     * @param factMask the mask of the facts to add
+     */
+    public void addFacts(long factMask) {
+        facts |= factMask;
+    }
+
+    /**
+     * Make the instance evolve from the current state to a new one, following
+     * a transition whose condition is met. The facts triggering a transition
+     * are consumed.
+     *
+     * @return true if a transition has been followed, false otherwise
+     */
+    public boolean process() {
+
+        long triggered = facts & machine.getTriggerMask(state);
+        if (triggered == 0) {
+            return false;
+        }
+
+        state = machine.nextState(state, triggered);
+        facts &= ~triggered;
+        return true;
+    }
+
+    /**
+     * Tests whether the instance is in a given state.
+     *
+     * @param testedState the state to test
+     * @return true if the instance is in the given state, false otherwise
+     */
+    public boolean isInState(MachineState testedState) {
+        return machine.getState(state).equals(testedState);
+    }
+
+    /** @return the current state */
+    public MachineState getState() {
+        return machine.getState(state);
+    }
+
+    /** @return the index of the current state */
+    public int getStateIndex() {
+        return state;
+    }
+
+    /** @return the mask of the current facts */
+    public long getFacts() {
+        return facts;
+    }
+
+    /** @return the definition of the machine */
+    public CompiledStateMachine getMachine() {
+        return machine;
+    }
+
+}
@@ -0,0 +1,130 @@
+package io.github.purpleloop.gameengine.core.fsm;
+
+import java.util.Arrays;
+
+/**
+ * A compact list of the transitions followed by machine instances, each
+ * transition being given by the index of the instance and the indexes of its
+ * source and target states.
+ *
+ * The storage grows when needed and is kept when the list is cleared, so that
+ * a list reused at each step does not create garbage.
+ */
+public final class TransitionList {
+
+    /** Default initial capacity of the list. */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /** Indexes of the instances. */
+    private int[] instances;
+
+    /** Source states. */
+    private int[] fromStates;
+
+    /** Target states. */
+    private int[] toStates;
+
+    /** Number of transitions. */
+    private int size;
+
+    /** Creates an empty list. */
+    public TransitionList() {
+        this.instances = new int[DEFAULT_CAPACITY];
+        this.fromStates = new int[DEFAULT_CAPACITY];
+        this.toStates = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds a transition.
+     *
+     * @param instance index of the instance
+     * @param fromState index of the source state
+     * @param toState index of the target state
+     */
+    public void add(int instance, int fromState, int toState) {
+        ensureCapacity(size + 1);
+        instances[size] = instance;
+        fromStates[size] = fromState;
+        toStates[size] = toState;
+        size++;
+    }
+
+    /**
+     * Adds all the transitions of another list.
+     *
+     * @param other the other list
+     */
+    void addAll(TransitionList other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.instances, 0, instances, size, other.size);
+        System.arraycopy(other.fromStates, 0, fromStates, size, other.size);
+        System.arraycopy(other.toStates, 0, toStates, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * @param index index of a transition
+     * @return the index of the instance
+     */
+    public int getInstance(int index) {
+        checkIndex(index);
+        return instances[index];
+    }
+
+    /**
+     * @param index index of a transition
+     * @return the index of the source state
+     */
+    public int getFromState(int index) {
+        checkIndex(index);
+        return fromStates[index];
+    }
+
+    /**
+     * @param index index of a transition
+     * @return the index of the target state
+     */
+    public int getToState(int index) {
+        checkIndex(index);
+        return toStates[index];
+    }
+
+    /** @return the number of transitions */
+    public int size() {
+        return size;
+    }
+
+    /** @return true if the list is empty */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Removes all transitions, keeping the storage. */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @param capacity the needed capacity
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > instances.length) {
+            int newCapacity = Math.max(capacity, instances.length * 2);
+            instances = Arrays.copyOf(instances, newCapacity);
+            fromStates = Arrays.copyOf(fromStates, newCapacity);
+            toStates = Arrays.copyOf(toStates, newCapacity);
+        }
+    }
+
+    /**
+     * @param index an index
+     * @throws IndexOutOfBoundsException if there is no transition at this index
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of " + size + " transitions");
+        }
+    }
+
+}
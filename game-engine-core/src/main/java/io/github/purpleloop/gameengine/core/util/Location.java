@@ -1,13 +1,18 @@
 package io.github.purpleloop.gameengine.core.util;
 
-import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Objects of this class model a position in a 2 dimensional coordinate system
  * (x, y), bounded to (0-9999, 0-9999).
  *
  * Similarly to java.lang.Integer, instances of this class are shared and
- * immutable.
+ * immutable : there is a single instance per location, so that locations can
+ * be compared with ==.
+ *
+ * The shared instances are interned in a flat table indexed by the hash code of
+ * the locations, split in chunks allocated on first use. The table is filled
+ * without locks, so that locations can be got by any thread.
  */
 public final class Location {
 
@@ -23,12 +28,21 @@ public final class Location {
     /** Start index for alphabet in character table. */
     private static final int CHARACTER_ALPHA_UPPER_START_INDEX = 64;
 
-    /** Known locations. */
-    private static HashMap<Integer, Location> locations;
+    /** Number of bits of the index of a location in its chunk. */
+    private static final int CHUNK_BITS = 12;
 
-    static {
-        locations = new HashMap<>();
-    }
+    /** Number of locations in a chunk of the table. */
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    /** Mask of the index of a location in its chunk. */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** Number of chunks of the table, covering all the locations. */
+    private static final int CHUNK_COUNT = (HASH_FACTOR * HASH_FACTOR + CHUNK_MASK) >> CHUNK_BITS;
+
+    /** Known locations, by chunks of consecutive hash codes. */
+    private static final AtomicReferenceArray<AtomicReferenceArray<Location>> LOCATIONS =
+            new AtomicReferenceArray<>(CHUNK_COUNT);
 
     /** Abscissa. */
     private final int x;
@@ -124,17 +138,38 @@ public final class Location {
             throw new IllegalArgumentException("Locations are bounded to (0-9999,0-9999).");
         }
         
-        return locations.computeIfAbsent(hashCode(x, y), Location::createFor);
+        int hashCode = hashCode(x, y);
+        AtomicReferenceArray<Location> chunk = LOCATIONS.get(hashCode >> CHUNK_BITS);
+        if (chunk == null) {
+            chunk = getChunk(hashCode >> CHUNK_BITS);
+        }
+
+        int index = hashCode & CHUNK_MASK;
+        Location location = chunk.get(index);
+        if (location == null) {
+
+            // When several threads create the location, the first one wins
+            location = new Location(x, y);
+            if (!chunk.compareAndSet(index, null, location)) {
+                location = chunk.get(index);
+            }
+        }
+        return location;
     }
 
     /**
-     * Creates a canonical location for the given hashcode.
+     * Gets a chunk of the known locations, creating it if needed.
      * 
-     * @param hashCode the hashcode
-     * @return the canonical location derived from the hashcode
+     * @param chunkIndex index of the chunk
+     * @return the chunk
      */
-    private static Location createFor(int hashCode) {
-        return new Location(hashCode % HASH_FACTOR, hashCode / HASH_FACTOR);
+    private static AtomicReferenceArray<Location> getChunk(int chunkIndex) {
+
+        AtomicReferenceArray<Location> chunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+        if (LOCATIONS.compareAndSet(chunkIndex, null, chunk)) {
+            return chunk;
+        }
+        return LOCATIONS.get(chunkIndex);
     }
 
     /** @return String describing the location under the form : alpha,number. */
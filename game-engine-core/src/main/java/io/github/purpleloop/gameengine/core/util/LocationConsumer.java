@@ -0,0 +1,13 @@
+package io.github.purpleloop.gameengine.core.util;
+
+/** Consumes locations given by their coordinates. */
+@FunctionalInterface
+public interface LocationConsumer {
+
+    /**
+     * @param x abscissa of the location
+     * @param y ordinate of the location
+     */
+    void accept(int x, int y);
+
+}
@@ -0,0 +1,144 @@
+package io.github.purpleloop.gameengine.core.util;
+
+import java.util.Arrays;
+
+/**
+ * A list of locations, stored as packed longs. See {@link PackedLocation}.
+ *
+ * The storage grows when needed and is kept when the list is cleared, so that
+ * a list reused between queries does not create garbage.
+ */
+public class LocationList {
+
+    /** Default initial capacity of the list. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The packed locations. */
+    private long[] locations;
+
+    /** Number of locations in the list. */
+    private int size;
+
+    /** Creates an empty list. */
+    public LocationList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list.
+     *
+     * @param capacity initial capacity of the list
+     */
+    public LocationList(int capacity) {
+        this.locations = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Adds a location at the end of the list.
+     *
+     * @param x abscissa
+     * @param y ordinate
+     */
+    public void add(int x, int y) {
+        addPacked(PackedLocation.pack(x, y));
+    }
+
+    /**
+     * Adds a packed location at the end of the list.
+     *
+     * @param packed the packed location
+     */
+    public void addPacked(long packed) {
+        if (size == locations.length) {
+            locations = Arrays.copyOf(locations, size * 2);
+        }
+        locations[size++] = packed;
+    }
+
+    /**
+     * @param index index of a location, between 0 and {@link #size()} excluded
+     * @return the packed location
+     */
+    public long getPacked(int index) {
+        checkIndex(index);
+        return locations[index];
+    }
+
+    /**
+     * @param index index of a location, between 0 and {@link #size()} excluded
+     * @return the abscissa of the location
+     */
+    public int getX(int index) {
+        return PackedLocation.x(getPacked(index));
+    }
+
+    /**
+     * @param index index of a location, between 0 and {@link #size()} excluded
+     * @return the ordinate of the location
+     */
+    public int getY(int index) {
+        return PackedLocation.y(getPacked(index));
+    }
+
+    /**
+     * Removes a location, by moving the last location at its index.
+     *
+     * @param index index of the location, between 0 and {@link #size()}
+     *            excluded
+     */
+    public void swapRemove(int index) {
+        checkIndex(index);
+        locations[index] = locations[--size];
+    }
+
+    /** @return the number of locations */
+    public int size() {
+        return size;
+    }
+
+    /** @return true if the list is empty */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Removes all locations, keeping the storage. */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Gives each location to a consumer, in the order of the list.
+     *
+     * @param consumer the consumer of the locations
+     */
+    public void forEach(LocationConsumer consumer) {
+        for (int index = 0; index < size; index++) {
+            long packed = locations[index];
+            consumer.accept(PackedLocation.x(packed), PackedLocation.y(packed));
+        }
+    }
+
+    /**
+     * @param index an index
+     * @throws IndexOutOfBoundsException if there is no location at this index
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of " + size + " locations");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int index = 0; index < size; index++) {
+            if (index > 0) {
+                sb.append(", ");
+            }
+            sb.append(PackedLocation.toString(locations[index]));
+        }
+        return sb.append(']').toString();
+    }
+
+}
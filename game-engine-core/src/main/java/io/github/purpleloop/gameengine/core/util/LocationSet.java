@@ -0,0 +1,302 @@
+package io.github.purpleloop.gameengine.core.util;
+
+import java.util.Arrays;
+
+/**
+ * A set of locations, without creating objects per location.
+ *
+ * <p>
+ * A set created for a bounded grid uses one bit per cell of the grid, which is
+ * the fastest and most compact when the set covers a good part of the grid. An
+ * unbounded set stores the packed locations in a table hashed with linear
+ * probing, whose size follows the number of locations. See
+ * {@link PackedLocation}.
+ * </p>
+ *
+ * <p>
+ * In both cases, the storage is kept when the set is cleared, so that a set
+ * reused between queries does not create garbage.
+ * </p>
+ */
+public class LocationSet {
+
+    /** Initial capacity of the hash table of unbounded sets. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Marks a free entry of the hash table. */
+    private static final long FREE = PackedLocation.NONE;
+
+    /** Width of the grid of a bounded set, 0 for an unbounded set. */
+    private final int width;
+
+    /** Height of the grid of a bounded set, 0 for an unbounded set. */
+    private final int height;
+
+    /** Bits of the cells of a bounded set, row by row, null if unbounded. */
+    private final long[] bits;
+
+    /** The hash table of an unbounded set, null if bounded. */
+    private long[] table;
+
+    /** Does an unbounded set contain the location packed as {@link #FREE} ? */
+    private boolean containsFree;
+
+    /** Number of locations in the set. */
+    private int size;
+
+    /** Creates an empty unbounded set. */
+    public LocationSet() {
+        this.width = 0;
+        this.height = 0;
+        this.bits = null;
+        this.table = newTable(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty set for the cells of a bounded grid.
+     *
+     * @param width width of the grid
+     * @param height height of the grid
+     */
+    public LocationSet(int width, int height) {
+
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid grid size for a location set : " + width + " x " + height);
+        }
+
+        this.width = width;
+        this.height = height;
+        this.bits = new long[(int) (((long) width * height + Long.SIZE - 1) / Long.SIZE)];
+    }
+
+    /**
+     * Adds a location.
+     *
+     * @param x abscissa
+     * @param y ordinate
+     * @return true if the location was added, false if it was already present
+     */
+    public boolean add(int x, int y) {
+
+        if (bits != null) {
+            int cell = cellOf(x, y);
+            long mask = 1L << cell;
+            if ((bits[cell >>> 6] & mask) != 0) {
+                return false;
+            }
+            bits[cell >>> 6] |= mask;
+            size++;
+            return true;
+        }
+
+        long packed = PackedLocation.pack(x, y);
+        if (packed == FREE) {
+            if (containsFree) {
+                return false;
+            }
+            containsFree = true;
+            size++;
+            return true;
+        }
+
+        int entry = find(packed);
+        if (table[entry] == packed) {
+            return false;
+        }
+
+        table[entry] = packed;
+        size++;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @param x abscissa
+     * @param y ordinate
+     * @return true if the set contains the location
+     */
+    public boolean contains(int x, int y) {
+
+        if (bits != null) {
+            if (x < 0 || x >= width || y < 0 || y >= height) {
+                return false;
+            }
+            int cell = y * width + x;
+            return (bits[cell >>> 6] & (1L << cell)) != 0;
+        }
+
+        long packed = PackedLocation.pack(x, y);
+        if (packed == FREE) {
+            return containsFree;
+        }
+        return table[find(packed)] == packed;
+    }
+
+    /**
+     * Removes a location.
+     *
+     * @param x abscissa
+     * @param y ordinate
+     * @return true if the location was removed, false if it was not present
+     */
+    public boolean remove(int x, int y) {
+
+        if (bits != null) {
+            if (!contains(x, y)) {
+                return false;
+            }
+            int cell = y * width + x;
+            bits[cell >>> 6] &= ~(1L << cell);
+            size--;
+            return true;
+        }
+
+        long packed = PackedLocation.pack(x, y);
+        if (packed == FREE) {
+            if (!containsFree) {
+                return false;
+            }
+            containsFree = false;
+            size--;
+            return true;
+        }
+
+        int entry = find(packed);
+        if (table[entry] != packed) {
+            return false;
+        }
+
+        // Backward shift deletion, keeping the probe sequences unbroken
+        int mask = table.length - 1;
+        int free = entry;
+        int next = (free + 1) & mask;
+        while (table[next] != FREE) {
+            int home = hash(table[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                table[free] = table[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[free] = FREE;
+        size--;
+        return true;
+    }
+
+    /** @return the number of locations */
+    public int size() {
+        return size;
+    }
+
+    /** @return true if the set is empty */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Removes all locations, keeping the storage. */
+    public void clear() {
+        if (bits != null) {
+            Arrays.fill(bits, 0L);
+        } else {
+            Arrays.fill(table, FREE);
+            containsFree = false;
+        }
+        size = 0;
+    }
+
+    /**
+     * Gives each location to a consumer. Bounded sets give the locations row by
+     * row, unbounded sets in no particular order.
+     *
+     * @param consumer the consumer of the locations
+     */
+    public void forEach(LocationConsumer consumer) {
+
+        if (bits != null) {
+            for (int word = 0; word < bits.length; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    int cell = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                    consumer.accept(cell % width, cell / width);
+                    remaining &= remaining - 1;
+                }
+            }
+            return;
+        }
+
+        if (containsFree) {
+            consumer.accept(PackedLocation.x(FREE), PackedLocation.y(FREE));
+        }
+        for (long packed : table) {
+            if (packed != FREE) {
+                consumer.accept(PackedLocation.x(packed), PackedLocation.y(packed));
+            }
+        }
+    }
+
+    /**
+     * @param x abscissa
+     * @param y ordinate
+     * @return the cell of the location in the grid of a bounded set
+     * @throws IllegalArgumentException if the location is out of the grid
+     */
+    private int cellOf(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IllegalArgumentException("The location (" + x + ", " + y
+                    + ") is out of the grid " + width + " x " + height);
+        }
+        return y * width + x;
+    }
+
+    /**
+     * @param packed a packed location
+     * @return the entry of the location in the hash table, or the free entry
+     *         where it would be added
+     */
+    private int find(long packed) {
+        int mask = table.length - 1;
+        int entry = hash(packed) & mask;
+        while (table[entry] != FREE && table[entry] != packed) {
+            entry = (entry + 1) & mask;
+        }
+        return entry;
+    }
+
+    /**
+     * Resizes the hash table.
+     *
+     * @param capacity new capacity, a power of two
+     */
+    private void rehash(int capacity) {
+        long[] oldTable = table;
+        table = newTable(capacity);
+        for (long packed : oldTable) {
+            if (packed != FREE) {
+                table[find(packed)] = packed;
+            }
+        }
+    }
+
+    /**
+     * @param capacity capacity of the table
+     * @return a table of free entries
+     */
+    private static long[] newTable(int capacity) {
+        long[] newTable = new long[capacity];
+        Arrays.fill(newTable, FREE);
+        return newTable;
+    }
+
+    /**
+     * @param packed a packed location
+     * @return the hash of the location, spreading the coordinates
+     */
+    private static int hash(long packed) {
+        long mixed = packed * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+}
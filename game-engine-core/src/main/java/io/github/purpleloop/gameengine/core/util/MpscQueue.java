@@ -0,0 +1,170 @@
+package io.github.purpleloop.gameengine.core.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A bounded lock-free queue, for multiple producers and a single consumer.
+ *
+ * <p>
+ * Any thread can offer elements, without locking : producers claim a slot of a
+ * ring buffer by incrementing an index, then publish the element in the slot.
+ * A single thread, typically the game thread, polls or drains the elements in
+ * their order of claim. When the queue is full, offers are rejected instead of
+ * blocking the producers. The rejections and the peak number of elements found
+ * by the drains are recorded, as backpressure metrics.
+ * </p>
+ *
+ * @param <E> type of the elements
+ */
+public class MpscQueue<E> {
+
+    /** The ring buffer of the elements. */
+    private final AtomicReferenceArray<E> buffer;
+
+    /** Capacity of the queue, a power of two. */
+    private final int capacity;
+
+    /** Mask giving the slot of an index. */
+    private final int mask;
+
+    /** Index of the next slot claimed by a producer. */
+    private final AtomicLong producerIndex;
+
+    /** Index of the next slot read by the consumer, only written by it. */
+    private volatile long consumerIndex;
+
+    /** Number of rejected offers. */
+    private final LongAdder rejectedCount;
+
+    /** Maximal number of elements found by a drain. */
+    private volatile int peakSize;
+
+    /**
+     * Creates a queue.
+     *
+     * @param requestedCapacity the minimal capacity of the queue, rounded up to
+     *            a power of two
+     */
+    public MpscQueue(int requestedCapacity) {
+
+        if (requestedCapacity < 1 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid queue capacity : " + requestedCapacity);
+        }
+
+        int roundedCapacity = 1;
+        while (roundedCapacity < requestedCapacity) {
+            roundedCapacity <<= 1;
+        }
+
+        this.capacity = roundedCapacity;
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.producerIndex = new AtomicLong();
+        this.rejectedCount = new LongAdder();
+    }
+
+    /**
+     * Offers an element. This can be called by any thread.
+     *
+     * @param element the element, not null
+     * @return true if the element is queued, false if the queue is full
+     */
+    public boolean offer(E element) {
+
+        Objects.requireNonNull(element, "Null elements are not allowed in the queue");
+
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex >= capacity) {
+                rejectedCount.increment();
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+
+        buffer.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * Polls the oldest element. This must only be called by the consumer
+     * thread.
+     *
+     * @return the element, null if the queue is empty
+     */
+    public E poll() {
+
+        long index = consumerIndex;
+        int slot = (int) index & mask;
+        E element = buffer.get(slot);
+
+        if (element == null) {
+            if (index == producerIndex.get()) {
+                return null;
+            }
+
+            // The slot is claimed, its producer is about to publish the element
+            do {
+                Thread.onSpinWait();
+                element = buffer.get(slot);
+            } while (element == null);
+        }
+
+        buffer.lazySet(slot, null);
+        consumerIndex = index + 1;
+        return element;
+    }
+
+    /**
+     * Drains the elements queued before the call. Elements offered during the
+     * drain are left for the next one. This must only be called by the
+     * consumer thread.
+     *
+     * @param consumer the consumer of the elements
+     * @return the number of drained elements
+     */
+    public int drain(Consumer<? super E> consumer) {
+
+        long limit = producerIndex.get();
+        int count = (int) (limit - consumerIndex);
+        if (count > peakSize) {
+            peakSize = count;
+        }
+
+        for (int i = 0; i < count; i++) {
+            consumer.accept(poll());
+        }
+        return count;
+    }
+
+    /** @return the number of queued elements, approximate while producers offer */
+    public int size() {
+        long size = producerIndex.get() - consumerIndex;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    /** @return true if there is no queued element */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** @return the capacity of the queue */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** @return the number of offers rejected because the queue was full */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /** @return the maximal number of elements found by a drain */
+    public int getPeakSize() {
+        return peakSize;
+    }
+
+}
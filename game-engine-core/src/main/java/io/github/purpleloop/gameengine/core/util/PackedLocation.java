@@ -0,0 +1,72 @@
+package io.github.purpleloop.gameengine.core.util;
+
+/**
+ * Packs a location (x, y) in a primitive long, for the algorithms handling
+ * many locations without creating objects.
+ *
+ * The abscissa is stored in the low 32 bits and the ordinate in the high 32
+ * bits, so that any pair of int coordinates can be packed, including negative
+ * ones.
+ */
+public final class PackedLocation {
+
+    /** A packed value that is not the one of a location of a grid. */
+    public static final long NONE = Long.MIN_VALUE;
+
+    /** Mask of the abscissa. */
+    private static final long X_MASK = 0xFFFFFFFFL;
+
+    /** Private constructor for this utility class. */
+    private PackedLocation() {
+    }
+
+    /**
+     * @param x abscissa
+     * @param y ordinate
+     * @return the packed location (x, y)
+     */
+    public static long pack(int x, int y) {
+        return ((long) y << Integer.SIZE) | (x & X_MASK);
+    }
+
+    /**
+     * @param packed a packed location
+     * @return the abscissa of the location
+     */
+    public static int x(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * @param packed a packed location
+     * @return the ordinate of the location
+     */
+    public static int y(long packed) {
+        return (int) (packed >> Integer.SIZE);
+    }
+
+    /**
+     * @param location a location
+     * @return the packed location
+     */
+    public static long pack(Location location) {
+        return pack(location.getX(), location.getY());
+    }
+
+    /**
+     * @param packed a packed location, bounded to (0-9999, 0-9999)
+     * @return the shared location
+     */
+    public static Location toLocation(long packed) {
+        return Location.getLocation(x(packed), y(packed));
+    }
+
+    /**
+     * @param packed a packed location
+     * @return String describing the location
+     */
+    public static String toString(long packed) {
+        return String.format("(%d, %d)", x(packed), y(packed));
+    }
+
+}
@@ -0,0 +1,137 @@
+package io.github.purpleloop.gameengine.core.fsm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests on compiled finite states machines. */
+class CompiledStateMachineTest {
+
+    /** States of a creature. */
+    enum CreatureState implements MachineState {
+
+        /** The creature is idle. */
+        IDLE,
+
+        /** The creature chases a target. */
+        CHASE,
+
+        /** The creature flees. */
+        FLEE;
+    }
+
+    /** Facts perceived by a creature. */
+    enum CreatureFact implements MachineFact {
+
+        /** A target is seen. */
+        SEE_TARGET,
+
+        /** The target is lost. */
+        LOSE_TARGET,
+
+        /** The creature is hurt. */
+        HURT,
+
+        /** Not used by the transitions. */
+        SLEEP;
+    }
+
+    /** Tests the compiled model. */
+    @Test
+    void testCompile() {
+
+        CompiledStateMachine machine = createFsm().compile();
+
+        assertEquals(3, machine.getStateCount());
+        assertEquals(3, machine.getFactCount());
+        assertEquals(0, machine.getInitialState());
+        assertSame(CreatureState.FLEE, machine.getState(2));
+        assertEquals(1, machine.stateIndexOf(CreatureState.CHASE));
+        assertEquals(1L << 1, machine.factMask(CreatureFact.HURT));
+
+        long seeTarget = machine.factMask(CreatureFact.SEE_TARGET);
+        assertEquals(1, machine.nextState(0, seeTarget));
+        assertEquals(2, machine.nextState(0, seeTarget | machine.factMask(CreatureFact.HURT)));
+        assertEquals(2, machine.nextState(2, seeTarget));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> machine.factIndexOf(CreatureFact.SLEEP));
+        assertThrows(IllegalStateException.class, () -> new FiniteStateMachine().compile());
+    }
+
+    /** Tests instances sharing the same definition. */
+    @Test
+    void testInstances() {
+
+        CompiledStateMachine machine = createFsm().compile();
+        StateMachineInstance first = machine.newInstance();
+        StateMachineInstance second = machine.newInstance();
+
+        first.addFact(CreatureFact.SEE_TARGET);
+        assertTrue(first.process());
+        assertTrue(first.isInState(CreatureState.CHASE));
+        assertTrue(second.isInState(CreatureState.IDLE));
+
+        // Facts without transition from the state are kept
+        second.addFact(CreatureFact.LOSE_TARGET);
+        assertFalse(second.process());
+        assertEquals(machine.factMask(CreatureFact.LOSE_TARGET), second.getFacts());
+        second.addFact(CreatureFact.SEE_TARGET);
+        assertTrue(second.process());
+        assertTrue(second.process());
+        assertSame(CreatureState.IDLE, second.getState());
+        assertEquals(0L, second.getFacts());
+
+        first.reset();
+        assertEquals(machine.getInitialState(), first.getStateIndex());
+    }
+
+    /** Tests that the compiled machine follows the same transitions. */
+    @Test
+    void testSameTransitionsAsModel() {
+
+        FiniteStateMachine fsm = createFsm();
+        StateMachineInstance instance = fsm.compile().newInstance();
+        CreatureFact[] facts = { CreatureFact.SEE_TARGET, CreatureFact.LOSE_TARGET,
+                CreatureFact.HURT };
+
+        Random random = new Random(3);
+        for (int step = 0; step < 1000; step++) {
+            int factCount = random.nextInt(3);
+            for (int fact = 0; fact < factCount; fact++) {
+                CreatureFact drawn = facts[random.nextInt(facts.length)];
+                fsm.addFact(drawn);
+                instance.addFact(drawn);
+            }
+            fsm.process();
+            instance.process();
+            assertSame(fsm.getCurrentNode().getState(), instance.getState());
+        }
+    }
+
+    /**
+     * Creates a finite state machine to model a creature behavior.
+     * 
+     * @return the finite state machine
+     */
+    private FiniteStateMachine createFsm() {
+        FiniteStateMachine fsm = new FiniteStateMachine();
+        for (CreatureState state : CreatureState.values()) {
+            fsm.newState(state);
+        }
+        fsm.newTransition(CreatureState.IDLE, CreatureState.CHASE, CreatureFact.SEE_TARGET);
+        fsm.newTransition(CreatureState.CHASE, CreatureState.IDLE, CreatureFact.LOSE_TARGET);
+        fsm.newTransition(CreatureState.IDLE, CreatureState.FLEE, CreatureFact.HURT);
+        fsm.newTransition(CreatureState.CHASE, CreatureState.FLEE, CreatureFact.HURT);
+        fsm.newTransition(CreatureState.FLEE, CreatureState.IDLE, CreatureFact.LOSE_TARGET);
+        fsm.setInitial(CreatureState.IDLE);
+        return fsm;
+    }
+
+}
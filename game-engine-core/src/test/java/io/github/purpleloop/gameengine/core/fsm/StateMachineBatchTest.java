@@ -0,0 +1,124 @@
+package io.github.purpleloop.gameengine.core.fsm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.purpleloop.gameengine.core.fsm.CompiledStateMachineTest.CreatureFact;
+import io.github.purpleloop.gameengine.core.fsm.CompiledStateMachineTest.CreatureState;
+
+/** Tests on the batched steps of compiled state machines. */
+class StateMachineBatchTest {
+
+    /** Tests that a batch step follows the transitions of the instances. */
+    @Test
+    void testSameTransitionsAsInstances() {
+
+        CompiledStateMachine machine = createMachine();
+        int count = 100;
+        int[] states = new int[count];
+        long[] facts = new long[count];
+        StateMachineInstance[] instances = new StateMachineInstance[count];
+
+        Random random = new Random(11);
+        for (int instance = 0; instance < count; instance++) {
+            instances[instance] = machine.newInstance();
+            states[instance] = machine.getInitialState();
+        }
+
+        StateMachineBatch batch = new StateMachineBatch(machine);
+        TransitionList transitions = new TransitionList();
+        for (int step = 0; step < 20; step++) {
+
+            for (int instance = 0; instance < count; instance++) {
+                long fact = 1L << random.nextInt(machine.getFactCount());
+                facts[instance] |= fact;
+                instances[instance].addFacts(fact);
+            }
+
+            transitions.clear();
+            int followed = batch.step(states, facts, count, transitions);
+            assertEquals(transitions.size(), followed);
+
+            int transition = 0;
+            for (int instance = 0; instance < count; instance++) {
+                int from = instances[instance].getStateIndex();
+                if (instances[instance].process()) {
+                    assertEquals(instance, transitions.getInstance(transition));
+                    assertEquals(from, transitions.getFromState(transition));
+                    assertEquals(instances[instance].getStateIndex(),
+                            transitions.getToState(transition));
+                    transition++;
+                }
+                assertEquals(instances[instance].getStateIndex(), states[instance]);
+                assertEquals(instances[instance].getFacts(), facts[instance]);
+            }
+            assertEquals(followed, transition);
+        }
+    }
+
+    /** Tests that a parallel step gives the same results as a sequential one. */
+    @Test
+    void testParallelStep() {
+
+        CompiledStateMachine machine = createMachine();
+        int count = 50000;
+        int[] states = new int[count];
+        long[] facts = new long[count];
+        Random random = new Random(5);
+        for (int instance = 0; instance < count; instance++) {
+            states[instance] = random.nextInt(machine.getStateCount());
+            facts[instance] = random.nextInt(1 << machine.getFactCount());
+        }
+
+        int[] parallelStates = states.clone();
+        long[] parallelFacts = facts.clone();
+
+        TransitionList transitions = new TransitionList();
+        TransitionList parallelTransitions = new TransitionList();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int followed = new StateMachineBatch(machine).step(states, facts, count, transitions);
+            StateMachineBatch parallelBatch = new StateMachineBatch(machine, pool);
+            assertEquals(followed, parallelBatch.step(parallelStates, parallelFacts, count,
+                    parallelTransitions));
+
+            assertArrayEquals(states, parallelStates);
+            assertArrayEquals(facts, parallelFacts);
+            assertEquals(transitions.size(), parallelTransitions.size());
+            for (int transition = 0; transition < transitions.size(); transition++) {
+                assertEquals(transitions.getInstance(transition),
+                        parallelTransitions.getInstance(transition));
+                assertEquals(transitions.getToState(transition),
+                        parallelTransitions.getToState(transition));
+            }
+
+            // Without report, only the number of transitions is given
+            assertEquals(parallelBatch.step(states, facts, count, null),
+                    parallelBatch.step(parallelStates, parallelFacts, count, null));
+
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** @return a compiled creature behavior */
+    private CompiledStateMachine createMachine() {
+        FiniteStateMachine fsm = new FiniteStateMachine();
+        for (CreatureState state : CreatureState.values()) {
+            fsm.newState(state);
+        }
+        fsm.newTransition(CreatureState.IDLE, CreatureState.CHASE, CreatureFact.SEE_TARGET);
+        fsm.newTransition(CreatureState.CHASE, CreatureState.IDLE, CreatureFact.LOSE_TARGET);
+        fsm.newTransition(CreatureState.IDLE, CreatureState.FLEE, CreatureFact.HURT);
+        fsm.newTransition(CreatureState.CHASE, CreatureState.FLEE, CreatureFact.HURT);
+        fsm.newTransition(CreatureState.FLEE, CreatureState.IDLE, CreatureFact.LOSE_TARGET);
+        fsm.setInitial(CreatureState.IDLE);
+        return fsm.compile();
+    }
+
+}
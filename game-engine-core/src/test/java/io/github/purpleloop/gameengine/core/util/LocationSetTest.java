@@ -0,0 +1,119 @@
+package io.github.purpleloop.gameengine.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests on the packed locations and their collections. */
+class LocationSetTest {
+
+    /** Tests the packing of coordinates. */
+    @Test
+    void testPackedLocation() {
+
+        long packed = PackedLocation.pack(-3, 70000);
+        assertEquals(-3, PackedLocation.x(packed));
+        assertEquals(70000, PackedLocation.y(packed));
+        assertEquals("(-3, 70000)", PackedLocation.toString(packed));
+
+        assertSame(Location.getLocation(12, 34),
+                PackedLocation.toLocation(PackedLocation.pack(Location.getLocation(12, 34))));
+    }
+
+    /** Tests a list of locations. */
+    @Test
+    void testLocationList() {
+
+        LocationList list = new LocationList(1);
+        list.add(1, 2);
+        list.add(3, 4);
+        list.add(5, 6);
+        assertEquals(3, list.size());
+        assertEquals(3, list.getX(1));
+        assertEquals(4, list.getY(1));
+
+        list.swapRemove(0);
+        assertEquals("[(5, 6), (3, 4)]", list.toString());
+
+        StringBuilder visited = new StringBuilder();
+        list.forEach((x, y) -> visited.append(x).append(y));
+        assertEquals("5634", visited.toString());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getX(0));
+    }
+
+    /** Tests a set of locations of a bounded grid. */
+    @Test
+    void testBoundedSet() {
+
+        LocationSet set = new LocationSet(100, 30);
+        assertTrue(set.add(99, 29));
+        assertTrue(set.add(0, 1));
+        assertFalse(set.add(0, 1));
+        assertTrue(set.contains(99, 29));
+        assertFalse(set.contains(1, 0));
+        assertFalse(set.contains(100, 0));
+        assertEquals(2, set.size());
+
+        StringBuilder visited = new StringBuilder();
+        set.forEach((x, y) -> visited.append('(').append(x).append(',').append(y).append(')'));
+        assertEquals("(0,1)(99,29)", visited.toString());
+
+        assertTrue(set.remove(0, 1));
+        assertFalse(set.remove(0, 1));
+        assertEquals(1, set.size());
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1, 0));
+    }
+
+    /** Tests an unbounded set against a set of packed longs. */
+    @Test
+    void testUnboundedSet() {
+
+        LocationSet set = new LocationSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int operation = 0; operation < 20000; operation++) {
+            int x = random.nextInt(64) - 32;
+            int y = random.nextInt(64) - 32;
+            long packed = PackedLocation.pack(x, y);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(packed), set.remove(x, y));
+            } else {
+                assertEquals(expected.add(packed), set.add(x, y));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long packed : expected) {
+            assertTrue(set.contains(PackedLocation.x(packed), PackedLocation.y(packed)));
+        }
+
+        Set<Long> visited = new HashSet<>();
+        set.forEach((x, y) -> visited.add(PackedLocation.pack(x, y)));
+        assertEquals(expected, visited);
+
+        // The packed value marking free entries is still a valid location
+        int freeX = PackedLocation.x(PackedLocation.NONE);
+        int freeY = PackedLocation.y(PackedLocation.NONE);
+        assertTrue(set.add(freeX, freeY));
+        assertTrue(set.contains(freeX, freeY));
+        assertTrue(set.remove(freeX, freeY));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0, 0));
+    }
+
+}
@@ -3,9 +3,16 @@ package io.github.purpleloop.gameengine.core.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.Test;
 
 /** Tests on locations. */
@@ -107,6 +114,54 @@ class LocationTest {
 
     }
 
+    /** Tests that locations are shared instances. */
+    @Test
+    void testSharedInstances() {
+        assertSame(Location.getLocation(9999, 9999), Location.getLocation(9999, 9999));
+        assertSame(Location.getLocation(4095, 0), Location.getLocation(4095, 0));
+        assertEquals(4096, Location.getLocation(4096, 0).getX());
+    }
+
+    /**
+     * Tests that threads getting the same locations at once get the same
+     * instances.
+     * 
+     * @throws Exception in case of problem with the threads
+     */
+    @Test
+    void testConcurrentGetLocation() throws Exception {
+
+        int threads = 4;
+        int size = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Location[]>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                results.add(executor.submit(() -> {
+                    Location[] locations = new Location[size * size];
+                    for (int y = 0; y < size; y++) {
+                        for (int x = 0; x < size; x++) {
+                            locations[y * size + x] = Location.getLocation(5000 + x, 7000 + y);
+                        }
+                    }
+                    return locations;
+                }));
+            }
+
+            Location[] expected = results.get(0).get();
+            for (Future<Location[]> result : results) {
+                Location[] locations = result.get();
+                for (int index = 0; index < expected.length; index++) {
+                    assertSame(expected[index], locations[index]);
+                }
+            }
+            assertSame(Location.getLocation(5000 + 17, 7000 + 3), expected[3 * size + 17]);
+
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     /** Tests (1, 1) location for alpha. */
     @Test
     void testAlphaA1() {
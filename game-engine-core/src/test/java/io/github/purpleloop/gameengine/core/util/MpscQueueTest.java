@@ -0,0 +1,84 @@
+package io.github.purpleloop.gameengine.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests on the multiple producers single consumer queue. */
+class MpscQueueTest {
+
+    /** Number of producer threads. */
+    private static final int PRODUCERS = 4;
+
+    /** Number of elements offered by each producer. */
+    private static final int ELEMENTS = 100_000;
+
+    /** Tests the capacity and the rejections of a full queue. */
+    @Test
+    void testBoundedCapacity() {
+
+        MpscQueue<Integer> queue = new MpscQueue<>(5);
+        assertEquals(8, queue.getCapacity());
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(8));
+        assertEquals(1, queue.getRejectedCount());
+
+        assertEquals(0, queue.poll().intValue());
+        assertTrue(queue.offer(8));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(8, queue.drain(drained::add));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), drained);
+        assertEquals(8, queue.getPeakSize());
+        assertTrue(queue.isEmpty());
+        assertEquals(null, queue.poll());
+    }
+
+    /** Tests that concurrent producers lose no element and keep their order. */
+    @Test
+    void testConcurrentProducers() throws InterruptedException {
+
+        MpscQueue<Long> queue = new MpscQueue<>(1024);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < ELEMENTS; i++) {
+                    // Full queues push back on the producer
+                    while (!queue.offer(producer * ELEMENTS + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+
+        long[] next = new long[PRODUCERS];
+        int received = 0;
+        while (received < PRODUCERS * ELEMENTS) {
+            Long element = queue.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            int producer = (int) (element / ELEMENTS);
+            assertEquals(next[producer]++, element % ELEMENTS);
+            received++;
+        }
+
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+}
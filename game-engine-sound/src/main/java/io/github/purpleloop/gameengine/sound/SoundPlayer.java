@@ -66,11 +66,10 @@ public class SoundPlayer {
 	public void play(String soundFileName) {
 
 		// log.debug("Playing "+soundFileName.getName());
-		if (soundDataCacheForSoundName.containsKey(soundFileName)) {
+		AudioChunk audioChunk = getCachedAudioChunk(soundFileName);
+		if (audioChunk != null) {
 
 			// The sound is in cache
-			// log.debug("Reuse Cached sound "+soundFileName);
-			AudioChunk audioChunk = soundDataCacheForSoundName.get(soundFileName);
 			playWithCache(audioChunk);
 
 		} else {
@@ -81,20 +80,36 @@ public class SoundPlayer {
 				return;
 			}
 
-			long length = soundFile.length();
+			// The sound is too large to be cached
+			directPlay(soundFile, soundFile.length());
+		}
+
+	}
+
+	/**
+	 * Gets the audio chunk of a sound from the cache. If the sound is not yet
+	 * cached and its file is below the cache limit, it is loaded in the cache.
+	 * 
+	 * @param soundFileName The sound file name
+	 * @return the cached audio chunk, or null if the file is missing or too large
+	 *         to be cached
+	 */
+	public AudioChunk getCachedAudioChunk(String soundFileName) {
+
+		AudioChunk audioChunk = soundDataCacheForSoundName.get(soundFileName);
+		if (audioChunk == null) {
 
-			if (length > CACHE_SIZE_LIMIT) {
-				directPlay(soundFile, length);
+			File soundFile = new File(soundFileName);
+			long length = soundFile.length();
 
-			} else {
+			if (soundFile.exists() && length <= CACHE_SIZE_LIMIT) {
 				// Puts the sound in cache
-				AudioChunk audioChunk = new AudioChunk(soundFile, length);
+				audioChunk = new AudioChunk(soundFile, length);
 				soundDataCacheForSoundName.put(soundFileName, audioChunk);
-				playWithCache(audioChunk);
 			}
-
 		}
 
+		return audioChunk;
 	}
 
 	/**